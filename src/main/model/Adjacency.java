@@ -0,0 +1,91 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Precomputed neighbour tables for boards of one width and height, shared by every board with those dimensions.
+// A tile's neighbours only depend on whether it is on the west/east column and the south/north row, so the tiles of
+//    a board fall into 9 edge classes (3 column classes x 3 row classes). For each class, the cell offsets of the
+//    neighbours that are on the board are stored, in Direction order, as one slice of a flat int[]. Iterating over a
+//    tile's neighbours is then a loop over that slice with no bounds checks, and the tables take the same few bytes
+//    for a 4096 x 4096 board as for an 8 x 8 one.
+public final class Adjacency {
+    public static final int NUM_EDGE_CLASSES = 9;
+    private static final Map<Long, Adjacency> TABLES = new ConcurrentHashMap<>();
+
+    private final int width;
+    private final int height;
+    private final int[] offsets;     // the neighbour cell offsets of every edge class, one slice per class
+    private final int[] sliceStarts; // edge class c's slice is offsets[sliceStarts[c]] up to sliceStarts[c + 1]
+
+    // REQUIRES: width >= 2 and height >= 2
+    // EFFECTS: builds the neighbour tables for width x height boards
+    private Adjacency(int width, int height) {
+        this.width = width;
+        this.height = height;
+        offsets = new int[NUM_EDGE_CLASSES * Direction.values().length];
+        sliceStarts = new int[NUM_EDGE_CLASSES + 1];
+        int numOffsets = 0;
+        for (int edgeClass = 0; edgeClass < NUM_EDGE_CLASSES; edgeClass++) {
+            sliceStarts[edgeClass] = numOffsets;
+            for (Direction d : Direction.values()) {
+                if (isOnBoardFromClass(edgeClass % 3 + d.shiftX, edgeClass / 3 + d.shiftY)) {
+                    offsets[numOffsets++] = d.shiftY * width + d.shiftX;
+                }
+            }
+        }
+        sliceStarts[NUM_EDGE_CLASSES] = numOffsets;
+    }
+
+    // REQUIRES: width >= 2 and height >= 2
+    // EFFECTS: returns the shared neighbour tables for width x height boards, building them on first use
+    public static Adjacency of(int width, int height) {
+        return TABLES.computeIfAbsent(((long) width << Integer.SIZE) | height, key -> new Adjacency(width, height));
+    }
+
+    // EFFECTS: returns true if a step from a tile of the given column and row class (0 = west/south edge,
+    //    1 = inside, 2 = east/north edge), shifted to the given position, stays on the board
+    private static boolean isOnBoardFromClass(int shiftedColumnClass, int shiftedRowClass) {
+        return shiftedColumnClass >= 0 && shiftedColumnClass <= 2 && shiftedRowClass >= 0 && shiftedRowClass <= 2;
+    }
+
+    // EFFECTS: returns the edge class of the tile at the given x, y position
+    public int edgeClass(int x, int y) {
+        return edgeClassOf(x, width) + 3 * edgeClassOf(y, height);
+    }
+
+    // EFFECTS: returns the edge class of the given cell
+    public int edgeClass(int cell) {
+        return edgeClass(cell % width, cell / width);
+    }
+
+    // EFFECTS: returns 0 if the given coordinate is on the low edge of an axis of the given length, 2 if it is on the
+    //    high edge, else 1
+    private static int edgeClassOf(int coordinate, int length) {
+        if (coordinate == 0) {
+            return 0;
+        } else if (coordinate == length - 1) {
+            return 2;
+        } else {
+            return 1;
+        }
+    }
+
+    // getters
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    // Note: the following arrays are shared and must not be modified.
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getSliceStarts() {
+        return sliceStarts;
+    }
+}
@@ -0,0 +1,46 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Precomputed attack footprints for boards that fit in one bitboard word, shared by every board of the same size.
+// The footprint of an attack with squared range r from an origin tile is the mask of tiles whose squared distance
+//    to the origin is at most r. Footprints are stored for every origin and every squared range up to the longest
+//    squared distance on the board, so checking whether a tile is in range of an attack is a single bit test, and
+//    the tiles in range of an attack are a single table lookup.
+public final class AttackFootprint {
+    private static final Map<Long, AttackFootprint> TABLES = new ConcurrentHashMap<>();
+
+    private final int maxRangeSquared; // the squared distance between opposite corners; longer ranges cover the board
+    private final long[][] footprints; // footprints[r][c] is the footprint of an attack with squared range r from c
+
+    // REQUIRES: width * height <= 64
+    // EFFECTS: builds the footprint tables for width x height boards
+    private AttackFootprint(int width, int height) {
+        int numCells = width * height;
+        maxRangeSquared = (width - 1) * (width - 1) + (height - 1) * (height - 1);
+        footprints = new long[maxRangeSquared + 1][numCells];
+        for (int origin = 0; origin < numCells; origin++) {
+            for (int cell = 0; cell < numCells; cell++) {
+                int dx = cell % width - origin % width;
+                int dy = cell / width - origin / width;
+                for (int rangeSquared = dx * dx + dy * dy; rangeSquared <= maxRangeSquared; rangeSquared++) {
+                    footprints[rangeSquared][origin] |= 1L << cell;
+                }
+            }
+        }
+    }
+
+    // REQUIRES: width * height <= 64
+    // EFFECTS: returns the shared footprint tables for width x height boards, building them on first use
+    public static AttackFootprint of(int width, int height) {
+        long key = ((long) width << Integer.SIZE) | height;
+        return TABLES.computeIfAbsent(key, k -> new AttackFootprint(width, height));
+    }
+
+    // REQUIRES: rangeSquared >= 0
+    // EFFECTS: returns the mask of the tiles in range of an attack with the given squared range from the given cell
+    public long mask(int origin, int rangeSquared) {
+        return footprints[Math.min(rangeSquared, maxRangeSquared)][origin];
+    }
+}
@@ -0,0 +1,118 @@
+package model;
+
+import ui.InGameEventsTracker;
+
+// The tally of a batch of simulated games: how many ended in each way, and how long the won games took to clear,
+//    counted per clock tick so that tallies from many threads can be merged exactly.
+public class BatchResult {
+    // a game is cleared within the time limit, so its clear time is one of these many whole ticks
+    public static final int NUM_CLEAR_TIMES = InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS
+            / GameSession.TICK_LENGTH_MS + 1;
+    private static final EndGameOutcome[] OUTCOMES = EndGameOutcome.values();
+
+    private final long[] outcomeCounts = new long[OUTCOMES.length];
+    private final long[] clearTimeCounts = new long[NUM_CLEAR_TIMES];   // wins by how many ticks they took
+    private long numGames = 0;
+
+    // MODIFIES: this
+    // EFFECTS: counts a game that ended in the given way with the given time left in it
+    public void addGame(EndGameOutcome outcome, int timeLeftInGame) {
+        numGames++;
+        outcomeCounts[outcome.ordinal()]++;
+        if (outcome == EndGameOutcome.NO_DRAGON_HP_WIN) {
+            clearTimeCounts[(InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS - timeLeftInGame)
+                    / GameSession.TICK_LENGTH_MS]++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the given tally's games to this one's; does nothing if it is null
+    public void merge(BatchResult other) {
+        if (other == null) {
+            return;
+        }
+        numGames += other.numGames;
+        for (int i = 0; i < outcomeCounts.length; i++) {
+            outcomeCounts[i] += other.outcomeCounts[i];
+        }
+        for (int i = 0; i < clearTimeCounts.length; i++) {
+            clearTimeCounts[i] += other.clearTimeCounts[i];
+        }
+    }
+
+    // EFFECTS: returns a tally of all the games in the given tallies, skipping nulls
+    public static BatchResult combine(BatchResult[] results) {
+        BatchResult total = new BatchResult();
+        for (BatchResult result : results) {
+            total.merge(result);
+        }
+        return total;
+    }
+
+    // EFFECTS: returns the fraction of the games that were won, or 0 if there are no games
+    public double getWinRate() {
+        return numGames == 0 ? 0 : (double) getNumWins() / numGames;
+    }
+
+    // EFFECTS: returns the mean time the won games took to clear in milliseconds, or -1 if none were won
+    public double getMeanClearTimeMs() {
+        long numWins = getNumWins();
+        if (numWins == 0) {
+            return -1;
+        }
+        long totalTicks = 0;
+        for (int i = 0; i < clearTimeCounts.length; i++) {
+            totalTicks += i * clearTimeCounts[i];
+        }
+        return (double) totalTicks * GameSession.TICK_LENGTH_MS / numWins;
+    }
+
+    // REQUIRES: 0 <= fraction <= 1
+    // EFFECTS: returns the shortest clear time in milliseconds that at least the given fraction of the won games took
+    //    no longer than (e.g. 0.5 for the median), or -1 if none were won
+    public int getClearTimePercentileMs(double fraction) {
+        long numWins = getNumWins();
+        if (numWins == 0) {
+            return -1;
+        }
+        long wanted = Math.max(1, (long) Math.ceil(fraction * numWins));
+        long seen = 0;
+        int ticks = 0;
+        while ((seen += clearTimeCounts[ticks]) < wanted) {
+            ticks++;
+        }
+        return ticks * GameSession.TICK_LENGTH_MS;
+    }
+
+    // EFFECTS: returns a few lines listing the games' win rate, outcomes and clear times
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder(String.format("games: %d, win rate: %.2f%%%n", numGames,
+                100 * getWinRate()));
+        for (EndGameOutcome outcome : OUTCOMES) {
+            summary.append(String.format("\t%s: %d%n", outcome, getOutcomeCount(outcome)));
+        }
+        summary.append(String.format("clear time (ms): mean %.0f, min %d, median %d, p90 %d, max %d",
+                getMeanClearTimeMs(), getClearTimePercentileMs(0), getClearTimePercentileMs(0.5),
+                getClearTimePercentileMs(0.9), getClearTimePercentileMs(1)));
+        return summary.toString();
+    }
+
+    // getters
+    public long getNumGames() {
+        return numGames;
+    }
+
+    public long getNumWins() {
+        return getOutcomeCount(EndGameOutcome.NO_DRAGON_HP_WIN);
+    }
+
+    public long getOutcomeCount(EndGameOutcome outcome) {
+        return outcomeCounts[outcome.ordinal()];
+    }
+
+    // REQUIRES: 0 <= ticks < NUM_CLEAR_TIMES
+    // EFFECTS: returns how many won games took the given amount of clock ticks to clear
+    public long getClearTimeCount(int ticks) {
+        return clearTimeCounts[ticks];
+    }
+}
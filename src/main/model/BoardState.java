@@ -0,0 +1,430 @@
+package model;
+
+import java.util.Arrays;
+
+// The state of a game district's board, for boards of any width and height. Each bitset stores one bit per tile in
+//    a flat long[], where the tile at (x, y) is bit (y * width + x); bit 0 is the lower left hand corner, same as
+//    Direction's origin. Nearby mine counts are kept in a flat byte[] indexed the same way, and are updated through
+//    the Adjacency tables shared by every board of the same dimensions.
+// Boards with at most 64 tiles fit in a single word, which allows whole-board shift-and-mask operations.
+public class BoardState {
+    private static final int WORD_SHIFT = 6; // a word holds 2 ^ 6 = 64 tiles
+    // the header of an array on a typical 64-bit JVM, and the size its objects are rounded up to
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int OBJECT_ALIGNMENT = 8;
+
+    private final int width;
+    private final int height;
+    private final int numCells;
+    private final boolean singleWord;
+    private final long boardMask;  // single-word boards only: the bits that are tiles on the board
+    private final long westColumn; // single-word boards only: the tiles with x == 0
+    private final long eastColumn; // single-word boards only: the tiles with x == width - 1
+
+    private final Adjacency adjacency;
+    private final AttackFootprint attackFootprint; // single-word boards only: the shared attack footprint tables
+    private final long[] mines;
+    private final long[] revealed;
+    private final long[] flagged;
+    private final long[] occupied;
+    private final OccupancyIndex occupants; // which life form is on each occupied tile
+    private final byte[] nearbyMineCounts;
+    private long[] pristineMines;            // the mines and counts saved by savePristine(); null until first saved
+    private byte[] pristineNearbyMineCounts;
+    private boolean hasPristine = false;
+    private boolean pristineShared = false;  // true if another board copied from or into this one uses the same arrays
+
+    // REQUIRES: width >= 2 and height >= 2
+    // EFFECTS: creates an empty board with the given dimensions
+    public BoardState(int width, int height) {
+        this.width = width;
+        this.height = height;
+        numCells = width * height;
+        adjacency = Adjacency.of(width, height);
+        int numWords = (numCells + Long.SIZE - 1) >>> WORD_SHIFT;
+        mines = new long[numWords];
+        revealed = new long[numWords];
+        flagged = new long[numWords];
+        occupied = new long[numWords];
+        nearbyMineCounts = new byte[numCells];
+        singleWord = numWords == 1 && width < Long.SIZE;
+        long column = 0;
+        for (int y = 0; y < height && singleWord; y++) {
+            column |= 1L << (y * width);
+        }
+        westColumn = column;
+        eastColumn = column << (width - 1);
+        boardMask = numCells == Long.SIZE ? -1L : (1L << numCells) - 1;
+        attackFootprint = singleWord ? AttackFootprint.of(width, height) : null;
+        occupants = new OccupancyIndex();
+    }
+
+    // MODIFIES: other
+    // EFFECTS: creates a copy of the given board, including its play state and which life form is on each tile
+    //    note: the pristine state is shared copy-on-write rather than copied; whichever of the two boards saves a
+    //    pristine state first then gets arrays of its own, so neither board ever changes the other's
+    public BoardState(BoardState other) {
+        width = other.width;
+        height = other.height;
+        numCells = other.numCells;
+        singleWord = other.singleWord;
+        boardMask = other.boardMask;
+        westColumn = other.westColumn;
+        eastColumn = other.eastColumn;
+        adjacency = other.adjacency;
+        attackFootprint = other.attackFootprint;
+        mines = other.mines.clone();
+        revealed = other.revealed.clone();
+        flagged = other.flagged.clone();
+        occupied = other.occupied.clone();
+        occupants = new OccupancyIndex(other.occupants);
+        nearbyMineCounts = other.nearbyMineCounts.clone();
+        pristineMines = other.pristineMines;
+        pristineNearbyMineCounts = other.pristineNearbyMineCounts;
+        hasPristine = other.hasPristine;
+        pristineShared = pristineMines != null;
+        other.pristineShared = pristineShared;
+    }
+
+    // EFFECTS: returns the index of the tile at the given x, y position
+    public int cellIndex(int x, int y) {
+        return y * width + x;
+    }
+
+    // EFFECTS: returns true if the given x, y position is a tile on this board
+    public boolean isOnBoard(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    // EFFECTS: returns true if every tile of this board fits in a single 64-bit word
+    public boolean isSingleWord() {
+        return singleWord;
+    }
+
+    // REQUIRES: isSingleWord()
+    // EFFECTS: returns the given mask moved one tile in the given direction; tiles moved off the board are dropped
+    public long shift(long mask, Direction d) {
+        long shifted = mask;
+        if (d.shiftX == 1) {
+            shifted = (shifted & ~eastColumn) << 1;
+        } else if (d.shiftX == -1) {
+            shifted = (shifted & ~westColumn) >>> 1;
+        }
+        if (d.shiftY == 1) {
+            shifted <<= width;
+        } else if (d.shiftY == -1) {
+            shifted >>>= width;
+        }
+        return shifted & boardMask;
+    }
+
+    // REQUIRES: isSingleWord()
+    // EFFECTS: returns a mask of every tile that is adjacent (in any of the 8 directions) to a tile in the given mask
+    //    note: a tile in the given mask is only in the result if it is also adjacent to another tile in the mask.
+    public long neighbours(long mask) {
+        long eastAndWest = ((mask & ~eastColumn) << 1) | ((mask & ~westColumn) >>> 1);
+        long rowWithSelf = mask | eastAndWest;
+        return (eastAndWest | (rowWithSelf << width) | (rowWithSelf >>> width)) & boardMask;
+    }
+
+    // EFFECTS: returns how many of the 8 tiles around the given cell are mines
+    public int countNearbyMines(int cell) {
+        return nearbyMineCounts[cell];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: recomputes every tile's nearby mine count from the mines currently on the board
+    public void recountNearbyMines() {
+        Arrays.fill(nearbyMineCounts, (byte) 0);
+        for (int word = 0; word < mines.length; word++) {
+            long remainingMines = mines[word];
+            while (remainingMines != 0) {
+                int mine = (word << WORD_SHIFT) + Long.numberOfTrailingZeros(remainingMines);
+                addToNearbyMineCounts(mine, 1);
+                remainingMines &= remainingMines - 1;
+            }
+        }
+    }
+
+    // REQUIRES: isMine(from) and !isMine(to)
+    // MODIFIES: this
+    // EFFECTS: moves the mine at from to to, updating only the nearby mine counts of the tiles around both cells
+    public void moveMine(int from, int to) {
+        setBit(mines, from, false);
+        addToNearbyMineCounts(from, -1);
+        setBit(mines, to, true);
+        addToNearbyMineCounts(to, 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the given amount to the nearby mine counts of the tiles around the given cell
+    private void addToNearbyMineCounts(int cell, int amount) {
+        int[] offsets = adjacency.getOffsets();
+        int[] sliceStarts = adjacency.getSliceStarts();
+        int edgeClass = adjacency.edgeClass(cell);
+        for (int i = sliceStarts[edgeClass]; i < sliceStarts[edgeClass + 1]; i++) {
+            nearbyMineCounts[cell + offsets[i]] += amount;
+        }
+    }
+
+    // REQUIRES: isSingleWord()
+    // MODIFIES: this
+    /*
+     * EFFECTS: reveals the given cell and returns the mask of tiles that were newly revealed:
+     *    nothing is revealed if the cell is flagged or already revealed
+     *    only the cell is revealed if it is a mine or has at least one nearby mine
+     *    else the region of hidden, unflagged tiles connected to the cell through tiles with no nearby mines is
+     *    revealed by repeatedly shifting that region in all 8 directions until it stops growing
+     */
+    public long floodReveal(int cell) {
+        long start = 1L << cell;
+        if (((revealed[0] | flagged[0]) & start) != 0) {
+            return 0;
+        }
+        long region = start;
+        long noNearbyMines = ~(mines[0] | neighbours(mines[0])) & boardMask;
+        if ((noNearbyMines & start) != 0) {
+            long revealable = ~(revealed[0] | flagged[0] | mines[0]) & boardMask;
+            long grown = region;
+            do {
+                region = grown;
+                grown = region | (neighbours(region & noNearbyMines) & revealable);
+            } while (grown != region);
+        }
+        revealed[0] |= region;
+        return region;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every mine from the board
+    public void clearMines() {
+        Arrays.fill(mines, 0);
+        Arrays.fill(nearbyMineCounts, (byte) 0);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: hides, unflags and unoccupies every tile; mines are kept
+    public void clearPlayState() {
+        Arrays.fill(revealed, 0);
+        Arrays.fill(flagged, 0);
+        clearOccupied();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: unoccupies every tile
+    public void clearOccupied() {
+        Arrays.fill(occupied, 0);
+        occupants.clear();
+    }
+
+    // MODIFIES: words
+    // EFFECTS: copies this board's mines, revealed tiles and flagged tiles, in that order, into the given array from
+    //    the given offset on; this takes 3 * getNumWords() words
+    public void writeWords(long[] words, int offset) {
+        int numWords = mines.length;
+        System.arraycopy(mines, 0, words, offset, numWords);
+        System.arraycopy(revealed, 0, words, offset + numWords, numWords);
+        System.arraycopy(flagged, 0, words, offset + 2 * numWords, numWords);
+    }
+
+    // REQUIRES: the given array holds words written by writeWords of a board with these dimensions from the given
+    //    offset on
+    // MODIFIES: this
+    // EFFECTS: sets this board's mines, revealed tiles and flagged tiles to the given ones and unoccupies every tile,
+    //    then returns true if the mines changed; nearby mines are only counted again if they did, and are copied
+    //    back from the pristine state instead if the mines are the pristine ones
+    public boolean readWords(long[] words, int offset) {
+        int numWords = mines.length;
+        boolean minesChanged = !Arrays.equals(mines, 0, numWords, words, offset, offset + numWords);
+        if (minesChanged) {
+            System.arraycopy(words, offset, mines, 0, numWords);
+            if (hasPristine && Arrays.equals(mines, pristineMines)) {
+                System.arraycopy(pristineNearbyMineCounts, 0, nearbyMineCounts, 0, numCells);
+            } else {
+                recountNearbyMines();
+            }
+        }
+        System.arraycopy(words, offset + numWords, revealed, 0, numWords);
+        System.arraycopy(words, offset + 2 * numWords, flagged, 0, numWords);
+        clearOccupied();
+        return minesChanged;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks the given cell as occupied by the life form with the given id
+    public void occupy(int cell, int lifeFormId) {
+        setBit(occupied, cell, true);
+        occupants.put(cell, lifeFormId);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks the given cell as unoccupied if the life form with the given id is the one on it; else does
+    //    nothing, so a life form leaving a tile never frees a tile that another life form has been placed on since
+    public void vacate(int cell, int lifeFormId) {
+        if (occupants.get(cell) == lifeFormId) {
+            setBit(occupied, cell, false);
+            occupants.remove(cell);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves the current mines and nearby mine counts as this board's pristine state; the snapshot arrays
+    //    are only allocated the first time (or when they are shared with a copied board), later saves copy into them
+    public void savePristine() {
+        if (pristineMines == null || pristineShared) {
+            pristineMines = new long[mines.length];
+            pristineNearbyMineCounts = new byte[numCells];
+            pristineShared = false;
+        }
+        System.arraycopy(mines, 0, pristineMines, 0, mines.length);
+        System.arraycopy(nearbyMineCounts, 0, pristineNearbyMineCounts, 0, numCells);
+        hasPristine = true;
+    }
+
+    // REQUIRES: hasPristine()
+    // MODIFIES: this
+    // EFFECTS: restores the mines and nearby mine counts of the pristine state and clears the play state
+    public void restorePristine() {
+        System.arraycopy(pristineMines, 0, mines, 0, mines.length);
+        System.arraycopy(pristineNearbyMineCounts, 0, nearbyMineCounts, 0, numCells);
+        clearPlayState();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets the pristine state, e.g. because the mines it was saved from are no longer the board's layout
+    public void discardPristine() {
+        hasPristine = false;
+    }
+
+    // EFFECTS: returns the value of the given cell's bit in the given bitset
+    private static boolean getBit(long[] bitset, int cell) {
+        return (bitset[cell >>> WORD_SHIFT] >>> cell & 1L) != 0;
+    }
+
+    // MODIFIES: bitset
+    // EFFECTS: sets the given cell's bit in the given bitset to the given value
+    private static void setBit(long[] bitset, int cell, boolean value) {
+        if (value) {
+            bitset[cell >>> WORD_SHIFT] |= 1L << cell;
+        } else {
+            bitset[cell >>> WORD_SHIFT] &= ~(1L << cell);
+        }
+    }
+
+    // EFFECTS: returns roughly how many bytes this board's own arrays take up: its bitsets, nearby mine counts and
+    //    occupancy index, and its pristine copies if it saved any (even if another board shares them); the adjacency
+    //    and attack footprint tables are shared by every board of the same size and are left out
+    public long estimateBytes() {
+        long bytes = 4 * arrayBytes(Long.BYTES, mines.length) + arrayBytes(Byte.BYTES, numCells)
+                + 2 * arrayBytes(Integer.BYTES, occupants.getCapacity());
+        if (pristineMines != null) {
+            bytes += arrayBytes(Long.BYTES, pristineMines.length) + arrayBytes(Byte.BYTES, numCells);
+        }
+        return bytes;
+    }
+
+    // EFFECTS: returns roughly how many bytes an array of the given length with elements of the given size takes up
+    static long arrayBytes(int elementBytes, int length) {
+        long bytes = ARRAY_HEADER_BYTES + (long) elementBytes * length;
+        return (bytes + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+    }
+
+    // getters
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getNumWords() {
+        return mines.length;
+    }
+
+    public int getNumCells() {
+        return numCells;
+    }
+
+    public Adjacency getAdjacency() {
+        return adjacency;
+    }
+
+    // REQUIRES: isSingleWord()
+    public AttackFootprint getAttackFootprint() {
+        return attackFootprint;
+    }
+
+    public boolean hasPristine() {
+        return hasPristine;
+    }
+
+    public boolean isMine(int cell) {
+        return getBit(mines, cell);
+    }
+
+    public boolean isRevealed(int cell) {
+        return getBit(revealed, cell);
+    }
+
+    public boolean isFlagged(int cell) {
+        return getBit(flagged, cell);
+    }
+
+    public boolean isOccupied(int cell) {
+        return getBit(occupied, cell);
+    }
+
+    // EFFECTS: returns the id of the life form on the given cell, or OccupancyIndex.NONE if no life form is on it
+    public int getOccupant(int cell) {
+        return occupants.get(cell);
+    }
+
+    // Note: the following mask getters return the first word of each bitset, which is the whole board if
+    //    isSingleWord() holds.
+    public long getMines() {
+        return mines[0];
+    }
+
+    public long getRevealed() {
+        return revealed[0];
+    }
+
+    public long getFlagged() {
+        return flagged[0];
+    }
+
+    public long getOccupied() {
+        return occupied[0];
+    }
+
+    // REQUIRES: 0 <= word < getNumWords()
+    // EFFECTS: returns the given word of the revealed bitset, i.e. whether tiles 64 * word ... 64 * word + 63 are
+    //    revealed
+    public long getRevealedWord(int word) {
+        return revealed[word];
+    }
+
+    // setters
+    // REQUIRES: recountNearbyMines() is called once all mines are set
+    public void setMine(int cell) {
+        setBit(mines, cell, true);
+    }
+
+    public void setRevealed(int cell, boolean isRevealed) {
+        setBit(revealed, cell, isRevealed);
+    }
+
+    public void setFlagged(int cell, boolean isFlagged) {
+        setBit(flagged, cell, isFlagged);
+    }
+
+    // EFFECTS: marks the given cell as occupied or not without recording which life form is on it; use occupy and
+    //    vacate for life forms
+    public void setOccupied(int cell, boolean isOccupied) {
+        setBit(occupied, cell, isOccupied);
+        if (!isOccupied) {
+            occupants.remove(cell);
+        }
+    }
+}
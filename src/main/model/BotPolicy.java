@@ -0,0 +1,17 @@
+package model;
+
+// A bot that plays games on its own by choosing a key to type at every clock tick, e.g. so that batches of games can
+//    be simulated to balance the difficulty levels and dragons.
+// A bot is only used by one thread at a time and plays one game at a time.
+public interface BotPolicy {
+    char NO_KEY = 0;    // chosen to type nothing at a tick
+
+    // MODIFIES: this
+    // EFFECTS: gets ready to play a new game; the given seed is the same every time that game is simulated, so a bot
+    //    that makes random choices can make the same ones each time
+    void startGame(long gameSeed);
+
+    // MODIFIES: this
+    // EFFECTS: returns the key to type at the given session's current tick (see GameSession.input), or NO_KEY
+    char chooseKey(GameSession session);
+}
@@ -0,0 +1,297 @@
+package model;
+
+import java.util.Arrays;
+
+// Finds the hidden tiles of a board that are certainly safe or certainly mines, as a player could from the nearby
+//    mine counts of the revealed tiles, for in-game hints.
+// Each revealed tile with hidden tiles around it is a constraint: exactly its count of those hidden tiles are mines.
+//    A constraint's hidden tiles are kept as a bitmask over a 7 x 7 frame centred on the tile, so two constraints
+//    whose tiles are up to 2 apart (the only ones that can share hidden tiles) are compared by shifting one mask into
+//    the other's frame. The solver applies two rules until neither deduces anything more:
+//    - if a constraint's count is 0, its hidden tiles are safe; if it equals the number of them, they are all mines
+//    - if A's count minus B's count equals the number of A's hidden tiles that B lacks, those tiles are mines and
+//      B's hidden tiles that A lacks are safe
+// Flags are the player's guesses, so they are not trusted: a flagged tile is hidden like any other, and a flag on a
+//    tile found to be safe is a wrong flag.
+// The arrays are allocated once and grow as needed, so solving the same board again does not allocate.
+public class DeductionSolver {
+    private static final int FRAME_EDGE_LENGTH = 7;
+    private static final int FRAME_CENTRE = 3 * FRAME_EDGE_LENGTH + 3;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int width;
+    private final int height;
+    private final long[] safe;   // bitsets of the tiles deduced in the last solve, indexed like BoardState's
+    private final long[] mine;
+    private int[] safeCells = new int[INITIAL_CAPACITY];
+    private int[] mineCells = new int[INITIAL_CAPACITY];
+    private int numSafe = 0;
+    private int numMines = 0;
+
+    // the constraints, in increasing order of their tiles
+    private int[] centres = new int[INITIAL_CAPACITY];
+    private long[] frames = new long[INITIAL_CAPACITY];    // each constraint's hidden tiles not yet deduced
+    private int[] minesLeft = new int[INITIAL_CAPACITY];   // each constraint's count less the mines deduced around it
+    private boolean[] queued = new boolean[INITIAL_CAPACITY];
+    private int[] queue = new int[INITIAL_CAPACITY];       // a ring of the constraints left to look at
+    private int numConstraints = 0;
+    private int queueHead = 0;
+    private int queueSize = 0;
+
+    // REQUIRES: width >= 2 and height >= 2
+    // EFFECTS: creates a solver for boards with the given dimensions
+    public DeductionSolver(int width, int height) {
+        this.width = width;
+        this.height = height;
+        int numWords = (width * height + Long.SIZE - 1) / Long.SIZE;
+        safe = new long[numWords];
+        mine = new long[numWords];
+    }
+
+    // REQUIRES: the given board has this solver's dimensions
+    // MODIFIES: this
+    // EFFECTS: finds every hidden tile that the rules above prove safe or a mine from the board's revealed tiles,
+    //    and returns how many were found; they can then be read with the getters
+    public int solve(BoardState boardState) {
+        clearDeductions();
+        collectConstraints(boardState);
+        while (queueSize > 0) {
+            int constraint = queue[queueHead];
+            queueHead = (queueHead + 1) % numConstraints;
+            queueSize--;
+            queued[constraint] = false;
+            examine(constraint);
+        }
+        return numSafe + numMines;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets the tiles deduced by the last solve
+    private void clearDeductions() {
+        for (int i = 0; i < numSafe; i++) {
+            safe[safeCells[i] / Long.SIZE] = 0;
+        }
+        for (int i = 0; i < numMines; i++) {
+            mine[mineCells[i] / Long.SIZE] = 0;
+        }
+        numSafe = 0;
+        numMines = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes a constraint of every revealed tile with hidden tiles around it, and queues them all
+    private void collectConstraints(BoardState boardState) {
+        numConstraints = 0;
+        for (int word = 0; word < boardState.getNumWords(); word++) {
+            long revealedWord = boardState.getRevealedWord(word);
+            while (revealedWord != 0) {
+                int cell = word * Long.SIZE + Long.numberOfTrailingZeros(revealedWord);
+                revealedWord &= revealedWord - 1;
+                long frame = hiddenFrame(boardState, cell);
+                if (frame != 0 && !boardState.isMine(cell)) {
+                    addConstraint(cell, frame, boardState.countNearbyMines(cell));
+                }
+            }
+        }
+        queueHead = 0;
+        queueSize = numConstraints;
+        for (int i = 0; i < numConstraints; i++) {
+            queue[i] = i;
+            queued[i] = true;
+        }
+    }
+
+    // EFFECTS: returns the frame mask of the hidden tiles around the given cell
+    private long hiddenFrame(BoardState boardState, int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        long frame = 0;
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                if (boardState.isOnBoard(x + dx, y + dy) && !boardState.isRevealed(cell + dy * width + dx)) {
+                    frame |= 1L << (FRAME_CENTRE + dy * FRAME_EDGE_LENGTH + dx);
+                }
+            }
+        }
+        return frame;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a constraint that the given amount of the given frame's tiles around the given cell are mines
+    private void addConstraint(int cell, long frame, int count) {
+        if (numConstraints == centres.length) {
+            int capacity = 2 * numConstraints;
+            centres = Arrays.copyOf(centres, capacity);
+            frames = Arrays.copyOf(frames, capacity);
+            minesLeft = Arrays.copyOf(minesLeft, capacity);
+            queued = Arrays.copyOf(queued, capacity);
+            queue = Arrays.copyOf(queue, capacity);
+        }
+        centres[numConstraints] = cell;
+        frames[numConstraints] = frame;
+        minesLeft[numConstraints] = count;
+        numConstraints++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: applies the rules to the given constraint on its own, then with every constraint up to 2 tiles away
+    private void examine(int a) {
+        long frame = frames[a];
+        if (frame == 0) {
+            return;
+        }
+        if (minesLeft[a] == 0 || minesLeft[a] == Long.bitCount(frame)) {
+            deduceFrame(a, frame, minesLeft[a] != 0);
+            return;
+        }
+        int x = centres[a] % width;
+        int y = centres[a] / width;
+        for (int dy = -2; dy <= 2; dy++) {
+            for (int dx = -2; dx <= 2; dx++) {
+                int b = (dx != 0 || dy != 0) && x + dx >= 0 && x + dx < width && y + dy >= 0 && y + dy < height
+                        ? findConstraint(centres[a] + dy * width + dx) : -1;
+                if (b != -1 && frames[a] != 0 && frames[b] != 0) {
+                    comparePair(a, b, dy * FRAME_EDGE_LENGTH + dx);
+                    comparePair(b, a, -(dy * FRAME_EDGE_LENGTH + dx));
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: applies the pair rule to constraints a and b, b's frame being the given shift away from a's
+    private void comparePair(int a, int b, int shift) {
+        long frameA = frames[a];
+        long frameB = shift >= 0 ? frames[b] << shift : frames[b] >>> -shift;
+        long onlyA = frameA & ~frameB;
+        long onlyB = frameB & ~frameA;
+        if ((frameA & frameB) != 0 && (onlyA | onlyB) != 0
+                && minesLeft[a] - minesLeft[b] == Long.bitCount(onlyA)) {
+            deduceFrame(a, onlyA, true);
+            deduceFrame(a, onlyB, false);
+        }
+    }
+
+    // EFFECTS: returns the index of the constraint on the given cell, or -1 if there is none
+    private int findConstraint(int cell) {
+        int index = Arrays.binarySearch(centres, 0, numConstraints, cell);
+        return index >= 0 ? index : -1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: deduces that every tile in the given frame of the given constraint is a mine, or is safe
+    private void deduceFrame(int constraint, long frame, boolean isMine) {
+        int centre = centres[constraint];
+        while (frame != 0) {
+            int bit = Long.numberOfTrailingZeros(frame);
+            frame &= frame - 1;
+            int dy = bit / FRAME_EDGE_LENGTH - 3;
+            int dx = bit % FRAME_EDGE_LENGTH - 3;
+            deduce(centre + dy * width + dx, isMine);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that the given hidden cell is a mine, or is safe, and takes it out of the constraints around
+    //    it, queueing them to be looked at again; does nothing if the cell was already deduced
+    private void deduce(int cell, boolean isMine) {
+        long bit = 1L << cell;
+        if (((safe[cell / Long.SIZE] | mine[cell / Long.SIZE]) & bit) != 0) {
+            return;
+        }
+        if (isMine) {
+            mine[cell / Long.SIZE] |= bit;
+            mineCells = append(mineCells, numMines++, cell);
+        } else {
+            safe[cell / Long.SIZE] |= bit;
+            safeCells = append(safeCells, numSafe++, cell);
+        }
+        int x = cell % width;
+        int y = cell / width;
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                int c = x + dx >= 0 && x + dx < width && y + dy >= 0 && y + dy < height
+                        ? findConstraint(cell + dy * width + dx) : -1;
+                if (c != -1) {
+                    frames[c] &= ~(1L << (FRAME_CENTRE - dy * FRAME_EDGE_LENGTH - dx));
+                    minesLeft[c] -= isMine ? 1 : 0;
+                    enqueue(c);
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues the given constraint to be looked at again, unless it is already queued
+    private void enqueue(int constraint) {
+        if (!queued[constraint]) {
+            queued[constraint] = true;
+            queue[(queueHead + queueSize) % numConstraints] = constraint;
+            queueSize++;
+        }
+    }
+
+    // EFFECTS: returns the given array with the given value at the given index, growing it if it is full
+    private static int[] append(int[] array, int index, int value) {
+        int[] result = index < array.length ? array : Arrays.copyOf(array, 2 * array.length);
+        result[index] = value;
+        return result;
+    }
+
+    // EFFECTS: returns true if the last solve found that the given cell is certainly safe
+    public boolean isSafe(int cell) {
+        return (safe[cell / Long.SIZE] >>> cell & 1L) != 0;
+    }
+
+    // EFFECTS: returns true if the last solve found that the given cell is certainly a mine
+    public boolean isMine(int cell) {
+        return (mine[cell / Long.SIZE] >>> cell & 1L) != 0;
+    }
+
+    // EFFECTS: returns roughly how many bytes this solver's arrays take up; they grow with the most constraints
+    //    and deduced tiles any solve has had
+    public long estimateBytes() {
+        return 2 * BoardState.arrayBytes(Long.BYTES, safe.length) + BoardState.arrayBytes(Long.BYTES, frames.length)
+                + BoardState.arrayBytes(Integer.BYTES, safeCells.length)
+                + BoardState.arrayBytes(Integer.BYTES, mineCells.length)
+                + 3 * BoardState.arrayBytes(Integer.BYTES, centres.length)
+                + BoardState.arrayBytes(Byte.BYTES, queued.length);
+    }
+
+    // getters
+    public int getNumSafe() {
+        return numSafe;
+    }
+
+    public int getNumMines() {
+        return numMines;
+    }
+
+    // REQUIRES: 0 <= i < getNumSafe()
+    public int getSafeCell(int i) {
+        return safeCells[i];
+    }
+
+    // REQUIRES: 0 <= i < getNumMines()
+    public int getMineCell(int i) {
+        return mineCells[i];
+    }
+
+    // Note: like BoardState's mask getters, these return the first word of each bitset, which is the whole board if
+    //    it fits in a single word.
+    public long getSafeMask() {
+        return safe[0];
+    }
+
+    public long getMineMask() {
+        return mine[0];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
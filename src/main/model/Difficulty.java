@@ -4,6 +4,8 @@ import exceptions.InvalidInputException;
 
 // An enum for the difficulty levels available for the minesweeper aspect of this project.
 // INVARIANT: for every Difficulty level, the amount of mines < GameDistrict.BOARD_EDGE_LENGTH ^ 2
+// Note: numMines is the amount of mines on a standard BOARD_EDGE_LENGTH x BOARD_EDGE_LENGTH board; larger boards
+//    keep the same mine density (see numMinesFor).
 public enum Difficulty {
     PRACTICE(0),
     EASY(4),
@@ -17,6 +19,12 @@ public enum Difficulty {
         this.numMines = numMines;
     }
 
+    // EFFECTS: returns the amount of mines on a board with the given dimensions, keeping this level's mine density
+    public int numMinesFor(int width, int height) {
+        long standardBoardSize = GameDistrict.BOARD_EDGE_LENGTH * GameDistrict.BOARD_EDGE_LENGTH;
+        return (int) ((long) numMines * width * height / standardBoardSize);
+    }
+
     // EFFECTS: returns the Difficulty level that corresponds to the given integer
     public static Difficulty assignDifficultyLvl(int wantedDifficulty) throws InvalidInputException {
         if (wantedDifficulty < 1 || wantedDifficulty > Difficulty.values().length) {
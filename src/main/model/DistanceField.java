@@ -0,0 +1,230 @@
+package model;
+
+import java.util.Arrays;
+
+// A breadth-first distance field over a district's board toward a target tile (the mage's tile), which life forms
+//    can follow downhill to walk around obstacles. Distances count 8-directional steps; tiles that cannot be walked
+//    on (mines, if this field avoids them) are UNREACHABLE.
+// The field is cached: it is only recomputed when it is asked about a different target than last time, after it was
+//    invalidated because the board changed, or when a life form asks for a step from outside the part of the board
+//    it covers. Asking for steps toward a target that has not moved is therefore cheap however large the board is.
+// Life forms ask with update(target, from), and the field is then only searched over a window: the box around the
+//    target and every tile that asked for a step (or was added with addSeeker) since the last search, widened by
+//    SEARCH_MARGIN tiles on each side. A search costs as much as the window's area rather than the board's, so a mage
+//    move on a huge board only costs a search of the area around the mage and the dragons, and one search serves all
+//    the dragons. Paths that would leave the window are not found (a tile cut off from the target inside it is
+//    UNREACHABLE, and its life form falls back to chasing directly); update(target) searches the whole board.
+// The arrays are sized to the largest window searched so far and reused by every search.
+// Note: tiles occupied by life forms are not walls of the field, since they move far more often than the target;
+//    they are skipped when choosing a step instead.
+public class DistanceField {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    public static final int SEARCH_MARGIN = 16;
+    private static final int NO_TARGET = -1;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final BoardState boardState;
+    private final Adjacency adjacency;
+    private final int width;
+    private final int height;
+    private int[] distances = new int[0];   // the distances of the window's tiles, row by row from its top left
+    private int[] queue = new int[0];
+    private int target = NO_TARGET;
+    private int minX = 0;                   // the window searched for the current target (inclusive; none yet)
+    private int minY = 0;
+    private int maxX = -1;
+    private int maxY = -1;
+    private int seekersMinX = Integer.MAX_VALUE; // the box of the seekers since the last search (none yet)
+    private int seekersMinY = Integer.MAX_VALUE;
+    private int seekersMaxX = Integer.MIN_VALUE;
+    private int seekersMaxY = Integer.MIN_VALUE;
+    private boolean avoidMines = false;
+    private int numRecomputations = 0;
+
+    // EFFECTS: creates a distance field over the given board, which avoids nothing and has no target yet
+    public DistanceField(BoardState boardState) {
+        this.boardState = boardState;
+        adjacency = boardState.getAdjacency();
+        width = boardState.getWidth();
+        height = boardState.getHeight();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes the field toward the given target cell current over the whole board, recomputing it only if its
+    //    target changed, it was invalidated or it does not cover the whole board since it was last computed
+    public void update(int targetCell) {
+        if (targetCell != target || minX > 0 || minY > 0 || maxX < width - 1 || maxY < height - 1) {
+            recompute(targetCell, 0, 0, width - 1, height - 1);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes the given cell part of the window of the next search, without searching; for a life form that
+    //    may ask for a step before the field's target moves again
+    public void addSeeker(int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        seekersMinX = Math.min(seekersMinX, x);
+        seekersMinY = Math.min(seekersMinY, y);
+        seekersMaxX = Math.max(seekersMaxX, x);
+        seekersMaxY = Math.max(seekersMaxY, y);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes the field toward the given target cell current around the given cell and its neighbours, which a
+    //    life form wants to step from; recomputes it (over the window described above) only if its target changed,
+    //    it was invalidated, or the given cell's neighbours are not all in the window
+    public void update(int targetCell, int fromCell) {
+        addSeeker(fromCell);
+        int x = fromCell % width;
+        int y = fromCell / width;
+        if (targetCell == target && (x > minX || minX == 0) && (y > minY || minY == 0)
+                && (x < maxX || maxX == width - 1) && (y < maxY || maxY == height - 1)) {
+            return;
+        }
+        int targetX = targetCell % width;
+        int targetY = targetCell / width;
+        recompute(targetCell, Math.max(0, Math.min(seekersMinX, targetX) - SEARCH_MARGIN),
+                Math.max(0, Math.min(seekersMinY, targetY) - SEARCH_MARGIN),
+                Math.min(width - 1, Math.max(seekersMaxX, targetX) + SEARCH_MARGIN),
+                Math.min(height - 1, Math.max(seekersMaxY, targetY) + SEARCH_MARGIN));
+        seekersMinX = Integer.MAX_VALUE;
+        seekersMinY = Integer.MAX_VALUE;
+        seekersMaxX = Integer.MIN_VALUE;
+        seekersMaxY = Integer.MIN_VALUE;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets the current field, so that it is recomputed the next time it is updated
+    public void invalidate() {
+        target = NO_TARGET;
+    }
+
+    // REQUIRES: the target cell is in the given window
+    // MODIFIES: this
+    // EFFECTS: computes the distance of every tile in the given window from the given target cell with a
+    //    breadth-first search that stays in the window
+    private void recompute(int targetCell, int minX, int minY, int maxX, int maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        int windowWidth = maxX - minX + 1;
+        int windowHeight = maxY - minY + 1;
+        int area = windowWidth * windowHeight;
+        if (distances.length < area) {
+            distances = new int[area];
+            queue = new int[area];
+        }
+        Arrays.fill(distances, 0, area, UNREACHABLE);
+        search(windowIndex(targetCell), windowWidth, windowHeight);
+        target = targetCell;
+        numRecomputations++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the distance of every tile in the window that can be reached from the tile at the given index in
+    //    the window, which has the given size, without leaving the window
+    private void search(int targetIndex, int windowWidth, int windowHeight) {
+        distances[targetIndex] = 0;
+        queue[0] = targetIndex;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int index = queue[head++];
+            int x = index % windowWidth;
+            int y = index / windowWidth;
+            for (Direction d : DIRECTIONS) {
+                int nearbyX = x + d.shiftX;
+                int nearbyY = y + d.shiftY;
+                int nearbyIndex = nearbyY * windowWidth + nearbyX;
+                if (nearbyX >= 0 && nearbyX < windowWidth && nearbyY >= 0 && nearbyY < windowHeight
+                        && distances[nearbyIndex] == UNREACHABLE
+                        && isWalkable((minY + nearbyY) * width + minX + nearbyX)) {
+                    distances[nearbyIndex] = distances[index] + 1;
+                    queue[tail++] = nearbyIndex;
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns the index in the window of the given cell, or -1 if it is not in the window
+    private int windowIndex(int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        if (x < minX || x > maxX || y < minY || y > maxY) {
+            return -1;
+        }
+        return (y - minY) * (maxX - minX + 1) + x - minX;
+    }
+
+    // EFFECTS: returns true if life forms following this field may walk on the given cell
+    private boolean isWalkable(int cell) {
+        return !avoidMines || !boardState.isMine(cell);
+    }
+
+    // REQUIRES: update has been called with the target that the step is wanted toward
+    /*
+     * EFFECTS: returns the unoccupied, walkable tile next to the given cell that is closest to the target, or -1 if
+     *    none of them is closer to the target than the given cell;
+     *    if several tiles are equally close, the preferred cell is returned if it is one of them, else the first in
+     *    Direction order
+     */
+    public int nextStep(int fromCell, int preferredCell) {
+        int[] offsets = adjacency.getOffsets();
+        int[] sliceStarts = adjacency.getSliceStarts();
+        int edgeClass = adjacency.edgeClass(fromCell);
+        int bestCell = -1;
+        int bestDistance = getDistance(fromCell);
+        for (int i = sliceStarts[edgeClass]; i < sliceStarts[edgeClass + 1]; i++) {
+            int nearbyCell = fromCell + offsets[i];
+            int distance = getDistance(nearbyCell);
+            boolean preferredTie = bestCell != -1 && distance == bestDistance && nearbyCell == preferredCell;
+            if ((distance < bestDistance || preferredTie) && !boardState.isOccupied(nearbyCell)) {
+                bestCell = nearbyCell;
+                bestDistance = distance;
+            }
+        }
+        return bestCell;
+    }
+
+    // EFFECTS: returns the given cell's distance from the target, or UNREACHABLE if it is not in the searched window
+    public int getDistance(int cell) {
+        int index = windowIndex(cell);
+        return index == -1 ? UNREACHABLE : distances[index];
+    }
+
+    // EFFECTS: returns how many tiles the last search covered
+    public int getSearchedArea() {
+        return (maxX - minX + 1) * (maxY - minY + 1);
+    }
+
+    // EFFECTS: returns roughly how many bytes this field's arrays take up; they are as large as the largest window
+    //    searched so far
+    public long estimateBytes() {
+        return 2 * BoardState.arrayBytes(Integer.BYTES, distances.length);
+    }
+
+    // getters
+    public int getTarget() {
+        return target;
+    }
+
+    public boolean getAvoidMines() {
+        return avoidMines;
+    }
+
+    public int getNumRecomputations() {
+        return numRecomputations;
+    }
+
+    // setters
+    // MODIFIES: this
+    // EFFECTS: sets whether mines are walls of this field, and invalidates the field if that changed
+    public void setAvoidMines(boolean avoidMines) {
+        if (this.avoidMines != avoidMines) {
+            this.avoidMines = avoidMines;
+            invalidate();
+        }
+    }
+}
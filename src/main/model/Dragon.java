@@ -1,58 +1,98 @@
 package model;
 
-// The abstract class for the dragons used in this project; specifies general dragon behaviour and methods.
-public abstract class Dragon extends LifeForm {
+// The class for the dragons used in this project; specifies general dragon behaviour and methods. What a dragon does
+//    on each of its attacks comes from its DragonDefinition's compiled tables.
+public class Dragon extends LifeForm {
     public static final int INTERVAL_BETWEEN_DRAGON_ATTACKS = 1000; // NOTE: this must be a multiple of 1000
+    // the HP and ATK that every dragon in the dragon definitions data file currently has
     protected static final int DRAGON_INITIAL_HP = 1000;
     protected static final int DRAGON_ATK = 50;
 
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final DragonAction[] ACTIONS = DragonAction.values();
+    // The chase direction for every relative offset, keyed by chaseKey; see buildChaseDirections
+    private static final Direction[] CHASE_DIRECTIONS = buildChaseDirections();
+
     protected DragonType dragonType;
-    protected DragonAction[] attackSequence;
     protected int attackSequencePointer = 0;
+    private boolean defeated = false;
+    private final int maxHp;
+    private final int baseAtk;
+    private final int[] actionCodes;
+    private final int[] damageModifiers;
+    private final int[] rangesSquared;
 
-    // EFFECTS: initiates a dragon of the given type with the given HP and ATK and returns it
+    // MODIFIES: this
+    // EFFECTS: makes a dragon with full HP whose type, stats and attack sequence are those of the given definition
+    protected Dragon(DragonDefinition definition) {
+        dragonType = definition.getDragonType();
+        maxHp = definition.getMaxHp();
+        actionCodes = definition.getActionCodes();
+        damageModifiers = definition.getDamageModifiers();
+        rangesSquared = definition.getRangesSquared();
+        baseAtk = definition.getAtk();
+        hp = maxHp;
+        atk = baseAtk;
+    }
+
+    // REQUIRES: the given dragon is on a tile, and the given district's board has the same size as its district's
+    // EFFECTS: creates a copy of the given dragon that plays in the given district, on the tile at the same position;
+    //    its definition's tables are shared rather than copied, and it has no opponent until one is set
+    Dragon(Dragon other, GameDistrict gd) {
+        dragonType = other.dragonType;
+        maxHp = other.maxHp;
+        actionCodes = other.actionCodes;
+        damageModifiers = other.damageModifiers;
+        rangesSquared = other.rangesSquared;
+        baseAtk = other.baseAtk;
+        copyLifeFormState(other, gd);
+        attackSequencePointer = other.attackSequencePointer;
+        defeated = other.defeated;
+    }
+
+    // EFFECTS: initiates a dragon of the given type with the HP and ATK of its definition and returns it
     public static Dragon initDragon(DragonType dt, GameDistrict gd) {
-        Dragon d;
-        switch (dt) {
-            case BLAZE:
-                d = new DragonBlaze();
-                break;
-            case TSUNAMI:
-                d = new DragonTsunami();
-                break;
-            default:
-                d = new DragonDownburst();
-                break;
-        }
-        d.hp = DRAGON_INITIAL_HP;
-        d.atk = DRAGON_ATK;
+        Dragon d = new Dragon(DragonDefinition.of(dt));
         d.gameDistrict = gd;
         return d;
     }
 
-    // EFFECTS: puts the game in a win state because the dragon is out of HP.
+    // MODIFIES: this
+    // EFFECTS: defeats the dragon, which leaves the board; the game is won once every dragon of the district is
+    //    defeated
     @Override
     protected void outOfHP() {
-        gameDistrict.getTracker().endGame(EndGameOutcome.NO_DRAGON_HP_WIN);
+        if (!defeated) {
+            defeated = true;
+            gameDistrict.dragonDefeated(this);
+        }
     }
 
     // EFFECTS: calculates how much damage the dragon's attack does to the user
     @Override
     protected int attackFormula() {
-        return atk * incomingDragonAttack().damageModifier;
+        return atk * damageModifiers[attackSequencePointer];
     }
 
     // EFFECTS: returns the type of attack that the dragon is about to do / currently doing
     //    and advances the attack marker by one position in the loop
     protected DragonAction incomingDragonAttack() {
-        return attackSequence[attackSequencePointer];
+        return ACTIONS[actionCodes[attackSequencePointer]];
     }
 
-    // MODIFIES: this
-    // EFFECTS: returns the range of the dragon's upcoming attack attack
+    // EFFECTS: returns the actions of this dragon's attack sequence, in order
+    DragonAction[] getAttackSequence() {
+        DragonAction[] attackSequence = new DragonAction[actionCodes.length];
+        for (int i = 0; i < attackSequence.length; i++) {
+            attackSequence[i] = ACTIONS[actionCodes[i]];
+        }
+        return attackSequence;
+    }
+
+    // EFFECTS: returns the square of the range of the dragon's upcoming attack
     @Override
-    public double determineRange() {
-        return incomingDragonAttack().atkRange;
+    public int determineRangeSquared() {
+        return rangesSquared[attackSequencePointer];
     }
 
     @Override
@@ -61,16 +101,9 @@ public abstract class Dragon extends LifeForm {
     //    note: if the upcoming move is MOVE_TO_MAGE, attempts to move toward mage instead of attacks them.
     public boolean attackOpponent() {
         boolean attackedMage = false;
-        if (incomingDragonAttack().equals(DragonAction.MOVE_TO_MAGE)) {
-            double twoPi = Math.PI * 2;
-            double relativeDirection = Math.atan2(opponent.currentTile.y - this.currentTile.y,
-                    opponent.currentTile.x - this.currentTile.x) - Math.PI / 2;
-            if (relativeDirection < 0) {
-                relativeDirection += twoPi;
-            }
-            Direction dirToMove = Direction.values()[(int) (relativeDirection / twoPi * Direction.values().length)];
-            move(dirToMove);
-        } else if (opponentIsInRange(determineRange())) {
+        if (actionCodes[attackSequencePointer] == DragonDefinition.MOVE_TO_MAGE_CODE) {
+            chaseOpponent();
+        } else if (opponentIsInRange(determineRangeSquared())) {
             opponent.takeDamage(attackFormula());
             attackedMage = true;
         }
@@ -78,10 +111,74 @@ public abstract class Dragon extends LifeForm {
         return attackedMage;
     }
 
+    // MODIFIES: this
+    // EFFECTS: moves one tile down the district's distance field toward the opponent, preferring the direct chase
+    //    direction among equally short paths; if no tile next to this dragon is closer to the opponent (e.g. when the
+    //    opponent is next to this dragon or cannot be reached), tries to move in the direct chase direction instead,
+    //    unless that tile is a mine that the distance field avoids
+    protected void chaseOpponent() {
+        BoardState boardState = gameDistrict.getBoardState();
+        DistanceField distanceField = gameDistrict.getDistanceField();
+        distanceField.update(opponent.currentTile.getCell(), currentTile.getCell());
+        Direction direct = chaseDirection(opponent.currentTile.x - currentTile.x,
+                opponent.currentTile.y - currentTile.y);
+        int directX = currentTile.x + direct.shiftX;
+        int directY = currentTile.y + direct.shiftY;
+        int directCell = boardState.isOnBoard(directX, directY) ? boardState.cellIndex(directX, directY) : -1;
+        int nextCell = distanceField.nextStep(currentTile.getCell(), directCell);
+        if (nextCell != -1) {
+            move(chaseDirection(nextCell % boardState.getWidth() - currentTile.x,
+                    nextCell / boardState.getWidth() - currentTile.y));
+        } else if (directCell == -1 || !distanceField.getAvoidMines() || !boardState.isMine(directCell)) {
+            move(direct);
+        }
+    }
+
+    // EFFECTS: returns the direction to move in to chase a tile that is dx, dy away from this dragon's tile; this is a
+    //    lookup in a table built once from the angle formula in angleDirection, so it needs no trigonometry
+    protected static Direction chaseDirection(int dx, int dy) {
+        return CHASE_DIRECTIONS[chaseKey(dx, dy)];
+    }
+
+    // EFFECTS: returns the index in the chase table of the given offset. The 8 directions split the plane into
+    //    45 degree sectors whose boundaries are the axes and the diagonals, so an offset's sector only depends on
+    //    the signs of dx, dy and |dx| - |dy|, which gives 3 * 3 * 3 = 27 keys for offsets of any size
+    private static int chaseKey(int dx, int dy) {
+        return (Integer.signum(dx) + 1) * 9 + (Integer.signum(dy) + 1) * 3
+                + Integer.signum(Math.abs(dx) - Math.abs(dy)) + 1;
+    }
+
+    // EFFECTS: returns the chase table, filled in with angleDirection for one representative offset of each key
+    //    (keys whose signs cannot all hold at once are filled in but never looked up)
+    private static Direction[] buildChaseDirections() {
+        Direction[] chaseDirections = new Direction[27];
+        for (int signX = -1; signX <= 1; signX++) {
+            for (int signY = -1; signY <= 1; signY++) {
+                for (int signDiff = -1; signDiff <= 1; signDiff++) {
+                    int dx = signX * (signDiff > 0 ? 2 : 1);
+                    int dy = signY * (signDiff < 0 ? 2 : 1);
+                    chaseDirections[(signX + 1) * 9 + (signY + 1) * 3 + signDiff + 1] = angleDirection(dx, dy);
+                }
+            }
+        }
+        return chaseDirections;
+    }
+
+    // EFFECTS: returns the direction whose 45 degree sector (starting with NORTH and going counterclockwise) contains
+    //    the angle of the given offset
+    protected static Direction angleDirection(int dx, int dy) {
+        double twoPi = Math.PI * 2;
+        double relativeDirection = Math.atan2(dy, dx) - Math.PI / 2;
+        if (relativeDirection < 0) {
+            relativeDirection += twoPi;
+        }
+        return DIRECTIONS[(int) (relativeDirection / twoPi * DIRECTIONS.length)];
+    }
+
     // MODIFIES: this
     // EFFECTS: gets the position of the next attack in this dragon's attack sequence
     protected void nextAttackSequencePos() {
-        if (attackSequencePointer < attackSequence.length - 1) {
+        if (attackSequencePointer < actionCodes.length - 1) {
             attackSequencePointer += 1;
         } else {
             attackSequencePointer = 0;
@@ -92,17 +189,33 @@ public abstract class Dragon extends LifeForm {
     // EFFECTS: resets the life form so they are ready for the game
     @Override
     public void resetLifeFormForGame() {
-        hp = DRAGON_INITIAL_HP;
+        hp = maxHp;
         attackSequencePointer = 0;
+        defeated = false;
+    }
+
+    // REQUIRES: the given cell is on the board of this dragon's district
+    // MODIFIES: this
+    // EFFECTS: puts this dragon back in a state saved in a GameState, on the given cell; it is defeated (and does not
+    //    occupy the cell) if it has no HP left
+    void restoreState(int cell, int hp, int attackSequencePointer) {
+        int width = gameDistrict.getWidth();
+        placeOnTile(cell % width, cell / width);
+        this.hp = hp;
+        this.attackSequencePointer = attackSequencePointer;
+        defeated = hp == 0;
+        if (!defeated) {
+            currentTile.occupy(lifeFormId);
+        }
     }
 
     // getters
     public int getConstantDragonMaxHp() {
-        return DRAGON_INITIAL_HP;
+        return maxHp;
     }
 
     public int getConstantDragonAtk() {
-        return DRAGON_ATK;
+        return baseAtk;
     }
 
     public int getVarDragonAtk() {
@@ -113,6 +226,10 @@ public abstract class Dragon extends LifeForm {
         return this.hp;
     }
 
+    public boolean isDefeated() {
+        return defeated;
+    }
+
     public DragonType getDragonType() {
         return this.dragonType;
     }
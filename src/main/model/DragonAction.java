@@ -10,10 +10,12 @@ public enum DragonAction {
 
     public final int damageModifier;
     public final double atkRange;
+    public final int atkRangeSquared; // squared distances between tiles are integers, so this is floor(atkRange ^ 2)
 
     // EFFECTS: a constructor that saves the damage modifier and attack range of each action into public variables
     DragonAction(int damageModifier, double atkRange) {
         this.damageModifier = damageModifier;
         this.atkRange = atkRange;
+        this.atkRangeSquared = (int) Math.floor(atkRange * atkRange);
     }
 }
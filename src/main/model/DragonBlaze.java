@@ -4,10 +4,8 @@ package model;
 public class DragonBlaze extends Dragon {
 
     // MODIFIES: this
-    // EFFECTS: sets the dragonType and attack sequence of this dragon to predetermined values
+    // EFFECTS: makes a dragon with the type, stats and attack sequence defined for BLAZE dragons in the data file
     public DragonBlaze() {
-        dragonType = DragonType.BLAZE;
-        attackSequence = new DragonAction[]{DragonAction.DO_NOTHING, DragonAction.MOVE_TO_MAGE, DragonAction.MELEE,
-                DragonAction.DO_NOTHING, DragonAction.MELEE, DragonAction.MOVE_TO_MAGE, DragonAction.MOVE_TO_MAGE};
+        super(DragonDefinition.of(DragonType.BLAZE));
     }
 }
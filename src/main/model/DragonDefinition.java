@@ -0,0 +1,155 @@
+package model;
+
+import exceptions.InvalidInputException;
+import org.json.simple.parser.ParseException;
+import persistence.DragonDefinitionReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static model.DragonAction.*;
+
+// The stats and attack sequence of one type of dragon, as defined in the dragon definitions data file.
+// The sequence is compiled once, when the definition is made, into flat tables indexed by sequence position: the
+//    action code (DragonAction ordinal), damage modifier, range and squared range of every step. A dragon reads its
+//    next step straight out of these arrays, so an attack needs no enum lookups or virtual calls, and a new kind of
+//    dragon only needs a DragonType constant and an entry in the data file, not a subclass.
+// When the data file is not there (e.g. the game is run from another directory), the built-in definitions, which
+//    match the data file that comes with the game, are used instead.
+public final class DragonDefinition {
+    public static final String DRAGON_DEFINITIONS_PATH = "./data/dragons.json";
+    public static final int MOVE_TO_MAGE_CODE = DragonAction.MOVE_TO_MAGE.ordinal();
+    private static final DragonAction[][] BUILT_IN_SEQUENCES = { // indexed by DragonType ordinal
+        {DO_NOTHING, MOVE_TO_MAGE, MELEE, DO_NOTHING, MELEE, MOVE_TO_MAGE, MOVE_TO_MAGE},
+        {DO_NOTHING, MOVE_TO_MAGE, MELEE, DO_NOTHING, RANGED, RANGED, MOVE_TO_MAGE, MOVE_TO_MAGE, MELEE},
+        {DO_NOTHING, BLAST, RANGED, DO_NOTHING, RANGED, DO_NOTHING, MOVE_TO_MAGE, MOVE_TO_MAGE, MELEE, MELEE,
+            MOVE_TO_MAGE}
+    };
+
+    private static Map<DragonType, DragonDefinition> definitions;
+
+    private final DragonType dragonType;
+    private final int maxHp;
+    private final int atk;
+    private final DragonAction[] actions;
+    private final int[] actionCodes;
+    private final int[] damageModifiers;
+    private final double[] ranges;
+    private final int[] rangesSquared; // squared distances between tiles are integers, so these are floor(range ^ 2)
+
+    // EFFECTS: compiles a definition with the given stats and attack sequence; an action's damage modifier and range
+    //    are the ones in the given override maps if it is in them, else the action's defaults;
+    //    throws InvalidInputException if the sequence is empty, maxHp is not positive or atk, a damage modifier or a
+    //    range is negative
+    public DragonDefinition(DragonType dragonType, int maxHp, int atk, DragonAction[] actions,
+                            Map<DragonAction, Integer> damageModifierOverrides,
+                            Map<DragonAction, Double> rangeOverrides) throws InvalidInputException {
+        if (actions.length == 0 || maxHp <= 0 || atk < 0) {
+            throw new InvalidInputException();
+        }
+        this.dragonType = dragonType;
+        this.maxHp = maxHp;
+        this.atk = atk;
+        this.actions = actions.clone();
+        actionCodes = new int[actions.length];
+        damageModifiers = new int[actions.length];
+        ranges = new double[actions.length];
+        rangesSquared = new int[actions.length];
+        for (int i = 0; i < actions.length; i++) {
+            DragonAction action = actions[i];
+            actionCodes[i] = action.ordinal();
+            damageModifiers[i] = damageModifierOverrides.getOrDefault(action, action.damageModifier);
+            ranges[i] = rangeOverrides.getOrDefault(action, action.atkRange);
+            if (damageModifiers[i] < 0 || ranges[i] < 0) {
+                throw new InvalidInputException();
+            }
+            rangesSquared[i] = (int) Math.floor(ranges[i] * ranges[i]);
+        }
+    }
+
+    // EFFECTS: returns the definition of the given type of dragon, reading the dragon definitions data file (or
+    //    taking the built-in definitions if there is no such file) the first time a definition is asked for;
+    //    throws IllegalStateException if the file cannot be read or does not define the given type
+    public static synchronized DragonDefinition of(DragonType dragonType) {
+        if (definitions == null) {
+            definitions = load(DRAGON_DEFINITIONS_PATH);
+        }
+        DragonDefinition definition = definitions.get(dragonType);
+        if (definition == null) {
+            throw new IllegalStateException("No definition for dragon type " + dragonType);
+        }
+        return definition;
+    }
+
+    // EFFECTS: reads the dragon definitions in the given file, or returns the built-in ones if there is no such file;
+    //    throws IllegalStateException if the file cannot be read
+    static Map<DragonType, DragonDefinition> load(String path) {
+        if (!new File(path).isFile()) {
+            return builtInDefinitions();
+        }
+        try {
+            Map<DragonType, DragonDefinition> loaded = new EnumMap<>(DragonType.class);
+            for (DragonDefinition definition : new DragonDefinitionReader().readDefinitions(path)) {
+                loaded.put(definition.getDragonType(), definition);
+            }
+            return loaded;
+        } catch (IOException | ParseException | InvalidInputException e) {
+            throw new IllegalStateException("Could not read the dragon definitions in " + path, e);
+        }
+    }
+
+    // EFFECTS: returns the built-in definition of every type of dragon: the standard stats and BUILT_IN_SEQUENCES
+    static Map<DragonType, DragonDefinition> builtInDefinitions() {
+        Map<DragonType, DragonDefinition> builtIn = new EnumMap<>(DragonType.class);
+        for (DragonType dt : DragonType.values()) {
+            try {
+                builtIn.put(dt, new DragonDefinition(dt, Dragon.DRAGON_INITIAL_HP, Dragon.DRAGON_ATK,
+                        BUILT_IN_SEQUENCES[dt.ordinal()], Collections.emptyMap(), Collections.emptyMap()));
+            } catch (InvalidInputException e) {
+                throw new IllegalStateException("Invalid built-in definition for dragon type " + dt, e);
+            }
+        }
+        return builtIn;
+    }
+
+    // getters
+    public DragonType getDragonType() {
+        return dragonType;
+    }
+
+    public int getMaxHp() {
+        return maxHp;
+    }
+
+    public int getAtk() {
+        return atk;
+    }
+
+    public int getSequenceLength() {
+        return actions.length;
+    }
+
+    // Note: the following arrays are shared by every dragon of this type and must not be modified.
+    public DragonAction[] getActions() {
+        return actions;
+    }
+
+    public int[] getActionCodes() {
+        return actionCodes;
+    }
+
+    public int[] getDamageModifiers() {
+        return damageModifiers;
+    }
+
+    public double[] getRanges() {
+        return ranges;
+    }
+
+    public int[] getRangesSquared() {
+        return rangesSquared;
+    }
+}
@@ -0,0 +1,72 @@
+package model;
+
+// An iterative flood fill that reveals tiles of a board of any size without recursion.
+// The cells it reveals are kept, in reveal order, in a queue that is allocated once and reused by every fill,
+//    so revealing tiles never allocates and can never run out of stack, no matter how large the opened area is.
+public class FloodFill {
+    private final Adjacency adjacency;
+    private final int[] queue;
+    private int numRevealed = 0;
+
+    // REQUIRES: width >= 2 and height >= 2
+    // EFFECTS: creates a flood fill for boards with the given dimensions
+    public FloodFill(int width, int height) {
+        adjacency = Adjacency.of(width, height);
+        queue = new int[width * height];
+    }
+
+    // MODIFIES: boardState, this
+    /*
+     * EFFECTS: reveals the given cell and returns how many tiles were newly revealed:
+     *    nothing is revealed if the cell is flagged or already revealed
+     *    only the cell is revealed if it is a mine or has at least one nearby mine
+     *    else every hidden, unflagged tile connected to the cell through tiles with no nearby mines is revealed
+     *    the revealed cells can then be read with getRevealedCell(0) ... getRevealedCell(numRevealed - 1)
+     */
+    public int fill(BoardState boardState, int startCell) {
+        numRevealed = 0;
+        if (boardState.isRevealed(startCell) || boardState.isFlagged(startCell)) {
+            return 0;
+        }
+        enqueue(boardState, startCell);
+        int head = 0;
+        while (head < numRevealed) {
+            int cell = queue[head++];
+            if (!boardState.isMine(cell) && boardState.countNearbyMines(cell) == 0) {
+                enqueueHiddenNeighbours(boardState, cell);
+            }
+        }
+        return numRevealed;
+    }
+
+    // MODIFIES: boardState, this
+    // EFFECTS: reveals and queues every hidden, unflagged tile around the given cell
+    private void enqueueHiddenNeighbours(BoardState boardState, int cell) {
+        int[] offsets = adjacency.getOffsets();
+        int[] sliceStarts = adjacency.getSliceStarts();
+        int edgeClass = adjacency.edgeClass(cell);
+        for (int i = sliceStarts[edgeClass]; i < sliceStarts[edgeClass + 1]; i++) {
+            int nearbyCell = cell + offsets[i];
+            if (!boardState.isRevealed(nearbyCell) && !boardState.isFlagged(nearbyCell)) {
+                enqueue(boardState, nearbyCell);
+            }
+        }
+    }
+
+    // MODIFIES: boardState, this
+    // EFFECTS: reveals the given cell and adds it to the end of the queue
+    private void enqueue(BoardState boardState, int cell) {
+        boardState.setRevealed(cell, true);
+        queue[numRevealed++] = cell;
+    }
+
+    // getters
+    public int getNumRevealed() {
+        return numRevealed;
+    }
+
+    // REQUIRES: 0 <= i < getNumRevealed()
+    public int getRevealedCell(int i) {
+        return queue[i];
+    }
+}
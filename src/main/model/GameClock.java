@@ -0,0 +1,23 @@
+package model;
+
+// A clock that drives a game: once started, it calls back once per tick until it is stopped, and it tells the time
+//    that visual effects and other timing of the game are measured against.
+// Games shown to a player run on a real-time clock; simulations and tests can run on a VirtualGameClock, which only
+//    moves when it is advanced and so runs games as fast as they can be computed, with the same timing every time.
+public interface GameClock {
+
+    // MODIFIES: this
+    // EFFECTS: starts calling the given callback once per tick, the first time one tick from now; a clock that is
+    //    already running is restarted with the given callback
+    void start(Runnable onTick);
+
+    // MODIFIES: this
+    // EFFECTS: stops calling back; does nothing if this clock is not running
+    void stop();
+
+    // EFFECTS: returns true if this clock is calling back once per tick
+    boolean isRunning();
+
+    // EFFECTS: returns the current time of this clock in milliseconds; only differences between times are meaningful
+    long currentTimeMillis();
+}
@@ -5,44 +5,247 @@ import ui.GameWorld;
 import ui.InGameEventsTracker;
 
 import java.awt.*;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
-// INVARIANT: for every Difficulty level, the amount of mines < BOARD_EDGE_LENGTH ^ 2
+// INVARIANT: the amount of mines + 1 + the amount of dragons <= the amount of tiles on the board
 // A "map" in this game. Contains a grid of mine-storing tiles that life forms can walk on.
+// Note: boards are BOARD_EDGE_LENGTH x BOARD_EDGE_LENGTH unless the district is made with custom dimensions.
+// Note: a district has one dragon unless it is made with more; they are all of the district's dragon type. The mage
+//    has the life form id MAGE_ID and the dragon at index i has the id i + 1; the board's occupancy index maps each
+//    occupied tile to the id of the life form on it, so finding who is on a tile does not depend on how many
+//    dragons there are.
 public class GameDistrict {
     public static final int BOARD_EDGE_LENGTH = 8;
+    public static final int MIN_BOARD_EDGE_LENGTH = BOARD_EDGE_LENGTH;
+    public static final int MAX_BOARD_EDGE_LENGTH = 4096;
+    public static final int MAX_DRAGONS = 64;
+    public static final int MAGE_ID = 0;
+    public static final int SAFE_START_AREA = 9; // the mage's starting tile and the tiles around it
+    // rough sizes of the parts of a district that do not grow with its board, for estimateBytes
+    private static final int DISTRICT_FIXED_BYTES = 512;  // the district, its name, its mage's starting point, ...
+    private static final int BYTES_PER_DRAGON = 128;      // a dragon, its starting point and its slots in the arrays
 
     private String districtName;
     private Difficulty difficultyLevel;
     private Mage mage;
-    private Dragon dragon;
+    private Dragon[] dragons;
+    private Dragon[] dragonsInRange;  // filled by findDragonsInRange
+    private int numDragonsLeft;       // how many dragons are not defeated in the current game
     private GameWorld gameWorld;
     private boolean inGame = false;
     private EndGameOutcome gameOutcome = EndGameOutcome.STILL_PLAYING_GAME;
-    private Point[] mineCoords;
+    private int[] mineCells;
     private InGameEventsTracker tracker;
-    public GameTile[][] board = new GameTile[BOARD_EDGE_LENGTH][BOARD_EDGE_LENGTH]; // stores rows of game tiles
+    private int untrackedTimeLeft = InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS; // used while there is no tracker
+    private final int width;
+    private final int height;
+    private final int numMines;
+    private final long seed;       // the seed this district's layout was generated from
+    private final boolean seeded;  // false if this district was loaded from a save that lists its layout instead
+    private boolean safeStart = false; // true if mines around the mage's starting tile are moved away on each setup
+    private final BoardState boardState;
+    private long lastRevealedMask = 0; // the tiles revealed by the most recent reveal; lets renderers see changes
+    private FloodFill floodFill;         // the reveals of boards that do not fit in one word; made on first use
+    private DistanceField distanceField; // the dragons' path toward the mage; made on first use
+    private DeductionSolver deductionSolver; // finds the hints for this district's games; made on first use
+    private MineProbabilityEngine mineProbabilityEngine; // the chances for the heatmap; made on first use
+    private long[] threatenedTiles;      // filled by findThreatenedTiles; made on first use
+    private int[] threatenedCells = new int[0]; // boards larger than a word: the tiles set in it, to clear next time
+    private int numThreatenedCells = 0;
     private Point mageInitialLocation;
-    private Point dragonInitialLocation;
+    private Point[] dragonInitialLocations;
     public int bestClearTimeInMS = -1; // -1 represents "never cleared before"; ceiling to nearest timerTicked interval
 
     // MODIFIES: this
-    // EFFECTS: creates a new game map (district) with the given parameters.
+    // EFFECTS: creates a new game map (district) with the given parameters and a standard sized board.
     public GameDistrict(DragonType dt, Difficulty difficulty, GameWorld gw) {
-        dragon = Dragon.initDragon(dt, this);
+        this(dt, difficulty, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, gw);
+    }
+
+    // REQUIRES: isValidBoardSize(width, height)
+    // MODIFIES: this
+    // EFFECTS: creates a new game map (district) with the given parameters, a width x height board and a fresh seed.
+    public GameDistrict(DragonType dt, Difficulty difficulty, int width, int height, GameWorld gw) {
+        this(dt, difficulty, width, height, new SplittableRandom().nextLong(), gw);
+    }
+
+    // REQUIRES: isValidBoardSize(width, height)
+    // MODIFIES: this
+    // EFFECTS: creates a new game map (district) with the given parameters and a width x height board whose mines
+    //    and life form locations are derived from the given seed; the same seed always gives the same layout.
+    public GameDistrict(DragonType dt, Difficulty difficulty, int width, int height, long seed, GameWorld gw) {
+        this(dt, difficulty, width, height, 1, seed, gw);
+    }
+
+    // REQUIRES: isValidBoardSize(width, height) and isValidNumDragons(numDragons, difficulty, width, height)
+    // MODIFIES: this
+    // EFFECTS: creates a new game map (district) with the given amount of dragons of the given type and a
+    //    width x height board whose mines and life form locations are derived from the given seed
+    public GameDistrict(DragonType dt, Difficulty difficulty, int width, int height, int numDragons, long seed,
+                        GameWorld gw) {
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+        seeded = true;
+        boardState = new BoardState(width, height);
+        numMines = difficulty.numMinesFor(width, height);
+        initDragons(dt, numDragons);
         initDistrictAsWorldPart(gw);
         difficultyLevel = difficulty;
         districtName = nameDistrict();
         setMineCoordsAndLifeFormLocations();
     }
 
+    // MODIFIES: this
+    // EFFECTS: tries to recreate a game district with a width x height board from a saved JSON district's name, seed
+    //    and best time, throws exception if unsuccessful
+    public GameDistrict(String districtName, int width, int height, long seed, int bestClearTimeInMS, GameWorld gw)
+            throws InvalidInputException {
+        this(districtName, width, height, 1, seed, bestClearTimeInMS, gw);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: tries to recreate a game district with a width x height board and the given amount of dragons from a
+    //    saved JSON district's name, seed and best time, throws exception if unsuccessful
+    public GameDistrict(String districtName, int width, int height, int numDragons, long seed, int bestClearTimeInMS,
+                        GameWorld gw) throws InvalidInputException {
+        this(districtName, width, height, numDragons, seed, true, bestClearTimeInMS, gw);
+        setMineCoordsAndLifeFormLocations();
+    }
+
     // MODIFIES: this
     // EFFECTS: tries to recreate a new game district based off a saved JSON district, throws exception if unsuccessful
     public GameDistrict(String districtName, Point[] mineCoords, Point mageInitLocation, Point dragonInitialLocation,
                         int bestClearTimeInMS, GameWorld gw) throws InvalidInputException {
+        this(districtName, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, mineCoords, mageInitLocation, dragonInitialLocation,
+                bestClearTimeInMS, gw);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: tries to recreate a new game district with a width x height board based off a saved JSON district
+    //    that lists its mines and life form locations instead of a seed, throws exception if unsuccessful
+    public GameDistrict(String districtName, int width, int height, Point[] mineCoords, Point mageInitLocation,
+                        Point dragonInitialLocation, int bestClearTimeInMS, GameWorld gw)
+            throws InvalidInputException {
+        this(districtName, width, height, 1, 0, false, bestClearTimeInMS, gw);
+        mineCells = toCells(mineCoords);
+        checkOnBoard(mageInitLocation);
+        checkOnBoard(dragonInitialLocation);
+        this.mageInitialLocation = mageInitLocation;
+        dragonInitialLocations = new Point[]{dragonInitialLocation};
+    }
+
+    // MODIFIES: this
+    // EFFECTS: recreates the parts of a saved district that do not depend on how its layout was saved, throws
+    //    exception if its board size, amount of dragons or name is invalid
+    private GameDistrict(String districtName, int width, int height, int numDragons, long seed, boolean seeded,
+                         int bestClearTimeInMS, GameWorld gw) throws InvalidInputException {
+        if (!isValidBoardSize(width, height)) {
+            throw new InvalidInputException();
+        }
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+        this.seeded = seeded;
+        boardState = new BoardState(width, height);
+        DragonType dt = findDragonAndDifficulty(districtName);
+        if (!isValidNumDragons(numDragons, difficultyLevel, width, height)) {
+            throw new InvalidInputException();
+        }
+        numMines = difficultyLevel.numMinesFor(width, height);
+        initDragons(dt, numDragons);
+        initDistrictAsWorldPart(gw);
+        this.districtName = districtName;
+        this.bestClearTimeInMS = bestClearTimeInMS;
+    }
+
+    // REQUIRES: the given district's game has been set up
+    // MODIFIES: source
+    // EFFECTS: creates a fork of the given district's current game; see fork()
+    private GameDistrict(GameDistrict source) {
+        width = source.width;
+        height = source.height;
+        seed = source.seed;
+        seeded = source.seeded;
+        numMines = source.numMines;
+        districtName = source.districtName;
+        difficultyLevel = source.difficultyLevel;
+        gameWorld = source.gameWorld;
+        mineCells = source.mineCells;
+        mageInitialLocation = source.mageInitialLocation;
+        dragonInitialLocations = source.dragonInitialLocations;
+        safeStart = source.safeStart;
+        bestClearTimeInMS = source.bestClearTimeInMS;
+        boardState = new BoardState(source.boardState);
+        inGame = source.inGame;
+        gameOutcome = source.gameOutcome;
+        numDragonsLeft = source.numDragonsLeft;
+        lastRevealedMask = source.lastRevealedMask;
+        untrackedTimeLeft = source.getTimeLeftInGame();
+        copyLifeForms(source);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: gives this district copies of the given district's mage and dragons, set against each other
+    private void copyLifeForms(GameDistrict source) {
+        mage = new Mage(source.mage, this);
+        dragons = new Dragon[source.dragons.length];
+        dragonsInRange = new Dragon[dragons.length];
+        for (int i = 0; i < dragons.length; i++) {
+            dragons[i] = new Dragon(source.dragons[i], this);
+            dragons[i].setOpponent(mage);
+        }
+        mage.setOpponent(inGame ? dragons[0] : null);
+    }
+
+    // EFFECTS: returns true if a district's board can be width x height tiles
+    public static boolean isValidBoardSize(int width, int height) {
+        return width >= MIN_BOARD_EDGE_LENGTH && height >= MIN_BOARD_EDGE_LENGTH
+                && width <= MAX_BOARD_EDGE_LENGTH && height <= MAX_BOARD_EDGE_LENGTH;
+    }
+
+    // EFFECTS: returns true if a district with the given difficulty and a width x height board can have the given
+    //    amount of dragons, i.e. there are enough tiles for the mines, the mage and every dragon to start apart
+    public static boolean isValidNumDragons(int numDragons, Difficulty difficulty, int width, int height) {
+        return isValidNumDragons(numDragons, difficulty, width, height, false);
+    }
+
+    // EFFECTS: returns true if a district with the given difficulty and a width x height board can have the given
+    //    amount of dragons, as above; with a safe start, the tiles around the mage's starting tile are kept clear of
+    //    mines too, so there must also be room for every mine outside them
+    public static boolean isValidNumDragons(int numDragons, Difficulty difficulty, int width, int height,
+                                            boolean safeStart) {
+        int mageTiles = safeStart ? SAFE_START_AREA : 1;
+        return numDragons >= 1 && numDragons <= MAX_DRAGONS
+                && difficulty.numMinesFor(width, height) + mageTiles + numDragons <= width * height;
+    }
+
+    // EFFECTS: throws InvalidInputException if the given point is not a tile on this district's board
+    private void checkOnBoard(Point p) throws InvalidInputException {
+        if (!boardState.isOnBoard(p.x, p.y)) {
+            throw new InvalidInputException();
+        }
+    }
+
+    // EFFECTS: returns the cell of each of the given points, throws exception if any of them is not on the board
+    private int[] toCells(Point[] points) throws InvalidInputException {
+        int[] cells = new int[points.length];
+        for (int i = 0; i < points.length; i++) {
+            checkOnBoard(points[i]);
+            cells[i] = boardState.cellIndex(points[i].x, points[i].y);
+        }
+        return cells;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: finds this district's difficulty level from its saved name and returns its dragon type, throws
+    //    exception if unsuccessful
+    private DragonType findDragonAndDifficulty(String districtName) throws InvalidInputException {
+        DragonType dragonType = null;
         for (DragonType dt : DragonType.values()) {
             if (dt.toString().charAt(0) == districtName.charAt(9)) {
-                dragon = Dragon.initDragon(dt, this);
+                dragonType = dt;
                 break;
             }
         }
@@ -52,23 +255,32 @@ public class GameDistrict {
                 break;
             }
         }
-        if (difficultyLevel == null || dragon == null) {
+        if (difficultyLevel == null || dragonType == null) {
             throw new InvalidInputException();
         }
-        initDistrictAsWorldPart(gw);
-        this.districtName = districtName;
-        this.mineCoords = mineCoords;
-        this.mageInitialLocation = mageInitLocation;
-        this.dragonInitialLocation = dragonInitialLocation;
-        this.bestClearTimeInMS = bestClearTimeInMS;
+        return dragonType;
     }
 
-    // MODIFIES: this.mage, this.dragon, this
-    // EFFECTS: sets the dragon as the mage's opponent and records the world and mage that this dragon is in / against
+    // MODIFIES: this
+    // EFFECTS: makes the given amount of dragons of the given type for this district, with ids 1 to numDragons
+    private void initDragons(DragonType dt, int numDragons) {
+        dragons = new Dragon[numDragons];
+        dragonsInRange = new Dragon[numDragons];
+        for (int i = 0; i < numDragons; i++) {
+            dragons[i] = Dragon.initDragon(dt, this);
+            dragons[i].setLifeFormId(i + 1);
+        }
+        numDragonsLeft = numDragons;
+    }
+
+    // MODIFIES: this.mage, this.dragons, this
+    // EFFECTS: sets the mage as every dragon's opponent and records the world and mage that this district is in
     private void initDistrictAsWorldPart(GameWorld gw) {
         this.gameWorld = gw;
         mage = gameWorld.getMage();
-        dragon.setOpponent(mage);
+        for (Dragon dragon : dragons) {
+            dragon.setOpponent(mage);
+        }
     }
 
     // MODIFIES: this
@@ -78,89 +290,61 @@ public class GameDistrict {
     //               'E' stands for Easy, the difficulty level of the minesweeper aspect of the district
     //               '0' means there were no districts made before this one in the current world.
     private String nameDistrict() {
-        return "District " + dragon.getDragonType().toString().charAt(0) + difficultyLevel.toString().charAt(0) + "-"
+        return "District " + dragons[0].getDragonType().toString().charAt(0) + difficultyLevel.toString().charAt(0) + "-"
                 + gameWorld.getNumDistrictsMade();
     }
 
     // MODIFIES: this
-    // EFFECTS: creates a 8x8 grid of GameTiles and stores it as the game board for this,
-    //    sets some tiles as mines, then initializes each tile, setting 2 tiles for the life forms to be on.
+    // EFFECTS: names this district again from how many districts its world has made by now; for districts that were
+    //    made ahead of time and are only now being added to their world
+    public void renameFromWorld() {
+        districtName = nameDistrict();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: clears the board state, then sets the tiles at this district's mine cells as mines and counts
+    //    how many mines are near each tile. The resulting board is cached as the board's pristine state, so
+    //    later calls restore it with a couple of array copies instead of placing and counting the mines again.
     public void initializeGameBoard() {
-        for (int tileAtXPos = 0; tileAtXPos < BOARD_EDGE_LENGTH; tileAtXPos++) {
-            for (int tilesRowAtYPos = 0; tilesRowAtYPos < BOARD_EDGE_LENGTH; tilesRowAtYPos++) {
-                board[tilesRowAtYPos][tileAtXPos] = new GameTile(tileAtXPos, tilesRowAtYPos, this);
-            }
+        if (distanceField != null) {
+            distanceField.invalidate();
         }
-        for (Point p : mineCoords) {
-            board[p.y][p.x].setIsMine();
+        if (boardState.hasPristine()) {
+            boardState.restorePristine();
+            return;
         }
-        for (int tileAtXPos = 0; tileAtXPos < BOARD_EDGE_LENGTH; tileAtXPos++) {
-            for (int tilesRowAtYPos = 0; tilesRowAtYPos < BOARD_EDGE_LENGTH; tilesRowAtYPos++) {
-                board[tilesRowAtYPos][tileAtXPos].initializeTileInGrid();
-            }
+        boardState.clearMines();
+        boardState.clearPlayState();
+        for (int cell : mineCells) {
+            boardState.setMine(cell);
         }
+        boardState.recountNearbyMines();
+        boardState.savePristine();
     }
 
     // MODIFIES: this
-    // EFFECTS: selects mines and player/dragon locations for the district
+    // EFFECTS: selects the player/first dragon locations, then the mines and then the other dragons' locations for the
+    //    district from its seed; all are distinct cells, so no mine is ever placed under a life form's starting tile
+    //    note: a district with one dragon therefore has the same layout for a seed as before districts could have more
     public void setMineCoordsAndLifeFormLocations() {
-        mineCoords = selectMines();
-        mageInitialLocation = generateUniquePoint(mineCoords);
-        dragonInitialLocation = generateUniquePoint(mineCoords, mageInitialLocation);
-    }
-
-    // MODIFIES: this
-    // EFFECTS: records the number of mines to be defused in this map based on the difficulty level, then
-    //    returns that amount of randomly generated mine location coordinates
-    private Point[] selectMines() {
-        mineCoords = new Point[difficultyLevel.numMines];
-        for (int i = 0; i < difficultyLevel.numMines; i++) {
-            mineCoords[i] = generateUniquePoint(mineCoords);
+        boardState.discardPristine();
+        MinePlacer minePlacer = new MinePlacer(boardState.getNumCells(), numMines + 1 + dragons.length,
+                new SplittableRandom(seed));
+        mageInitialLocation = pointAt(minePlacer.next());
+        dragonInitialLocations = new Point[dragons.length];
+        dragonInitialLocations[0] = pointAt(minePlacer.next());
+        mineCells = new int[numMines];
+        for (int i = 0; i < numMines; i++) {
+            mineCells[i] = minePlacer.next();
+        }
+        for (int i = 1; i < dragons.length; i++) {
+            dragonInitialLocations[i] = pointAt(minePlacer.next());
         }
-        return mineCoords;
     }
 
-    // Note: the following method is documented with comments b/c it is convoluted; please read comments for details
-    // REQUIRES: the list passed in has less unique elements than the largest board size
-    // EFFECTS: generates a random coordinate in a game district that is unique from the points in the provided list
-    protected Point generateUniquePoint(Point[] pointList) {
-        Point possiblePt = null;
-        Random generateRandomInts = new Random();
-        boolean b = false; // Note: the uniqueness of the point unverified right now, so the while loop is needed
-        while (!b) {
-            // b is false (it is named 'b' because its value keeps changing and there is no word to describe its role)
-            // generate new possibly unique point
-            possiblePt = new Point(generateRandomInts.nextInt(GameDistrict.BOARD_EDGE_LENGTH),
-                    generateRandomInts.nextInt(GameDistrict.BOARD_EDGE_LENGTH));
-            // check the possible point against all points in the given list to ensure uniqueness
-            for (Point pt : pointList) {
-                // if the two points are equal, set b as true, else keep b as false
-                b = b || possiblePt.equals(pt);
-            }
-            // If b is true, set b to false so loop reruns; else, b is false so set b to true to exit the loop
-            b = !b;
-        }
-        return possiblePt;
-    }
-
-    // REQUIRES: the list + point passed in has less unique elements than the largest board size
-    // EFFECTS: generates a random coordinate in a game district that is
-    //    unique from both the points in the list & the single point
-    protected Point generateUniquePoint(Point[] pointList, Point point) {
-        Point possiblePt = null;
-        Random generateRandomInts = new Random();
-        boolean b = false;
-        while (!b) {
-            possiblePt = new Point(generateRandomInts.nextInt(GameDistrict.BOARD_EDGE_LENGTH),
-                    generateRandomInts.nextInt(GameDistrict.BOARD_EDGE_LENGTH));
-            for (Point pt : pointList) {
-                b = b || possiblePt.equals(pt);
-            }
-            // generates a new point if the current point is equal to the singleton invalid point
-            b = possiblePt.equals(point) || b;
-            b = !b;
-        }
-        return possiblePt;
+    // EFFECTS: returns the position of the given cell
+    private Point pointAt(int cell) {
+        return new Point(cell % width, cell / width);
     }
 
     // EFFECTS: gets the tile that results from moving 1 unit in a certain direction away from the given x, y position
@@ -168,36 +352,311 @@ public class GameDistrict {
         return getGameTileAtPos(x + d.shiftX, y + d.shiftY);
     }
 
+    // MODIFIES: this
+    /*
+     * EFFECTS: reveals the given cell unless it is flagged or already revealed, and returns the mask of tiles that
+     *    were newly revealed (which is also kept as the last revealed mask):
+     *    if the cell has no nearby mines, the cells around it are revealed in the same way
+     *    if the cell is a mine, puts the current game into a lose state
+     *    boards that fit in one bitboard word are revealed by dilation; larger boards use the iterative flood fill,
+     *    whose revealed cells are listed by getFloodFill() (their mask is then always 0)
+     */
+    protected long revealFrom(int cell) {
+        if (!boardState.isSingleWord()) {
+            lastRevealedMask = 0;
+            revealFromIteratively(cell);
+            return lastRevealedMask;
+        }
+        lastRevealedMask = boardState.floodReveal(cell);
+        if (lastRevealedMask != 0 && boardState.isMine(cell)) {
+            finishGame(EndGameOutcome.STEPPED_IN_MINE_LOSE);
+        }
+        return lastRevealedMask;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reveals the given cell with the iterative flood fill, whatever the board size, and returns how many
+    //    tiles were newly revealed; same rules as revealFrom
+    protected int revealFromIteratively(int cell) {
+        int numRevealed = getFloodFill().fill(boardState, cell);
+        if (numRevealed > 0 && boardState.isMine(cell)) {
+            finishGame(EndGameOutcome.STEPPED_IN_MINE_LOSE);
+        }
+        return numRevealed;
+    }
+
     // MODIFIES: this, this.mage, this.tracker
-    // EFFECTS: starts the game (sets the opponents against each other, resets the life forms and the district)
+    // EFFECTS: starts the game (sets the opponents against each other, resets the life forms and the district);
+    //    the given tracker may be null for a game that is not shown, e.g. a replay, whose clock this district keeps
     public void setupGame(InGameEventsTracker tracker) {
         gameOutcome = EndGameOutcome.STILL_PLAYING_GAME;
-        mage.setOpponent(dragon);
+        untrackedTimeLeft = InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS;
+        mage.setOpponent(dragons[0]);
         mage.setGameDistrict(this);
-        mage.setNumFlags(difficultyLevel.numMines);
+        mage.setNumFlags(numMines);
         resetDistrictAndLifeForms();
-        board[mageInitialLocation.y][mageInitialLocation.x].revealNearbyTiles();
+        int mageStart = boardState.cellIndex(mageInitialLocation.x, mageInitialLocation.y);
+        if (safeStart) {
+            clearMinesAround(mageStart);
+        }
+        revealFrom(mageStart);
         inGame = true;
         this.tracker = tracker;
     }
 
-    // MODIFIES: the dragon, mage, and board associated with this.
-    // EFFECTS: resets the game district's tiles and life forms
-    public void resetDistrictAndLifeForms() {
+    // REQUIRES: no game is being played in this district
+    // MODIFIES: this
+    // EFFECTS: returns true if every tile of this district's board that is not a mine can be revealed without
+    //    guessing: starting from the mage's starting tile (as a game does, so a safe start moves its mines away first),
+    //    the deduction solver keeps proving hidden tiles safe from the revealed ones until none are left
+    //    note: the board is left partway through this play-through; setting the game up resets it
+    public boolean isSolvableWithoutGuessing() {
         initializeGameBoard();
-        for (GameTile[] row : board) {
-            for (GameTile tile : row) {
-                tile.setUserKnowsIdentity(false);
-                tile.setIsFlagged(false);
-                tile.setOccupiedByLifeForm(false);
-                tile.setUIIdentityToQuestionMark();
+        int mageStart = boardState.cellIndex(mageInitialLocation.x, mageInitialLocation.y);
+        if (safeStart) {
+            clearMinesAround(mageStart);
+        }
+        DeductionSolver solver = getDeductionSolver();
+        int numSafeTilesLeft = boardState.getNumCells() - numMines - getFloodFill().fill(boardState, mageStart);
+        while (numSafeTilesLeft > 0) {
+            solver.solve(boardState);
+            if (solver.getNumSafe() == 0) {
+                return false;
+            }
+            for (int i = 0; i < solver.getNumSafe(); i++) {
+                numSafeTilesLeft -= floodFill.fill(boardState, solver.getSafeCell(i));
             }
         }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves every mine on or next to the given cell to a random tile that is away from it and is not a
+    //    dragon's starting tile, so that revealing the given cell opens up an area; a mine stays where it is if there
+    //    is no such tile left (which isValidNumDragons with a safe start rules out)
+    //    note: only the current game's board is changed; resetting the district brings the mines back
+    private void clearMinesAround(int cell) {
+        int[] offsets = boardState.getAdjacency().getOffsets();
+        int[] sliceStarts = boardState.getAdjacency().getSliceStarts();
+        int edgeClass = boardState.getAdjacency().edgeClass(cell);
+        relocateMine(cell, cell);
+        for (int i = sliceStarts[edgeClass]; i < sliceStarts[edgeClass + 1]; i++) {
+            relocateMine(cell, cell + offsets[i]);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if the given cell is a mine, moves it to the tile found by findRelocationCell, if there is one
+    private void relocateMine(int cell, int mine) {
+        if (boardState.isMine(mine)) {
+            int to = findRelocationCell(cell, mine);
+            if (to != -1) {
+                moveMine(mine, to);
+            }
+        }
+    }
+
+    // EFFECTS: returns a tile that is not a mine, a dragon's starting tile, or on or next to the given cell, searching
+    //    onwards from a tile picked from this district's seed and the mine that is being relocated, so the same
+    //    district always relocates its mines in the same way; returns -1 if every tile has been tried and none is
+    private int findRelocationCell(int cell, int mine) {
+        int numCells = boardState.getNumCells();
+        int candidate = (int) Long.remainderUnsigned(scramble(seed + mine), numCells);
+        for (int i = 0; i < numCells; i++) {
+            if (!boardState.isMine(candidate) && !isDragonStart(candidate) && !isNextToOrOn(candidate, cell)) {
+                return candidate;
+            }
+            candidate = (candidate + 1) % numCells;
+        }
+        return -1;
+    }
+
+    // EFFECTS: returns the given value with its bits thoroughly mixed (the SplitMix64 finalizer, which is what
+    //    SplittableRandom uses); unlike a new SplittableRandom, this does not allocate
+    private static long scramble(long value) {
+        long z = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    // EFFECTS: returns true if the given cell is a dragon's starting tile
+    private boolean isDragonStart(int cell) {
+        for (Point p : dragonInitialLocations) {
+            if (boardState.cellIndex(p.x, p.y) == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // EFFECTS: returns true if the given cells are the same tile or are adjacent in any of the 8 directions
+    private boolean isNextToOrOn(int cell, int otherCell) {
+        return Math.abs(cell % width - otherCell % width) <= 1 && Math.abs(cell / width - otherCell / width) <= 1;
+    }
+
+    // REQUIRES: from is a mine on the board and to is not
+    // MODIFIES: this
+    // EFFECTS: moves the mine at from to to for the current game, updating only the nearby mine counts of the tiles
+    //    around both cells; this district's layout is unchanged, so resetting the district brings the mine back
+    public void moveMine(int from, int to) {
+        boardState.moveMine(from, to);
+        if (distanceField != null) {
+            distanceField.invalidate();
+        }
+    }
+
+    // MODIFIES: the dragons, mage, and board associated with this.
+    // EFFECTS: resets the game district's tiles and life forms
+    public void resetDistrictAndLifeForms() {
+        initializeGameBoard();
 
         mage.resetLifeFormForGame();
-        dragon.resetLifeFormForGame();
         mage.setLocation(mageInitialLocation);
-        dragon.setLocation(dragonInitialLocation);
+        for (int i = 0; i < dragons.length; i++) {
+            dragons[i].resetLifeFormForGame();
+            dragons[i].setLocation(dragonInitialLocations[i]);
+        }
+        numDragonsLeft = dragons.length;
+    }
+
+    // MODIFIES: this, the dragons and mage associated with this
+    // EFFECTS: has every dragon that is not defeated attack or move toward the mage, in order, until the game ends;
+    //    returns true if any of them hit the mage
+    //    note: each dragon only checks its own range against the mage's tile, and they all follow the same cached
+    //    distance field toward the mage, so a round costs O(amount of dragons) plus at most one field recomputation,
+    //    which only searches the box around the mage and the dragons (see DistanceField)
+    public boolean fireDragonAttacks() {
+        boolean mageWasHit = false;
+        DistanceField field = getDistanceField();
+        for (Dragon dragon : dragons) {
+            if (!dragon.isDefeated()) {
+                field.addSeeker(dragon.getCurrentTile().getCell());
+            }
+        }
+        for (int i = 0; i < dragons.length && inGame; i++) {
+            if (!dragons[i].isDefeated()) {
+                mageWasHit |= dragons[i].attackOpponent();
+            }
+        }
+        return mageWasHit;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: takes the given defeated dragon off the board, and puts the game in a win state if it was the last
+    //    dragon that was not defeated
+    void dragonDefeated(Dragon dragon) {
+        boardState.vacate(dragon.getCurrentTile().getCell(), dragon.getLifeFormId());
+        numDragonsLeft--;
+        if (numDragonsLeft == 0) {
+            finishGame(EndGameOutcome.NO_DRAGON_HP_WIN);
+        }
+    }
+
+    // MODIFIES: this
+    /*
+     * EFFECTS: finds the dragons that are on tiles within the given squared range of the given tile and returns how
+     *    many there are; getDragonInRange(i) returns the i-th of them until this is called again
+     *    the occupied tiles in range are looked up in the board's occupancy index, so this costs the area of the
+     *    range (a footprint mask and a few bit scans on single-word boards) however many dragons there are
+     */
+    public int findDragonsInRange(GameTile from, int rangeSquared) {
+        int numFound = 0;
+        if (boardState.isSingleWord()) {
+            long inRange = boardState.getAttackFootprint().mask(from.getCell(), rangeSquared)
+                    & boardState.getOccupied();
+            for (; inRange != 0; inRange &= inRange - 1) {
+                numFound = addDragonOn(Long.numberOfTrailingZeros(inRange), numFound);
+            }
+            return numFound;
+        }
+        int reach = (int) Math.sqrt(rangeSquared);
+        for (int dy = -reach; dy <= reach; dy++) {
+            for (int dx = -reach; dx <= reach; dx++) {
+                int x = from.x + dx;
+                int y = from.y + dy;
+                if (dx * dx + dy * dy <= rangeSquared && boardState.isOnBoard(x, y)
+                        && boardState.isOccupied(boardState.cellIndex(x, y))) {
+                    numFound = addDragonOn(boardState.cellIndex(x, y), numFound);
+                }
+            }
+        }
+        return numFound;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the dragon on the given cell, if there is one, to the dragons in range after the given amount
+    //    found so far, and returns the new amount found
+    private int addDragonOn(int cell, int numFound) {
+        int id = boardState.getOccupant(cell);
+        if (id > MAGE_ID && id <= dragons.length) {
+            dragonsInRange[numFound++] = dragons[id - 1];
+        }
+        return numFound;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a bitset, indexed like BoardState's, of the tiles that any dragon that is not defeated is going
+    //    to attack on its next attack: on boards that fit in one bitboard word, its only word is the OR of those
+    //    dragons' footprint masks; on larger boards, the tiles in range around each of them are marked. The bitset is
+    //    reused by the next call, so renderers find it once per render and then test each tile's bit
+    public long[] findThreatenedTiles() {
+        if (threatenedTiles == null) {
+            threatenedTiles = new long[boardState.getNumWords()];
+        }
+        if (boardState.isSingleWord()) {
+            long mask = 0;
+            for (Dragon dragon : dragons) {
+                mask |= dragon.isDefeated() ? 0 : dragon.getAttackFootprint();
+            }
+            threatenedTiles[0] = mask;
+            return threatenedTiles;
+        }
+        for (int i = 0; i < numThreatenedCells; i++) {
+            threatenedTiles[threatenedCells[i] / Long.SIZE] = 0;
+        }
+        numThreatenedCells = 0;
+        for (Dragon dragon : dragons) {
+            if (!dragon.isDefeated()) {
+                markThreatenedTiles(dragon);
+            }
+        }
+        return threatenedTiles;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks the tiles in range of the given dragon's next attack in the threatened tiles
+    private void markThreatenedTiles(Dragon dragon) {
+        int rangeSquared = dragon.determineRangeSquared();
+        int range = (int) Math.sqrt(rangeSquared);
+        GameTile origin = dragon.getCurrentTile();
+        for (int dy = -range; dy <= range; dy++) {
+            for (int dx = -range; dx <= range; dx++) {
+                if (dx * dx + dy * dy <= rangeSquared && boardState.isOnBoard(origin.x + dx, origin.y + dy)) {
+                    int cell = boardState.cellIndex(origin.x + dx, origin.y + dy);
+                    threatenedTiles[cell / Long.SIZE] |= 1L << cell;
+                    if (numThreatenedCells == threatenedCells.length) {
+                        threatenedCells = Arrays.copyOf(threatenedCells, Math.max(64, 2 * numThreatenedCells));
+                    }
+                    threatenedCells[numThreatenedCells++] = cell;
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns true if the given cell is set in the given bitset of threatened tiles
+    public static boolean isThreatened(long[] threatenedTiles, int cell) {
+        return (threatenedTiles[cell / Long.SIZE] >>> cell & 1L) != 0;
+    }
+
+    // MODIFIES: this, this.tracker
+    // EFFECTS: ends the current game with the given outcome; if the game has a tracker, it is ended through the
+    //    tracker so that it can stop its timer and show the game's statistics, else (e.g. in a fork) it just ends
+    void finishGame(EndGameOutcome outcome) {
+        if (tracker == null) {
+            endGame(outcome);
+        } else {
+            tracker.endGame(outcome);
+        }
     }
 
     // MODIFIES: this
@@ -208,15 +667,113 @@ public class GameDistrict {
         mage.setOpponent(null);
     }
 
+    // REQUIRES: this district's game has been set up
+    // MODIFIES: this
+    /*
+     * EFFECTS: returns a fork of the current game: a district with its own board, mage and dragons in the same state
+     *    as this one's, which can be played ahead (e.g. to try out moves) without changing this district's game
+     *    a fork has no tracker, so its game never calls back into the console or Swing UI; its clock is the time
+     *    left when it was made, and only moves when set. Its layout, initial locations and pristine board are
+     *    shared with this district (the pristine board copy-on-write), so forking a standard district copies a few
+     *    words and objects. It is not part of this district's world.
+     *    note: to try out many moves from the same game, fork once and bring the fork back to this district's game
+     *    with readState(words, 0) after writeState(words, 0) here; that does not allocate at all.
+     */
+    public GameDistrict fork() {
+        return new GameDistrict(this);
+    }
+
+    // EFFECTS: returns a snapshot of the current game: the board's play state, the life forms and the time left
+    public GameState snapshot() {
+        return GameState.of(this);
+    }
+
+    // REQUIRES: the given state was taken of this district (or one with the same board size and amount of dragons),
+    //    and this district's game has been set up
+    // MODIFIES: this, the mage and dragons of this
+    // EFFECTS: puts the current game back in the given state
+    public void restore(GameState state) {
+        state.restoreInto(this);
+    }
+
+    // EFFECTS: returns how many words writeState writes for this district
+    public int getStateSize() {
+        return GameState.numWords(this);
+    }
+
+    // MODIFIES: words
+    // EFFECTS: writes the current game's state into the given array from the given offset on, in the layout of a
+    //    GameState but without allocating one
+    public void writeState(long[] words, int offset) {
+        GameState.write(this, words, offset);
+    }
+
+    // REQUIRES: the given array holds a state written by writeState of this district from the given offset on, and
+    //    this district's game has been set up
+    // MODIFIES: this, the mage and dragons of this
+    // EFFECTS: puts the current game back in the given state
+    public void readState(long[] words, int offset) {
+        GameState.read(this, words, offset);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: restores the parts of a saved game state that this district keeps itself and clears the last revealed
+    //    mask, since no reveal led to the restored state; the dragons' path is recomputed the next time it is needed
+    //    if the mines changed
+    void restoreGameStatus(boolean inGame, EndGameOutcome gameOutcome, int numDragonsLeft, int timeLeftInGame,
+                           boolean minesChanged) {
+        this.inGame = inGame;
+        this.gameOutcome = gameOutcome;
+        this.numDragonsLeft = numDragonsLeft;
+        lastRevealedMask = 0;
+        setTimeLeftInGame(timeLeftInGame);
+        mage.setOpponent(inGame ? dragons[0] : null);
+        if (minesChanged && distanceField != null) {
+            distanceField.invalidate();
+        }
+    }
+
     // EFFECTS: gets the tile at the specified 0-indexed x and y position
+    //    note: tiles are views over this district's board state, so a new view is made on each call
     public GameTile getGameTileAtPos(int x, int y) {
-        if (x >= BOARD_EDGE_LENGTH || y >= BOARD_EDGE_LENGTH || x < 0 || y < 0) {
+        return getGameTileAtPos(x, y, null);
+    }
+
+    // REQUIRES: view is null or a view of a tile of this district that is not a life form's tile
+    // MODIFIES: view
+    // EFFECTS: gets the tile at the specified 0-indexed x and y position, making the given view a view of it instead
+    //    of making a new one if a view is given; returns null if the position is off the board
+    //    note: callers that look at many tiles in turn (e.g. renderers) can walk one view over all of them
+    public GameTile getGameTileAtPos(int x, int y, GameTile view) {
+        if (!boardState.isOnBoard(x, y)) {
             return null;
+        } else if (view == null) {
+            return new GameTile(x, y, this);
         } else {
-            return board[y][x];
+            view.moveTo(x, y);
+            return view;
         }
     }
 
+    // EFFECTS: returns roughly how many bytes this district takes up: its board (see BoardState.estimateBytes), its
+    //    list of mines and the arrays of the helpers it has made so far (the flood fill, deduction solver and
+    //    distance field), plus a fixed amount for itself and each of its dragons; the mine probability engine, which
+    //    is only made when a player asks for the heatmap, is left out
+    public long estimateBytes() {
+        long bytes = DISTRICT_FIXED_BYTES + (long) BYTES_PER_DRAGON * dragons.length + boardState.estimateBytes()
+                + BoardState.arrayBytes(Integer.BYTES, numMines);
+        if (floodFill != null) {
+            bytes += BoardState.arrayBytes(Integer.BYTES, boardState.getNumCells());
+        }
+        if (deductionSolver != null) {
+            bytes += deductionSolver.estimateBytes();
+        }
+        if (distanceField != null) {
+            bytes += distanceField.estimateBytes();
+        }
+        return bytes;
+    }
+
     // getters
     public String getDistrictName() {
         return districtName;
@@ -230,24 +787,105 @@ public class GameDistrict {
         return difficultyLevel;
     }
 
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getNumMines() {
+        return numMines;
+    }
+
     public EndGameOutcome getGameOutcome() {
         return gameOutcome;
     }
 
+    // EFFECTS: returns this district's first dragon, which is its only one unless it was made with more
     public Dragon getDragon() {
-        return dragon;
+        return dragons[0];
+    }
+
+    public Dragon[] getDragons() {
+        return dragons;
+    }
+
+    public int getNumDragons() {
+        return dragons.length;
+    }
+
+    public int getNumDragonsLeft() {
+        return numDragonsLeft;
     }
 
+    public Dragon getDragonInRange(int i) {
+        return dragonsInRange[i];
+    }
+
+    // EFFECTS: returns the total HP of this district's dragons
+    public int getDragonsHP() {
+        int totalHP = 0;
+        for (Dragon dragon : dragons) {
+            totalHP += dragon.getHP();
+        }
+        return totalHP;
+    }
+
+    // EFFECTS: returns the total maximum HP of this district's dragons
+    public int getDragonsMaxHP() {
+        int totalMaxHP = 0;
+        for (Dragon dragon : dragons) {
+            totalMaxHP += dragon.getConstantDragonMaxHp();
+        }
+        return totalMaxHP;
+    }
+
+    // EFFECTS: returns the positions of this district's mines
+    //    note: a new array of points is made on each call; use getMineCells() where the cell indices will do
     public Point[] getMineCoords() {
+        Point[] mineCoords = new Point[mineCells.length];
+        for (int i = 0; i < mineCells.length; i++) {
+            mineCoords[i] = pointAt(mineCells[i]);
+        }
         return mineCoords;
     }
 
+    public int[] getMineCells() {
+        return mineCells;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public boolean isSafeStart() {
+        return safeStart;
+    }
+
+    // setters
+    // REQUIRES: if safeStart, isValidNumDragons(amount of dragons, difficulty, width, height, true); else a safe start
+    //    may have to leave some mines around the mage's starting tile
+    public void setSafeStart(boolean safeStart) {
+        this.safeStart = safeStart;
+    }
+
     public Point getMageInitialLocation() {
         return mageInitialLocation;
     }
 
+    // EFFECTS: returns the starting location of this district's first dragon
     public Point getDragonInitialLocation() {
-        return dragonInitialLocation;
+        return dragonInitialLocations[0];
+    }
+
+    public Point[] getDragonInitialLocations() {
+        return dragonInitialLocations;
     }
 
     public int getBestClearTimeInMS() {
@@ -257,4 +895,66 @@ public class GameDistrict {
     public InGameEventsTracker getTracker() {
         return tracker;
     }
+
+    public Mage getMage() {
+        return mage;
+    }
+
+    // EFFECTS: returns the time left in the current game, which the tracker keeps if the game has one
+    public int getTimeLeftInGame() {
+        return tracker == null ? untrackedTimeLeft : tracker.getTimeLeftInGame();
+    }
+
+    // MODIFIES: this, this.tracker
+    // EFFECTS: sets the time left in the current game, in the tracker if the game has one
+    public void setTimeLeftInGame(int timeLeftInGame) {
+        if (tracker == null) {
+            untrackedTimeLeft = timeLeftInGame;
+        } else {
+            tracker.setTimeLeftInGame(timeLeftInGame);
+        }
+    }
+
+    public long getLastRevealedMask() {
+        return lastRevealedMask;
+    }
+
+    // EFFECTS: returns the flood fill that reveals this district's tiles on boards larger than a word, making it on
+    //    first use
+    public FloodFill getFloodFill() {
+        if (floodFill == null) {
+            floodFill = new FloodFill(width, height);
+        }
+        return floodFill;
+    }
+
+    // EFFECTS: returns the distance field that the dragons follow toward the mage, making it on first use
+    public DistanceField getDistanceField() {
+        if (distanceField == null) {
+            distanceField = new DistanceField(boardState);
+        }
+        return distanceField;
+    }
+
+    // EFFECTS: returns the solver that finds the certainly safe and certainly mined tiles of this district's board
+    //    for hints, making it on first use
+    public DeductionSolver getDeductionSolver() {
+        if (deductionSolver == null) {
+            deductionSolver = new DeductionSolver(width, height);
+        }
+        return deductionSolver;
+    }
+
+    // EFFECTS: returns the engine that works out the chance of each of this district's hidden tiles being a mine,
+    //    making it on first use
+    public MineProbabilityEngine getMineProbabilityEngine() {
+        if (mineProbabilityEngine == null) {
+            mineProbabilityEngine = new MineProbabilityEngine(width, height);
+        }
+        return mineProbabilityEngine;
+    }
+
+    public BoardState getBoardState() {
+        return boardState;
+    }
 }
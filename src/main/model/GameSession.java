@@ -0,0 +1,216 @@
+package model;
+
+import ui.InGameEventsTracker;
+
+// The rules of a real-time game in a district, driven by clock ticks and typed keys rather than by the wall clock,
+//    so that the same keys typed at the same ticks always play out the same game.
+// The mage's skill and attack cooldowns are counted in ticks. Every key is added to the session's input log (if it
+//    has one) with the tick it was typed at, and the state at the end of every tick is recorded in its rewind
+//    history (if it has one), which the rewind key steps back through (and the forward key forward again, until the
+//    next tick is run); a ReplayEngine can then play the log again.
+// The tick and the cooldowns are recorded with each tick of the rewind history, so a rewind puts them back too: the
+//    session's tick goes back by one and the cooldowns are as they were then. The rewind itself is logged at the tick
+//    it was typed at, so the ticks in the log go back after each rewind. Scrubbing through the history types those
+//    keys for the player, one per tick, so that a scrub is logged and replayed like any other rewind.
+public class GameSession {
+    public static final int TICK_LENGTH_MS = 250;
+    public static final int TICKS_PER_SECOND = 1000 / TICK_LENGTH_MS;
+    // the rewind history holds every tick of a game (and its start) unless the board is huge
+    public static final int REWIND_CAPACITY = InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS / TICK_LENGTH_MS + 1;
+    public static final String MOVE_KEYS = "wqazxcde";   // indexed like Direction.values()
+    public static final String FLAG_KEYS = "WQAZXCDE";
+    public static final char ATTACK_KEY = 'f';
+    public static final char SKILL_KEY = 'b';
+    public static final char REWIND_KEY = 'r';
+    public static final char FORWARD_KEY = 'R';          // undoes a rewind, until the next tick is run
+    public static final char QUIT_KEY = 27;               // escape; typed for the player when a game is abandoned
+    public static final int SKILL_LENGTH_TICKS = TICKS_PER_SECOND;
+    public static final int ATTACK_COOLDOWN_TICKS = TICKS_PER_SECOND / 2;
+    private static final int SKILL_POINTS_INTERVAL_MS = 1000;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int COOLDOWN_BITS = Short.SIZE;
+    private static final int COOLDOWN_MASK = (1 << COOLDOWN_BITS) - 1;
+
+    private final GameDistrict gameDistrict;
+    private final Mage mage;
+    private final RewindBuffer rewindBuffer;
+    private final InputLog inputLog;
+    private int tick = 0;                // how many ticks this session's game has run, less the ticks rewound
+    private int skillActiveUntilTick = -1;
+    private int attackReadyAtTick = 0;
+
+    // REQUIRES: the given district's game has been set up; the rewind buffer, if any, is for the given district
+    // EFFECTS: starts a session of the given district's current game, recording its ticks in the given rewind buffer
+    //    and its inputs in the given log; either can be null, for a session that does not record them
+    public GameSession(GameDistrict gameDistrict, RewindBuffer rewindBuffer, InputLog inputLog) {
+        this.gameDistrict = gameDistrict;
+        mage = gameDistrict.getMage();
+        this.rewindBuffer = rewindBuffer;
+        this.inputLog = inputLog;
+        if (rewindBuffer != null) {
+            rewindBuffer.clear();
+            rewindBuffer.record(packCounters());
+        }
+    }
+
+    // MODIFIES: this, the district of this and its life forms
+    /*
+     * EFFECTS: logs the given key, typed at the current tick, and does what it stands for if the game is on:
+     *    the skill key makes the mage block until SKILL_LENGTH_TICKS ticks later, unless the skill is in use or
+     *    cooling down; any other key stops the mage from blocking and then moves, attacks (at most once every
+     *    ATTACK_COOLDOWN_TICKS ticks) or flags; the rewind key steps back by a tick, the forward key steps forward
+     *    by a rewound tick and the quit key ends the game. Returns what the key did.
+     *    note: a rewind (or forward step) is only logged if it happened, so that replaying the log does not depend
+     *    on whether (or for how long) this session kept a rewind history
+     */
+    public InputOutcome input(char key) {
+        if (key == REWIND_KEY || key == FORWARD_KEY) {
+            return rewind(key);
+        }
+        if (inputLog != null) {
+            inputLog.add(tick, key);
+        }
+        if (!gameDistrict.isInGame()) {
+            return InputOutcome.NOTHING;
+        } else if (key == QUIT_KEY) {
+            gameDistrict.finishGame(EndGameOutcome.STILL_PLAYING_GAME);
+            return InputOutcome.QUIT;
+        } else if (key == SKILL_KEY && !mage.getSkillInUse() && skillActiveUntilTick < tick) {
+            mage.tryToUseSkill(true);
+            skillActiveUntilTick = tick + SKILL_LENGTH_TICKS;
+            return InputOutcome.USED_SKILL;
+        }
+        mage.tryToUseSkill(false);
+        return act(key);
+    }
+
+    // REQUIRES: key is REWIND_KEY or FORWARD_KEY
+    // MODIFIES: this, the district of this and its life forms
+    // EFFECTS: steps the game (with this session's tick and cooldowns) back by a tick for the rewind key, or forward
+    //    by a rewound tick for the forward key, and logs the key if the game is on and that tick is recorded; returns
+    //    what that did
+    private InputOutcome rewind(char key) {
+        if (!gameDistrict.isInGame() || rewindBuffer == null
+                || !(key == REWIND_KEY ? rewindBuffer.stepBack() : rewindBuffer.stepForward())) {
+            return InputOutcome.NOTHING;
+        }
+        if (inputLog != null) {
+            inputLog.add(tick, key);
+        }
+        unpackCounters(rewindBuffer.getSessionWord());
+        return InputOutcome.REWOUND;
+    }
+
+    // MODIFIES: this, the district of this and its life forms
+    // EFFECTS: puts the game (with this session's tick and cooldowns) in the state it was in the given amount of
+    //    ticks before the latest recorded tick, by typing the rewind or forward key once per tick in between, and
+    //    returns true; returns false (and does nothing) if the game is over or no such tick is recorded
+    public boolean scrubTo(int ticksBack) {
+        if (!gameDistrict.isInGame() || rewindBuffer == null || ticksBack < 0
+                || ticksBack >= rewindBuffer.getNumRecorded()) {
+            return false;
+        }
+        while (rewindBuffer.getTicksBack() < ticksBack) {
+            rewind(REWIND_KEY);
+        }
+        while (rewindBuffer.getTicksBack() > ticksBack) {
+            rewind(FORWARD_KEY);
+        }
+        return true;
+    }
+
+    // EFFECTS: returns this session's tick and how many ticks are left of its skill and attack cooldowns, packed
+    //    into one word to record with the tick; cooldowns that are over are all recorded alike
+    private long packCounters() {
+        long skillTicksLeft = Math.max(-1, skillActiveUntilTick - tick) + 1;
+        long attackTicksLeft = Math.max(0, attackReadyAtTick - tick);
+        return (long) tick << Integer.SIZE | skillTicksLeft << COOLDOWN_BITS | attackTicksLeft;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: puts this session's tick and cooldowns back to those packed into the given word by packCounters
+    private void unpackCounters(long counters) {
+        tick = (int) (counters >>> Integer.SIZE);
+        skillActiveUntilTick = tick + (int) (counters >>> COOLDOWN_BITS & COOLDOWN_MASK) - 1;
+        attackReadyAtTick = tick + (int) (counters & COOLDOWN_MASK);
+    }
+
+    // MODIFIES: this, the district of this and its life forms
+    // EFFECTS: moves, attacks or flags as the given key says and returns what it did
+    private InputOutcome act(char key) {
+        if (MOVE_KEYS.indexOf(key) != -1) {
+            mage.move(DIRECTIONS[MOVE_KEYS.indexOf(key)]);
+            return InputOutcome.MOVED;
+        } else if (key == ATTACK_KEY && attackReadyAtTick <= tick) {
+            attackReadyAtTick = tick + ATTACK_COOLDOWN_TICKS;
+            return mage.attackOpponent() ? InputOutcome.HIT_DRAGON : InputOutcome.ATTACKED;
+        } else if (FLAG_KEYS.indexOf(key) != -1) {
+            mage.flagTile(DIRECTIONS[FLAG_KEYS.indexOf(key)]);
+            return InputOutcome.FLAGGED;
+        }
+        return InputOutcome.NOTHING;
+    }
+
+    // MODIFIES: this, the district of this and its life forms
+    /*
+     * EFFECTS: runs one clock tick of the game and returns true if a dragon hit the mage during it:
+     *    the time left goes down by TICK_LENGTH_MS, and the mage blocks if its skill is active
+     *    every second the mage gains or spends skill points, and the dragons attack every time their interval is up
+     *    the game is lost once the time runs out; the state at the end of the tick is recorded for rewinding
+     *    does nothing (and returns false) once the game has ended
+     */
+    public boolean tick() {
+        if (!gameDistrict.isInGame()) {
+            return false;
+        }
+        tick++;
+        int timeLeftInGame = gameDistrict.getTimeLeftInGame() - TICK_LENGTH_MS;
+        gameDistrict.setTimeLeftInGame(timeLeftInGame);
+        mage.tryToUseSkill(tick <= skillActiveUntilTick);
+        boolean mageWasHit = false;
+        if (timeLeftInGame % SKILL_POINTS_INTERVAL_MS == 0 && gameDistrict.isInGame()) {
+            mage.modifyMageSkillPoints();
+            if (timeLeftInGame % Dragon.INTERVAL_BETWEEN_DRAGON_ATTACKS == 0) {
+                mageWasHit = gameDistrict.fireDragonAttacks();
+            }
+        }
+        if (timeLeftInGame <= 0 && gameDistrict.isInGame()) {
+            gameDistrict.finishGame(EndGameOutcome.NO_TIME_LOSE);
+        }
+        if (rewindBuffer != null) {
+            rewindBuffer.record(packCounters());
+        }
+        return mageWasHit;
+    }
+
+    // getters
+    public int getTick() {
+        return tick;
+    }
+
+    public GameDistrict getGameDistrict() {
+        return gameDistrict;
+    }
+
+    public InputLog getInputLog() {
+        return inputLog;
+    }
+
+    // EFFECTS: returns how many ticks (counting the game's start) this session's rewind history holds, or 0 if it
+    //    keeps none
+    public int getNumTicksRecorded() {
+        return rewindBuffer == null ? 0 : rewindBuffer.getNumRecorded();
+    }
+
+    // EFFECTS: returns how many ticks before the latest recorded tick the game was last put back to
+    public int getTicksBack() {
+        return rewindBuffer == null ? 0 : rewindBuffer.getTicksBack();
+    }
+
+    // REQUIRES: 0 <= ticksBack < getNumTicksRecorded()
+    // EFFECTS: returns a copy of the state recorded the given amount of ticks before the latest recorded tick, e.g.
+    //    to look into how the game was lost
+    public GameState getRecordedState(int ticksBack) {
+        return rewindBuffer.getState(ticksBack);
+    }
+}
@@ -0,0 +1,194 @@
+package model;
+
+import java.util.Arrays;
+
+// An immutable snapshot of everything that changes while a district's game is played: the time left, the game's
+//    outcome, the board's mines (which a safe start may have moved), revealed tiles and flags, and the location and
+//    state of the mage and of every dragon. Whatever a district derives from these (nearby mine counts, occupancy,
+//    the dragons' distance field) is rebuilt when a state is restored. The district's last revealed mask is a hint for
+//    renderers about the latest reveal, not part of the game, so it is not kept and is cleared on restoring.
+// Everything is packed into a single long[], so taking a snapshot of a standard district is one small array copy
+//    and restoring it is a few array copies and field writes. The words are laid out as follows:
+//    0: time left (high 32 bits) | dragons left << 9 | outcome ordinal << 1 | in game
+//    1: mage cell (high 32 bits) | mage HP
+//    2: mage hit combo (high 32 bits) | mage flags left
+//    3: amount of dragons (high 32 bits) | mage skill points << 1 | mage skill in use
+//    then 2 words per dragon: dragon cell (high 32 bits) | dragon HP, and its attack sequence position
+//    then the board's mine, revealed and flagged bitsets (see BoardState.writeWords)
+public final class GameState {
+    private static final int HEADER_WORDS = 4;
+    private static final int WORDS_PER_DRAGON = 2;
+    private static final long LOW_INT_MASK = 0xFFFFFFFFL;
+    private static final int OUTCOME_SHIFT = 1;
+    private static final int DRAGONS_LEFT_SHIFT = 9;
+    private static final int OUTCOME_MASK = (1 << (DRAGONS_LEFT_SHIFT - OUTCOME_SHIFT)) - 1;
+    private static final EndGameOutcome[] OUTCOMES = EndGameOutcome.values();
+
+    private final long[] words;
+
+    // EFFECTS: makes a state out of the given words, which are laid out as described above
+    private GameState(long[] words) {
+        this.words = words;
+    }
+
+    // EFFECTS: returns a snapshot of the given district's current game
+    static GameState of(GameDistrict gd) {
+        long[] words = new long[numWords(gd)];
+        write(gd, words, 0);
+        return new GameState(words);
+    }
+
+    // REQUIRES: the given array holds a state written by write from the given offset on, which takes the given
+    //    amount of words
+    // EFFECTS: returns a snapshot holding a copy of that state
+    static GameState copyOf(long[] words, int offset, int numWords) {
+        return new GameState(Arrays.copyOfRange(words, offset, offset + numWords));
+    }
+
+    // EFFECTS: returns how many words the state of the given district takes
+    static int numWords(GameDistrict gd) {
+        return HEADER_WORDS + WORDS_PER_DRAGON * gd.getNumDragons() + 3 * gd.getBoardState().getNumWords();
+    }
+
+    // MODIFIES: words
+    // EFFECTS: writes the state of the given district's current game into the given array from the given offset on
+    static void write(GameDistrict gd, long[] words, int offset) {
+        Mage mage = gd.getMage();
+        Dragon[] dragons = gd.getDragons();
+        words[offset] = (long) gd.getTimeLeftInGame() << Integer.SIZE
+                | (long) gd.getNumDragonsLeft() << DRAGONS_LEFT_SHIFT
+                | (long) gd.getGameOutcome().ordinal() << OUTCOME_SHIFT | (gd.isInGame() ? 1 : 0);
+        words[offset + 1] = pack(mage.getCurrentTile().getCell(), mage.getHP());
+        words[offset + 2] = pack(mage.getHitCombo(), mage.getNumFlags());
+        words[offset + 3] = pack(dragons.length, mage.getSkillPoints() << 1 | (mage.getSkillInUse() ? 1 : 0));
+        int dragonOffset = offset + HEADER_WORDS;
+        for (Dragon dragon : dragons) {
+            words[dragonOffset] = pack(dragon.getCurrentTile().getCell(), dragon.getHP());
+            words[dragonOffset + 1] = dragon.attackSequencePointer;
+            dragonOffset += WORDS_PER_DRAGON;
+        }
+        gd.getBoardState().writeWords(words, dragonOffset);
+    }
+
+    // REQUIRES: the given array holds the state of a district with the same board size and amount of dragons as the
+    //    given district from the given offset on, and the given district's game has been set up
+    // MODIFIES: gd, the life forms of gd
+    // EFFECTS: puts the given district's game back in the given state
+    static void read(GameDistrict gd, long[] words, int offset) {
+        int numDragons = high(words[offset + 3]);
+        int boardOffset = offset + HEADER_WORDS + WORDS_PER_DRAGON * numDragons;
+        boolean minesChanged = gd.getBoardState().readWords(words, boardOffset);
+        long header = words[offset];
+        gd.restoreGameStatus((header & 1) != 0, OUTCOMES[(int) (header >>> OUTCOME_SHIFT) & OUTCOME_MASK],
+                (int) header >>> DRAGONS_LEFT_SHIFT, high(header), minesChanged);
+        long skill = words[offset + 3];
+        gd.getMage().restoreState(high(words[offset + 1]), low(words[offset + 1]), high(words[offset + 2]),
+                low(skill) >>> 1, (skill & 1) != 0, low(words[offset + 2]));
+        Dragon[] dragons = gd.getDragons();
+        for (int i = 0; i < numDragons; i++) {
+            long dragonWord = words[offset + HEADER_WORDS + WORDS_PER_DRAGON * i];
+            dragons[i].restoreState(high(dragonWord), low(dragonWord),
+                    (int) words[offset + HEADER_WORDS + WORDS_PER_DRAGON * i + 1]);
+        }
+    }
+
+    // EFFECTS: returns the two given ints packed into a long, the first in its high 32 bits
+    private static long pack(int high, int low) {
+        return (long) high << Integer.SIZE | (low & LOW_INT_MASK);
+    }
+
+    // EFFECTS: returns the int in the high 32 bits of the given word
+    private static int high(long word) {
+        return (int) (word >>> Integer.SIZE);
+    }
+
+    // EFFECTS: returns the int in the low 32 bits of the given word
+    private static int low(long word) {
+        return (int) word;
+    }
+
+    // REQUIRES: the given district has the same board size and amount of dragons as the district this was taken of,
+    //    and its game has been set up
+    // MODIFIES: gd, the life forms of gd
+    // EFFECTS: puts the given district's game back in this state
+    void restoreInto(GameDistrict gd) {
+        read(gd, words, 0);
+    }
+
+    // getters
+    public int getTimeLeftInGame() {
+        return high(words[0]);
+    }
+
+    public boolean isInGame() {
+        return (words[0] & 1) != 0;
+    }
+
+    public EndGameOutcome getGameOutcome() {
+        return OUTCOMES[(int) (words[0] >>> OUTCOME_SHIFT) & OUTCOME_MASK];
+    }
+
+    public int getNumDragonsLeft() {
+        return (int) words[0] >>> DRAGONS_LEFT_SHIFT;
+    }
+
+    public int getMageCell() {
+        return high(words[1]);
+    }
+
+    public int getMageHP() {
+        return low(words[1]);
+    }
+
+    public int getMageHitCombo() {
+        return high(words[2]);
+    }
+
+    public int getMageNumFlags() {
+        return low(words[2]);
+    }
+
+    public int getMageSkillPoints() {
+        return low(words[3]) >>> 1;
+    }
+
+    public boolean getMageSkillInUse() {
+        return (words[3] & 1) != 0;
+    }
+
+    public int getNumDragons() {
+        return high(words[3]);
+    }
+
+    public int getDragonCell(int i) {
+        return high(words[HEADER_WORDS + WORDS_PER_DRAGON * i]);
+    }
+
+    public int getDragonHP(int i) {
+        return low(words[HEADER_WORDS + WORDS_PER_DRAGON * i]);
+    }
+
+    public int getDragonAttackSequencePointer(int i) {
+        return (int) words[HEADER_WORDS + WORDS_PER_DRAGON * i + 1];
+    }
+
+    public int getNumWords() {
+        return words.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.equals(words, ((GameState) o).words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
@@ -1,68 +1,50 @@
 package model;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Arrays;
 
 // A tile in a game district map. This tile can be occupied by LifeForms and may contain mines.
+// Note: a tile is a thin view over its district's BoardState; all of its state lives in the district's bitboards.
 public class GameTile extends Point {
-    private static final int MAX_NEARBY_MINES = 8; // note: "nearby tiles" refers to this amount of the closest tiles
-
-    private int numNearbyMines;
-    private boolean isMine;
-    private boolean isFlagged;
-    private boolean userKnowsIdentity;
-    private char uiIdentity;
     private final GameDistrict gameDistrict;
-    private boolean occupiedByLifeForm;
-    private GameTile[] nearbyTiles = new GameTile[MAX_NEARBY_MINES];
+    private int cell;
 
-    // EFFECTS: creates a new, unoccupied tile that hides its identity from the user
+    // EFFECTS: creates a view of the tile at the given position of the given district's board
     public GameTile(int tileXPos, int tileYPos, GameDistrict gameDistrict) {
-        userKnowsIdentity = false;
-        isFlagged = false;
-        occupiedByLifeForm = false;
         this.x = tileXPos;
         this.y = tileYPos;
         this.gameDistrict = gameDistrict;
-        uiIdentity = '?';
+        cell = gameDistrict.getBoardState().cellIndex(tileXPos, tileYPos);
     }
 
-    // EFFECTS: records the identities (information about mines) of this tile and its neighbours
-    public void initializeTileInGrid() {
-        discoverNearbyTiles();
+    // REQUIRES: the given x, y position is a tile on this view's district's board
+    // MODIFIES: this
+    // EFFECTS: makes this a view of the tile at the given position of the same district, without making a new view
+    void moveTo(int tileXPos, int tileYPos) {
+        this.x = tileXPos;
+        this.y = tileYPos;
+        cell = gameDistrict.getBoardState().cellIndex(tileXPos, tileYPos);
     }
 
     // MODIFIES: this
-    // EFFECTS: saves the nearby tiles as a list of tiles, then finds how many nearby tiles are mines.
-    private void discoverNearbyTiles() {
-        int count = 0;
-        for (Direction direction : Direction.values()) {
-            nearbyTiles[count] = gameDistrict.tileInDirection(x, y, direction);
-            count++;
-        }
-        findNumNearbyMines();
+    // EFFECTS: marks this tile as occupied by the life form with the given id
+    void occupy(int lifeFormId) {
+        boardState().occupy(cell, lifeFormId);
     }
 
     // MODIFIES: this
-    // EFFECTS: finds out how many mines on the nearby tiles and saves this number;
-    private void findNumNearbyMines() {
-        numNearbyMines = 0;
-        for (GameTile tile : nearbyTiles) {
-            if (tile != null && tile.isMine) {
-                numNearbyMines++;
-            }
-        }
+    // EFFECTS: marks this tile as unoccupied if the life form with the given id is the one on it
+    void vacate(int lifeFormId) {
+        boardState().vacate(cell, lifeFormId);
+    }
+
+    // EFFECTS: returns true if this is a view of a tile of the given district
+    boolean isInDistrict(GameDistrict district) {
+        return gameDistrict == district;
     }
 
     // MODIFIES: this
-    // EFFECTS: sets the identity of this as 'M' if this is a mine; else sets the identity as the number of nearby mines
+    // EFFECTS: lets the user know this tile's identity ('M' if this is a mine, else the number of nearby mines)
     public void giveIdentity() {
-        if (isMine) {
-            uiIdentity = 'M';
-        } else {
-            uiIdentity = (char) (numNearbyMines + '0');
-        }
         setUserKnowsIdentity(true);
     }
 
@@ -74,32 +56,20 @@ public class GameTile extends Point {
      *    reveals only this tile's identity if there is at least one mine on any of this tile's adjacent tiles
      *    recursively reveals this tile's and neighbouring tiles with no nearby mines' identities if no nearby mines
      *    detonates if this is an unflagged mine and puts the current game into a lose state
+     *    returns the mask of tiles that were newly revealed by this call
      */
-    public void revealNearbyTiles() {
-        if (!userKnowsIdentity && !isFlagged) {
-            giveIdentity();
-            if (isMine) {
-                gameDistrict.getTracker().endGame(EndGameOutcome.STEPPED_IN_MINE_LOSE);
-            }
-            if (!isMine && numNearbyMines == 0) {
-                ArrayList<GameTile> tilesToReveal = new ArrayList<>(Arrays.asList(nearbyTiles));
-                for (GameTile tile : tilesToReveal) {
-                    if (tile != null && !tile.getUserKnowsIdentity()) {
-                        tile.revealNearbyTiles();
-                    }
-                }
-            }
-        }
+    public long revealNearbyTiles() {
+        return gameDistrict.revealFrom(cell);
     }
 
 
     // getters
     public boolean getUserKnowsIdentity() {
-        return userKnowsIdentity;
+        return boardState().isRevealed(cell);
     }
 
     public boolean getOccupiedByLifeForm() {
-        return occupiedByLifeForm;
+        return boardState().isOccupied(cell);
     }
 
     public int getTileXPos() {
@@ -110,45 +80,63 @@ public class GameTile extends Point {
         return y;
     }
 
+    public int getCell() {
+        return cell;
+    }
+
     public boolean getIsFlagged() {
-        return isFlagged;
+        return boardState().isFlagged(cell);
     }
 
+    // EFFECTS: returns '?' if the user does not know this tile's identity, else 'M' for mines and the number of
+    //    nearby mines for every other tile
     public char getUIIdentity() {
-        return uiIdentity;
+        if (!getUserKnowsIdentity()) {
+            return '?';
+        } else if (getIsMine()) {
+            return 'M';
+        } else {
+            return (char) (getNumNearbyMines() + '0');
+        }
     }
 
     public int getNumNearbyMines() {
-        return numNearbyMines;
+        return boardState().countNearbyMines(cell);
     }
 
+    // EFFECTS: returns the tiles around this in Direction order; tiles that would be off the board are null
     public GameTile[] getNearbyTiles() {
+        Direction[] directions = Direction.values();
+        GameTile[] nearbyTiles = new GameTile[directions.length];
+        for (int i = 0; i < directions.length; i++) {
+            nearbyTiles[i] = gameDistrict.tileInDirection(x, y, directions[i]);
+        }
         return nearbyTiles;
     }
 
     public boolean getIsMine() {
-        return isMine;
+        return boardState().isMine(cell);
+    }
+
+    private BoardState boardState() {
+        return gameDistrict.getBoardState();
     }
 
 
     // setters
     public void setIsMine() {
-        isMine = true;
+        boardState().setMine(cell);
     }
 
     public void setIsFlagged(boolean hasFlag) {
-        this.isFlagged = hasFlag;
+        boardState().setFlagged(cell, hasFlag);
     }
 
     public void setOccupiedByLifeForm(boolean occupied) {
-        occupiedByLifeForm = occupied;
+        boardState().setOccupied(cell, occupied);
     }
 
     public void setUserKnowsIdentity(boolean knowsID) {
-        userKnowsIdentity = knowsID;
-    }
-
-    public void setUIIdentityToQuestionMark() {
-        this.uiIdentity = '?';
+        boardState().setRevealed(cell, knowsID);
     }
 }
@@ -0,0 +1,66 @@
+package model;
+
+import java.util.Arrays;
+
+// A log of the keys typed during a game, each with the number of the clock tick it was typed at, in the order they
+//    were typed; the ticks only go back after a rewind key, since a rewind puts the game's tick back. Each input is
+//    packed into a single long (tick << 16 | key), so a whole game's log is one small array.
+public class InputLog {
+    private static final int KEY_BITS = Character.SIZE;
+    private static final long KEY_MASK = (1L << KEY_BITS) - 1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] entries;
+    private int size = 0;
+
+    // EFFECTS: creates an empty log
+    public InputLog() {
+        entries = new long[INITIAL_CAPACITY];
+    }
+
+    // REQUIRES: tick >= 0, and tick is at least the tick of the last input added, unless that input rewound the game
+    // MODIFIES: this
+    // EFFECTS: adds the given key, typed at the given tick, to the end of the log
+    public void add(int tick, char key) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size++] = (long) tick << KEY_BITS | key;
+    }
+
+    // REQUIRES: the given entry was made by getEntry of a log, and follows the last input added as in add
+    // MODIFIES: this
+    // EFFECTS: adds the input packed into the given entry to the end of the log
+    public void addEntry(long entry) {
+        add((int) (entry >>> KEY_BITS), (char) (entry & KEY_MASK));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: empties the log
+    public void clear() {
+        size = 0;
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the tick that the i-th input was typed at
+    public int getTick(int i) {
+        return (int) (entries[i] >>> KEY_BITS);
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the key of the i-th input
+    public char getKey(int i) {
+        return (char) (entries[i] & KEY_MASK);
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the i-th input packed into one long, as it is saved
+    public long getEntry(int i) {
+        return entries[i];
+    }
+
+    // getters
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,13 @@
+package model;
+
+// This enum lists what a key typed during a game can do, so that the UI can play the matching effects.
+public enum InputOutcome {
+    NOTHING,
+    MOVED,
+    USED_SKILL,
+    ATTACKED,      // the mage attacked but hit no dragon
+    HIT_DRAGON,
+    FLAGGED,
+    REWOUND,
+    QUIT
+}
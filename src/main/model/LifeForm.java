@@ -9,14 +9,21 @@ public abstract class LifeForm {
     protected LifeForm opponent;
     protected GameDistrict gameDistrict;
     protected GameTile currentTile;
+    protected int lifeFormId = GameDistrict.MAGE_ID; // this life form's id in its district's occupancy index
 
     // MODIFIES: this
     // EFFECTS: if a tile in the specified Direction is available, moves the life form onto that tile. Else do nothing.
+    //    note: the target is checked by its cell in the board state and the life form's tile view is moved onto it, so
+    //    moving does not allocate.
     public void move(Direction d) {
-        GameTile targetTile = gameDistrict.tileInDirection(currentTile.getTileXPos(), currentTile.getTileYPos(), d);
-        if (null != targetTile && !targetTile.getOccupiedByLifeForm()) {
-            currentTile.setOccupiedByLifeForm(false);
-            updateCurrentLocation(targetTile);
+        int targetX = currentTile.x + d.shiftX;
+        int targetY = currentTile.y + d.shiftY;
+        BoardState boardState = gameDistrict.getBoardState();
+        if (boardState.isOnBoard(targetX, targetY)
+                && !boardState.isOccupied(boardState.cellIndex(targetX, targetY))) {
+            currentTile.vacate(lifeFormId);
+            currentTile.moveTo(targetX, targetY);
+            currentTile.occupy(lifeFormId);
         }
     }
 
@@ -38,34 +45,78 @@ public abstract class LifeForm {
     // EFFECTS: deals damage to the opponent if they are in range; else does nothing. returns whether opponent was hit
     protected abstract boolean attackOpponent();
 
-    // MODIFIES: this
-    // EFFECTS: determines the range of the life form's attack at its current position
-    protected abstract double determineRange();
-
     // EFFECTS: calculates the amount of damage to be done to the user if the attack connects
     protected abstract int attackFormula();
 
-    // EFFECTS: returns true if the life form's opponent is in their attack range; else returns false
-    protected boolean opponentIsInRange(double atkRange) {
-        return atkRange >= currentTile.distance(opponent.currentTile);
+    // EFFECTS: determines the square of the range of the life form's attack at its current position; a tile is in
+    //    range if its squared distance to the life form is at most this
+    protected abstract int determineRangeSquared();
+
+    // EFFECTS: returns true if the life form's opponent is within the given squared attack range; else returns false
+    protected boolean opponentIsInRange(int atkRangeSquared) {
+        return isInRange(opponent.currentTile, atkRangeSquared);
+    }
+
+    // EFFECTS: returns true if the given tile is in range of the life form's current attack
+    public boolean threatens(GameTile tile) {
+        return isInRange(tile, determineRangeSquared());
+    }
+
+    // REQUIRES: the life form's district's board fits in one bitboard word
+    // EFFECTS: returns the mask of the tiles that are in range of the life form's current attack
+    public long getAttackFootprint() {
+        return gameDistrict.getBoardState().getAttackFootprint().mask(currentTile.getCell(), determineRangeSquared());
+    }
+
+    // EFFECTS: returns true if the squared distance between the given tile and the life form is at most the given
+    //    squared range; on boards that fit in one bitboard word, this is a bit test in the shared footprint tables
+    private boolean isInRange(GameTile tile, int atkRangeSquared) {
+        BoardState boardState = gameDistrict.getBoardState();
+        if (boardState.isSingleWord()) {
+            long footprint = boardState.getAttackFootprint().mask(currentTile.getCell(), atkRangeSquared);
+            return (footprint >>> tile.getCell() & 1L) != 0;
+        }
+        int dx = tile.x - currentTile.x;
+        int dy = tile.y - currentTile.y;
+        return dx * dx + dy * dy <= atkRangeSquared;
     }
 
-    // REQUIRES: the point provided has integer coordinates i, where 0 <= i <= BOARD_EDGE_LENGTH.
+    // REQUIRES: the point provided is a tile on the board of this life form's district.
     //    Additionally, the point does not contain a mine and is not currently occupied by another life form.
     // MODIFIES: this
-    // EFFECTS: places the life form at the specified location
+    // EFFECTS: places the life form at the specified location, freeing the tile it was previously on
+    //    note: if the life form is already on a tile of its district, its tile view is reused rather than replaced,
+    //    so placing life forms at the start of each game does not allocate.
     protected void setLocation(Point p) {
-        int x = (int) p.getX();
-        int y = (int) p.getY();
-        GameTile targetTile = gameDistrict.getGameTileAtPos(x, y);
-        updateCurrentLocation(targetTile);
+        if (currentTile != null) {
+            currentTile.vacate(lifeFormId);
+        }
+        placeOnTile((int) p.getX(), (int) p.getY());
+        currentTile.occupy(lifeFormId);
+    }
+
+    // REQUIRES: the given x, y position is a tile on the board of this life form's district
+    // MODIFIES: this
+    // EFFECTS: makes the tile at the given position the life form's tile without changing which tiles are occupied,
+    //    reusing the life form's tile view if it is a view of a tile of its district
+    void placeOnTile(int x, int y) {
+        if (currentTile != null && currentTile.isInDistrict(gameDistrict)) {
+            currentTile.moveTo(x, y);
+        } else {
+            currentTile = gameDistrict.getGameTileAtPos(x, y);
+        }
     }
 
+    // REQUIRES: the given life form is on a tile, and the given district's board has the same size as its district's
     // MODIFIES: this
-    // EFFECTS: places the life form on the provided tile and updates its location records accordingly
-    protected void updateCurrentLocation(GameTile targetTile) {
-        currentTile = targetTile;
-        currentTile.setOccupiedByLifeForm(true);
+    // EFFECTS: gives this life form the HP, ATK and id of the given one and puts it on the tile at the same position
+    //    of the given district, without changing which of that district's tiles are occupied
+    void copyLifeFormState(LifeForm other, GameDistrict gd) {
+        hp = other.hp;
+        atk = other.atk;
+        lifeFormId = other.lifeFormId;
+        gameDistrict = gd;
+        currentTile = gd.getGameTileAtPos(other.currentTile.x, other.currentTile.y);
     }
 
     // MODIFIES: this
@@ -86,6 +137,10 @@ public abstract class LifeForm {
         return currentTile;
     }
 
+    public int getLifeFormId() {
+        return lifeFormId;
+    }
+
 
     // setters
     public void setOpponent(LifeForm lifeForm) {
@@ -95,4 +150,8 @@ public abstract class LifeForm {
     public void setGameDistrict(GameDistrict gd) {
         gameDistrict = gd;
     }
+
+    void setLifeFormId(int lifeFormId) {
+        this.lifeFormId = lifeFormId;
+    }
 }
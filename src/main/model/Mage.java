@@ -7,7 +7,7 @@ public class Mage extends LifeForm {
     public static final int SKILL_COST_IN_POINTS_PER_SECOND = 2;
     public static final int MAX_SKILL_POINTS = 20;
     public static final int MAGE_MAX_HP = 1000;
-    private static final double MAGE_ATK_RANGE = 2.3;                   // ceiling of sqrt(5) to one decimal place
+    private static final int MAGE_ATK_RANGE_SQUARED = 5;               // floor of the mage's 2.3 tile range ^ 2
     private static final int MAGE_ATK = 50;
 
     private final String mageName;
@@ -25,6 +25,18 @@ public class Mage extends LifeForm {
         skillInUse = false;
     }
 
+    // REQUIRES: the given mage is on a tile, and the given district's board has the same size as its district's
+    // EFFECTS: creates a copy of the given mage that plays in the given district, on the tile at the same position;
+    //    it has no opponent until one is set
+    Mage(Mage other, GameDistrict gd) {
+        mageName = other.mageName;
+        copyLifeFormState(other, gd);
+        hitCombo = other.hitCombo;
+        skillPoints = other.skillPoints;
+        skillInUse = other.skillInUse;
+        numFlags = other.numFlags;
+    }
+
     // REQUIRES: mage is on this
     // MODIFIES: this
     // EFFECTS: if the tile in a given direction exists and has an unknown identity, toggles whether it is flagged
@@ -55,7 +67,7 @@ public class Mage extends LifeForm {
     // EFFECTS: puts the game in a lose state because the mage is out of health points
     @Override
     protected void outOfHP() {
-        gameDistrict.getTracker().endGame(EndGameOutcome.NO_MAGE_HP_LOSE);
+        gameDistrict.finishGame(EndGameOutcome.NO_MAGE_HP_LOSE);
     }
 
     // EFFECTS: gets the mage's attack based on its hitCombo.
@@ -64,20 +76,26 @@ public class Mage extends LifeForm {
         return (int) (atk * (1 + hitCombo * 0.01));
     }
 
-    // MODIFIES: this.opponent
-    // EFFECTS: deals damage to the opponent if they are in range; else does nothing
+    // MODIFIES: this, the dragons of this mage's district
+    // EFFECTS: deals damage to every dragon in range and returns true if there was any; else does nothing
+    //    note: the hit combo goes up once per attack that hits, however many dragons it hits
     @Override
     public boolean attackOpponent() {
-        if (opponentIsInRange(determineRange())) {
-            hitCombo++;
-            opponent.takeDamage(attackFormula());
-            return true;
+        int numInRange = gameDistrict.findDragonsInRange(currentTile, determineRangeSquared());
+        if (numInRange == 0) {
+            return false;
+        }
+        hitCombo++;
+        int damage = attackFormula();
+        for (int i = 0; i < numInRange; i++) {
+            gameDistrict.getDragonInRange(i).takeDamage(damage);
         }
-        return false;
+        return true;
     }
 
     // MODIFIES: this
     // EFFECTS: moves this in the specified direction, then reveals any tiles that need to be revealed
+    //    note: the tiles this reveals are available from the district's last revealed mask
     @Override
     public void move(Direction d) {
         super.move(d);
@@ -93,11 +111,10 @@ public class Mage extends LifeForm {
         }
     }
 
-    // MODIFIES: this
-    // EFFECTS: returns the range of the mage's attack
+    // EFFECTS: returns the square of the range of the mage's attack
     @Override
-    public double determineRange() {
-        return MAGE_ATK_RANGE;
+    public int determineRangeSquared() {
+        return MAGE_ATK_RANGE_SQUARED;
     }
 
     // REQUIRES: skillPoints - SKILL_COST_POINTS_IN_SECONDS >= 0 in order for skillInUse to be true.
@@ -119,6 +136,20 @@ public class Mage extends LifeForm {
         return skillInUse;
     }
 
+    // REQUIRES: the given cell is on the board of this mage's district
+    // MODIFIES: this
+    // EFFECTS: puts this mage back in a state saved in a GameState, on the given cell (which it then occupies)
+    void restoreState(int cell, int hp, int hitCombo, int skillPoints, boolean skillInUse, int numFlags) {
+        int width = gameDistrict.getWidth();
+        placeOnTile(cell % width, cell / width);
+        currentTile.occupy(lifeFormId);
+        this.hp = hp;
+        this.hitCombo = hitCombo;
+        this.skillPoints = skillPoints;
+        this.skillInUse = skillInUse;
+        this.numFlags = numFlags;
+    }
+
     // getters
     public int getNumFlags() {
         return numFlags;
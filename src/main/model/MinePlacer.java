@@ -0,0 +1,90 @@
+package model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Picks distinct cells of a board uniformly at random with a partial Fisher-Yates shuffle over the cell indices.
+// The deck [0, numCells) is never built: only positions that were swapped are stored, in an open-addressing table
+//    sized to the number of picks, so picking k cells takes O(k) time and memory whatever the board size. When the
+//    picks would fill most of the board anyway, the deck is a plain int[] instead.
+public class MinePlacer {
+    private static final int EMPTY = -1;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9; // 2 ^ 32 / golden ratio, spreads nearby cells apart
+
+    private final SplittableRandom random;
+    private final int numCells;
+    private final int[] keys;   // null if the deck is dense
+    private final int[] values; // the dense deck, or the cell stored at each swapped position in keys
+    private final int hashShift;
+    private int numPicked = 0;
+
+    // REQUIRES: 0 <= maxPicks <= numCells
+    // EFFECTS: creates a placer that can pick up to maxPicks distinct cells in [0, numCells) with the given random
+    public MinePlacer(int numCells, int maxPicks, SplittableRandom random) {
+        this.random = random;
+        this.numCells = numCells;
+        int capacity = Integer.highestOneBit(Math.max(1, maxPicks) * 2 - 1) << 1;
+        if (capacity >= numCells) {
+            keys = null;
+            values = new int[numCells];
+            hashShift = 0;
+            for (int cell = 0; cell < numCells; cell++) {
+                values[cell] = cell;
+            }
+        } else {
+            keys = new int[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            hashShift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+        }
+    }
+
+    // REQUIRES: fewer than maxPicks cells have been picked
+    // MODIFIES: this
+    // EFFECTS: returns a random cell that has not been picked before; every such cell is equally likely
+    public int next() {
+        int swapWith = numPicked + random.nextInt(numCells - numPicked);
+        int picked = get(swapWith);
+        put(swapWith, get(numPicked));
+        numPicked++;
+        return picked;
+    }
+
+    // EFFECTS: returns the cell at the given deck position; positions that were never swapped hold themselves
+    private int get(int position) {
+        if (keys == null) {
+            return values[position];
+        }
+        for (int slot = slot(position); keys[slot] != EMPTY; slot = (slot + 1) & (keys.length - 1)) {
+            if (keys[slot] == position) {
+                return values[slot];
+            }
+        }
+        return position;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stores the given cell at the given deck position
+    private void put(int position, int cell) {
+        if (keys == null) {
+            values[position] = cell;
+            return;
+        }
+        int slot = slot(position);
+        while (keys[slot] != EMPTY && keys[slot] != position) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        keys[slot] = position;
+        values[slot] = cell;
+    }
+
+    // EFFECTS: returns the table slot where the search for the given deck position starts
+    private int slot(int position) {
+        return (position * HASH_MULTIPLIER) >>> hashShift;
+    }
+
+    // getters
+    public int getNumPicked() {
+        return numPicked;
+    }
+}
@@ -0,0 +1,444 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Works out the exact chance that each hidden tile of a board is a mine, given the revealed tiles' nearby mine
+//    counts and the board's total number of mines, every arrangement of mines that fits them being equally likely.
+// The tiles that DeductionSolver proves safe or mined are settled first. The rest of the frontier (the hidden tiles
+//    next to revealed ones) is split into components that share no constraint, and each component's arrangements
+//    are counted by how many mines they use (see ProbabilityComponent). The components are then combined: an
+//    arrangement of the whole board is one arrangement of each component plus any placement of the remaining mines
+//    on the interior (the hidden tiles next to no revealed tile), of which there are C(interior, mines left). The
+//    combination is done in log space, as these binomials overflow a double on larger boards.
+// Flags are not trusted, as in DeductionSolver.
+public class MineProbabilityEngine {
+    private final int width;
+    private final int height;
+    private final DeductionSolver solver;
+    private boolean solved = false;
+    private int[] frontierCells = new int[0];        // the frontier tiles not settled by the solver, in order
+    private double[] frontierProbabilities = new double[0];
+    private double interiorProbability = Double.NaN;
+    private int numInteriorCells = 0;
+    private int numComponents = 0;
+
+    // REQUIRES: width >= 2 and height >= 2
+    // EFFECTS: creates an engine for boards with the given dimensions
+    public MineProbabilityEngine(int width, int height) {
+        this.width = width;
+        this.height = height;
+        solver = new DeductionSolver(width, height);
+    }
+
+    // REQUIRES: the given board has this engine's dimensions, and numMines is how many mines it has
+    // MODIFIES: this
+    // EFFECTS: works out each hidden tile's chance of being a mine, which can then be read with getProbability;
+    //    returns false (and leaves only the solver's certain tiles known) if no arrangement fits the board or a
+    //    component is too large to count (see ProbabilityComponent.MAX_CELLS and MAX_STATES)
+    public boolean compute(BoardState boardState, int numMines) {
+        solver.solve(boardState);
+        List<int[]> constraintCells = new ArrayList<>();
+        List<Integer> constraintMines = new ArrayList<>();
+        collectConstraints(boardState, constraintCells, constraintMines);
+        frontierCells = sortedDistinctCells(constraintCells);
+        frontierProbabilities = new double[frontierCells.length];
+        Arrays.fill(frontierProbabilities, Double.NaN);
+        interiorProbability = Double.NaN;
+        numInteriorCells = countHidden(boardState) - solver.getNumSafe() - solver.getNumMines()
+                - frontierCells.length;
+        List<ProbabilityComponent> components = splitIntoComponents(constraintCells, constraintMines);
+        numComponents = components.size();
+        solved = countAll(components) && combine(components, numMines - solver.getNumMines());
+        return solved;
+    }
+
+    // MODIFIES: constraintCells, constraintMines
+    // EFFECTS: adds a constraint for every revealed tile with hidden tiles around it that the solver did not settle:
+    //    those tiles, and how many of them are mines (its count less the solver's mines around it)
+    private void collectConstraints(BoardState boardState, List<int[]> constraintCells,
+                                    List<Integer> constraintMines) {
+        int[] around = new int[Direction.values().length];
+        for (int word = 0; word < boardState.getNumWords(); word++) {
+            long revealedWord = boardState.getRevealedWord(word);
+            while (revealedWord != 0) {
+                int cell = word * Long.SIZE + Long.numberOfTrailingZeros(revealedWord);
+                revealedWord &= revealedWord - 1;
+                int numAround = unsettledAround(boardState, cell, around);
+                if (numAround > 0 && !boardState.isMine(cell)) {
+                    constraintCells.add(Arrays.copyOf(around, numAround));
+                    constraintMines.add(boardState.countNearbyMines(cell) - solverMinesAround(boardState, cell));
+                }
+            }
+        }
+    }
+
+    // MODIFIES: around
+    // EFFECTS: puts the hidden tiles around the given cell that the solver did not settle into around, and returns
+    //    how many there are
+    private int unsettledAround(BoardState boardState, int cell, int[] around) {
+        int numAround = 0;
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                int nearby = cell + dy * width + dx;
+                if (boardState.isOnBoard(cell % width + dx, cell / width + dy) && !boardState.isRevealed(nearby)
+                        && !solver.isSafe(nearby) && !solver.isMine(nearby)) {
+                    around[numAround++] = nearby;
+                }
+            }
+        }
+        return numAround;
+    }
+
+    // EFFECTS: returns how many of the tiles around the given cell the solver found to be mines
+    private int solverMinesAround(BoardState boardState, int cell) {
+        int numMines = 0;
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                if (boardState.isOnBoard(cell % width + dx, cell / width + dy)
+                        && solver.isMine(cell + dy * width + dx)) {
+                    numMines++;
+                }
+            }
+        }
+        return numMines;
+    }
+
+    // EFFECTS: returns every cell in the given lists, once each, in increasing order
+    private static int[] sortedDistinctCells(List<int[]> lists) {
+        int total = 0;
+        for (int[] list : lists) {
+            total += list.length;
+        }
+        int[] cells = new int[total];
+        int numCells = 0;
+        for (int[] list : lists) {
+            System.arraycopy(list, 0, cells, numCells, list.length);
+            numCells += list.length;
+        }
+        Arrays.sort(cells);
+        int numDistinct = 0;
+        for (int i = 0; i < numCells; i++) {
+            if (numDistinct == 0 || cells[i] != cells[numDistinct - 1]) {
+                cells[numDistinct++] = cells[i];
+            }
+        }
+        return Arrays.copyOf(cells, numDistinct);
+    }
+
+    // EFFECTS: returns how many tiles of the board are hidden
+    private static int countHidden(BoardState boardState) {
+        int numRevealed = 0;
+        for (int word = 0; word < boardState.getNumWords(); word++) {
+            numRevealed += Long.bitCount(boardState.getRevealedWord(word));
+        }
+        return boardState.getNumCells() - numRevealed;
+    }
+
+    // EFFECTS: splits the frontier into components of tiles linked through shared constraints; each component's
+    //    tiles are ordered by a breadth-first search through the constraints, so that its sweep follows the frontier
+    private List<ProbabilityComponent> splitIntoComponents(List<int[]> constraintCells,
+                                                           List<Integer> constraintMines) {
+        int[][] constraintsOfFrontier = constraintsOfEachFrontierCell(constraintCells);
+        int[] positions = new int[frontierCells.length];
+        Arrays.fill(positions, -1);
+        int[] constraintSeen = new int[constraintCells.size()];
+        List<ProbabilityComponent> components = new ArrayList<>();
+        int[] order = new int[frontierCells.length];
+        for (int start = 0; start < frontierCells.length; start++) {
+            if (positions[start] == -1) {
+                List<Integer> constraints = new ArrayList<>();
+                int numOrdered = orderComponent(start, constraintsOfFrontier, constraintCells, constraintSeen,
+                        positions, order, constraints);
+                components.add(makeComponent(order, numOrdered, constraints, constraintCells, constraintMines,
+                        positions));
+            }
+        }
+        return components;
+    }
+
+    // MODIFIES: constraintSeen, positions, order, constraints
+    // EFFECTS: gives the tiles of the component of the given frontier tile their sweep positions, breadth first
+    //    from it, listing them in order and the component's constraints in constraints; returns how many tiles it has
+    private int orderComponent(int start, int[][] constraintsOfFrontier, List<int[]> constraintCells,
+                               int[] constraintSeen, int[] positions, int[] order, List<Integer> constraints) {
+        int numOrdered = 0;
+        positions[start] = numOrdered;
+        order[numOrdered++] = start;
+        for (int head = 0; head < numOrdered; head++) {
+            for (int j : constraintsOfFrontier[order[head]]) {
+                if (constraintSeen[j]++ == 0) {
+                    constraints.add(j);
+                    numOrdered = visitConstraint(constraintCells.get(j), positions, order, numOrdered);
+                }
+            }
+        }
+        return numOrdered;
+    }
+
+    // MODIFIES: positions, order
+    // EFFECTS: gives every tile of the given constraint that has no sweep position yet the next one, and returns
+    //    how many tiles have positions now
+    private int visitConstraint(int[] cells, int[] positions, int[] order, int numOrdered) {
+        for (int cell : cells) {
+            int index = Arrays.binarySearch(frontierCells, cell);
+            if (positions[index] == -1) {
+                positions[index] = numOrdered;
+                order[numOrdered++] = index;
+            }
+        }
+        return numOrdered;
+    }
+
+    // EFFECTS: returns, for each frontier tile, the constraints it is in
+    private int[][] constraintsOfEachFrontierCell(List<int[]> constraintCells) {
+        int[] numConstraints = new int[frontierCells.length];
+        for (int[] cells : constraintCells) {
+            for (int cell : cells) {
+                numConstraints[Arrays.binarySearch(frontierCells, cell)]++;
+            }
+        }
+        int[][] constraintsOf = new int[frontierCells.length][];
+        for (int i = 0; i < frontierCells.length; i++) {
+            constraintsOf[i] = new int[numConstraints[i]];
+            numConstraints[i] = 0;
+        }
+        for (int j = 0; j < constraintCells.size(); j++) {
+            for (int cell : constraintCells.get(j)) {
+                int index = Arrays.binarySearch(frontierCells, cell);
+                constraintsOf[index][numConstraints[index]++] = j;
+            }
+        }
+        return constraintsOf;
+    }
+
+    // EFFECTS: makes the component of the first numOrdered frontier tiles in the given order, and the given
+    //    constraints on them
+    private ProbabilityComponent makeComponent(int[] order, int numOrdered, List<Integer> constraints,
+                                               List<int[]> constraintCells, List<Integer> constraintMines,
+                                               int[] positions) {
+        int[] cells = new int[numOrdered];
+        for (int i = 0; i < numOrdered; i++) {
+            cells[i] = frontierCells[order[i]];
+        }
+        int[][] constraintPositions = new int[constraints.size()][];
+        int[] mines = new int[constraints.size()];
+        for (int c = 0; c < constraints.size(); c++) {
+            int[] constraint = constraintCells.get(constraints.get(c));
+            constraintPositions[c] = new int[constraint.length];
+            for (int t = 0; t < constraint.length; t++) {
+                constraintPositions[c][t] = positions[Arrays.binarySearch(frontierCells, constraint[t])];
+            }
+            Arrays.sort(constraintPositions[c]);
+            mines[c] = constraintMines.get(constraints.get(c));
+        }
+        return new ProbabilityComponent(cells, constraintPositions, mines);
+    }
+
+    // MODIFIES: the given components
+    // EFFECTS: counts every component's arrangements; returns false if a component is too large to count
+    private static boolean countAll(List<ProbabilityComponent> components) {
+        for (ProbabilityComponent component : components) {
+            if (!component.countArrangements()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // MODIFIES: this, the given components
+    /*
+     * EFFECTS: combines the components' arrangement counts with the placements of the remaining mines on the
+     *    interior, and works out every frontier tile's and the interior's chance of being a mine; returns false if
+     *    no arrangement of the whole board fits
+     *    prefixes[c] are the log counts of the arrangements of the components before c by their mines, and
+     *    suffixes[c][k] the log weight of k mines in the components before c together with every way to complete
+     *    them with components c onwards and the interior
+     */
+    private boolean combine(List<ProbabilityComponent> components, int minesLeft) {
+        int numComponents = components.size();
+        double[][] logCounts = new double[numComponents][];
+        int maxFrontierMines = 0;
+        for (int c = 0; c < numComponents; c++) {
+            logCounts[c] = log(components.get(c).getSolutionCounts());
+            maxFrontierMines += logCounts[c].length - 1;
+        }
+        double[] logPlacements = logInteriorPlacements(maxFrontierMines, minesLeft);
+        double[][] prefixes = new double[numComponents + 1][];
+        double[][] suffixes = new double[numComponents + 1][];
+        combinePrefixesAndSuffixes(logCounts, logPlacements, prefixes, suffixes);
+        double logTotal = suffixes[0][0];
+        if (logTotal == Double.NEGATIVE_INFINITY) {
+            return false;
+        }
+        for (int c = 0; c < numComponents; c++) {
+            computeComponentProbabilities(components.get(c), logCounts[c],
+                    logCorrelate(suffixes[c + 1], prefixes[c]));
+        }
+        interiorProbability = interiorProbability(prefixes[numComponents], logPlacements, logTotal, minesLeft);
+        return true;
+    }
+
+    // MODIFIES: prefixes, suffixes
+    // EFFECTS: fills in the prefixes and suffixes of the given components' log counts (see combine)
+    private static void combinePrefixesAndSuffixes(double[][] logCounts, double[] logPlacements,
+                                                   double[][] prefixes, double[][] suffixes) {
+        int numComponents = logCounts.length;
+        prefixes[0] = new double[]{0};
+        for (int c = 0; c < numComponents; c++) {
+            prefixes[c + 1] = logConvolve(prefixes[c], logCounts[c]);
+        }
+        suffixes[numComponents] = logPlacements;
+        for (int c = numComponents - 1; c >= 0; c--) {
+            suffixes[c] = logCorrelate(suffixes[c + 1], logCounts[c]);
+        }
+    }
+
+    // EFFECTS: returns, for each number k of mines on the frontier, the log of how many ways the remaining
+    //    mines can be placed on the interior, up to a constant; negative infinity where they cannot be
+    private double[] logInteriorPlacements(int maxFrontierMines, int minesLeft) {
+        double[] logPlacements = new double[maxFrontierMines + 1];
+        Arrays.fill(logPlacements, Double.NEGATIVE_INFINITY);
+        int first = Math.max(0, minesLeft - numInteriorCells);
+        if (first <= Math.min(maxFrontierMines, minesLeft)) {
+            logPlacements[first] = 0;
+        }
+        for (int k = first + 1; k <= Math.min(maxFrontierMines, minesLeft); k++) {
+            // C(n, m - 1) / C(n, m) = m / (n - m + 1), with m = minesLeft - k + 1 mines on the interior
+            logPlacements[k] = logPlacements[k - 1] + Math.log((double) (minesLeft - k + 1)
+                    / (numInteriorCells - minesLeft + k));
+        }
+        return logPlacements;
+    }
+
+    // MODIFIES: this, the given component
+    // EFFECTS: weighs the component's arrangements by the given log weights of the rest of the board by the
+    //    component's mines, and records its tiles' chances of being mines
+    private void computeComponentProbabilities(ProbabilityComponent component, double[] logCounts,
+                                               double[] logWeights) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < logCounts.length; k++) {
+            max = Math.max(max, logCounts[k] + logWeights[k]);
+        }
+        double[] weights = new double[logCounts.length];
+        for (int k = 0; k < logCounts.length; k++) {
+            // scaled so that no count times its weight exceeds 1; a weight is unused if its count is 0
+            weights[k] = logCounts[k] == Double.NEGATIVE_INFINITY ? 0 : Math.exp(logWeights[k] - max);
+        }
+        component.computeProbabilities(weights);
+        for (int i = 0; i < component.getNumCells(); i++) {
+            frontierProbabilities[Arrays.binarySearch(frontierCells, component.getCell(i))] =
+                    component.getMineProbability(i);
+        }
+    }
+
+    // EFFECTS: returns the chance that an interior tile is a mine: the expected mines left for the interior over the
+    //    number of interior tiles, or NaN if there are none
+    private double interiorProbability(double[] logFrontierCounts, double[] logPlacements, double logTotal,
+                                       int minesLeft) {
+        if (numInteriorCells == 0) {
+            return Double.NaN;
+        }
+        double expectedMines = 0;
+        for (int k = 0; k < logFrontierCounts.length; k++) {
+            expectedMines += Math.exp(logFrontierCounts[k] + logPlacements[k] - logTotal) * (minesLeft - k);
+        }
+        return expectedMines / numInteriorCells;
+    }
+
+    // EFFECTS: returns the logs of the given values
+    private static double[] log(double[] values) {
+        double[] logs = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            logs[i] = Math.log(values[i]);
+        }
+        return logs;
+    }
+
+    // EFFECTS: returns the log of the convolution of the two arrays the given logs are of
+    private static double[] logConvolve(double[] a, double[] b) {
+        double[] result = new double[a.length + b.length - 1];
+        Arrays.fill(result, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b.length && a[i] != Double.NEGATIVE_INFINITY; j++) {
+                result[i + j] = logAdd(result[i + j], a[i] + b[j]);
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the log of the correlation of the two arrays the given logs are of, i.e. result[k] is the
+    //    log of the sum over j of b[j] * a[k + j], for every k with k + j inside a for some j
+    private static double[] logCorrelate(double[] a, double[] b) {
+        double[] result = new double[a.length];
+        Arrays.fill(result, Double.NEGATIVE_INFINITY);
+        for (int k = 0; k < a.length; k++) {
+            for (int j = 0; j < b.length && k + j < a.length; j++) {
+                result[k] = logAdd(result[k], a[k + j] + b[j]);
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns log(exp(a) + exp(b)) without overflowing
+    private static double logAdd(double a, double b) {
+        double max = Math.max(a, b);
+        if (max == Double.NEGATIVE_INFINITY) {
+            return max;
+        }
+        return max + Math.log(Math.exp(a - max) + Math.exp(b - max));
+    }
+
+    // REQUIRES: the given cell is on the board that was last computed
+    /*
+     * EFFECTS: returns the chance, from 0 to 1, that the given hidden tile is a mine as of the last compute: 0 or 1
+     *    for tiles the solver settled, and NaN for other tiles if the last compute returned false; returns 0 for
+     *    revealed tiles
+     */
+    public double getProbability(BoardState boardState, int cell) {
+        if (boardState.isRevealed(cell) || solver.isSafe(cell)) {
+            return 0;
+        } else if (solver.isMine(cell)) {
+            return 1;
+        }
+        if (!solved) {
+            return Double.NaN;
+        }
+        int index = Arrays.binarySearch(frontierCells, cell);
+        return index >= 0 ? frontierProbabilities[index] : interiorProbability;
+    }
+
+    // getters
+    public boolean isSolved() {
+        return solved;
+    }
+
+    public double getInteriorProbability() {
+        return interiorProbability;
+    }
+
+    public int getNumInteriorCells() {
+        return numInteriorCells;
+    }
+
+    public int getNumFrontierCells() {
+        return frontierCells.length;
+    }
+
+    public int getNumComponents() {
+        return numComponents;
+    }
+
+    public DeductionSolver getSolver() {
+        return solver;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,127 @@
+package model;
+
+import java.util.Arrays;
+
+// A map from the cells of a board to the id of the life form standing on each of them.
+// Only a handful of tiles are ever occupied, so the map is an open-addressing table (linear probing, hashed like
+//    MinePlacer's deck) sized to the number of life forms rather than an array over the whole board: placing,
+//    removing and looking up a life form take O(1) time on average on any board size. Clearing it keeps its arrays,
+//    so it only allocates when it holds more life forms than it ever has before.
+public class OccupancyIndex {
+    public static final int NONE = -1; // the id looked up for a cell that nothing is on
+    private static final int EMPTY = -1;
+    private static final int MIN_CAPACITY = 16;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9; // 2 ^ 32 / golden ratio, spreads nearby cells apart
+
+    private int[] keys;
+    private int[] values;
+    private int hashShift;
+    private int size = 0;
+
+    // EFFECTS: creates an index in which no cell is occupied
+    public OccupancyIndex() {
+        keys = new int[MIN_CAPACITY];
+        values = new int[MIN_CAPACITY];
+        hashShift = Integer.SIZE - Integer.numberOfTrailingZeros(MIN_CAPACITY);
+        Arrays.fill(keys, EMPTY);
+    }
+
+    // EFFECTS: creates an index in which the same cells are occupied by the same life forms as in the given one
+    public OccupancyIndex(OccupancyIndex other) {
+        keys = other.keys.clone();
+        values = other.values.clone();
+        hashShift = other.hashShift;
+        size = other.size;
+    }
+
+    // EFFECTS: returns the id of the life form on the given cell, or NONE if there is none
+    public int get(int cell) {
+        for (int slot = slot(cell); keys[slot] != EMPTY; slot = (slot + 1) & (keys.length - 1)) {
+            if (keys[slot] == cell) {
+                return values[slot];
+            }
+        }
+        return NONE;
+    }
+
+    // REQUIRES: lifeFormId >= 0
+    // MODIFIES: this
+    // EFFECTS: records the given life form as the one on the given cell, replacing any other
+    public void put(int cell, int lifeFormId) {
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        int slot = slot(cell);
+        while (keys[slot] != EMPTY && keys[slot] != cell) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        if (keys[slot] == EMPTY) {
+            size++;
+        }
+        keys[slot] = cell;
+        values[slot] = lifeFormId;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that nothing is on the given cell; the entries after it in its probe run are shifted back
+    //    into the gap, so that lookups never need tombstones
+    public void remove(int cell) {
+        int mask = keys.length - 1;
+        int hole = slot(cell);
+        while (keys[hole] != cell) {
+            if (keys[hole] == EMPTY) {
+                return;
+            }
+            hole = (hole + 1) & mask;
+        }
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            if (((next - slot(keys[next])) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that nothing is on any cell
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: doubles the capacity of the table and puts every entry back into it
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        hashShift--;
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                put(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    // EFFECTS: returns the table slot where the search for the given cell starts
+    private int slot(int cell) {
+        return (cell * HASH_MULTIPLIER) >>> hashShift;
+    }
+
+    // getters
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+}
@@ -0,0 +1,252 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One independent part of a board's frontier for MineProbabilityEngine: hidden tiles linked to each other through the
+//    revealed tiles' constraints, none of which touch tiles outside it.
+// Its mine arrangements are counted with a memoised sweep over its tiles in order: after deciding each tile, the
+//    partial arrangements are merged by the mine counts of the constraints that still have tiles both before and
+//    after it (the "open" constraints), since those counts are all that the rest of the sweep depends on. The
+//    number of merged states stays small for frontiers that are long and thin, so a component of hundreds of tiles
+//    is counted without enumerating its arrangements one by one.
+class ProbabilityComponent {
+    static final int MAX_CELLS = 1000;          // arrangements of up to 2 ^ 1000 fit in a double
+    static final int MAX_STATES = 1 << 16;      // merged states per step; more is treated as too large to count
+    private static final StateKey EMPTY = new StateKey(new long[0]);
+
+    private final int[] cells;                  // the component's tiles, in sweep order
+    private final int[] constraintMines;        // how many mines each constraint still needs among its tiles
+    private final int[] firstPositions;         // the sweep position of each constraint's first and last tile
+    private final int[] lastPositions;
+    private final int[][] constraintsAt;        // the constraints of the tile at each sweep position
+    private final int[][] tilesLeftAt;          // ... and how many of their tiles come after that position
+    private final int[][] openAt;               // the open constraints before each sweep position, and at the end
+    private final int[] scratchCounts;
+    private final List<Map<StateKey, double[]>> forward = new ArrayList<>();
+    private double[] solutionCounts;            // arrangements by how many mines they put in this component
+    private final double[] mineProbabilities;
+
+    // REQUIRES: every constraint's positions are sweep positions of this component's tiles, in increasing order
+    // EFFECTS: makes a component of the given tiles in sweep order, with the given constraints on them
+    ProbabilityComponent(int[] cells, int[][] constraintPositions, int[] constraintMines) {
+        this.cells = cells;
+        this.constraintMines = constraintMines;
+        int numConstraints = constraintMines.length;
+        firstPositions = new int[numConstraints];
+        lastPositions = new int[numConstraints];
+        scratchCounts = new int[numConstraints];
+        constraintsAt = new int[cells.length][];
+        tilesLeftAt = new int[cells.length][];
+        openAt = new int[cells.length + 1][];
+        mineProbabilities = new double[cells.length];
+        indexConstraints(constraintPositions);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records, for each sweep position, the constraints on its tile and the constraints open before it
+    private void indexConstraints(int[][] constraintPositions) {
+        int[] numAt = new int[cells.length];
+        for (int j = 0; j < constraintPositions.length; j++) {
+            int[] positions = constraintPositions[j];
+            firstPositions[j] = positions[0];
+            lastPositions[j] = positions[positions.length - 1];
+            for (int position : positions) {
+                numAt[position]++;
+            }
+        }
+        for (int i = 0; i < cells.length; i++) {
+            constraintsAt[i] = new int[numAt[i]];
+            tilesLeftAt[i] = new int[numAt[i]];
+            numAt[i] = 0;
+        }
+        for (int j = 0; j < constraintPositions.length; j++) {
+            int[] positions = constraintPositions[j];
+            for (int t = 0; t < positions.length; t++) {
+                constraintsAt[positions[t]][numAt[positions[t]]] = j;
+                tilesLeftAt[positions[t]][numAt[positions[t]]++] = positions.length - 1 - t;
+            }
+        }
+        for (int i = 0; i <= cells.length; i++) {
+            openAt[i] = openConstraints(i);
+        }
+    }
+
+    // EFFECTS: returns the constraints that have tiles both before the given sweep position and at or after it
+    private int[] openConstraints(int position) {
+        int[] open = new int[constraintMines.length];
+        int numOpen = 0;
+        for (int j = 0; j < constraintMines.length; j++) {
+            if (firstPositions[j] < position && lastPositions[j] >= position) {
+                open[numOpen++] = j;
+            }
+        }
+        return Arrays.copyOf(open, numOpen);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts this component's mine arrangements that satisfy its constraints, by how many mines they have;
+    //    returns false if the component is too large to count (see MAX_CELLS and MAX_STATES)
+    boolean countArrangements() {
+        if (cells.length > MAX_CELLS) {
+            return false;
+        }
+        forward.clear();
+        Map<StateKey, double[]> layer = new HashMap<>();
+        layer.put(EMPTY, new double[]{1});
+        forward.add(layer);
+        for (int i = 0; i < cells.length; i++) {
+            layer = sweepForward(i, layer);
+            if (layer.size() > MAX_STATES) {
+                return false;
+            }
+            forward.add(layer);
+        }
+        solutionCounts = layer.getOrDefault(EMPTY, new double[cells.length + 1]);
+        return true;
+    }
+
+    // EFFECTS: returns the merged partial arrangements after deciding the tile at the given sweep position, given
+    //    the ones before it; each state's counts are indexed by how many mines the partial arrangement has
+    private Map<StateKey, double[]> sweepForward(int position, Map<StateKey, double[]> layer) {
+        Map<StateKey, double[]> next = new HashMap<>();
+        for (Map.Entry<StateKey, double[]> entry : layer.entrySet()) {
+            double[] counts = entry.getValue();
+            for (int mine = 0; mine <= 1; mine++) {
+                StateKey successor = successor(position, entry.getKey(), mine);
+                if (successor != null) {
+                    double[] nextCounts = next.computeIfAbsent(successor, key -> new double[position + 2]);
+                    for (int a = 0; a < counts.length; a++) {
+                        nextCounts[a + mine] += counts[a];
+                    }
+                }
+            }
+        }
+        return next;
+    }
+
+    // MODIFIES: this
+    /*
+     * EFFECTS: works out the chance that each tile is a mine, given how much weight each arrangement of this
+     *    component carries by how many mines it has (the arrangements of the rest of the board that go with it);
+     *    weights[k] is for arrangements with k mines
+     *    the weights are summed backwards over the sweep, so that a tile's chance takes one pass over its states
+     *    rather than one per pair of mine counts before and after it
+     */
+    void computeProbabilities(double[] weights) {
+        Map<StateKey, double[]> backward = new HashMap<>();
+        backward.put(EMPTY, weights);
+        double total = 0;
+        for (int k = 0; k < solutionCounts.length; k++) {
+            total += solutionCounts[k] * weights[k];
+        }
+        for (int i = cells.length - 1; i >= 0; i--) {
+            Map<StateKey, double[]> current = new HashMap<>();
+            double mineWeight = 0;
+            for (Map.Entry<StateKey, double[]> entry : forward.get(i).entrySet()) {
+                double[] sums = new double[i + 1];
+                double[] afterSafe = backward.get(successor(i, entry.getKey(), 0));
+                double[] afterMine = backward.get(successor(i, entry.getKey(), 1));
+                if (afterSafe != null) {
+                    addShifted(sums, afterSafe, 0, entry.getValue());
+                }
+                if (afterMine != null) {
+                    mineWeight += addShifted(sums, afterMine, 1, entry.getValue());
+                }
+                current.put(entry.getKey(), sums);
+            }
+            mineProbabilities[i] = total > 0 ? mineWeight / total : Double.NaN;
+            backward = current;
+        }
+    }
+
+    // MODIFIES: sums
+    // EFFECTS: adds after[a + shift] to sums[a] for each a, and returns the sum of counts[a] * after[a + shift]
+    private static double addShifted(double[] sums, double[] after, int shift, double[] counts) {
+        double weighted = 0;
+        for (int a = 0; a < sums.length; a++) {
+            sums[a] += after[a + shift];
+            weighted += counts[a] * after[a + shift];
+        }
+        return weighted;
+    }
+
+    // EFFECTS: returns the state after deciding whether the tile at the given position is a mine, from the given
+    //    state before it; returns null if that breaks one of the tile's constraints
+    private StateKey successor(int position, StateKey key, int mine) {
+        int[] open = openAt[position];
+        for (int s = 0; s < open.length; s++) {
+            scratchCounts[open[s]] = key.get(s);
+        }
+        int[] constraints = constraintsAt[position];
+        for (int t = 0; t < constraints.length; t++) {
+            int j = constraints[t];
+            int count = (firstPositions[j] == position ? 0 : scratchCounts[j]) + mine;
+            if (count > constraintMines[j] || count + tilesLeftAt[position][t] < constraintMines[j]) {
+                return null;
+            }
+            scratchCounts[j] = count;
+        }
+        int[] nextOpen = openAt[position + 1];
+        long[] words = new long[(nextOpen.length + StateKey.COUNTS_PER_WORD - 1) / StateKey.COUNTS_PER_WORD];
+        for (int s = 0; s < nextOpen.length; s++) {
+            StateKey.set(words, s, scratchCounts[nextOpen[s]]);
+        }
+        return new StateKey(words);
+    }
+
+    // getters
+    int getNumCells() {
+        return cells.length;
+    }
+
+    int getCell(int i) {
+        return cells[i];
+    }
+
+    double[] getSolutionCounts() {
+        return solutionCounts;
+    }
+
+    double getMineProbability(int i) {
+        return mineProbabilities[i];
+    }
+
+    // The mine counts of the open constraints at a point of the sweep, packed 4 bits each (a count is at most 8).
+    private static final class StateKey {
+        static final int COUNTS_PER_WORD = Long.SIZE / 4;
+
+        private final long[] words;
+        private final int hash;
+
+        // EFFECTS: makes a key of the given packed counts
+        StateKey(long[] words) {
+            this.words = words;
+            hash = Arrays.hashCode(words);
+        }
+
+        // MODIFIES: words
+        // EFFECTS: packs the given count into the given slot of the given words
+        static void set(long[] words, int slot, int count) {
+            words[slot / COUNTS_PER_WORD] |= (long) count << (4 * (slot % COUNTS_PER_WORD));
+        }
+
+        // EFFECTS: returns the count in the given slot
+        int get(int slot) {
+            return (int) (words[slot / COUNTS_PER_WORD] >>> (4 * (slot % COUNTS_PER_WORD))) & 0xF;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StateKey && Arrays.equals(words, ((StateKey) o).words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package model;
+
+import java.util.SplittableRandom;
+
+// A bot that types a random move, flag, attack or skill key at each tick with a set chance, and nothing otherwise;
+//    a baseline player for batch simulations.
+public class RandomBotPolicy implements BotPolicy {
+    public static final double DEFAULT_KEY_CHANCE = 0.5;
+    public static final String KEYS = GameSession.MOVE_KEYS + GameSession.FLAG_KEYS + GameSession.ATTACK_KEY
+            + GameSession.SKILL_KEY;
+
+    private final double keyChance;
+    private SplittableRandom random = new SplittableRandom(0L);
+
+    // REQUIRES: 0 <= keyChance <= 1
+    // EFFECTS: makes a bot that types a key at each tick with the given chance
+    public RandomBotPolicy(double keyChance) {
+        this.keyChance = keyChance;
+    }
+
+    // EFFECTS: makes a bot that types a key at each tick with DEFAULT_KEY_CHANCE
+    public RandomBotPolicy() {
+        this(DEFAULT_KEY_CHANCE);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts this bot's random choices from the given seed
+    @Override
+    public void startGame(long gameSeed) {
+        random = new SplittableRandom(gameSeed);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a random key out of KEYS with a chance of keyChance, else NO_KEY
+    @Override
+    public char chooseKey(GameSession session) {
+        if (random.nextDouble() >= keyChance) {
+            return NO_KEY;
+        }
+        return KEYS.charAt(random.nextInt(KEYS.length()));
+    }
+
+    // getters
+    public double getKeyChance() {
+        return keyChance;
+    }
+}
@@ -0,0 +1,66 @@
+package model;
+
+// Plays a logged game again: the district's game is set up afresh and the logged keys are fed into a game session
+//    at the ticks they were typed at, as fast as the rules run rather than at one tick every TICK_LENGTH_MS, so the
+//    game plays out exactly as it did when it was logged.
+public class ReplayEngine {
+    private final GameDistrict gameDistrict;
+    private final InputLog inputLog;
+    private RewindBuffer rewindBuffer; // only made if the log has rewinds in it; holds as many ticks as a game can
+
+    // REQUIRES: the given log was recorded in a game of the given district (or of one with the same layout and
+    //    safe start setting)
+    // EFFECTS: makes an engine that replays the given log in the given district
+    public ReplayEngine(GameDistrict gameDistrict, InputLog inputLog) {
+        this.gameDistrict = gameDistrict;
+        this.inputLog = inputLog;
+    }
+
+    // MODIFIES: this, the district of this and its life forms
+    // EFFECTS: sets up a new game in the district without a tracker, replays the logged inputs in it until the game
+    //    ends, and returns the game's outcome; the final state can then be looked at through the district
+    //    note: a log that ends before its game did is played on without inputs until the game ends; the logged inputs
+    //    are typed in order whenever their tick is the session's, so the inputs after a rewind (which puts the
+    //    session's tick back) are typed at the ticks they were typed at before
+    public EndGameOutcome replay() {
+        gameDistrict.setupGame(null);
+        GameSession session = new GameSession(gameDistrict, needsRewinds() ? getRewindBuffer() : null, null);
+        int next = 0;
+        while (gameDistrict.isInGame()) {
+            while (next < inputLog.size() && inputLog.getTick(next) == session.getTick()) {
+                session.input(inputLog.getKey(next++));
+            }
+            if (gameDistrict.isInGame()) {
+                session.tick();
+            }
+        }
+        return gameDistrict.getGameOutcome();
+    }
+
+    // EFFECTS: returns true if the log has a rewind in it, so the replay needs a rewind history
+    private boolean needsRewinds() {
+        for (int i = 0; i < inputLog.size(); i++) {
+            if (inputLog.getKey(i) == GameSession.REWIND_KEY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // EFFECTS: returns this engine's rewind history, making it on first use so that replaying again reuses it
+    private RewindBuffer getRewindBuffer() {
+        if (rewindBuffer == null) {
+            rewindBuffer = new RewindBuffer(gameDistrict, GameSession.REWIND_CAPACITY);
+        }
+        return rewindBuffer;
+    }
+
+    // getters
+    public GameDistrict getGameDistrict() {
+        return gameDistrict;
+    }
+
+    public InputLog getInputLog() {
+        return inputLog;
+    }
+}
@@ -0,0 +1,122 @@
+package model;
+
+// A rewind history of a district's game: the states of its most recent ticks, oldest first, which the game can be
+//    stepped back or scrubbed to.
+// The states are written in the layout of a GameState into one long[] that is allocated when the buffer is made and
+//    used as a ring, so recording a tick and rewinding never allocate; once the buffer is full, each recorded tick
+//    overwrites the oldest one.
+// Each tick can also carry one word of its owner's own state that is not part of the game's state (a game session
+//    keeps its tick and cooldown counters there), which is put back along with the tick.
+// Stepping back does not discard the ticks after the one stepped back to, so the game can be scrubbed forward
+//    again until the next tick is recorded; recording then replaces them, like typing after undoing an edit.
+public class RewindBuffer {
+    public static final int MAX_WORDS = 1 << 20; // 8 MB; larger boards keep fewer ticks
+
+    private final GameDistrict gameDistrict;
+    private final int stateSize;
+    private final int capacity;
+    private final long[] states;
+    private final long[] sessionWords;  // the word recorded with each tick, in the same slots as its state
+    private int oldest = 0;        // the slot of the oldest recorded tick
+    private int numRecorded = 0;
+    private int ticksBack = 0;     // how many ticks before the latest recorded tick the game was last put back to
+
+    // REQUIRES: capacity >= 1
+    // EFFECTS: makes an empty rewind history of the given district's game that holds up to the given amount of ticks,
+    //    or fewer (but at least one) if that many would take more than MAX_WORDS words
+    public RewindBuffer(GameDistrict gameDistrict, int capacity) {
+        this.gameDistrict = gameDistrict;
+        stateSize = gameDistrict.getStateSize();
+        this.capacity = Math.max(1, Math.min(capacity, MAX_WORDS / stateSize));
+        states = new long[this.capacity * stateSize];
+        sessionWords = new long[this.capacity];
+    }
+
+    // REQUIRES: this buffer's district's game has been set up
+    // MODIFIES: this
+    // EFFECTS: records the district's current state as the latest tick, with a session word of 0
+    public void record() {
+        record(0);
+    }
+
+    // REQUIRES: this buffer's district's game has been set up
+    // MODIFIES: this
+    // EFFECTS: records the district's current state and the given session word as the latest tick; the ticks after
+    //    the one the game was put back to are discarded first, and the oldest tick is overwritten if the buffer is full
+    public void record(long sessionWord) {
+        numRecorded -= ticksBack;
+        ticksBack = 0;
+        if (numRecorded == capacity) {
+            oldest = (oldest + 1) % capacity;
+            numRecorded--;
+        }
+        gameDistrict.writeState(states, slotOffset(numRecorded));
+        sessionWords[(oldest + numRecorded) % capacity] = sessionWord;
+        numRecorded++;
+    }
+
+    // MODIFIES: this, the district of this
+    // EFFECTS: puts the district's game back by one tick and returns true, or returns false (and does nothing) if it
+    //    already is at the oldest recorded tick
+    public boolean stepBack() {
+        return scrubTo(ticksBack + 1);
+    }
+
+    // MODIFIES: this, the district of this
+    // EFFECTS: puts the district's game forward by one tick and returns true, or returns false (and does nothing) if
+    //    it already is at the latest recorded tick
+    public boolean stepForward() {
+        return scrubTo(ticksBack - 1);
+    }
+
+    // MODIFIES: this, the district of this
+    // EFFECTS: puts the district's game in the state it was in the given amount of ticks before the latest recorded
+    //    tick and returns true, or returns false (and does nothing) if no such tick is recorded
+    public boolean scrubTo(int ticksBack) {
+        if (ticksBack < 0 || ticksBack >= numRecorded) {
+            return false;
+        }
+        this.ticksBack = ticksBack;
+        gameDistrict.readState(states, slotOffset(numRecorded - 1 - ticksBack));
+        return true;
+    }
+
+    // REQUIRES: 0 <= ticksBack < getNumRecorded()
+    // EFFECTS: returns a copy of the state recorded the given amount of ticks before the latest recorded tick, e.g.
+    //    to look into how a game was lost
+    public GameState getState(int ticksBack) {
+        return GameState.copyOf(states, slotOffset(numRecorded - 1 - ticksBack), stateSize);
+    }
+
+    // REQUIRES: getNumRecorded() > 0
+    // EFFECTS: returns the session word recorded with the tick the game was last recorded at or put back to
+    public long getSessionWord() {
+        return sessionWords[(oldest + numRecorded - 1 - ticksBack) % capacity];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets every recorded tick
+    public void clear() {
+        oldest = 0;
+        numRecorded = 0;
+        ticksBack = 0;
+    }
+
+    // EFFECTS: returns where the state of the i-th oldest recorded tick starts in the ring
+    private int slotOffset(int i) {
+        return (oldest + i) % capacity * stateSize;
+    }
+
+    // getters
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getNumRecorded() {
+        return numRecorded;
+    }
+
+    public int getTicksBack() {
+        return ticksBack;
+    }
+}
@@ -0,0 +1,75 @@
+package model;
+
+// A game clock whose time only moves when it is advanced; advancing it runs every tick that falls in the advanced
+//    time straight away, so a game on this clock plays as fast as it can be computed and always with the same timing.
+public class VirtualGameClock implements GameClock {
+    private final int tickLengthMs;
+    private long timeMillis = 0;
+    private long nextTickMillis;
+    private Runnable onTick;    // null while this clock is not running
+
+    // REQUIRES: tickLengthMs > 0
+    // EFFECTS: makes a stopped clock at time 0 whose ticks are the given amount of milliseconds apart
+    public VirtualGameClock(int tickLengthMs) {
+        this.tickLengthMs = tickLengthMs;
+    }
+
+    // EFFECTS: makes a stopped clock at time 0 whose ticks are as long as a game session's
+    public VirtualGameClock() {
+        this(GameSession.TICK_LENGTH_MS);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts calling the given callback once per tick, the first tick being one tick from now
+    @Override
+    public void start(Runnable onTick) {
+        this.onTick = onTick;
+        nextTickMillis = timeMillis + tickLengthMs;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops calling back
+    @Override
+    public void stop() {
+        onTick = null;
+    }
+
+    // EFFECTS: returns true if this clock is calling back once per tick
+    @Override
+    public boolean isRunning() {
+        return onTick != null;
+    }
+
+    // EFFECTS: returns how many milliseconds this clock has been advanced by
+    @Override
+    public long currentTimeMillis() {
+        return timeMillis;
+    }
+
+    // REQUIRES: millis >= 0
+    // MODIFIES: this
+    // EFFECTS: moves this clock forward by the given amount of milliseconds, calling back (at the time of each tick)
+    //    for every tick that falls in that time while this clock is running; a callback may stop the clock, after
+    //    which the remaining ticks are not run
+    public void advance(long millis) {
+        long targetMillis = timeMillis + millis;
+        while (onTick != null && nextTickMillis <= targetMillis) {
+            timeMillis = nextTickMillis;
+            nextTickMillis += tickLengthMs;
+            onTick.run();
+        }
+        timeMillis = targetMillis;
+    }
+
+    // REQUIRES: numTicks >= 0
+    // MODIFIES: this
+    // EFFECTS: moves this clock forward by the given amount of ticks (see advance)
+    public void advanceTicks(int numTicks) {
+        advance((long) numTicks * tickLengthMs);
+    }
+
+    // getters
+    public int getTickLengthMs() {
+        return tickLengthMs;
+    }
+}
@@ -0,0 +1,101 @@
+package persistence;
+
+import exceptions.InvalidInputException;
+import model.DragonAction;
+import model.DragonDefinition;
+import model.DragonType;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// this class reads the dragon definitions data file, where every dragon is saved as its type, hp, atk and attack
+//    sequence (a list of DragonAction names), plus optional "damageModifiers" and "ranges" objects that override the
+//    default damage modifier or range of some actions for that dragon.
+public class DragonDefinitionReader {
+
+    // EFFECTS: reads and compiles every dragon definition in the given file;
+    //    throws InvalidInputException if a dragon type or action name is unknown, a field is missing or of the wrong
+    //    JSON type, or a definition is invalid
+    public List<DragonDefinition> readDefinitions(String path) throws IOException, ParseException,
+            InvalidInputException {
+        try (FileReader fileReader = new FileReader(path)) {
+            JSONObject definitionsFile = cast(JSONObject.class, new JSONParser().parse(fileReader));
+            List<DragonDefinition> definitions = new ArrayList<>();
+            for (Object definitionRawJson : cast(JSONArray.class, definitionsFile.get("dragons"))) {
+                definitions.add(parseDefinition(cast(JSONObject.class, definitionRawJson)));
+            }
+            return definitions;
+        }
+    }
+
+    // EFFECTS: compiles one dragon definition given its raw JSON data
+    private DragonDefinition parseDefinition(JSONObject definitionJObj) throws InvalidInputException {
+        DragonType dragonType = parseEnum(DragonType.class, definitionJObj.get("type"));
+        int maxHp = parseInt(definitionJObj.get("hp"));
+        int atk = parseInt(definitionJObj.get("atk"));
+        JSONArray sequenceJArr = cast(JSONArray.class, definitionJObj.get("sequence"));
+        DragonAction[] actions = new DragonAction[sequenceJArr.size()];
+        for (int i = 0; i < actions.length; i++) {
+            actions[i] = parseEnum(DragonAction.class, sequenceJArr.get(i));
+        }
+        Map<DragonAction, Integer> damageModifiers = new EnumMap<>(DragonAction.class);
+        Map<DragonAction, Double> ranges = new EnumMap<>(DragonAction.class);
+        for (Map.Entry<DragonAction, Number> entry : parseOverrides(definitionJObj.get("damageModifiers")).entrySet()) {
+            damageModifiers.put(entry.getKey(), entry.getValue().intValue());
+        }
+        for (Map.Entry<DragonAction, Number> entry : parseOverrides(definitionJObj.get("ranges")).entrySet()) {
+            ranges.put(entry.getKey(), entry.getValue().doubleValue());
+        }
+        return new DragonDefinition(dragonType, maxHp, atk, actions, damageModifiers, ranges);
+    }
+
+    // EFFECTS: returns the numbers stored by action name in the given raw JSON object, or none if it is missing
+    private Map<DragonAction, Number> parseOverrides(Object overridesRawJson) throws InvalidInputException {
+        Map<DragonAction, Number> overrides = new EnumMap<>(DragonAction.class);
+        if (overridesRawJson != null) {
+            for (Object entryObj : cast(JSONObject.class, overridesRawJson).entrySet()) {
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) entryObj;
+                overrides.put(parseEnum(DragonAction.class, entry.getKey()), cast(Number.class, entry.getValue()));
+            }
+        }
+        return overrides;
+    }
+
+    // EFFECTS: returns the given raw JSON value as an int; throws InvalidInputException if it is missing, not a whole
+    //    number or out of an int's range
+    private int parseInt(Object rawJson) throws InvalidInputException {
+        long value = cast(Long.class, rawJson);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new InvalidInputException();
+        }
+        return (int) value;
+    }
+
+    // EFFECTS: returns the given raw JSON value as the given type; throws InvalidInputException if it is missing or
+    //    of another type
+    private <T> T cast(Class<T> type, Object rawJson) throws InvalidInputException {
+        if (!type.isInstance(rawJson)) {
+            throw new InvalidInputException();
+        }
+        return type.cast(rawJson);
+    }
+
+    // EFFECTS: returns the constant of the given enum with the given name; throws InvalidInputException if the name
+    //    is missing or not a string, or there is no such constant
+    private <E extends Enum<E>> E parseEnum(Class<E> enumClass, Object name) throws InvalidInputException {
+        String constantName = cast(String.class, name);
+        try {
+            return Enum.valueOf(enumClass, constantName);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package persistence;
 
 import exceptions.InvalidInputException;
 import model.GameDistrict;
+import model.InputLog;
+import model.ReplayEngine;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
@@ -26,26 +28,72 @@ public class SaveGameWorldReader extends PersistenceTool {
         return remakeSavedWorld(mageName, worldName, districtsCreated, jsonArrDistricts);
     }
 
+    // EFFECTS: reads a replay file saved by SaveGameWorldWriter.saveReplay and returns an engine that replays it in
+    //    the saved district, which is remade as a district of the given world (but not added to it)
+    public ReplayEngine readReplay(String savePath, GameWorld gw) throws IOException, ParseException,
+            InvalidInputException {
+        try (FileReader fileReader = new FileReader(savePath)) {
+            JSONObject replayFile = (JSONObject) new JSONParser().parse(fileReader);
+            GameDistrict gd = parseDistrict((JSONArray) replayFile.get("district"), gw);
+            InputLog inputLog = new InputLog();
+            for (Object entryRawJson : (JSONArray) replayFile.get("inputs")) {
+                inputLog.addEntry((long) entryRawJson);
+            }
+            return new ReplayEngine(gd, inputLog);
+        }
+    }
+
     // EFFECTS: makes the saved world given raw JSON data
     private GameWorld remakeSavedWorld(String mageName, String worldName, int districtsCreated,
                                        JSONArray jsonArrDistricts) throws InvalidInputException {
         GameWorld gw = new GameWorld(mageName, worldName);
         gw.setNumDistrictsMade(districtsCreated);
         for (Object districtInfoRawJson : jsonArrDistricts) {
-            JSONArray districtInfoJArr = (JSONArray) districtInfoRawJson;
-            String districtName = (String) districtInfoJArr.get(0);
-            Point[] mineCoords = parsePointArray((JSONArray) districtInfoJArr.get(1));
-            Point mageInitLocation = parsePoint((String) districtInfoJArr.get(2));
-            Point dragonInitLocation = parsePoint((String) districtInfoJArr.get(3));
-            int bestClearTimeInMS = (int) (long) districtInfoJArr.get(4);
-            GameDistrict gd = new GameDistrict(districtName, mineCoords, mageInitLocation, dragonInitLocation,
-                    bestClearTimeInMS, gw);
-            gw.addDistrict(gd);
+            gw.addDistrict(parseDistrict((JSONArray) districtInfoRawJson, gw));
         }
         System.out.println("Setup finished.");
         return gw;
     }
 
+    // EFFECTS: remakes a saved district of the given world given its raw JSON data; districts are saved either as
+    //    [name, seed, best time, width, height, safe start, amount of dragons] or, if saved without a seed, with their
+    //    mines and life form locations (and one dragon)
+    private GameDistrict parseDistrict(JSONArray districtInfoJArr, GameWorld gw) throws InvalidInputException {
+        if (!(districtInfoJArr.get(1) instanceof Long)) {
+            return parseListedDistrict(districtInfoJArr, gw);
+        }
+        String districtName = (String) districtInfoJArr.get(0);
+        long seed = (long) districtInfoJArr.get(1);
+        int bestClearTimeInMS = (int) (long) districtInfoJArr.get(2);
+        int width = (int) (long) districtInfoJArr.get(3);
+        int height = (int) (long) districtInfoJArr.get(4);
+        int numDragons = districtInfoJArr.size() > 6 ? (int) (long) districtInfoJArr.get(6) : 1;
+        GameDistrict gd = new GameDistrict(districtName, width, height, numDragons, seed, bestClearTimeInMS, gw);
+        boolean safeStart = districtInfoJArr.size() > 5 && (boolean) districtInfoJArr.get(5);
+        if (safeStart && !GameDistrict.isValidNumDragons(numDragons, gd.getDifficultyLevel(), width, height, true)) {
+            throw new InvalidInputException();
+        }
+        gd.setSafeStart(safeStart);
+        return gd;
+    }
+
+    // EFFECTS: remakes a saved district that lists its mines and life form locations given its raw JSON data
+    private GameDistrict parseListedDistrict(JSONArray districtInfoJArr, GameWorld gw) throws InvalidInputException {
+        String districtName = (String) districtInfoJArr.get(0);
+        Point[] mineCoords = parsePointArray((JSONArray) districtInfoJArr.get(1));
+        Point mageInitLocation = parsePoint((String) districtInfoJArr.get(2));
+        Point dragonInitLocation = parsePoint((String) districtInfoJArr.get(3));
+        int bestClearTimeInMS = (int) (long) districtInfoJArr.get(4);
+        int width = GameDistrict.BOARD_EDGE_LENGTH;
+        int height = GameDistrict.BOARD_EDGE_LENGTH;
+        if (districtInfoJArr.size() > 6) { // districts saved before board sizes were configurable are 8x8
+            width = (int) (long) districtInfoJArr.get(5);
+            height = (int) (long) districtInfoJArr.get(6);
+        }
+        return new GameDistrict(districtName, width, height, mineCoords, mageInitLocation,
+                dragonInitLocation, bestClearTimeInMS, gw);
+    }
+
     // EFFECTS: returns a JSON array that stores a list of java.awt.Point as a list of points
     private Point[] parsePointArray(JSONArray jaOfPointStrings) throws InvalidInputException {
         Point[] pointList = new Point[jaOfPointStrings.size()];
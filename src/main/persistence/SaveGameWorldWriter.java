@@ -1,6 +1,7 @@
 package persistence;
 
 import model.GameDistrict;
+import model.InputLog;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -22,13 +23,11 @@ public class SaveGameWorldWriter extends PersistenceTool {
         gameSaveFile.put("districtsCreated", districtsMade);
         JSONArray districtsArray = new JSONArray();
         for (GameDistrict district : districts) {
-            JSONArray districtInfo = new JSONArray();
-            districtInfo.put(0, district.getDistrictName());
-            districtInfo.put(1, district.getMineCoords());
-            districtInfo.put(2, district.getMageInitialLocation());
-            districtInfo.put(3, district.getDragonInitialLocation());
-            districtInfo.put(4, district.getBestClearTimeInMS());
-            districtsArray.put(districtInfo);
+            if (district.isSeeded()) {
+                districtsArray.put(seededDistrictInfo(district));
+            } else {
+                districtsArray.put(listedDistrictInfo(district));
+            }
         }
         gameSaveFile.put("districts", districtsArray);
 
@@ -37,4 +36,48 @@ public class SaveGameWorldWriter extends PersistenceTool {
         pw.flush();
         pw.close();
     }
+
+    // MODIFIES: this
+    // EFFECTS: Saves a replay of a game into a file: the district it was played in, saved like in a world's file,
+    //    and the inputs of its log, each packed into one number
+    public void saveReplay(String savePath, GameDistrict district, InputLog inputLog) throws FileNotFoundException {
+        gameSaveFile = new JSONObject();
+        gameSaveFile.put("district", district.isSeeded() ? seededDistrictInfo(district) : listedDistrictInfo(district));
+        JSONArray inputsArray = new JSONArray();
+        for (int i = 0; i < inputLog.size(); i++) {
+            inputsArray.put(inputLog.getEntry(i));
+        }
+        gameSaveFile.put("inputs", inputsArray);
+
+        PrintWriter pw = new PrintWriter(savePath);
+        pw.write(gameSaveFile.toString());
+        pw.flush();
+        pw.close();
+    }
+
+    // EFFECTS: returns the given district's info with its layout saved as the seed it is generated from
+    private JSONArray seededDistrictInfo(GameDistrict district) {
+        JSONArray districtInfo = new JSONArray();
+        districtInfo.put(0, district.getDistrictName());
+        districtInfo.put(1, district.getSeed());
+        districtInfo.put(2, district.getBestClearTimeInMS());
+        districtInfo.put(3, district.getWidth());
+        districtInfo.put(4, district.getHeight());
+        districtInfo.put(5, district.isSafeStart());
+        districtInfo.put(6, district.getNumDragons());
+        return districtInfo;
+    }
+
+    // EFFECTS: returns the given district's info with its layout saved as a list of its mines and life form locations
+    private JSONArray listedDistrictInfo(GameDistrict district) {
+        JSONArray districtInfo = new JSONArray();
+        districtInfo.put(0, district.getDistrictName());
+        districtInfo.put(1, district.getMineCoords());
+        districtInfo.put(2, district.getMageInitialLocation());
+        districtInfo.put(3, district.getDragonInitialLocation());
+        districtInfo.put(4, district.getBestClearTimeInMS());
+        districtInfo.put(5, district.getWidth());
+        districtInfo.put(6, district.getHeight());
+        return districtInfo;
+    }
 }
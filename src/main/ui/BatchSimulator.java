@@ -0,0 +1,211 @@
+package ui;
+
+import exceptions.InvalidInputException;
+import model.*;
+import org.json.simple.parser.ParseException;
+import persistence.SaveGameWorldReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+// Plays batches of headless games in districts with bots, split across the cores by a fork/join pool, and tallies how
+//    the games end and how long the wins take; used to balance the difficulty levels and dragons.
+// Every game is played in a fork of its district, so the districts themselves are only read while a batch runs.
+//    Game number i of a batch always plays the same way (the bot is seeded with i), however the batch is split.
+public class BatchSimulator {
+    public static final int DEFAULT_GAMES_PER_DISTRICT = 100000;
+    private static final int GAMES_PER_TASK = 512;   // games a task plays itself rather than splitting further
+
+    private final ForkJoinPool pool;
+    private final Supplier<BotPolicy> botMaker;
+    private long lastNumGames = 0;
+    private long lastElapsedNanos = 0;
+
+    // EFFECTS: makes a simulator that plays its games in the given pool, with bots made by the given maker (one for
+    //    each task, so bots need not be thread-safe)
+    public BatchSimulator(ForkJoinPool pool, Supplier<BotPolicy> botMaker) {
+        this.pool = pool;
+        this.botMaker = botMaker;
+    }
+
+    // EFFECTS: makes a simulator that plays its games in the common pool with bots made by the given maker
+    public BatchSimulator(Supplier<BotPolicy> botMaker) {
+        this(ForkJoinPool.commonPool(), botMaker);
+    }
+
+    // REQUIRES: districts is not empty, gamesPerDistrict > 0, and no game is being played in the districts
+    // MODIFIES: this, the given districts
+    // EFFECTS: plays the given amount of games in each of the given districts and returns their tallies, in the
+    //    order of the districts; each district's game is set up (without a tracker) so that it can be forked
+    public BatchResult[] simulate(List<GameDistrict> districts, int gamesPerDistrict) {
+        GameDistrict[] templates = districts.toArray(new GameDistrict[0]);
+        for (GameDistrict district : templates) {
+            district.setupGame(null);
+        }
+        lastNumGames = (long) templates.length * gamesPerDistrict;
+        long startTime = System.nanoTime();
+        BatchResult[] results = pool.invoke(new SimulationTask(botMaker, templates, gamesPerDistrict, 0,
+                lastNumGames));
+        lastElapsedNanos = System.nanoTime() - startTime;
+        return results;
+    }
+
+    // EFFECTS: returns how many games the last batch played per second, or 0 if no batch was simulated
+    public double getGamesPerSecond() {
+        return lastElapsedNanos == 0 ? 0 : lastNumGames * 1e9 / lastElapsedNanos;
+    }
+
+    // EFFECTS: returns how many games the last batch played per second on each of the pool's cores
+    public double getGamesPerSecondPerCore() {
+        return getGamesPerSecond() / pool.getParallelism();
+    }
+
+    // getters
+    public long getLastNumGames() {
+        return lastNumGames;
+    }
+
+    public long getLastElapsedNanos() {
+        return lastElapsedNanos;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    // A part of a batch: the games numbered from (inclusive) to to (exclusive); game i is played in district
+    //    i / gamesPerDistrict. Small parts are played by one thread, with a bot of its own, which reports each game's
+    //    outcome to itself.
+    private static class SimulationTask extends RecursiveTask<BatchResult[]> implements HeadlessGameListener {
+        private static final long serialVersionUID = 1L;
+
+        private final Supplier<BotPolicy> botMaker;
+        private final GameDistrict[] templates;
+        private final int gamesPerDistrict;
+        private final long from;
+        private final long to;
+        private BatchResult currentResult;
+
+        // EFFECTS: makes a task that plays the given games of a batch in the given districts, with bots made by the
+        //    given maker
+        SimulationTask(Supplier<BotPolicy> botMaker, GameDistrict[] templates, int gamesPerDistrict, long from,
+                       long to) {
+            this.botMaker = botMaker;
+            this.templates = templates;
+            this.gamesPerDistrict = gamesPerDistrict;
+            this.from = from;
+            this.to = to;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: plays this task's games, splitting them in half between this thread and another while there are
+        //    more than GAMES_PER_TASK, and returns their tallies by district (null for districts it played no games in)
+        @Override
+        protected BatchResult[] compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                return playGames();
+            }
+            long mid = (from + to) >>> 1;
+            SimulationTask firstHalf = new SimulationTask(botMaker, templates, gamesPerDistrict, from, mid);
+            firstHalf.fork();
+            BatchResult[] results = new SimulationTask(botMaker, templates, gamesPerDistrict, mid, to).compute();
+            BatchResult[] firstResults = firstHalf.join();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    results[i] = firstResults[i];
+                } else {
+                    results[i].merge(firstResults[i]);
+                }
+            }
+            return results;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: plays this task's games with one bot, in one fork of each district they are in
+        private BatchResult[] playGames() {
+            BatchResult[] results = new BatchResult[templates.length];
+            BotPolicy bot = botMaker.get();
+            GameDistrict district = null;
+            InGameEventsTrackerHeadless tracker = null;
+            for (long game = from; game < to; game++) {
+                int districtIndex = (int) (game / gamesPerDistrict);
+                if (results[districtIndex] == null) {
+                    district = forkTemplate(templates[districtIndex]);
+                    tracker = new InGameEventsTrackerHeadless(district, this);
+                    results[districtIndex] = currentResult = new BatchResult();
+                }
+                playGame(district, tracker, bot, game);
+            }
+            return results;
+        }
+
+        // EFFECTS: returns a fork of the given district; tasks fork the same districts at once, so they take turns
+        private GameDistrict forkTemplate(GameDistrict template) {
+            synchronized (template) {
+                return template.fork();
+            }
+        }
+
+        // MODIFIES: this, the given district, tracker and bot
+        // EFFECTS: plays a game in the given district, typing the keys the bot chooses at each tick until it ends
+        private void playGame(GameDistrict district, InGameEventsTrackerHeadless tracker, BotPolicy bot, long game) {
+            district.setupGame(tracker);
+            tracker.playDistrict();
+            bot.startGame(game);
+            GameSession session = tracker.getSession();
+            while (tracker.isInGame()) {
+                char key = bot.chooseKey(session);
+                if (key != BotPolicy.NO_KEY) {
+                    tracker.input(key);
+                }
+                tracker.advanceTicks(1);
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: counts the game that just ended in the tally of the district it was played in
+        @Override
+        public void gameEnded(EndGameOutcome outcome, int timeLeftInGame) {
+            currentResult.addGame(outcome, timeLeftInGame);
+        }
+    }
+
+    // EFFECTS: simulates a batch of games with random bots and prints each district's tally, then the batch's
+    //    throughput; args are the games to play per district (DEFAULT_GAMES_PER_DISTRICT if not given), then
+    //    optionally a saved world whose districts to play in. Without a saved world, a district is made for each
+    //    dragon and difficulty level.
+    public static void main(String[] args) throws IOException, ParseException, InvalidInputException {
+        int gamesPerDistrict = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES_PER_DISTRICT;
+        List<GameDistrict> districts = args.length > 1 ? new SaveGameWorldReader().readWorld(args[1]).getDistricts()
+                : makeStandardDistricts();
+        ForkJoinPool pool = new ForkJoinPool();
+        BatchSimulator simulator = new BatchSimulator(pool, RandomBotPolicy::new);
+        BatchResult[] results = simulator.simulate(districts, gamesPerDistrict);
+        pool.shutdown();
+        for (int i = 0; i < results.length; i++) {
+            GameDistrict district = districts.get(i);
+            System.out.printf("%s (%s, %s):%n%s%n%n", district.getDistrictName(), district.getDragon().getDragonType(),
+                    district.getDifficultyLevel(), results[i].getSummary());
+        }
+        System.out.printf("total:%n%s%n%n", BatchResult.combine(results).getSummary());
+        System.out.printf("%d games in %.2f s on %d cores: %.0f games/s, %.0f games/s/core%n",
+                simulator.getLastNumGames(), simulator.getLastElapsedNanos() / 1e9, pool.getParallelism(),
+                simulator.getGamesPerSecond(), simulator.getGamesPerSecondPerCore());
+    }
+
+    // EFFECTS: returns a new district for each dragon and difficulty level
+    private static List<GameDistrict> makeStandardDistricts() {
+        GameWorld world = new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME);
+        List<GameDistrict> districts = new ArrayList<>();
+        for (DragonType dragonType : DragonType.values()) {
+            for (Difficulty difficulty : Difficulty.values()) {
+                districts.add(world.makeDistrict(dragonType, difficulty));
+            }
+        }
+        return districts;
+    }
+}
@@ -11,6 +11,9 @@ public enum ColorTheme {
     TRANSLUCENT_DARK_BLACK(new Color(0, 0, 0, (float) 0.8)),
     TRANSLUCENT_RED(new Color(255, 0, 0, 130)),
     TRANSLUCENT_BLUE(new Color(28, 44, 233, 133)),
+    TRANSLUCENT_GREEN(new Color(40, 200, 70, 120)),
+    TRANSLUCENT_YELLOW(new Color(255, 210, 0, 130)),
+    TRANSLUCENT_PURPLE(new Color(150, 30, 200, 170)),
     BLACK(Color.black),
     WHITE(Color.white);
 
@@ -0,0 +1,324 @@
+package ui;
+
+import model.Difficulty;
+import model.DragonType;
+import model.GameDistrict;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+// Districts made ahead of time, so that adding one to a world does not have to wait for it to be generated (which can
+//    take a while for no-guess or large boards). For each dragon type and difficulty level (a "kind" of district) the
+//    pool keeps up to capacityPerKind districts ready; a low-priority background thread tops up the kind with the
+//    fewest ready whenever one is taken.
+// Requesting a kind that has none ready is a miss: the background thread then makes a district for the request
+//    before it tops up anything, at normal priority, and hands it over through the request's future, so the requesting
+//    thread (e.g. the event dispatch thread) never has to make one itself. Hits and misses are counted.
+// If the maker throws, the request the district was for is completed with the exception, and a top-up is dropped;
+//    the background thread goes on either way.
+// The districts ready (and the one being made for them) must fit in maxBytes, by GameDistrict.estimateBytes. A district
+//    is only started if the estimate of the last one made of its kind (or, for a kind not made yet, of the largest one
+//    made so far) still fits; the first district made by a pool, whose size nothing is known of yet, is only kept if
+//    it turns out to fit or a request can use it.
+public class DistrictPool {
+    public static final int DEFAULT_CAPACITY_PER_KIND = 2;
+    public static final long DEFAULT_MAX_BYTES = 16L << 20;
+    private static final long RETRY_DELAY_MS = 1000;  // how long the background thread rests after a district failed
+    private static final int NUM_DIFFICULTIES = Difficulty.values().length;
+    private static final int NUM_KINDS = DragonType.values().length * NUM_DIFFICULTIES;
+
+    private final BiFunction<DragonType, Difficulty, GameDistrict> maker;
+    private final int capacityPerKind;
+    private final long maxBytes;
+    private final List<ArrayDeque<GameDistrict>> ready = new ArrayList<>(); // indexed by kindIndex
+    private final int[] numBeingMade = new int[NUM_KINDS];   // districts being made to top up each kind
+    private final long[] lastBytes = new long[NUM_KINDS];    // the estimate of the last district of each kind made
+    private final ArrayDeque<Request> requests = new ArrayDeque<>(); // the misses waiting for a district, oldest first
+    private long largestBytes = 0;   // the largest estimate of any district made so far
+    private long bytesUsed = 0;      // the estimates of the districts ready, plus those expected of the ones being made
+    private long numHits = 0;
+    private long numMisses = 0;
+    private Thread refiller;
+    private boolean shutDown = false;
+
+    // REQUIRES: capacityPerKind >= 0 and maxBytes >= 0
+    // EFFECTS: makes an empty pool whose districts are made by the given maker, which must be safe to call from the
+    //    background thread and from takers at the same time
+    public DistrictPool(BiFunction<DragonType, Difficulty, GameDistrict> maker, int capacityPerKind, long maxBytes) {
+        this.maker = maker;
+        this.capacityPerKind = capacityPerKind;
+        this.maxBytes = maxBytes;
+        for (int i = 0; i < NUM_KINDS; i++) {
+            ready.add(new ArrayDeque<>());
+        }
+    }
+
+    // EFFECTS: makes an empty pool with the default capacity and memory cap whose districts are made by the given maker
+    public DistrictPool(BiFunction<DragonType, Difficulty, GameDistrict> maker) {
+        this(maker, DEFAULT_CAPACITY_PER_KIND, DEFAULT_MAX_BYTES);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts the background thread that keeps this pool topped up and serves its misses, unless it is
+    //    already running or this pool was shut down
+    public synchronized void start() {
+        if (refiller == null && !shutDown) {
+            refiller = new Thread(this::refill, "district-pregeneration");
+            refiller.setDaemon(true);
+            refiller.setPriority(Thread.MIN_PRIORITY);
+            refiller.start();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the background thread for good (once it has made the district it is working on, if any), drops
+    //    the districts that are ready and cancels the requests still waiting for one
+    public void shutdown() {
+        List<Request> cancelled;
+        synchronized (this) {
+            shutDown = true;
+            if (refiller != null) {
+                refiller.interrupt();
+                refiller = null;
+            }
+            for (ArrayDeque<GameDistrict> districts : ready) {
+                districts.clear();
+            }
+            bytesUsed = 0;
+            cancelled = new ArrayList<>(requests);
+            requests.clear();
+        }
+        for (Request request : cancelled) {
+            request.future.cancel(false);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a future of a district of the given kind: an already completed one holding a ready district if
+    //    there is one (a hit), which wakes the background thread to make another; else (a miss) one that the background
+    //    thread completes with a district it makes before any other, or, if the thread is not running, one holding a
+    //    district made on this thread; counts the hit or miss
+    public CompletableFuture<GameDistrict> request(DragonType dt, Difficulty d) {
+        synchronized (this) {
+            GameDistrict district = ready.get(kindIndex(dt, d)).poll();
+            if (district != null) {
+                numHits++;
+                bytesUsed -= district.estimateBytes();
+                notifyAll();
+                return CompletableFuture.completedFuture(district);
+            }
+            numMisses++;
+            if (refiller != null) {
+                Request request = new Request(kindIndex(dt, d));
+                requests.add(request);
+                notifyAll();
+                return request.future;
+            }
+        }
+        return CompletableFuture.completedFuture(maker.apply(dt, d));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a district of the given kind as request does, waiting for the background thread to make it on
+    //    a miss; must not be called on the event dispatch thread while the background thread is running
+    public GameDistrict take(DragonType dt, Difficulty d) {
+        return request(dt, d).join();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes a district of the kind with the fewest ready among those that have room for one and are expected
+    //    to fit under the memory cap, adds it to the ready ones (or hands it to a request waiting for its kind) and
+    //    returns true; returns false if there is no such kind or this pool was shut down. If the maker throws, the
+    //    room kept for the district is given back before the exception is passed on
+    public boolean topUpOnce() {
+        int kind;
+        long expectedBytes;
+        synchronized (this) {
+            kind = findKindToTopUp();
+            if (kind == -1) {
+                return false;
+            }
+            expectedBytes = expectedBytes(kind);
+            numBeingMade[kind]++;
+            bytesUsed += expectedBytes;
+        }
+        GameDistrict district = null;
+        Request request;
+        try {
+            district = make(kind);
+        } finally {
+            synchronized (this) {
+                numBeingMade[kind]--;
+                bytesUsed -= expectedBytes;
+                request = district == null ? null : store(kind, district);
+            }
+        }
+        if (request != null) {
+            request.future.complete(district);
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes a district for the oldest request waiting for one, at normal priority, and hands it over,
+    //    returning true; returns false if no request is waiting
+    boolean serveRequest() {
+        Request request;
+        synchronized (this) {
+            request = requests.poll();
+        }
+        if (request == null) {
+            return false;
+        }
+        Thread thread = Thread.currentThread();
+        int priority = thread.getPriority();
+        thread.setPriority(Thread.NORM_PRIORITY);
+        try {
+            request.future.complete(make(request.kind));
+        } catch (RuntimeException e) {
+            request.future.completeExceptionally(e);
+        } finally {
+            thread.setPriority(priority);
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes a district of the given kind and records its estimated size as the size expected of its kind
+    private GameDistrict make(int kind) {
+        GameDistrict district = maker.apply(DragonType.values()[kind / NUM_DIFFICULTIES],
+                Difficulty.values()[kind % NUM_DIFFICULTIES]);
+        long bytes = district.estimateBytes();
+        synchronized (this) {
+            lastBytes[kind] = bytes;
+            largestBytes = Math.max(largestBytes, bytes);
+        }
+        return district;
+    }
+
+    // REQUIRES: this is locked
+    // MODIFIES: this
+    // EFFECTS: removes and returns the oldest request waiting for a district of the given kind if there is one, to
+    //    hand the given district to; else adds the district to the ready ones if this pool was not shut down and it
+    //    fits under the memory cap (it only fails to if it is larger than its kind was expected to be), and returns
+    //    null
+    private Request store(int kind, GameDistrict district) {
+        for (Iterator<Request> it = requests.iterator(); it.hasNext(); ) {
+            Request request = it.next();
+            if (request.kind == kind) {
+                it.remove();
+                return request;
+            }
+        }
+        long bytes = district.estimateBytes();
+        if (!shutDown && bytesUsed + bytes <= maxBytes) {
+            ready.get(kind).add(district);
+            bytesUsed += bytes;
+        }
+        return null;
+    }
+
+    // REQUIRES: this is locked
+    // EFFECTS: returns the kind with the fewest districts ready or being made (the first such kind if there is a tie)
+    //    among those that have room for one more and whose next district is expected to fit under the memory cap;
+    //    returns -1 if there is none or this pool was shut down
+    private int findKindToTopUp() {
+        int best = -1;
+        for (int i = 0; i < NUM_KINDS && !shutDown; i++) {
+            int numHeld = ready.get(i).size() + numBeingMade[i];
+            if (numHeld < capacityPerKind && bytesUsed + expectedBytes(i) <= maxBytes
+                    && (best == -1 || numHeld < ready.get(best).size() + numBeingMade[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // REQUIRES: this is locked
+    // EFFECTS: returns the estimated size of the next district of the given kind: that of the last one made of that
+    //    kind, or of the largest one made so far if none was (0 if no district was made yet)
+    private long expectedBytes(int kind) {
+        return lastBytes[kind] > 0 ? lastBytes[kind] : largestBytes;
+    }
+
+    // EFFECTS: serves requests and tops this pool up until the thread is interrupted, waiting whenever there is
+    //    nothing to do; a top-up whose maker throws is dropped, and the thread waits RETRY_DELAY_MS before going on so
+    //    that a maker that keeps failing does not keep it busy
+    private void refill() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    if (!serveRequest() && !topUpOnce()) {
+                        waitForWork();
+                    }
+                } catch (RuntimeException e) {
+                    Thread.sleep(RETRY_DELAY_MS);
+                }
+            }
+        } catch (InterruptedException e) {
+            // shut down
+        }
+    }
+
+    // EFFECTS: waits until a request comes in, or a district is taken and there is room to make another
+    private synchronized void waitForWork() throws InterruptedException {
+        while (requests.isEmpty() && findKindToTopUp() == -1) {
+            wait();
+        }
+    }
+
+    // EFFECTS: returns the index of the given kind of district in this pool's lists
+    private static int kindIndex(DragonType dt, Difficulty d) {
+        return dt.ordinal() * NUM_DIFFICULTIES + d.ordinal();
+    }
+
+    // EFFECTS: returns how many districts of the given kind are ready
+    public synchronized int getNumReady(DragonType dt, Difficulty d) {
+        return ready.get(kindIndex(dt, d)).size();
+    }
+
+    // EFFECTS: returns the fraction of requests that found a district ready, or 0 if none were made
+    public synchronized double getHitRate() {
+        return numHits + numMisses == 0 ? 0 : (double) numHits / (numHits + numMisses);
+    }
+
+    // getters
+    public synchronized long getNumHits() {
+        return numHits;
+    }
+
+    public synchronized long getNumMisses() {
+        return numMisses;
+    }
+
+    public synchronized long getBytesUsed() {
+        return bytesUsed;
+    }
+
+    public synchronized int getNumRequestsWaiting() {
+        return requests.size();
+    }
+
+    public int getCapacityPerKind() {
+        return capacityPerKind;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    // A miss waiting for the background thread: the kind of district wanted and the future to complete with it.
+    private static final class Request {
+        private final int kind;
+        private final CompletableFuture<GameDistrict> future = new CompletableFuture<>();
+
+        // EFFECTS: makes a request for a district of the given kind
+        Request(int kind) {
+            this.kind = kind;
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package ui;
 
+import exceptions.InvalidInputException;
 import model.Difficulty;
 import model.DragonType;
 import model.GameDistrict;
 import model.Mage;
 
 import java.util.ArrayList;
+import java.util.SplittableRandom;
 
 // A world that has a mage and can theoretically contain an infinite amount of game districts
 public class GameWorld {
@@ -45,6 +47,72 @@ public class GameWorld {
         return new GameDistrict(dt, d, this);
     }
 
+    // MODIFIES: this
+    // EFFECTS: creates a new district with a width x height board and increases the amount of districts made in this
+    //    world by 1; throws InvalidInputException if a district's board cannot have those dimensions
+    public GameDistrict makeDistrict(DragonType dt, Difficulty d, int width, int height)
+            throws InvalidInputException {
+        if (!GameDistrict.isValidBoardSize(width, height)) {
+            throw new InvalidInputException();
+        }
+        numDistrictsMade++;
+        return new GameDistrict(dt, d, width, height, this);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: creates a new district with a width x height board and the given amount of dragons, and increases the
+    //    amount of districts made in this world by 1; throws InvalidInputException if a district's board cannot have
+    //    those dimensions or that many dragons
+    public GameDistrict makeDistrict(DragonType dt, Difficulty d, int width, int height, int numDragons)
+            throws InvalidInputException {
+        if (!GameDistrict.isValidBoardSize(width, height)
+                || !GameDistrict.isValidNumDragons(numDragons, d, width, height)) {
+            throw new InvalidInputException();
+        }
+        numDistrictsMade++;
+        return new GameDistrict(dt, d, width, height, numDragons, new SplittableRandom().nextLong(), this);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: creates a new district with a standard sized board and a safe start that can be cleared without
+    //    guessing, found by the given generator, and increases the amount of districts made in this world by 1; if the
+    //    generator gives up, the district is an ordinary one with a safe start
+    public GameDistrict makeNoGuessDistrict(DragonType dt, Difficulty d, NoGuessGenerator generator) {
+        numDistrictsMade++;
+        return findNoGuessDistrict(dt, d, generator);
+    }
+
+    // EFFECTS: returns a district like makeNoGuessDistrict does, without counting it as made in this world; for
+    //    districts made ahead of time (see DistrictPool)
+    public GameDistrict findNoGuessDistrict(DragonType dt, Difficulty d, NoGuessGenerator generator) {
+        GameDistrict district = generator.generate(dt, d, GameDistrict.BOARD_EDGE_LENGTH,
+                GameDistrict.BOARD_EDGE_LENGTH, 1, true, new SplittableRandom().nextLong(), this);
+        if (district == null) {
+            district = new GameDistrict(dt, d, this);
+            district.setSafeStart(true);
+        }
+        return district;
+    }
+
+    // REQUIRES: the given pool makes districts in this world
+    // MODIFIES: this, the given pool
+    // EFFECTS: takes a district with the given dragon type and difficulty from the given pool (waiting for the pool to
+    //    make one if it has none ready), names it as this world's next district and increases the amount of districts
+    //    made in this world by 1
+    public GameDistrict makeDistrict(DragonType dt, Difficulty d, DistrictPool pool) {
+        return adoptDistrict(pool.take(dt, d));
+    }
+
+    // REQUIRES: the given district was made in this world (e.g. by a district pool) and not adopted yet
+    // MODIFIES: this, district
+    // EFFECTS: names the given district as this world's next district, increases the amount of districts made in this
+    //    world by 1 and returns the district
+    public GameDistrict adoptDistrict(GameDistrict district) {
+        numDistrictsMade++;
+        district.renameFromWorld();
+        return district;
+    }
+
     // EFFECTS: lists and returns the saved districts' names
     public String[] listAvailableDistricts() {
         int numDistricts = districts.size();
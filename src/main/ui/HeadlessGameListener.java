@@ -0,0 +1,10 @@
+package ui;
+
+import model.EndGameOutcome;
+
+// Receives the outcome of each game played by a headless tracker.
+public interface HeadlessGameListener {
+
+    // EFFECTS: called once when a game ends, with how it ended and how much time was left in it then
+    void gameEnded(EndGameOutcome outcome, int timeLeftInGame);
+}
@@ -1,12 +1,18 @@
 package ui;
 
+import model.DeductionSolver;
 import model.Dragon;
 import model.EndGameOutcome;
+import model.GameClock;
 import model.GameDistrict;
+import model.GameSession;
+import model.InputLog;
 import model.Mage;
+import model.MineProbabilityEngine;
+import model.RewindBuffer;
+
+import ui.tools.RealTimeGameClock;
 
-import javax.swing.*;
-import java.awt.event.ActionEvent;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -14,7 +20,15 @@ import java.util.Arrays;
 public abstract class InGameEventsTracker {
     // Constants - related to swing timer
     public static final int TIME_LIMIT_IN_MILLISECONDS = 84000;
-    protected static final int TIMER_DELAY_IN_MS = 250;
+    protected static final int TIMER_DELAY_IN_MS = GameSession.TICK_LENGTH_MS;
+    // Constants - rewinding
+    protected static final int REWIND_CAPACITY = GameSession.REWIND_CAPACITY;
+    protected static final char REWIND_KEY = GameSession.REWIND_KEY;
+    // Constants - hints, which show the tiles that the revealed tiles prove safe or mined; not part of the game's rules
+    protected static final char HINT_KEY = 'h';
+    protected static final char HEATMAP_KEY = 'p';  // shows each hidden tile's chance of being a mine
+    // Constants - the rendered window of the board, which follows the mage on boards larger than it
+    protected static final int VIEWPORT_EDGE_LENGTH = GameDistrict.BOARD_EDGE_LENGTH;
 
     protected static final ArrayList<Character> VALID_MOVE_KEYS
             = new ArrayList<>(Arrays.asList('w', 'q', 'a', 'z', 'x', 'c', 'd', 'e'));
@@ -22,16 +36,28 @@ public abstract class InGameEventsTracker {
             = new ArrayList<>(Arrays.asList('W', 'Q', 'A', 'Z', 'X', 'C', 'D', 'E'));
 
 
-    protected Timer timer;
+    protected final GameClock clock;
 
     protected GameDistrict gd;
     protected Mage mage;
     protected Dragon dragon;
     protected boolean inGame;
     protected int timeLeftInGame = TIME_LIMIT_IN_MILLISECONDS;
+    protected RewindBuffer rewindBuffer;  // the current game's rewind history, which only its session steps through
+    protected GameSession session;        // the rules of the game being played; made when it starts
+    protected final InputLog inputLog = new InputLog();
 
-    // EFFECTS: constructor for this class which records down the objects that this tracker keeps track of
+    // EFFECTS: constructor for this class which records down the objects that this tracker keeps track of; the game
+    //    runs in real time
     public InGameEventsTracker(GameDistrict gd, Mage mage, Dragon dragon) {
+        this(gd, mage, dragon, new RealTimeGameClock(TIMER_DELAY_IN_MS));
+    }
+
+    // REQUIRES: the given clock's ticks are TIMER_DELAY_IN_MS long
+    // EFFECTS: constructor for this class which records down the objects that this tracker keeps track of and the
+    //    clock that drives the game; all of the tracker's timing goes through that clock
+    public InGameEventsTracker(GameDistrict gd, Mage mage, Dragon dragon, GameClock clock) {
+        this.clock = clock;
         this.gd = gd;
         this.mage = mage;
         this.dragon = dragon;
@@ -39,34 +65,111 @@ public abstract class InGameEventsTracker {
     }
 
     // MODIFIES: this
-    // EFFECTS: initializes a swing timer that begins counting down
+    // EFFECTS: starts the game's clock, which begins counting down
     public void startTimer() {
-        timer = new Timer(TIMER_DELAY_IN_MS, this::timerTicked);
-        timer.start();
+        clock.start(this::timerTicked);
     }
 
-    // REQUIRES: timer was fired
+    // REQUIRES: the clock ticked
     // MODIFIES: this
     // EFFECTS: fires a list of events that need to be completed and/or checked each clock tick
-    protected abstract void timerTicked(ActionEvent e);
+    protected abstract void timerTicked();
 
+    // REQUIRES: the district's game has been set up
     // MODIFIES: this
-    // EFFECTS: initializes a swing timer that starts counting down, then makes the game start.
+    // EFFECTS: makes the game start, then starts the game's clock counting down; the game's session is made before
+    //    the clock starts, so it is there by the clock's first tick, and every key typed in the game is logged in
+    //    this tracker's input log. The game's rewind history is allocated here, once per game, and the session
+    //    records the game's initial state in it
     public void playDistrict() {
         inGame = true;
+        inputLog.clear();
+        rewindBuffer = new RewindBuffer(gd, REWIND_CAPACITY);
+        session = new GameSession(gd, rewindBuffer, inputLog);
         startTimer();
     }
 
+    // MODIFIES: this, the district of this and its life forms
+    // EFFECTS: puts the game being played in the state it was in the given amount of ticks before its latest tick (see
+    //    GameSession.scrubTo, which logs the scrub and puts the session's counters back too) and draws it, returning
+    //    true; returns false (and does nothing) if no game is being played or no such tick is recorded
+    public boolean scrubTo(int ticksBack) {
+        if (!inGame || session == null || !session.scrubTo(ticksBack)) {
+            return false;
+        }
+        renderBoard();
+        return true;
+    }
+
+    // MODIFIES: the district's deduction solver
+    // EFFECTS: finds the hidden tiles that the board's revealed tiles prove safe or mined, and returns the solver
+    //    holding them
+    public DeductionSolver findHints() {
+        DeductionSolver solver = gd.getDeductionSolver();
+        solver.solve(gd.getBoardState());
+        return solver;
+    }
+
+    // MODIFIES: the district's mine probability engine
+    // EFFECTS: works out each hidden tile's chance of being a mine from the board's revealed tiles and the district's
+    //    number of mines, and returns the engine holding them; the engine is left unsolved if the board is too large
+    //    to work them out exactly
+    public MineProbabilityEngine findMineProbabilities() {
+        MineProbabilityEngine engine = gd.getMineProbabilityEngine();
+        engine.compute(gd.getBoardState(), gd.getNumMines());
+        return engine;
+    }
+
     // EFFECTS: calls the necessary events when it is time for the dragon to attack
     protected abstract void firePerDragonAtkIntervalEvents();
 
     // EFFECTS: renders the game board
     protected abstract void renderBoard();
 
+    // EFFECTS: returns the x position of the viewport's leftmost column; the viewport is kept on the board and
+    //    centred on the mage as far as the board's edges allow
+    protected int viewportOriginX() {
+        return viewportOrigin(mage.getCurrentTile().x, gd.getWidth());
+    }
+
+    // EFFECTS: returns the y position of the viewport's bottommost row (see viewportOriginX)
+    protected int viewportOriginY() {
+        return viewportOrigin(mage.getCurrentTile().y, gd.getHeight());
+    }
+
+    // EFFECTS: returns where the viewport should start along a board edge of the given length to centre the mage
+    private static int viewportOrigin(int magePos, int boardEdgeLength) {
+        return Math.max(0, Math.min(boardEdgeLength - VIEWPORT_EDGE_LENGTH, magePos - VIEWPORT_EDGE_LENGTH / 2));
+    }
+
     // MODIFIES: this
     // EFFECTS: stops the timer and displays out the appropriate message based on how the game ends.
     public void endGame(EndGameOutcome outcome) {
         gd.endGame(outcome);
-        timer.stop();
+        clock.stop();
+    }
+
+    // getters
+    public GameClock getClock() {
+        return clock;
+    }
+
+    // EFFECTS: returns the session of the game being (or last) played, whose rewind history can be looked into,
+    //    e.g. to see how the game was lost; null until a game is played
+    public GameSession getSession() {
+        return session;
+    }
+
+    public InputLog getInputLog() {
+        return inputLog;
+    }
+
+    public int getTimeLeftInGame() {
+        return timeLeftInGame;
+    }
+
+    // setters
+    public void setTimeLeftInGame(int timeLeftInGame) {
+        this.timeLeftInGame = timeLeftInGame;
     }
 }
@@ -2,16 +2,20 @@ package ui;
 
 import model.*;
 
-import java.awt.event.ActionEvent;
 import java.util.Scanner;
 
 import static ui.tools.TimeFormatter.formatMSAsTime;
 
 // This class tracks the ongoing events, mutating objects, and in-game terminal input while the user is in a game.
+// The game is played by the same rules as in the window (see GameSession), but in turns: once a second the game waits
+//    for a line of input and types its keys into the game's session, which logs them in this tracker's input log.
 public class InGameEventsTrackerConsole extends InGameEventsTracker {
     private static final int INTERVAL_BETWEEN_MAGE_MOVEMENTS = 1000;
+    private static final int TICKS_PER_MAGE_MOVEMENT = INTERVAL_BETWEEN_MAGE_MOVEMENTS / TIMER_DELAY_IN_MS;
 
     private Scanner scanner;
+    private DeductionSolver hints;  // the hints to show in the next render; null if none were asked for
+    private MineProbabilityEngine heatmap;  // the mine chances to show in the next render; null if not asked for
 
 
     // MODIFIES: this
@@ -20,9 +24,16 @@ public class InGameEventsTrackerConsole extends InGameEventsTracker {
         super(gd, mage, dragon);
     }
 
+    // REQUIRES: the given clock's ticks are TIMER_DELAY_IN_MS long
+    // MODIFIES: this
+    // EFFECTS: initiates a new tracker with the given life forms and game state, driven by the given clock.
+    public InGameEventsTrackerConsole(GameDistrict gd, Mage mage, Dragon dragon, GameClock clock) {
+        super(gd, mage, dragon, clock);
+    }
+
 
     // MODIFIES: this
-    // EFFECTS: initializes a swing timer that starts counting down, then makes the game start.
+    // EFFECTS: makes the game start, then starts its clock counting down (see InGameEventsTracker.playDistrict)
     @Override
     public void playDistrict() {
         scanner = new Scanner(System.in);
@@ -38,66 +49,103 @@ public class InGameEventsTrackerConsole extends InGameEventsTracker {
         }
     }
 
-    // REQUIRES: timer was fired
+    // REQUIRES: the clock ticked
     // MODIFIES: this
-    // EFFECTS: fires a list of events that need to be completed each clock tick
+    // EFFECTS: if a game is being played, runs a clock tick of its session (which also records it for rewinding) and
+    //    draws the board at the end of every turn; before the tick that ends a turn, asks for the turn's input first,
+    //    and if the user rewound the game instead of moving, the tick is skipped
     @Override
-    protected void timerTicked(ActionEvent e) {
-        timeLeftInGame -= TIMER_DELAY_IN_MS;
-        if (timeLeftInGame % INTERVAL_BETWEEN_MAGE_MOVEMENTS == 0 && inGame) {
-            processMageMovements();
-            if (timeLeftInGame % Dragon.INTERVAL_BETWEEN_DRAGON_ATTACKS == 0) {
-                firePerDragonAtkIntervalEvents();
-            }
-            if (inGame) {
-                renderBoard();
-            }
+    protected void timerTicked() {
+        if (!inGame) {
+            return;
+        }
+        if ((timeLeftInGame - TIMER_DELAY_IN_MS) % INTERVAL_BETWEEN_MAGE_MOVEMENTS == 0 && !processMageMovements()) {
+            return;
         }
-        if (timeLeftInGame <= 0) {
-            endGame(EndGameOutcome.NO_TIME_LOSE);
+        if (session.tick()) {
+            firePerDragonAtkIntervalEvents();
+        }
+        if (timeLeftInGame % INTERVAL_BETWEEN_MAGE_MOVEMENTS == 0 && inGame) {
+            renderBoard();
         }
     }
 
-    // MODIFIES: this.mage
-    // EFFECTS: Only allows the mage to either block or move/attack/flag, then modifies
-    //    their skill points and draws the game board in the terminal.
-    // Note: the mage can only attack once per turn
-    public void processMageMovements() {
-        String inputString = scanner.next();
-        if (inputString.indexOf('b') != -1) {
-            mage.tryToUseSkill(true);
+    // MODIFIES: this, this.mage
+    // EFFECTS: reads the turn's input and types it into the game's session: only the skill key if the input has it,
+    //    else every move, attack and flag key in it, in order (the attack cooldown lets the mage attack only once per
+    //    turn); returns true.
+    //    If the input has the rewind key, the rewind key is instead typed once for each tick of a turn, putting the
+    //    game back to where it was when the previous input was asked for (undoing that input and the dragons' turn
+    //    after it), and false is returned if that rewound anything.
+    //    An input with the hint key (or the heatmap key) shows the board with hints (or each hidden tile's chance of
+    //    being a mine) and asks for the input again, without using the turn.
+    public boolean processMageMovements() {
+        String inputString = readTurnInput();
+        if (inputString.indexOf(REWIND_KEY) != -1 && rewindTurn()) {
+            return false;
+        }
+        if (inputString.indexOf(GameSession.SKILL_KEY) != -1) {
+            session.input(GameSession.SKILL_KEY);
         } else {
-            mage.tryToUseSkill(false);
-            boolean mageAttackedThisTurn = false;
             for (char input : inputString.toCharArray()) {
-                if (VALID_MOVE_KEYS.contains(input)) {
-                    Direction d = Direction.values()[VALID_MOVE_KEYS.indexOf(input)];
-                    mage.move(d);
-                } else if (!mageAttackedThisTurn && input == 'f') {
-                    mage.attackOpponent();
-                    mageAttackedThisTurn = true;
-                } else if (VALID_FLAG_KEYS.contains(input)) {
-                    mage.flagTile(Direction.values()[VALID_FLAG_KEYS.indexOf(input)]);
+                if (VALID_MOVE_KEYS.contains(input) || VALID_FLAG_KEYS.contains(input)
+                        || input == GameSession.ATTACK_KEY) {
+                    session.input(input);
                 }
             }
         }
-        mage.modifyMageSkillPoints();
+        return true;
+    }
+
+    // MODIFIES: this, this.gd, this.mage
+    // EFFECTS: steps the game back by up to a turn's ticks and draws it, returning true; returns false (and does
+    //    nothing) if no earlier tick is recorded
+    private boolean rewindTurn() {
+        int numRewound = 0;
+        while (numRewound < TICKS_PER_MAGE_MOVEMENT && session.input(REWIND_KEY) == InputOutcome.REWOUND) {
+            numRewound++;
+        }
+        if (numRewound > 0) {
+            renderBoard();
+        }
+        return numRewound > 0;
     }
 
-    // EFFECTS: calls the necessary events when it is time for the dragon to attack
+    // EFFECTS: does nothing, as the board is drawn at the end of every turn, after the dragons' attacks
     @Override
     protected void firePerDragonAtkIntervalEvents() {
-        dragon.attackOpponent();
+
     }
 
-    // EFFECTS: renders the game board, with mines denoted by their knowledge states
+    // MODIFIES: this
+    // EFFECTS: reads inputs until one is for the turn, showing the board with hints or the mine chances for each
+    //    input with the hint or heatmap key in it, and returns the turn's input
+    private String readTurnInput() {
+        String inputString = scanner.next();
+        while (inputString.indexOf(HINT_KEY) != -1 || inputString.indexOf(HEATMAP_KEY) != -1) {
+            hints = inputString.indexOf(HINT_KEY) != -1 ? findHints() : null;
+            heatmap = inputString.indexOf(HEATMAP_KEY) != -1 ? findMineProbabilities() : null;
+            renderBoard();
+            hints = null;
+            heatmap = null;
+            inputString = scanner.next();
+        }
+        return inputString;
+    }
+
+    // EFFECTS: renders the game board (the viewport around the mage on larger boards), with mines denoted by their
+    //    knowledge states
     protected void renderBoard() {
         StringBuilder boardString = new StringBuilder();
-        GameTile[][] board = gd.board;
-        for (GameTile[] row : board) {
+        int originX = viewportOriginX();
+        int originY = viewportOriginY();
+        long[] threatenedTiles = gd.findThreatenedTiles();
+        GameTile tile = null;
+        for (int y = originY; y < originY + VIEWPORT_EDGE_LENGTH; y++) {
             StringBuilder stringRow = new StringBuilder("\n|");
-            for (GameTile tile : row) {
-                stringRow.append(renderTile(tile));
+            for (int x = originX; x < originX + VIEWPORT_EDGE_LENGTH; x++) {
+                tile = gd.getGameTileAtPos(x, y, tile);
+                stringRow.append(renderTile(tile, threatenedTiles));
             }
             stringRow.append("\n________________________________________________");
             boardString.insert(0, stringRow);
@@ -107,24 +155,29 @@ public class InGameEventsTrackerConsole extends InGameEventsTracker {
     }
 
     // EFFECTS: renders a single tile in a game board
-    //    If dragon will do damage on that tile for its next move, mark the tile with "*"
+    //    If the tile is one of the given threatened tiles, which a dragon will do damage on for its next move, mark the
+    //          tile with "*"
     //    Mark the tile as "?" for unknown identity; if identity is known, the number represents its nearby mines count
-    //    If the tile is flagged as safe, mark the tile with "F"
+    //    If the tile is flagged as safe, mark the tile with "F"; when showing hints, mark a tile that is certainly safe
+    //          with "s" (even if flagged) and an unflagged tile that is certainly a mine with "m"
+    //    When showing the mine chances, a hidden tile that is not certainly safe or a mine shows its chance of being
+    //          a mine in percent instead of its identity and flag, e.g. "37" (rounded to between 01 and 99)
     //    If the tile is occupied with a life form, use "P" to mark that form as a player, and use "D" to mark as dragon
     //          "B" represents the mage using their block skill
     //    Mark the end of that tile with "|"
-    private StringBuilder renderTile(GameTile tile) {
+    private StringBuilder renderTile(GameTile tile, long[] threatenedTiles) {
         StringBuilder tileString = new StringBuilder();
-        if (tile.distance(dragon.getCurrentTile()) <= dragon.determineRange()) {
+        if (GameDistrict.isThreatened(threatenedTiles, tile.getCell())) {
             tileString.append("*");
         } else {
             tileString.append(" ");
         }
-        tileString.append(tile.getUIIdentity());
-        if (tile.getIsFlagged()) {
-            tileString.append("F");
+        double probability = heatmap != null ? heatmap.getProbability(gd.getBoardState(), tile.getCell()) : 0;
+        if (probability > 0 && probability < 1) {
+            tileString.append(String.format("%02d", Math.max(1, Math.min(99, Math.round(probability * 100)))));
         } else {
-            tileString.append(" ");
+            tileString.append(tile.getUIIdentity());
+            tileString.append(renderFlagOrHint(tile));
         }
         if (tile.getOccupiedByLifeForm()) {
             tileString.append(determineLifeFormSymbol(tile));
@@ -135,6 +188,18 @@ public class InGameEventsTrackerConsole extends InGameEventsTracker {
         return tileString;
     }
 
+    // EFFECTS: returns the mark after a tile's identity: "s" or "m" for a hint, "F" for a flag, or " " for none
+    private String renderFlagOrHint(GameTile tile) {
+        if (hints != null && hints.isSafe(tile.getCell())) {
+            return "s";
+        } else if (tile.getIsFlagged()) {
+            return "F";
+        } else if (hints != null && hints.isMine(tile.getCell())) {
+            return "m";
+        }
+        return " ";
+    }
+
     // EFFECTS: determines which life form symbol to add to the renderTile string.
     private String determineLifeFormSymbol(GameTile tile) {
         if (tile.equals(mage.getCurrentTile())) {
@@ -155,7 +220,10 @@ public class InGameEventsTrackerConsole extends InGameEventsTracker {
         System.out.println("SP bar: " + mage.getSkillPoints() + "/" + Mage.MAX_SKILL_POINTS);
         System.out.println("Hit Combo: " + mage.getHitCombo());
         System.out.println("Mage hp: " + mage.getHP() + "/" + Mage.MAGE_MAX_HP);
-        System.out.println("Dragon hp: " + dragon.getHP() + "/" + dragon.getConstantDragonMaxHp());
+        System.out.println("Dragon hp: " + gd.getDragonsHP() + "/" + gd.getDragonsMaxHP());
+        if (gd.getNumDragons() > 1) {
+            System.out.println("Dragons left: " + gd.getNumDragonsLeft() + "/" + gd.getNumDragons());
+        }
     }
 
     // MODIFIES: this
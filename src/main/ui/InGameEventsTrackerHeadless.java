@@ -0,0 +1,105 @@
+package ui;
+
+import model.*;
+
+// This class tracks a game without any window, terminal or sound: it is driven by method calls (keys typed and
+//    ticks of its virtual clock) instead of a player, and reports each game's outcome to a listener. This lets
+//    servers and batch jobs play many games as fast as they can be computed.
+// Note: games played here have no rewind history and do not change the district's best clear time.
+public class InGameEventsTrackerHeadless extends InGameEventsTracker {
+    private final VirtualGameClock virtualClock;
+    private final HeadlessGameListener listener;
+    private int numTimesMageHit;
+
+    // MODIFIES: this
+    // EFFECTS: initiates a new tracker for games in the given district, with its own virtual clock, that reports
+    //    each game's outcome to the given listener
+    public InGameEventsTrackerHeadless(GameDistrict gd, HeadlessGameListener listener) {
+        this(gd, new VirtualGameClock(TIMER_DELAY_IN_MS), listener);
+    }
+
+    // REQUIRES: the given clock's ticks are TIMER_DELAY_IN_MS long
+    // MODIFIES: this
+    // EFFECTS: initiates a new tracker for games in the given district, driven by the given virtual clock, that
+    //    reports each game's outcome to the given listener
+    public InGameEventsTrackerHeadless(GameDistrict gd, VirtualGameClock clock, HeadlessGameListener listener) {
+        super(gd, gd.getMage(), gd.getDragon(), clock);
+        virtualClock = clock;
+        this.listener = listener;
+    }
+
+    // REQUIRES: the district's game has been set up with this tracker
+    // MODIFIES: this
+    // EFFECTS: starts the game's clock and the game; this tracker can play the district again after each game ends
+    //    by setting the district's game up with it and calling this again
+    @Override
+    public void playDistrict() {
+        inGame = true;
+        timeLeftInGame = TIME_LIMIT_IN_MILLISECONDS;
+        numTimesMageHit = 0;
+        session = new GameSession(gd, null, null);
+        startTimer();
+    }
+
+    // MODIFIES: this, the district of this and its life forms
+    // EFFECTS: has the game do what the given key stands for (see GameSession.input) and returns what it did
+    public InputOutcome input(char key) {
+        return session.input(key);
+    }
+
+    // REQUIRES: numTicks >= 0
+    // MODIFIES: this, the district of this and its life forms
+    // EFFECTS: runs the given amount of the game's clock ticks, or fewer if the game ends before then
+    public void advanceTicks(int numTicks) {
+        virtualClock.advanceTicks(numTicks);
+    }
+
+    // MODIFIES: this, the district of this and its life forms
+    // EFFECTS: runs the game's clock until the game ends and returns how it ended
+    public EndGameOutcome playOut() {
+        while (inGame) {
+            virtualClock.advanceTicks(1);
+        }
+        return gd.getGameOutcome();
+    }
+
+    // REQUIRES: the clock ticked
+    // MODIFIES: this
+    // EFFECTS: runs a clock tick of the game's session
+    @Override
+    protected void timerTicked() {
+        if (session.tick()) {
+            firePerDragonAtkIntervalEvents();
+        }
+    }
+
+    // EFFECTS: counts a dragon attack that hit the mage
+    @Override
+    protected void firePerDragonAtkIntervalEvents() {
+        numTimesMageHit++;
+    }
+
+    // EFFECTS: does nothing, as there is nothing to render the board on
+    @Override
+    protected void renderBoard() {
+
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the clock, ends the game and reports its outcome to the listener
+    @Override
+    public void endGame(EndGameOutcome outcome) {
+        super.endGame(outcome);
+        inGame = false;
+        listener.gameEnded(outcome, timeLeftInGame);
+    }
+
+    // getters
+    public int getNumTimesMageHit() {
+        return numTimesMageHit;
+    }
+
+    public boolean isInGame() {
+        return inGame;
+    }
+}
@@ -12,10 +12,7 @@ import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
 
-import static model.GameDistrict.BOARD_EDGE_LENGTH;
 import static ui.MagesweeperAppSwing.FRAME_HEIGHT;
 import static ui.MagesweeperAppSwing.FRAME_WIDTH;
 import static ui.tools.TimeFormatter.formatMSAsTime;
@@ -31,8 +28,8 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
     private static final int GAME_TILE_SIZE = 50;
     private static final int DRAGON_MAX_HP_BAR_WIDTH = 500;
     private static final int DRAGON_HP_BAR_HEIGHT = 20;
-    private static final int MAGE_SKILL_LENGTH_MS = 1000;
-    private static final int MAGE_ATK_LENGTH_MS = 500;
+    private static final int MAGE_SKILL_LENGTH_MS = GameSession.SKILL_LENGTH_TICKS * TIMER_DELAY_IN_MS;
+    private static final int MAGE_ATK_LENGTH_MS = GameSession.ATTACK_COOLDOWN_TICKS * TIMER_DELAY_IN_MS;
     private static final int END_GAME_OVERLAY_TOPMOST_Y = 250;
     private static final int TILE_SEPARATION = 64;
     private static final int LEFTMOST_TILE_X = 434;
@@ -45,33 +42,32 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
     private static final int MAGE_HP_BAR_AND_PFP_X = 48;
     private static final int MAGE_HP_BAR_Y = 682;
     private static final int MAGE_PFP_AND_FLAG_BOX_Y = 562;
+    private static final int MAX_DISPLAYED_FLAGS = Difficulty.HARD.numMines; // the flag box has room for this many
 
     // Constants - used during game play
     private static final String IN_GAME_FOLDER_PATH = MagesweeperAppSwing.IMG_FOLDER_PATH + "inGame/";
-    private static final ArrayList<Character> VALID_MOVE_KEYS
-            = new ArrayList<>(Arrays.asList('w', 'q', 'a', 'z', 'x', 'c', 'd', 'e'));
-    private static final ArrayList<Character> VALID_FLAG_KEYS
-            = new ArrayList<>(Arrays.asList('W', 'Q', 'A', 'Z', 'X', 'C', 'D', 'E'));
+    private static final int NUM_HEATMAP_SHADES = 21;  // the mine chances are shown in steps of 5%
+    private static final Color[] HEATMAP_SHADES = makeHeatmapShades();
 
     // Tools
     private SoundPlayer soundPlayer;
 
     // General game global variables
     private JFrame frame;
-    long mageAtkCooledDown;
     private JPanel[] flags;
-    private JLabel[][] gameImgTiles = new JLabel[BOARD_EDGE_LENGTH][BOARD_EDGE_LENGTH];
+    private JLabel[][] gameImgTiles = new JLabel[VIEWPORT_EDGE_LENGTH][VIEWPORT_EDGE_LENGTH];
 
     // more specific / local game variables
-    long mageSkillCooledDown;
     private JPanel gameBoardContainer;
     private volatile boolean mageWasHit;
-    private JLabel[][] gameImgTileOverlays = new JLabel[BOARD_EDGE_LENGTH][BOARD_EDGE_LENGTH];
+    private boolean showingHints;   // true while the hint key has turned hints on
+    private boolean showingHeatmap; // true while the heatmap key has turned the mine chances on
+    private JLabel[][] gameImgTileOverlays = new JLabel[VIEWPORT_EDGE_LENGTH][VIEWPORT_EDGE_LENGTH];
 
     // Game visuals with changing locations / sizes
     private JPanel blockMarker;
-    private JPanel honeMarker;
-    private JPanel dragonMarker;
+    private JPanel[] honeMarkers;   // one per dragon, indexed like the district's dragons
+    private JPanel[] dragonMarkers;
     private JPanel playerMarker;
     private JLabel timerLabel;
     private JLabel hitComboLabel;
@@ -94,6 +90,15 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
         initFrame();
     }
 
+    // REQUIRES: the given clock's ticks are TIMER_DELAY_IN_MS long
+    // MODIFIES: this
+    // EFFECTS: initiates a new tracker with the given life forms and game state, driven by the given clock.
+    public InGameEventsTrackerSwing(GameDistrict gd, Mage mage, Dragon dragon, GameClock clock) {
+        super(gd, mage, dragon, clock);
+        this.soundPlayer = SoundPlayer.getSoundPlayer();
+        initFrame();
+    }
+
     // MODIFIES: this
     // EFFECTS: initializes a JFrame that will house the current game
     private void initFrame() {
@@ -111,7 +116,7 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
             @Override
             public void windowClosing(WindowEvent e) {
                 if (inGame) {
-                    endGame(EndGameOutcome.STILL_PLAYING_GAME);
+                    session.input(GameSession.QUIT_KEY);
                 }
                 frame.setVisible(false);
                 frame.dispose();
@@ -123,12 +128,14 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
     }
 
     // MODIFIES: this
-    // EFFECTS: initializes a swing timer that starts counting down, then makes the game start.
+    // EFFECTS: makes the game start, then starts its clock counting down (see InGameEventsTracker.playDistrict)
     @Override
     public void playDistrict() {
         setupBoardFrameAndBackground();
         soundPlayer.playOnboard();
         soundPlayer.playInGameBGM();
+        showingHints = false;
+        showingHeatmap = false;
         super.playDistrict();
     }
 
@@ -199,30 +206,38 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
     // EFFECTS: adds the game's markers onto the game board
     private void setupGameMarkers() {
         blockMarker = new JPanelImageBackground(IN_GAME_FOLDER_PATH + "hexagon.png");
-        honeMarker = new JPanelImageBackground(IN_GAME_FOLDER_PATH + "honeMarker.png");
-        dragonMarker = new JPanelImageBackground(IN_GAME_FOLDER_PATH + "markerd90.png");
         playerMarker = new JPanelImageBackground(IN_GAME_FOLDER_PATH + "markerp90.png");
         blockMarker.setSize(GAME_TILE_SIZE, GAME_TILE_SIZE);
-        honeMarker.setSize(GAME_TILE_SIZE, GAME_TILE_SIZE);
-        dragonMarker.setSize(GAME_TILE_SIZE, GAME_TILE_SIZE);
         playerMarker.setSize(GAME_TILE_SIZE, GAME_TILE_SIZE);
         blockMarker.setOpaque(false);
-        honeMarker.setOpaque(false);
-        dragonMarker.setOpaque(false);
         playerMarker.setOpaque(false);
         gameBoardContainer.add(blockMarker);
-        gameBoardContainer.add(honeMarker);
-        gameBoardContainer.add(dragonMarker);
+        honeMarkers = makeDragonMarkers("honeMarker.png");
+        dragonMarkers = makeDragonMarkers("markerd90.png");
         gameBoardContainer.add(playerMarker);
         blockMarker.setVisible(false);
-        honeMarker.setVisible(false);
     }
 
     // MODIFIES: this
-    // EFFECTS: makes a grid of game tiles and adds them to the game board
+    // EFFECTS: adds one hidden marker with the given image per dragon of the district onto the game board and returns
+    //    them
+    private JPanel[] makeDragonMarkers(String imageFileName) {
+        JPanel[] markers = new JPanel[gd.getNumDragons()];
+        for (int i = 0; i < markers.length; i++) {
+            markers[i] = new JPanelImageBackground(IN_GAME_FOLDER_PATH + imageFileName);
+            markers[i].setSize(GAME_TILE_SIZE, GAME_TILE_SIZE);
+            markers[i].setOpaque(false);
+            markers[i].setVisible(false);
+            gameBoardContainer.add(markers[i]);
+        }
+        return markers;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes a grid of game tiles (one per tile in the viewport) and adds them to the game board
     private void setupGameTiles() {
-        for (int x = 0; x < 8; x++) {
-            for (int y = 0; y < 8; y++) {
+        for (int x = 0; x < VIEWPORT_EDGE_LENGTH; x++) {
+            for (int y = 0; y < VIEWPORT_EDGE_LENGTH; y++) {
                 JLabel currentOverlay = new JLabel();
                 gameBoardContainer.add(currentOverlay);
                 currentOverlay.setBounds(LEFTMOST_TILE_X + TILE_SEPARATION * x,
@@ -271,9 +286,9 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
         gameBoardContainer.add(timerLabel);
         timerLabel.setBounds(1078, 575, 240, 136);
 
-        int numMines = gd.getDifficultyLevel().numMines;
-        flags = new JPanelImageBackground[numMines];
-        for (int i = 0; i < numMines; i++) {
+        int numFlagIcons = Math.min(gd.getNumMines(), MAX_DISPLAYED_FLAGS);
+        flags = new JPanelImageBackground[numFlagIcons];
+        for (int i = 0; i < numFlagIcons; i++) {
             JPanel flag = new JPanelImageBackground(IN_GAME_FOLDER_PATH + "flag.png");
             flag.setOpaque(false);
             gameBoardContainer.add(flag);
@@ -335,12 +350,21 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
         gameBoardContainer.add(mageProfilePicNormal);
     }
 
-    // EFFECTS: processes the user keyboard input when a key is typed
+    // EFFECTS: processes the user keyboard input when a key is typed; the hint and heatmap keys turn hints or the
+    //    mine chances on or off instead
     @Override
     public void keyTyped(KeyEvent e) {
-        if (inGame) {
-            processMageMovements(e.getKeyChar());
+        if (inGame && e.getKeyChar() == HINT_KEY) {
+            showingHints = !showingHints;
+            renderBoard();
+        } else if (inGame && e.getKeyChar() == HEATMAP_KEY) {
+            showingHeatmap = !showingHeatmap;
             renderBoard();
+        } else if (inGame) {
+            processMageMovements(e.getKeyChar());
+            if (inGame) {
+                renderBoard();
+            }
         }
     }
 
@@ -356,66 +380,43 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
 
     }
 
-    // REQUIRES: timer was fired
+    // REQUIRES: the clock ticked
     // MODIFIES: this
-    // EFFECTS: fires a list of events that need to be completed and/or checked each clock tick
+    // EFFECTS: runs a clock tick of the game's session (which also records it for rewinding), then shows its effects
     @Override
-    protected void timerTicked(ActionEvent e) {
-        timeLeftInGame -= TIMER_DELAY_IN_MS;
-        if (mageSkillCooledDown >= System.currentTimeMillis()) {
-            mage.tryToUseSkill(true);
-        } else {
-            mage.tryToUseSkill(false);
+    protected void timerTicked() {
+        if (session.tick()) {
+            firePerDragonAtkIntervalEvents();
         }
-
         if ((timeLeftInGame % MAGE_SKILL_LENGTH_MS == 0) && inGame) {
-            mage.modifyMageSkillPoints();
-            if (timeLeftInGame % Dragon.INTERVAL_BETWEEN_DRAGON_ATTACKS == 0) {
-                firePerDragonAtkIntervalEvents();
-            }
-            if (inGame) {
-                renderBoard();
-            }
-        }
-
-        if (timeLeftInGame <= 0) {
-            endGame(EndGameOutcome.NO_TIME_LOSE);
+            renderBoard();
         }
     }
 
     // MODIFIES: this.mage
-    // EFFECTS: decides how the mage should move/block/attack based on user keyboard input
+    // EFFECTS: has the game's session do what the given key stands for, which it also logs, then plays its sound
     public void processMageMovements(char input) {
-        long currentTime = System.currentTimeMillis();
-        if (input == 'b' && !mage.getSkillInUse() && (mageSkillCooledDown < currentTime)) {
-            mage.tryToUseSkill(true);
-            soundPlayer.playSkill();
-            mageSkillCooledDown = currentTime + MAGE_SKILL_LENGTH_MS;
-        } else {
-            mage.tryToUseSkill(false);
-            if (VALID_MOVE_KEYS.contains(input)) {
-                Direction d = Direction.values()[VALID_MOVE_KEYS.indexOf(input)];
-                mage.move(d);
-            } else if (input == 'f' && (mageAtkCooledDown < currentTime)) {
-                if (mage.attackOpponent()) {
-                    soundPlayer.playHitDragon();
-                }
-                mageAtkCooledDown = currentTime + MAGE_ATK_LENGTH_MS;
-            } else if (VALID_FLAG_KEYS.contains(input)) {
-                mage.flagTile(Direction.values()[VALID_FLAG_KEYS.indexOf(input)]);
+        switch (session.input(input)) {
+            case USED_SKILL:
+                soundPlayer.playSkill();
+                break;
+            case HIT_DRAGON:
+                soundPlayer.playHitDragon();
+                break;
+            case FLAGGED:
                 soundPlayer.playFlagDown();
-            }
+                break;
+            default:
+                break;
         }
     }
 
-    // EFFECTS: calls the necessary events when it is time for the dragon to attack
+    // EFFECTS: shows and plays the effects of the dragons hitting the mage on their attack
     @Override
     protected void firePerDragonAtkIntervalEvents() {
-        if (dragon.attackOpponent()) {
-            mageWasHit = true;
-            soundPlayer.playHitByDragon();
-            renderBoard();
-        }
+        mageWasHit = true;
+        soundPlayer.playHitByDragon();
+        renderBoard();
     }
 
     // MODIFIES: this, this.frame
@@ -426,9 +427,9 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
         int skillOverlayHeight = Math.max(1, 64 * mage.getSkillPoints() / Mage.MAX_SKILL_POINTS);
         mageSkillGaugeOverlay.setBounds(196, 654 - skillOverlayHeight, 64, skillOverlayHeight);
 
-        dragonHealthBarColored.setSize(500 * dragon.getHP() / dragon.getConstantDragonMaxHp(), 20);
+        dragonHealthBarColored.setSize(500 * gd.getDragonsHP() / gd.getDragonsMaxHP(), 20);
 
-        long currentTime = System.currentTimeMillis();
+        long currentTime = clock.currentTimeMillis();
         if (mageWasHit) {
             mageHealthBarColored.setSize(240 * mage.getHP() / Mage.MAGE_MAX_HP, 16);
             mageProfilePicPain.setVisible(true);
@@ -449,26 +450,27 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
     }
 
     // MODIFIES: this
-    // EFFECTS: renders the game tiles and their relevant markers in the right place with the right image
+    // EFFECTS: renders the game tiles in the viewport and their relevant markers in the right place with the right
+    //    image; while hints or the mine chances are on, they are found again for every render
     private void renderGrid() {
-        for (int y = 0; y < 8; y++) {
-            for (int x = 0; x < 8; x++) {
-                GameTile currentTile = gd.board[y][x];
+        int originX = viewportOriginX();
+        int originY = viewportOriginY();
+        DeductionSolver hints = showingHints ? findHints() : null;
+        MineProbabilityEngine heatmap = showingHeatmap ? findMineProbabilities() : null;
+        long[] threatenedTiles = gd.findThreatenedTiles();
+        for (int i = 0; i < dragonMarkers.length; i++) {
+            dragonMarkers[i].setVisible(false);
+            honeMarkers[i].setVisible(false);
+        }
+        GameTile currentTile = null;
+        for (int y = 0; y < VIEWPORT_EDGE_LENGTH; y++) {
+            for (int x = 0; x < VIEWPORT_EDGE_LENGTH; x++) {
+                currentTile = gd.getGameTileAtPos(originX + x, originY + y, currentTile);
                 JLabel currentImgTile = gameImgTiles[y][x];
                 JLabel currentImgOverlay = gameImgTileOverlays[y][x];
 
-                char uiIdentity = currentTile.getUIIdentity();
-                if (uiIdentity == '?') {
-                    uiIdentity = 'q';
-                }
-
-                if (currentTile.getIsFlagged()) {
-                    currentImgTile.setIcon(new ImageIcon(IN_GAME_FOLDER_PATH + "tilef.png"));
-                } else {
-                    currentImgTile.setIcon(new ImageIcon(IN_GAME_FOLDER_PATH + "tile" + uiIdentity + ".png"));
-                }
-
-                setTileOverlayColor(currentImgOverlay, currentTile);
+                setTileImage(currentImgTile, currentTile);
+                setTileOverlayColor(currentImgOverlay, currentTile, threatenedTiles, hints, heatmap);
 
                 if (currentTile.getOccupiedByLifeForm()) {
                     tileOccupiedByLifeFormEvents(currentImgTile, currentTile);
@@ -478,19 +480,58 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
     }
 
     // MODIFIES: this
-    // EFFECTS: changes the tile's color to red if the dragon is going to attack on it the next move
-    private void setTileOverlayColor(JLabel currentImgOverlay, GameTile currentTile) {
-        if (currentTile.distance(dragon.getCurrentTile()) <= dragon.determineRange()) {
+    // EFFECTS: shows the tile's flag if it is flagged, else the image for its identity
+    private void setTileImage(JLabel currentImgTile, GameTile currentTile) {
+        char uiIdentity = currentTile.getUIIdentity();
+        if (uiIdentity == '?') {
+            uiIdentity = 'q';
+        }
+
+        if (currentTile.getIsFlagged()) {
+            currentImgTile.setIcon(new ImageIcon(IN_GAME_FOLDER_PATH + "tilef.png"));
+        } else {
+            currentImgTile.setIcon(new ImageIcon(IN_GAME_FOLDER_PATH + "tile" + uiIdentity + ".png"));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: changes the tile's color to red if it is one of the given threatened tiles, which any dragon is going to
+    //    attack on its next move; else, if hints
+    //    are given, to green if the tile is certainly safe or yellow if it is certainly a mine; else, if the mine
+    //    chances are given, to a purple that is more opaque the likelier the tile is to be a mine
+    private void setTileOverlayColor(JLabel currentImgOverlay, GameTile currentTile, long[] threatenedTiles,
+                                     DeductionSolver hints, MineProbabilityEngine heatmap) {
+        double probability = heatmap != null ? heatmap.getProbability(gd.getBoardState(), currentTile.getCell()) : 0;
+        if (GameDistrict.isThreatened(threatenedTiles, currentTile.getCell())) {
             currentImgOverlay.setBackground(ColorTheme.TRANSLUCENT_RED.color);
+        } else if (hints != null && hints.isSafe(currentTile.getCell())) {
+            currentImgOverlay.setBackground(ColorTheme.TRANSLUCENT_GREEN.color);
+        } else if (hints != null && hints.isMine(currentTile.getCell())) {
+            currentImgOverlay.setBackground(ColorTheme.TRANSLUCENT_YELLOW.color);
+        } else if (probability > 0) {
+            int shade = (int) Math.round(probability * (NUM_HEATMAP_SHADES - 1));
+            currentImgOverlay.setBackground(HEATMAP_SHADES[shade]);
         } else {
             currentImgOverlay.setBackground(ColorTheme.TRANSPARENT.color);
         }
     }
 
+    // EFFECTS: returns the heatmap's shades of purple, from transparent for no chance of a mine to
+    //    ColorTheme.TRANSLUCENT_PURPLE for a certain one
+    private static Color[] makeHeatmapShades() {
+        Color purple = ColorTheme.TRANSLUCENT_PURPLE.color;
+        Color[] shades = new Color[NUM_HEATMAP_SHADES];
+        for (int i = 0; i < shades.length; i++) {
+            shades[i] = new Color(purple.getRed(), purple.getGreen(), purple.getBlue(),
+                    purple.getAlpha() * i / (shades.length - 1));
+        }
+        return shades;
+    }
+
     // MODIFIES: this
     // EFFECTS: renders the necessary tile overlays in the right location if a life form is on it
     private void tileOccupiedByLifeFormEvents(JLabel currentImgTile, GameTile currentTile) {
-        if (currentTile == mage.getCurrentTile()) {
+        if (currentTile.equals(mage.getCurrentTile())) {
             playerMarker.setLocation(currentImgTile.getX(), currentImgTile.getY());
             if (mage.getSkillInUse()) {
                 blockMarker.setLocation(currentImgTile.getX(), currentImgTile.getY());
@@ -499,12 +540,21 @@ public class InGameEventsTrackerSwing extends InGameEventsTracker implements Key
                 blockMarker.setVisible(false);
             }
         } else {
-            dragonMarker.setLocation(currentImgTile.getX(), currentImgTile.getY());
-            if (mage.determineRange() >= currentTile.distance(dragon.getCurrentTile())) {
-                honeMarker.setLocation(currentImgTile.getX(), currentImgTile.getY());
-                honeMarker.setVisible(true);
-            } else {
-                honeMarker.setVisible(false);
+            placeDragonMarkers(currentImgTile, currentTile);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the marker of the dragon on the given tile (found with the board's occupancy index) there, and
+    //    its hone marker too if the dragon is in range of the mage
+    private void placeDragonMarkers(JLabel currentImgTile, GameTile currentTile) {
+        int dragonIndex = gd.getBoardState().getOccupant(currentTile.getCell()) - 1;
+        if (dragonIndex >= 0 && dragonIndex < dragonMarkers.length) {
+            dragonMarkers[dragonIndex].setLocation(currentImgTile.getX(), currentImgTile.getY());
+            dragonMarkers[dragonIndex].setVisible(true);
+            if (mage.threatens(currentTile)) {
+                honeMarkers[dragonIndex].setLocation(currentImgTile.getX(), currentImgTile.getY());
+                honeMarkers[dragonIndex].setVisible(true);
             }
         }
     }
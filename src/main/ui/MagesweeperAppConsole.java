@@ -16,6 +16,7 @@ public class MagesweeperAppConsole {
     private final Scanner scanner;
     private final SaveGameWorldWriter writer = new SaveGameWorldWriter();
     private final SaveGameWorldReader reader = new SaveGameWorldReader();
+    private final NoGuessGenerator noGuessGenerator = new NoGuessGenerator();
 
     private boolean inGame;
 
@@ -162,6 +163,8 @@ public class MagesweeperAppConsole {
         System.out.println("- To flag a tile, press SHIFT + key that corresponds to the direction of the mine");
         System.out.println("- To attack the dragon, press f (don't hold SHIFT).");
         System.out.println("- To block an attack, press b");
+        System.out.println("- To see which tiles are certainly safe (s) or mines (m), press h");
+        System.out.println("- To see each hidden tile's chance of being a mine in percent, press p");
         System.out.println("Please read README.md for more information if you are interested.");
     }
 
@@ -183,7 +186,10 @@ public class MagesweeperAppConsole {
     private void addNewDistrict() {
         System.out.println("\n");
         System.out.println("Pick the requirements for your new district... ");
-        GameDistrict d = world.makeDistrict(pickDragonDifficulty(), pickMinesweeperDifficulty());
+        DragonType dragonType = pickDragonDifficulty();
+        Difficulty difficulty = pickMinesweeperDifficulty();
+        GameDistrict d = pickNoGuessLayout() ? world.makeNoGuessDistrict(dragonType, difficulty, noGuessGenerator)
+                : world.makeDistrict(dragonType, difficulty);
         world.addDistrict(d);
         System.out.println("\nYou have discovered the new district " + d.getDistrictName() + ".");
     }
@@ -209,6 +215,15 @@ public class MagesweeperAppConsole {
         return Difficulty.values()[returnUserIntegerInput(Difficulty.values().length) - 1];
     }
 
+    // EFFECTS: lets the user select whether the district's board must be solvable without guessing; returns true if so
+    private boolean pickNoGuessLayout() {
+        System.out.println("\n");
+        System.out.println("Pick a layout: ");
+        System.out.println("\t [1] Random -      may need a lucky guess.");
+        System.out.println("\t [2] No guessing - safe start, every safe tile can be worked out.");
+        return returnUserIntegerInput(2) == 2;
+    }
+
     // EFFECTS: lets the user select a game district from the list of saved districts
     private GameDistrict getDistrictFromUser() {
         System.out.println("\n");
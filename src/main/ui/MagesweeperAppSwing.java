@@ -22,6 +22,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 // A swing-based UI that allows users to learn about, set up, and play the game.
 public class MagesweeperAppSwing implements ActionListener {
@@ -51,6 +52,10 @@ public class MagesweeperAppSwing implements ActionListener {
     private final SoundPlayer soundPlayer = SoundPlayer.getSoundPlayer();
     private final SaveGameWorldWriter writer = new SaveGameWorldWriter();
     private final SaveGameWorldReader reader = new SaveGameWorldReader();
+    private final NoGuessGenerator noGuessGenerator = NoGuessGenerator.makeBackgroundGenerator(); // for its pool
+    private DistrictPool districtPool;         // districts made ahead of time for the world; null until there is one
+    private DistrictPool noGuessDistrictPool;  // ... and ones that can be cleared without guessing
+    private JPanel generatingPanel;            // shown while waiting for the latest district requested; else null
     private JFrame frame = new JFrame("Magesweeper");
     private final FrameContentController frameContentController
             = FrameContentController.getFrameContentController(frame);
@@ -230,6 +235,7 @@ public class MagesweeperAppSwing implements ActionListener {
         addSelectionMenuContent(setupWorldPanel, titleLabel);
         try {
             world = reader.readWorld(PersistenceTool.GAME_SAVE_PATH);
+            resetDistrictPools();
             JLabel label1 = new JLabelCustom(String.format("World %s located. Welcome back, %s.", world.getWorldName(),
                     world.getMage().getMageName()), LabelType.SELECTION_NORMAL);
             JLabel label2 = new JLabelCustom("", LabelType.SELECTION_NORMAL);
@@ -402,6 +408,7 @@ public class MagesweeperAppSwing implements ActionListener {
     public void createAndEnterWorld(String mageName, String worldName) {
         JPanel setupWorldPanel = setupSelectionMenu();
         world = new GameWorld(mageName, worldName);
+        resetDistrictPools();
 
         JLabel titleLabel = new JLabelCustom("Creating new default world...", LabelType.SELECTION_TITLE);
         JLabel label1 = new JLabelCustom(String.format("New world %s created. Welcome, Mage %s.", world.getWorldName(),
@@ -484,7 +491,8 @@ public class MagesweeperAppSwing implements ActionListener {
         JLabel lb4 = new JLabelCustom("- To attack the dragon, press f (don't hold SHIFT).",
                 LabelType.SELECTION_NORMAL);
         JLabel lb5 = new JLabelCustom("- To block an attack, press b", LabelType.SELECTION_NORMAL);
-        JLabel lb6 = new JLabelCustom("", LabelType.SELECTION_NORMAL);
+        JLabel lb6 = new JLabelCustom("- Press h to show (or hide) tiles that are certainly safe (green) or mines "
+                + "(yellow), and p for each tile's chance of being a mine (purple)", LabelType.SELECTION_NORMAL);
         JLabel lb7 = new JLabelCustom("- The dragon attacks once per second, and the "
                 + "zone of the dragon's next attack is red.", LabelType.SELECTION_NORMAL);
         JLabel lb8 = new JLabelCustom("- The mage can attack once every 0.5 seconds. Each attack "
@@ -593,42 +601,104 @@ public class MagesweeperAppSwing implements ActionListener {
             mines[i] = (String.format("\t [%d] %s - %d  Mines", i + 1, difficulty.name(), difficulty.numMines));
         }
         JComboBox<String> mineChooser = new JComboBoxCustom<>(mines);
+        JLabel pickLayoutLabel = new JLabelCustom("Pick a layout: ", LabelType.SELECTION_ACTION);
+        JComboBox<String> layoutChooser = new JComboBoxCustom<>("[1] Random -      may need a lucky guess.",
+                "[2] No guessing - safe start, every safe tile can be worked out.");
 
         addSelectionMenuContent(addNewDistrictPanel, title, pickDragonLabel, dragonChooser,
-                pickMineLabel, mineChooser);
+                pickMineLabel, mineChooser, pickLayoutLabel, layoutChooser);
         addNextButton(addNewDistrictPanel, e -> createDistrict(dragonChooser.getSelectedIndex(),
-                mineChooser.getSelectedIndex()));
+                mineChooser.getSelectedIndex(), layoutChooser.getSelectedIndex() == 1));
 
         frameContentController.showPanelOnFrame(addNewDistrictPanel);
     }
 
-    // MODIFIES: this, this.world
-    // EFFECTS: lets the user select a dragon and minesweeper difficulty for a district then adds it to the world
-    private void createDistrict(int dragonIndex, int mineIndex) {
-        JPanel createDistrictPanel = setupSelectionMenu();
-
-        DragonType dragonDifficulty = DragonType.values()[dragonIndex];
-        Difficulty mineDifficulty = Difficulty.values()[mineIndex];
-        GameDistrict d = world.makeDistrict(dragonDifficulty, mineDifficulty);
-        world.addDistrict(d);
-        JLabel title = new JLabelCustom("\nYou have discovered the new district " + d.getDistrictName() + ".",
-                LabelType.SELECTION_TITLE);
-        addSelectionMenuContent(createDistrictPanel, title);
-        addNextButton(createDistrictPanel, e -> enterWorldMenu());
+    // MODIFIES: this
+    // EFFECTS: replaces the pools of districts made ahead of time with new ones for the current world, which start
+    //    filling up in the background
+    private void resetDistrictPools() {
+        if (districtPool != null) {
+            districtPool.shutdown();
+            noGuessDistrictPool.shutdown();
+        }
+        GameWorld poolWorld = world;
+        districtPool = new DistrictPool((dt, d) -> new GameDistrict(dt, d, poolWorld));
+        noGuessDistrictPool = new DistrictPool((dt, d) -> poolWorld.findNoGuessDistrict(dt, d, noGuessGenerator));
+        districtPool.start();
+        noGuessDistrictPool.start();
+    }
 
-        frameContentController.showPanelOnFrame(createDistrictPanel);
+    // MODIFIES: this, this.world
+    // EFFECTS: lets the user select a dragon and minesweeper difficulty for a district, and whether its board must be
+    //    solvable without guessing, then adds it to the world
+    private void createDistrict(int dragonIndex, int mineIndex, boolean noGuess) {
+        addPooledDistrict(noGuess ? noGuessDistrictPool : districtPool, DragonType.values()[dragonIndex],
+                Difficulty.values()[mineIndex]);
     }
 
     // MODIFIES: this, this.world
     // EFFECTS: lets the user select a dragon and minesweeper difficulty for a district then adds it to the world
     private void createDistrict() {
-        JPanel createDistrictPanel = setupSelectionMenu();
-
         Random random = new Random();
         DragonType dragonDifficulty = DragonType.values()[random.nextInt(DragonType.values().length)];
         Difficulty mineDifficulty = Difficulty.values()[random.nextInt(Difficulty.values().length)];
-        GameDistrict d = world.makeDistrict(dragonDifficulty, mineDifficulty);
-        world.addDistrict(d);
+        addPooledDistrict(districtPool, dragonDifficulty, mineDifficulty);
+    }
+
+    // MODIFIES: this, this.world
+    // EFFECTS: requests a district of the given kind from the given pool; if the pool has none ready, shows that it is
+    //    being generated (in the background, so the frame stays responsive) until it arrives. Once it does, adds it to
+    //    the world it was requested for (if that world is still open) and shows it, unless the user has since asked
+    //    for another district; if it could not be generated, says so instead
+    private void addPooledDistrict(DistrictPool pool, DragonType dt, Difficulty d) {
+        CompletableFuture<GameDistrict> request = pool.request(dt, d);
+        JPanel waitingPanel = request.isDone() ? null : showGeneratingDistrict();
+        generatingPanel = waitingPanel;
+        GameWorld requestWorld = world;
+        request.whenComplete((district, error) -> SwingUtilities.invokeLater(() -> {
+            if (world != requestWorld) {
+                return;
+            }
+            if (district != null) {
+                world.addDistrict(world.adoptDistrict(district));
+            }
+            if (generatingPanel == waitingPanel) {
+                generatingPanel = null;
+                if (district != null) {
+                    showNewDistrict(district);
+                } else {
+                    showDistrictNotGenerated();
+                }
+            }
+        }));
+    }
+
+    // MODIFIES: this.frame
+    // EFFECTS: shows and returns a panel saying that a new district is being generated
+    private JPanel showGeneratingDistrict() {
+        JPanel waitingPanel = setupSelectionMenu();
+        JLabel title = new JLabelCustom("\nGenerating the new district... Please wait.", LabelType.SELECTION_TITLE);
+        addSelectionMenuContent(waitingPanel, title);
+        frameContentController.showPanelOnFrame(waitingPanel);
+        return waitingPanel;
+    }
+
+    // MODIFIES: this.frame
+    // EFFECTS: shows that the new district could not be generated
+    private void showDistrictNotGenerated() {
+        JPanel notGeneratedPanel = setupSelectionMenu();
+        JLabel title = new JLabelCustom("\nThe new district could not be generated. Please try again.",
+                LabelType.SELECTION_TITLE);
+        addSelectionMenuContent(notGeneratedPanel, title);
+        addNextButton(notGeneratedPanel, e -> enterWorldMenu());
+
+        frameContentController.showPanelOnFrame(notGeneratedPanel);
+    }
+
+    // MODIFIES: this.frame
+    // EFFECTS: shows that the given district was added to the world
+    private void showNewDistrict(GameDistrict d) {
+        JPanel createDistrictPanel = setupSelectionMenu();
         JLabel title = new JLabelCustom("\nYou have discovered the new district " + d.getDistrictName() + ".",
                 LabelType.SELECTION_TITLE);
         addSelectionMenuContent(createDistrictPanel, title);
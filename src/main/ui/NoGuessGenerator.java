@@ -0,0 +1,229 @@
+package ui;
+
+import model.Difficulty;
+import model.DragonType;
+import model.GameDistrict;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Makes districts whose boards can be cleared without guessing (see GameDistrict.isSolvableWithoutGuessing), by
+//    trying the layouts of seeds baseSeed, baseSeed + 1, ... until one passes. The candidates are checked in parallel
+//    by the pool's threads, each taking the next untried seed, and the first passing seed in that order is kept, so
+//    the same base seed always gives the same district however many threads there are.
+// How long each district took to find, and after how many candidates, is recorded by difficulty level, since dense
+//    boards need many more candidates than sparse ones.
+public class NoGuessGenerator {
+    public static final int DEFAULT_MAX_ATTEMPTS = 100000;
+    public static final int DEFAULT_DISTRICTS_PER_DIFFICULTY = 200;
+    // the threads a background generator searches with: half the cores, so the game and the window keep the rest
+    public static final int BACKGROUND_PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private final ForkJoinPool pool;
+    private final int maxAttempts;
+    private final Map<Difficulty, List<Long>> latencies = new EnumMap<>(Difficulty.class); // in ns, in order made
+    private final Map<Difficulty, List<Integer>> attempts = new EnumMap<>(Difficulty.class);
+    private final Map<Difficulty, Integer> numFailures = new EnumMap<>(Difficulty.class);
+
+    // REQUIRES: maxAttempts > 0
+    // EFFECTS: makes a generator that checks candidates in the given pool and gives up after the given amount of them
+    public NoGuessGenerator(ForkJoinPool pool, int maxAttempts) {
+        this.pool = pool;
+        this.maxAttempts = maxAttempts;
+    }
+
+    // EFFECTS: makes a generator that checks candidates in the common pool, giving up after DEFAULT_MAX_ATTEMPTS
+    public NoGuessGenerator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MAX_ATTEMPTS);
+    }
+
+    // EFFECTS: makes a generator for districts made ahead of time (see DistrictPool), which checks candidates in a
+    //    pool of its own with BACKGROUND_PARALLELISM daemon threads at the lowest priority, rather than in the common
+    //    pool at normal priority, giving up after DEFAULT_MAX_ATTEMPTS
+    public static NoGuessGenerator makeBackgroundGenerator() {
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        };
+        return new NoGuessGenerator(new ForkJoinPool(BACKGROUND_PARALLELISM, factory, null, false),
+                DEFAULT_MAX_ATTEMPTS);
+    }
+
+    // REQUIRES: GameDistrict.isValidBoardSize(width, height) and
+    //    GameDistrict.isValidNumDragons(numDragons, difficulty, width, height, safeStart)
+    // MODIFIES: this
+    // EFFECTS: returns the district made from the first of the seeds baseSeed, baseSeed + 1, ... whose board can be
+    //    cleared without guessing, with the given safe start setting, or null if none of the first maxAttempts can;
+    //    records how long that took under the given difficulty level
+    public GameDistrict generate(DragonType dt, Difficulty difficulty, int width, int height, int numDragons,
+                                 boolean safeStart, long baseSeed, GameWorld gw) {
+        long startTime = System.nanoTime();
+        Search search = new Search(dt, difficulty, width, height, numDragons, safeStart, baseSeed, gw);
+        pool.invokeAll(Collections.nCopies(pool.getParallelism(), search));
+        record(difficulty, System.nanoTime() - startTime, search.getNumAttemptsNeeded(), search.getBest() == null);
+        return search.getBest();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records a district generated with the given difficulty level
+    private synchronized void record(Difficulty difficulty, long latency, int numAttempts, boolean failed) {
+        latencies.computeIfAbsent(difficulty, d -> new ArrayList<>()).add(latency);
+        attempts.computeIfAbsent(difficulty, d -> new ArrayList<>()).add(numAttempts);
+        numFailures.merge(difficulty, failed ? 1 : 0, Integer::sum);
+    }
+
+    // EFFECTS: returns how many districts have been generated with the given difficulty level (found or not)
+    public synchronized int getNumGenerated(Difficulty difficulty) {
+        return latencies.getOrDefault(difficulty, Collections.emptyList()).size();
+    }
+
+    // EFFECTS: returns how many districts with the given difficulty level could not be found within maxAttempts
+    public synchronized int getNumFailures(Difficulty difficulty) {
+        return numFailures.getOrDefault(difficulty, 0);
+    }
+
+    // EFFECTS: returns the average amount of candidates needed for a district with the given difficulty level (or
+    //    maxAttempts for one that was not found), or 0 if none were generated
+    public synchronized double getMeanAttempts(Difficulty difficulty) {
+        List<Integer> counts = attempts.getOrDefault(difficulty, Collections.emptyList());
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return counts.isEmpty() ? 0 : (double) total / counts.size();
+    }
+
+    // REQUIRES: 0 <= fraction <= 1
+    // EFFECTS: returns the shortest time within which the given fraction of the districts with the given difficulty
+    //    level were generated, in ms (e.g. 0.5 gives the median), or -1 if none were generated
+    public synchronized double getLatencyPercentileMs(Difficulty difficulty, double fraction) {
+        List<Long> sorted = new ArrayList<>(latencies.getOrDefault(difficulty, Collections.emptyList()));
+        if (sorted.isEmpty()) {
+            return -1;
+        }
+        Collections.sort(sorted);
+        int wanted = Math.max(1, (int) Math.ceil(fraction * sorted.size()));
+        return sorted.get(wanted - 1) / 1e6;
+    }
+
+    // EFFECTS: returns a line for each difficulty level that districts were generated with, listing how many, how
+    //    many candidates they needed and how long they took
+    public synchronized String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        for (Difficulty difficulty : latencies.keySet()) {
+            summary.append(String.format("%-8s %d districts (%d not found), %.1f candidates on average; latency "
+                            + "p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms%n", difficulty,
+                    getNumGenerated(difficulty), getNumFailures(difficulty), getMeanAttempts(difficulty),
+                    getLatencyPercentileMs(difficulty, 0.5), getLatencyPercentileMs(difficulty, 0.9),
+                    getLatencyPercentileMs(difficulty, 0.99), getLatencyPercentileMs(difficulty, 1)));
+        }
+        return summary.toString();
+    }
+
+    // getters
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    // One district's search. Every thread runs the same search, taking candidates from a shared counter until the
+    //    next one comes after the best found so far; every candidate before the best is then sure to have been checked.
+    private class Search implements Callable<Void> {
+        private final DragonType dt;
+        private final Difficulty difficulty;
+        private final int width;
+        private final int height;
+        private final int numDragons;
+        private final boolean safeStart;
+        private final long baseSeed;
+        private final GameWorld gw;
+        private final AtomicInteger nextAttempt = new AtomicInteger();
+        private int bestAttempt = Integer.MAX_VALUE;  // guarded by this, like best
+        private GameDistrict best;
+
+        // EFFECTS: makes a search for a district with the given parameters
+        Search(DragonType dt, Difficulty difficulty, int width, int height, int numDragons, boolean safeStart,
+               long baseSeed, GameWorld gw) {
+            this.dt = dt;
+            this.difficulty = difficulty;
+            this.width = width;
+            this.height = height;
+            this.numDragons = numDragons;
+            this.safeStart = safeStart;
+            this.baseSeed = baseSeed;
+            this.gw = gw;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: checks candidates until there are none left worth checking
+        @Override
+        public Void call() {
+            int attempt = nextAttempt.getAndIncrement();
+            while (attempt < maxAttempts && attempt < getBestAttempt()) {
+                GameDistrict candidate = new GameDistrict(dt, difficulty, width, height, numDragons,
+                        baseSeed + attempt, gw);
+                candidate.setSafeStart(safeStart);
+                if (candidate.isSolvableWithoutGuessing()) {
+                    offer(attempt, candidate);
+                }
+                attempt = nextAttempt.getAndIncrement();
+            }
+            return null;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: keeps the given passing candidate if it comes before the best one found so far
+        private synchronized void offer(int attempt, GameDistrict candidate) {
+            if (attempt < bestAttempt) {
+                bestAttempt = attempt;
+                best = candidate;
+            }
+        }
+
+        private synchronized int getBestAttempt() {
+            return bestAttempt;
+        }
+
+        // EFFECTS: returns how many candidates it took to find the best one, or maxAttempts if none was found
+        private synchronized int getNumAttemptsNeeded() {
+            return best == null ? maxAttempts : bestAttempt + 1;
+        }
+
+        private synchronized GameDistrict getBest() {
+            return best;
+        }
+    }
+
+    // EFFECTS: generates districts that can be cleared without guessing for each difficulty level and prints how long
+    //    they took; args are the districts to generate per difficulty level (DEFAULT_DISTRICTS_PER_DIFFICULTY if not
+    //    given), then optionally the board's width and height (a standard board if not given)
+    public static void main(String[] args) {
+        int districtsPerDifficulty = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DISTRICTS_PER_DIFFICULTY;
+        int width = args.length > 2 ? Integer.parseInt(args[1]) : GameDistrict.BOARD_EDGE_LENGTH;
+        int height = args.length > 2 ? Integer.parseInt(args[2]) : GameDistrict.BOARD_EDGE_LENGTH;
+        GameWorld world = new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME);
+        ForkJoinPool pool = new ForkJoinPool();
+        NoGuessGenerator generator = new NoGuessGenerator(pool, DEFAULT_MAX_ATTEMPTS);
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (int i = 0; i < districtsPerDifficulty; i++) {
+                generator.generate(DragonType.BLAZE, difficulty, width, height, 1, true,
+                        (long) i * DEFAULT_MAX_ATTEMPTS, world);
+            }
+        }
+        pool.shutdown();
+        System.out.printf("no-guess districts on %d x %d boards, %d cores:%n%s", width, height,
+                pool.getParallelism(), generator.getSummary());
+    }
+}
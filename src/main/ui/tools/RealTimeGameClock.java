@@ -0,0 +1,48 @@
+package ui.tools;
+
+import model.GameClock;
+
+import javax.swing.*;
+
+// A game clock that runs in real time: its ticks are fired by a swing timer on the event dispatch thread, and its
+//    time is the system's.
+public class RealTimeGameClock implements GameClock {
+    private final int tickLengthMs;
+    private Timer timer;
+
+    // REQUIRES: tickLengthMs > 0
+    // EFFECTS: makes a stopped clock whose ticks are the given amount of milliseconds apart
+    public RealTimeGameClock(int tickLengthMs) {
+        this.tickLengthMs = tickLengthMs;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts a swing timer that calls the given callback once per tick, stopping any earlier one
+    @Override
+    public void start(Runnable onTick) {
+        stop();
+        timer = new Timer(tickLengthMs, e -> onTick.run());
+        timer.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the swing timer if there is one
+    @Override
+    public void stop() {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    // EFFECTS: returns true if the swing timer is running
+    @Override
+    public boolean isRunning() {
+        return timer != null && timer.isRunning();
+    }
+
+    // EFFECTS: returns the system's current time in milliseconds
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
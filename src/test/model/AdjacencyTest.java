@@ -0,0 +1,62 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static model.GameDistrict.BOARD_EDGE_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.Adjacency
+public class AdjacencyTest {
+
+    @Test
+    public void testOfSharesTablesBetweenBoardsOfTheSameSize() {
+        Adjacency adjacency = Adjacency.of(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH);
+        assertSame(adjacency, Adjacency.of(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH));
+        assertSame(adjacency, new BoardState(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH).getAdjacency());
+        assertNotSame(adjacency, Adjacency.of(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH + 1));
+        assertEquals(BOARD_EDGE_LENGTH + 1, Adjacency.of(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH + 1).getHeight());
+    }
+
+    @Test
+    public void testEdgeClass() {
+        Adjacency adjacency = Adjacency.of(5, 3);
+        assertEquals(0, adjacency.edgeClass(0, 0));
+        assertEquals(1, adjacency.edgeClass(2, 0));
+        assertEquals(2, adjacency.edgeClass(4, 0));
+        assertEquals(4, adjacency.edgeClass(2, 1));
+        assertEquals(8, adjacency.edgeClass(4, 2));
+        assertEquals(adjacency.edgeClass(3, 2), adjacency.edgeClass(2 * 5 + 3));
+    }
+
+    @Test
+    public void testNeighboursMatchDirections() {
+        checkNeighboursMatchDirections(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH);
+        checkNeighboursMatchDirections(5, 3);
+        checkNeighboursMatchDirections(2, 2);
+        checkNeighboursMatchDirections(17, 40);
+    }
+
+    // EFFECTS: checks that the neighbours of every tile of a width x height board listed by the adjacency tables
+    //    are the on-board tiles one step away in each Direction, in Direction order
+    private void checkNeighboursMatchDirections(int width, int height) {
+        Adjacency adjacency = Adjacency.of(width, height);
+        int[] offsets = adjacency.getOffsets();
+        int[] sliceStarts = adjacency.getSliceStarts();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int cell = y * width + x;
+                int edgeClass = adjacency.edgeClass(x, y);
+                int i = sliceStarts[edgeClass];
+                for (Direction d : Direction.values()) {
+                    int nearbyX = x + d.shiftX;
+                    int nearbyY = y + d.shiftY;
+                    if (nearbyX >= 0 && nearbyY >= 0 && nearbyX < width && nearbyY < height) {
+                        assertEquals(nearbyY * width + nearbyX, cell + offsets[i]);
+                        i++;
+                    }
+                }
+                assertEquals(sliceStarts[edgeClass + 1], i);
+            }
+        }
+    }
+}
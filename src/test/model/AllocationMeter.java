@@ -0,0 +1,30 @@
+package model;
+
+import java.lang.management.ManagementFactory;
+
+// Measures the bytes the current thread allocates while it runs some code, for the benchmarks that check that a hot
+//    path (a reveal, a solve, a restart, ...) does not allocate, or only allocates what it returns.
+public final class AllocationMeter {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    // EFFECTS: runs the given code on this thread and returns the bytes this thread allocated while it ran
+    public static long bytesAllocatedBy(Runnable code) {
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        code.run();
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    }
+
+    // REQUIRES: numOperations > 0
+    // EFFECTS: runs the given code, which performs the given amount of operations, once to warm it up (so that lazily
+    //    made arrays and JIT compilation are out of the way), then again, and returns the bytes this thread allocated
+    //    per operation during the second run
+    public static long bytesPerOperation(Runnable code, int numOperations) {
+        code.run();
+        return bytesAllocatedBy(code) / numOperations;
+    }
+}
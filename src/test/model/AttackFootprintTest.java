@@ -0,0 +1,43 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static model.GameDistrict.BOARD_EDGE_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.AttackFootprint
+public class AttackFootprintTest {
+
+    @Test
+    public void testOfSharesTablesBetweenBoardsOfTheSameSize() {
+        AttackFootprint attackFootprint = AttackFootprint.of(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH);
+        assertSame(attackFootprint, AttackFootprint.of(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH));
+        assertSame(attackFootprint, new BoardState(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH).getAttackFootprint());
+    }
+
+    @Test
+    public void testMaskMatchesPointDistance() {
+        AttackFootprint attackFootprint = AttackFootprint.of(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH);
+        for (DragonAction action : DragonAction.values()) {
+            for (int origin = 0; origin < BOARD_EDGE_LENGTH * BOARD_EDGE_LENGTH; origin++) {
+                Point originPoint = new Point(origin % BOARD_EDGE_LENGTH, origin / BOARD_EDGE_LENGTH);
+                long mask = attackFootprint.mask(origin, action.atkRangeSquared);
+                for (int cell = 0; cell < BOARD_EDGE_LENGTH * BOARD_EDGE_LENGTH; cell++) {
+                    Point cellPoint = new Point(cell % BOARD_EDGE_LENGTH, cell / BOARD_EDGE_LENGTH);
+                    boolean inRange = originPoint.distance(cellPoint) <= action.atkRange;
+                    assertEquals(inRange, (mask >>> cell & 1L) != 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMaskBeyondLongestDistanceCoversBoard() {
+        AttackFootprint attackFootprint = AttackFootprint.of(5, 3);
+        assertEquals((1L << 15) - 1, attackFootprint.mask(7, 20));
+        assertEquals((1L << 15) - 1, attackFootprint.mask(0, 1000));
+        assertEquals(1L << 7, attackFootprint.mask(7, 0));
+    }
+}
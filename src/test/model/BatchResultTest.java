@@ -0,0 +1,65 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ui.InGameEventsTracker;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.BatchResult
+public class BatchResultTest {
+    static final int TIME_LIMIT = InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS;
+
+    BatchResult batchResult;
+
+    @BeforeEach
+    public void setup() {
+        batchResult = new BatchResult();
+    }
+
+    @Test
+    public void testEmptyTally() {
+        assertEquals(0, batchResult.getNumGames());
+        assertEquals(0, batchResult.getWinRate());
+        assertEquals(-1, batchResult.getMeanClearTimeMs());
+        assertEquals(-1, batchResult.getClearTimePercentileMs(0.5));
+    }
+
+    @Test
+    public void testAddGamesCountsOutcomesAndClearTimes() {
+        batchResult.addGame(EndGameOutcome.NO_DRAGON_HP_WIN, TIME_LIMIT - 1000);
+        batchResult.addGame(EndGameOutcome.NO_DRAGON_HP_WIN, TIME_LIMIT - 3000);
+        batchResult.addGame(EndGameOutcome.NO_DRAGON_HP_WIN, TIME_LIMIT - 3000);
+        batchResult.addGame(EndGameOutcome.NO_DRAGON_HP_WIN, 0);
+        batchResult.addGame(EndGameOutcome.NO_TIME_LOSE, 0);
+        batchResult.addGame(EndGameOutcome.STEPPED_IN_MINE_LOSE, 5000);
+        assertEquals(6, batchResult.getNumGames());
+        assertEquals(4, batchResult.getNumWins());
+        assertEquals(1, batchResult.getOutcomeCount(EndGameOutcome.NO_TIME_LOSE));
+        assertEquals(0, batchResult.getOutcomeCount(EndGameOutcome.NO_MAGE_HP_LOSE));
+        assertEquals(4.0 / 6, batchResult.getWinRate());
+        assertEquals(2, batchResult.getClearTimeCount(3000 / GameSession.TICK_LENGTH_MS));
+        assertEquals(1, batchResult.getClearTimeCount(BatchResult.NUM_CLEAR_TIMES - 1));
+        assertEquals((1000 + 3000 + 3000 + TIME_LIMIT) / 4.0, batchResult.getMeanClearTimeMs());
+        assertEquals(1000, batchResult.getClearTimePercentileMs(0));
+        assertEquals(3000, batchResult.getClearTimePercentileMs(0.5));
+        assertEquals(3000, batchResult.getClearTimePercentileMs(0.75));
+        assertEquals(TIME_LIMIT, batchResult.getClearTimePercentileMs(0.9));
+        assertEquals(TIME_LIMIT, batchResult.getClearTimePercentileMs(1));
+        assertTrue(batchResult.getSummary().contains("win rate: 66.67%"));
+    }
+
+    @Test
+    public void testMergeAndCombine() {
+        BatchResult other = new BatchResult();
+        batchResult.addGame(EndGameOutcome.NO_DRAGON_HP_WIN, TIME_LIMIT - 250);
+        other.addGame(EndGameOutcome.NO_DRAGON_HP_WIN, TIME_LIMIT - 250);
+        other.addGame(EndGameOutcome.NO_MAGE_HP_LOSE, 250);
+        BatchResult total = BatchResult.combine(new BatchResult[]{batchResult, null, other});
+        assertEquals(3, total.getNumGames());
+        assertEquals(2, total.getClearTimeCount(1));
+        assertEquals(1, total.getOutcomeCount(EndGameOutcome.NO_MAGE_HP_LOSE));
+        batchResult.merge(null);
+        assertEquals(1, batchResult.getNumGames());
+    }
+}
@@ -0,0 +1,255 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static model.GameDistrict.BOARD_EDGE_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.BoardState
+public class BoardStateTest {
+    BoardState boardState;
+
+    @BeforeEach
+    public void setup() {
+        boardState = new BoardState(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH);
+    }
+
+    @Test
+    public void testCellIndex() {
+        assertEquals(0, boardState.cellIndex(0, 0));
+        assertEquals(BOARD_EDGE_LENGTH - 1, boardState.cellIndex(BOARD_EDGE_LENGTH - 1, 0));
+        assertEquals(BOARD_EDGE_LENGTH, boardState.cellIndex(0, 1));
+        assertEquals(BOARD_EDGE_LENGTH * BOARD_EDGE_LENGTH - 1,
+                boardState.cellIndex(BOARD_EDGE_LENGTH - 1, BOARD_EDGE_LENGTH - 1));
+    }
+
+    @Test
+    public void testShiftInsideBoard() {
+        long centre = 1L << boardState.cellIndex(4, 4);
+        for (Direction d : Direction.values()) {
+            assertEquals(1L << boardState.cellIndex(4 + d.shiftX, 4 + d.shiftY), boardState.shift(centre, d));
+        }
+    }
+
+    @Test
+    public void testShiftOffBoardIsDropped() {
+        long westEdge = 1L << boardState.cellIndex(0, 3);
+        long eastEdge = 1L << boardState.cellIndex(BOARD_EDGE_LENGTH - 1, 3);
+        long southEdge = 1L << boardState.cellIndex(3, 0);
+        long northEdge = 1L << boardState.cellIndex(3, BOARD_EDGE_LENGTH - 1);
+        assertEquals(0, boardState.shift(westEdge, Direction.WEST));
+        assertEquals(0, boardState.shift(westEdge, Direction.NORTHWEST));
+        assertEquals(0, boardState.shift(eastEdge, Direction.EAST));
+        assertEquals(0, boardState.shift(eastEdge, Direction.SOUTHEAST));
+        assertEquals(0, boardState.shift(southEdge, Direction.SOUTH));
+        assertEquals(0, boardState.shift(northEdge, Direction.NORTH));
+    }
+
+    @Test
+    public void testNeighbours() {
+        assertEquals(8, Long.bitCount(boardState.neighbours(1L << boardState.cellIndex(4, 4))));
+        assertEquals(5, Long.bitCount(boardState.neighbours(1L << boardState.cellIndex(0, 4))));
+        assertEquals(3, Long.bitCount(boardState.neighbours(1L << boardState.cellIndex(0, 0))));
+        assertEquals(3, Long.bitCount(boardState.neighbours(
+                1L << boardState.cellIndex(BOARD_EDGE_LENGTH - 1, BOARD_EDGE_LENGTH - 1))));
+        long corner = boardState.neighbours(1L << boardState.cellIndex(0, 0));
+        assertEquals(0, corner & (1L << boardState.cellIndex(0, 0)));
+    }
+
+    @Test
+    public void testCountNearbyMines() {
+        boardState.setMine(boardState.cellIndex(0, 0));
+        boardState.setMine(boardState.cellIndex(1, 1));
+        boardState.setMine(boardState.cellIndex(7, 1));
+        boardState.recountNearbyMines();
+        assertEquals(2, boardState.countNearbyMines(boardState.cellIndex(1, 0)));
+        assertEquals(1, boardState.countNearbyMines(boardState.cellIndex(0, 0)));
+        assertEquals(0, boardState.countNearbyMines(boardState.cellIndex(4, 4)));
+        assertEquals(1, boardState.countNearbyMines(boardState.cellIndex(6, 0)));
+        assertEquals(0, boardState.countNearbyMines(boardState.cellIndex(0, 3)));
+    }
+
+    @Test
+    public void testMoveMineMatchesRecount() {
+        BoardState recounted = new BoardState(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH);
+        boardState.setMine(boardState.cellIndex(0, 0));
+        boardState.setMine(boardState.cellIndex(3, 3));
+        boardState.recountNearbyMines();
+        boardState.moveMine(boardState.cellIndex(3, 3), boardState.cellIndex(7, 7));
+        boardState.moveMine(boardState.cellIndex(0, 0), boardState.cellIndex(1, 0));
+        recounted.setMine(boardState.cellIndex(7, 7));
+        recounted.setMine(boardState.cellIndex(1, 0));
+        recounted.recountNearbyMines();
+        assertEquals(recounted.getMines(), boardState.getMines());
+        for (int cell = 0; cell < boardState.getNumCells(); cell++) {
+            assertEquals(recounted.countNearbyMines(cell), boardState.countNearbyMines(cell));
+        }
+    }
+
+    @Test
+    public void testSaveAndRestorePristine() {
+        assertFalse(boardState.hasPristine());
+        boardState.setMine(boardState.cellIndex(2, 2));
+        boardState.recountNearbyMines();
+        boardState.savePristine();
+        assertTrue(boardState.hasPristine());
+        boardState.moveMine(boardState.cellIndex(2, 2), boardState.cellIndex(6, 6));
+        boardState.setRevealed(0, true);
+        boardState.setFlagged(1, true);
+        boardState.restorePristine();
+        assertEquals(1L << boardState.cellIndex(2, 2), boardState.getMines());
+        assertEquals(1, boardState.countNearbyMines(boardState.cellIndex(3, 3)));
+        assertEquals(0, boardState.countNearbyMines(boardState.cellIndex(5, 5)));
+        assertEquals(0, boardState.getRevealed());
+        assertEquals(0, boardState.getFlagged());
+        boardState.discardPristine();
+        assertFalse(boardState.hasPristine());
+    }
+
+    @Test
+    public void testCopySharesPristineCopyOnWrite() {
+        boardState.setMine(boardState.cellIndex(2, 2));
+        boardState.recountNearbyMines();
+        boardState.savePristine();
+        boardState.setRevealed(0, true);
+        boardState.occupy(9, 3);
+        BoardState copy = new BoardState(boardState);
+        assertEquals(boardState.getMines(), copy.getMines());
+        assertEquals(boardState.getRevealed(), copy.getRevealed());
+        assertEquals(3, copy.getOccupant(9));
+        copy.vacate(9, 3);
+        copy.setFlagged(1, true);
+        assertEquals(3, boardState.getOccupant(9));
+        assertEquals(0, boardState.getFlagged());
+
+        copy.moveMine(boardState.cellIndex(2, 2), boardState.cellIndex(6, 6));
+        copy.savePristine();
+        boardState.moveMine(boardState.cellIndex(2, 2), boardState.cellIndex(0, 7));
+        boardState.restorePristine();
+        assertEquals(1L << boardState.cellIndex(2, 2), boardState.getMines());
+        assertEquals(1, boardState.countNearbyMines(boardState.cellIndex(3, 3)));
+        copy.restorePristine();
+        assertEquals(1L << boardState.cellIndex(6, 6), copy.getMines());
+        assertEquals(0, copy.countNearbyMines(boardState.cellIndex(3, 3)));
+    }
+
+    @Test
+    public void testSettersAndClearPlayState() {
+        int cell = boardState.cellIndex(2, 5);
+        boardState.setMine(cell);
+        boardState.setRevealed(cell, true);
+        boardState.setFlagged(cell, true);
+        boardState.setOccupied(cell, true);
+        assertTrue(boardState.isMine(cell));
+        assertTrue(boardState.isRevealed(cell));
+        assertTrue(boardState.isFlagged(cell));
+        assertTrue(boardState.isOccupied(cell));
+        boardState.setFlagged(cell, false);
+        assertFalse(boardState.isFlagged(cell));
+
+        boardState.clearPlayState();
+        assertEquals(0, boardState.getRevealed());
+        assertEquals(0, boardState.getFlagged());
+        assertEquals(0, boardState.getOccupied());
+        assertEquals(1L << cell, boardState.getMines());
+        boardState.clearMines();
+        assertEquals(0, boardState.getMines());
+    }
+
+    @Test
+    public void testOccupyAndVacate() {
+        int cell = boardState.cellIndex(3, 4);
+        assertEquals(OccupancyIndex.NONE, boardState.getOccupant(cell));
+        boardState.occupy(cell, 2);
+        assertTrue(boardState.isOccupied(cell));
+        assertEquals(2, boardState.getOccupant(cell));
+        boardState.vacate(cell, 1);
+        assertTrue(boardState.isOccupied(cell));
+        boardState.vacate(cell, 2);
+        assertFalse(boardState.isOccupied(cell));
+        assertEquals(OccupancyIndex.NONE, boardState.getOccupant(cell));
+        boardState.occupy(cell, 0);
+        boardState.clearPlayState();
+        assertEquals(OccupancyIndex.NONE, boardState.getOccupant(cell));
+    }
+
+    @Test
+    public void testFloodRevealEmptyBoardRevealsEverything() {
+        assertEquals(-1L, boardState.floodReveal(boardState.cellIndex(3, 3)));
+        assertEquals(-1L, boardState.getRevealed());
+        assertEquals(0, boardState.floodReveal(boardState.cellIndex(0, 0)));
+    }
+
+    @Test
+    public void testFloodRevealStopsAtNumberedTiles() {
+        for (int y = 0; y < BOARD_EDGE_LENGTH; y++) {
+            boardState.setMine(boardState.cellIndex(4, y));
+        }
+        long revealed = boardState.floodReveal(boardState.cellIndex(0, 0));
+        for (int y = 0; y < BOARD_EDGE_LENGTH; y++) {
+            for (int x = 0; x < BOARD_EDGE_LENGTH; x++) {
+                boolean expected = x <= 3;
+                assertEquals(expected, (revealed >>> boardState.cellIndex(x, y) & 1L) != 0);
+            }
+        }
+        assertEquals(revealed, boardState.getRevealed());
+    }
+
+    @Test
+    public void testFloodRevealNumberedTileRevealsOnlyItself() {
+        boardState.setMine(boardState.cellIndex(5, 5));
+        boardState.recountNearbyMines();
+        int cell = boardState.cellIndex(4, 4);
+        assertEquals(1L << cell, boardState.floodReveal(cell));
+        int mine = boardState.cellIndex(5, 5);
+        assertEquals(1L << mine, boardState.floodReveal(mine));
+    }
+
+    @Test
+    public void testFloodRevealDoesNotCrossFlags() {
+        for (int y = 0; y < BOARD_EDGE_LENGTH; y++) {
+            boardState.setFlagged(boardState.cellIndex(2, y), true);
+        }
+        long revealed = boardState.floodReveal(boardState.cellIndex(0, 0));
+        assertEquals(2 * BOARD_EDGE_LENGTH, Long.bitCount(revealed));
+        assertEquals(0, revealed & boardState.getFlagged());
+        assertEquals(0, boardState.floodReveal(boardState.cellIndex(2, 0)));
+    }
+
+    @Test
+    public void testNonSquareSingleWordBoard() {
+        boardState = new BoardState(5, 3);
+        assertTrue(boardState.isSingleWord());
+        assertEquals(15, boardState.getNumCells());
+        assertEquals(0, boardState.shift(1L << boardState.cellIndex(2, 2), Direction.NORTH));
+        assertEquals(0, boardState.shift(1L << boardState.cellIndex(4, 1), Direction.EAST));
+        assertEquals(1L << boardState.cellIndex(0, 2), boardState.shift(1L << boardState.cellIndex(1, 1),
+                Direction.NORTHWEST));
+        assertEquals(15, Long.bitCount(boardState.floodReveal(boardState.cellIndex(4, 2))));
+    }
+
+    @Test
+    public void testLargeBoard() {
+        int edgeLength = GameDistrict.MAX_BOARD_EDGE_LENGTH;
+        boardState = new BoardState(edgeLength, edgeLength);
+        assertFalse(boardState.isSingleWord());
+        assertEquals(edgeLength * edgeLength, boardState.getNumCells());
+        int lastCell = boardState.cellIndex(edgeLength - 1, edgeLength - 1);
+        boardState.setMine(lastCell);
+        boardState.setMine(boardState.cellIndex(edgeLength - 1, 0));
+        boardState.recountNearbyMines();
+        assertTrue(boardState.isMine(lastCell));
+        assertFalse(boardState.isMine(lastCell - 1));
+        assertEquals(1, boardState.countNearbyMines(lastCell - 1));
+        assertEquals(1, boardState.countNearbyMines(boardState.cellIndex(edgeLength - 2, 1)));
+        assertEquals(0, boardState.countNearbyMines(boardState.cellIndex(0, 1)));
+        boardState.setFlagged(lastCell, true);
+        boardState.setRevealed(lastCell - 1, true);
+        assertTrue(boardState.isFlagged(lastCell));
+        assertTrue(boardState.isRevealed(lastCell - 1));
+        boardState.clearPlayState();
+        assertFalse(boardState.isFlagged(lastCell));
+        assertTrue(boardState.isMine(lastCell));
+    }
+}
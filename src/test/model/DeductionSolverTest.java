@@ -0,0 +1,148 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.DeductionSolver
+public class DeductionSolverTest {
+    static final int NUM_BENCHMARK_SOLVES = 100000;
+
+    @Test
+    public void testZeroAndFullCounts() {
+        BoardState boardState = new BoardState(8, 8);
+        boardState.setMine(boardState.cellIndex(1, 0));
+        boardState.recountNearbyMines();
+        revealRowsFrom(boardState, 1);
+        DeductionSolver solver = new DeductionSolver(8, 8);
+        assertEquals(8, solver.solve(boardState));
+        assertEquals(7, solver.getNumSafe());
+        assertEquals(1, solver.getNumMines());
+        assertEquals(boardState.cellIndex(1, 0), solver.getMineCell(0));
+        assertEquals(0xFFL & ~(1L << 1), solver.getSafeMask());
+        assertEquals(1L << 1, solver.getMineMask());
+        assertTrue(solver.isSafe(0));
+        assertFalse(solver.isSafe(8));
+    }
+
+    @Test
+    public void testPairRule() {
+        BoardState boardState = new BoardState(3, 2);
+        boardState.setMine(boardState.cellIndex(0, 0));
+        boardState.setMine(boardState.cellIndex(2, 0));
+        boardState.recountNearbyMines();
+        revealRowsFrom(boardState, 1);
+        DeductionSolver solver = new DeductionSolver(3, 2);
+        assertEquals(3, solver.solve(boardState));
+        assertTrue(solver.isMine(0));
+        assertTrue(solver.isSafe(1));
+        assertTrue(solver.isMine(2));
+    }
+
+    @Test
+    public void testUndecidedTilesAndFlags() {
+        BoardState boardState = new BoardState(2, 2);
+        boardState.setMine(boardState.cellIndex(0, 0));
+        boardState.recountNearbyMines();
+        boardState.setRevealed(boardState.cellIndex(1, 0), true);
+        boardState.setRevealed(boardState.cellIndex(1, 1), true);
+        DeductionSolver solver = new DeductionSolver(2, 2);
+        assertEquals(0, solver.solve(boardState));
+        boardState.setFlagged(boardState.cellIndex(0, 1), true);
+        assertEquals(0, solver.solve(boardState));
+        boardState.setRevealed(boardState.cellIndex(0, 1), true);
+        boardState.setFlagged(boardState.cellIndex(0, 1), false);
+        boardState.setFlagged(boardState.cellIndex(0, 0), true);
+        assertEquals(1, solver.solve(boardState));
+        assertTrue(solver.isMine(0));
+        assertFalse(solver.isSafe(2));
+    }
+
+    @Test
+    public void testDeductionsAreAlwaysRight() {
+        int numDeductions = 0;
+        for (long seed = 0; seed < 200; seed++) {
+            numDeductions += checkRandomBoard(8, 8, 10, seed);
+        }
+        numDeductions += checkRandomBoard(100, 70, 1000, 1L);
+        numDeductions += checkRandomBoard(65, 9, 80, 2L);
+        assertTrue(numDeductions > 0);
+    }
+
+    @Test
+    public void testDistrictSolverMadeOnce() {
+        GameDistrict gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.HARD, 8, 8, 3L,
+                new ui.GameWorld(ui.GameWorld.MAGE_DEFAULT_NAME, ui.GameWorld.WORLD_DEFAULT_NAME));
+        DeductionSolver solver = gameDistrict.getDeductionSolver();
+        assertSame(solver, gameDistrict.getDeductionSolver());
+        assertEquals(8, solver.getWidth());
+        assertEquals(8, solver.getHeight());
+    }
+
+    // Benchmark: measures the bytes this thread allocates per solve of a standard board in the middle of a game;
+    //    once the solver's arrays have grown to fit the board, a solve may not allocate.
+    @Test
+    public void testSolveBenchmarkZeroAllocation() {
+        SplittableRandom random = new SplittableRandom(5L);
+        BoardState boardState = makeRandomBoard(8, 8, 10, random);
+        revealSafeCells(boardState, 4, random);
+        DeductionSolver solver = new DeductionSolver(8, 8);
+        int numDeductions = solver.solve(boardState);
+        assertEquals(0, AllocationMeter.bytesPerOperation(() -> {
+            for (int i = 0; i < NUM_BENCHMARK_SOLVES; i++) {
+                assertEquals(numDeductions, solver.solve(boardState));
+            }
+        }, NUM_BENCHMARK_SOLVES));
+    }
+
+    // MODIFIES: boardState
+    // EFFECTS: reveals every tile of the board in the given row and the rows above it
+    private void revealRowsFrom(BoardState boardState, int row) {
+        for (int cell = row * boardState.getWidth(); cell < boardState.getNumCells(); cell++) {
+            boardState.setRevealed(cell, true);
+        }
+    }
+
+    // EFFECTS: makes a board with random mines and reveals a few random safe tiles on it, then checks that every
+    //    tile solved as safe is not a mine and every tile solved as a mine is; returns how many tiles were solved
+    private int checkRandomBoard(int width, int height, int numMines, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        BoardState boardState = makeRandomBoard(width, height, numMines, random);
+        revealSafeCells(boardState, 1 + random.nextInt(6), random);
+        DeductionSolver solver = new DeductionSolver(width, height);
+        int numDeductions = solver.solve(boardState);
+        for (int i = 0; i < solver.getNumSafe(); i++) {
+            assertFalse(boardState.isMine(solver.getSafeCell(i)));
+            assertFalse(boardState.isRevealed(solver.getSafeCell(i)));
+        }
+        for (int i = 0; i < solver.getNumMines(); i++) {
+            assertTrue(boardState.isMine(solver.getMineCell(i)));
+        }
+        assertEquals(solver.getNumSafe() + solver.getNumMines(), numDeductions);
+        return numDeductions;
+    }
+
+    // EFFECTS: makes a board with the given amount of mines on random tiles
+    private BoardState makeRandomBoard(int width, int height, int numMines, SplittableRandom random) {
+        BoardState boardState = new BoardState(width, height);
+        for (int i = 0; i < numMines; i++) {
+            boardState.setMine(random.nextInt(boardState.getNumCells()));
+        }
+        boardState.recountNearbyMines();
+        return boardState;
+    }
+
+    // MODIFIES: boardState
+    // EFFECTS: reveals the given amount of random safe tiles, opening up the areas around tiles with no nearby mines
+    private void revealSafeCells(BoardState boardState, int numReveals, SplittableRandom random) {
+        FloodFill floodFill = new FloodFill(boardState.getWidth(), boardState.getHeight());
+        for (int i = 0; i < numReveals; i++) {
+            int cell = random.nextInt(boardState.getNumCells());
+            if (!boardState.isMine(cell)) {
+                floodFill.fill(boardState, cell);
+            }
+        }
+    }
+}
@@ -18,6 +18,14 @@ class DifficultyTest {
         assertEquals(10, Difficulty.HARD.numMines);
     }
 
+    @Test
+    public void testNumMinesFor() {
+        assertEquals(Difficulty.NORMAL.numMines, Difficulty.NORMAL.numMinesFor(8, 8));
+        assertEquals(12, Difficulty.EASY.numMinesFor(16, 12));
+        assertEquals(0, Difficulty.PRACTICE.numMinesFor(4096, 4096));
+        assertEquals(2621440, Difficulty.HARD.numMinesFor(4096, 4096));
+    }
+
     @Test
     public void testAssignDifficultyLvlNonBoundaryValid() {
         Difficulty d = null;
@@ -0,0 +1,143 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static model.GameDistrict.BOARD_EDGE_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.DistanceField
+public class DistanceFieldTest {
+    static final int HUGE_EDGE_LENGTH = 2048;
+
+    BoardState boardState;
+    DistanceField distanceField;
+
+    @BeforeEach
+    public void setup() {
+        boardState = new BoardState(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH);
+        distanceField = new DistanceField(boardState);
+    }
+
+    @Test
+    public void testOpenBoardDistancesAreKingMoves() {
+        int target = boardState.cellIndex(2, 5);
+        distanceField.update(target);
+        assertEquals(target, distanceField.getTarget());
+        for (int y = 0; y < BOARD_EDGE_LENGTH; y++) {
+            for (int x = 0; x < BOARD_EDGE_LENGTH; x++) {
+                int expected = Math.max(Math.abs(x - 2), Math.abs(y - 5));
+                assertEquals(expected, distanceField.getDistance(boardState.cellIndex(x, y)));
+            }
+        }
+    }
+
+    @Test
+    public void testAvoidMines() {
+        for (int y = 0; y < BOARD_EDGE_LENGTH - 1; y++) {
+            boardState.setMine(boardState.cellIndex(4, y));
+        }
+        int target = boardState.cellIndex(6, 0);
+        distanceField.update(target);
+        assertEquals(4, distanceField.getDistance(boardState.cellIndex(2, 0)));
+        distanceField.setAvoidMines(true);
+        assertTrue(distanceField.getAvoidMines());
+        distanceField.update(target);
+        assertEquals(DistanceField.UNREACHABLE, distanceField.getDistance(boardState.cellIndex(4, 0)));
+        assertEquals(14, distanceField.getDistance(boardState.cellIndex(2, 0)));
+        assertEquals(boardState.cellIndex(2, 1), distanceField.nextStep(boardState.cellIndex(2, 0), -1));
+        assertEquals(boardState.cellIndex(3, 1), distanceField.nextStep(boardState.cellIndex(2, 0),
+                boardState.cellIndex(3, 1)));
+    }
+
+    @Test
+    public void testFieldIsCachedUntilTargetMovesOrInvalidated() {
+        distanceField.update(0);
+        distanceField.update(0);
+        assertEquals(1, distanceField.getNumRecomputations());
+        distanceField.update(1);
+        assertEquals(2, distanceField.getNumRecomputations());
+        distanceField.invalidate();
+        distanceField.update(1);
+        assertEquals(3, distanceField.getNumRecomputations());
+        distanceField.setAvoidMines(false);
+        distanceField.update(1);
+        assertEquals(3, distanceField.getNumRecomputations());
+    }
+
+    @Test
+    public void testNextStepPrefersGivenCellAndSkipsOccupiedTiles() {
+        int target = boardState.cellIndex(7, 4);
+        distanceField.update(target);
+        int from = boardState.cellIndex(4, 4);
+        assertEquals(boardState.cellIndex(5, 3), distanceField.nextStep(from, -1));
+        assertEquals(boardState.cellIndex(5, 5), distanceField.nextStep(from, boardState.cellIndex(5, 5)));
+        assertEquals(boardState.cellIndex(5, 3), distanceField.nextStep(from, boardState.cellIndex(3, 3)));
+        boardState.setOccupied(boardState.cellIndex(5, 3), true);
+        assertEquals(boardState.cellIndex(5, 4), distanceField.nextStep(from, -1));
+        boardState.setOccupied(boardState.cellIndex(5, 4), true);
+        boardState.setOccupied(boardState.cellIndex(5, 5), true);
+        assertEquals(-1, distanceField.nextStep(from, -1));
+    }
+
+    @Test
+    public void testStepsOnHugeBoardOnlySearchAroundTargetAndSeekers() {
+        BoardState hugeBoard = new BoardState(HUGE_EDGE_LENGTH, HUGE_EDGE_LENGTH);
+        DistanceField hugeField = new DistanceField(hugeBoard);
+        int target = hugeBoard.cellIndex(1000, 1000);
+        int seeker = hugeBoard.cellIndex(1010, 995);
+        hugeField.update(target, seeker);
+        int margin = DistanceField.SEARCH_MARGIN;
+        assertEquals((10 + 2 * margin + 1) * (5 + 2 * margin + 1), hugeField.getSearchedArea());
+        for (int y = 995 - margin; y <= 1000 + margin; y++) {
+            for (int x = 1000 - margin; x <= 1010 + margin; x++) {
+                int expected = Math.max(Math.abs(x - 1000), Math.abs(y - 1000));
+                assertEquals(expected, hugeField.getDistance(hugeBoard.cellIndex(x, y)));
+            }
+        }
+        assertEquals(DistanceField.UNREACHABLE, hugeField.getDistance(hugeBoard.cellIndex(0, 0)));
+        assertEquals(hugeBoard.cellIndex(1009, 996), hugeField.nextStep(seeker, -1));
+
+        hugeField.update(target, hugeBoard.cellIndex(1000, 1010));
+        hugeField.update(target, seeker);
+        assertEquals(1, hugeField.getNumRecomputations());
+        hugeField.update(target, hugeBoard.cellIndex(1500, 1000));
+        assertEquals(2, hugeField.getNumRecomputations());
+        assertEquals(499, hugeField.getDistance(hugeBoard.cellIndex(1499, 1000)));
+        hugeField.update(hugeBoard.cellIndex(1001, 1000), seeker);
+        assertEquals(3, hugeField.getNumRecomputations());
+        assertTrue(hugeField.getSearchedArea() < HUGE_EDGE_LENGTH * HUGE_EDGE_LENGTH / 16);
+    }
+
+    @Test
+    public void testWholeBoardUpdateAfterWindowedOne() {
+        BoardState hugeBoard = new BoardState(HUGE_EDGE_LENGTH, HUGE_EDGE_LENGTH);
+        DistanceField hugeField = new DistanceField(hugeBoard);
+        int target = hugeBoard.cellIndex(5, 5);
+        hugeField.update(target, hugeBoard.cellIndex(6, 6));
+        assertEquals(DistanceField.UNREACHABLE, hugeField.getDistance(hugeBoard.cellIndex(2047, 2047)));
+        hugeField.update(target);
+        assertEquals(HUGE_EDGE_LENGTH * HUGE_EDGE_LENGTH, hugeField.getSearchedArea());
+        assertEquals(2042, hugeField.getDistance(hugeBoard.cellIndex(2047, 2047)));
+        hugeField.update(target, hugeBoard.cellIndex(2047, 0));
+        assertEquals(2, hugeField.getNumRecomputations());
+    }
+
+    @Test
+    public void testAddedSeekersShareOneSearch() {
+        BoardState hugeBoard = new BoardState(HUGE_EDGE_LENGTH, HUGE_EDGE_LENGTH);
+        DistanceField hugeField = new DistanceField(hugeBoard);
+        int target = hugeBoard.cellIndex(1024, 1024);
+        int[] seekers = {hugeBoard.cellIndex(900, 1100), hugeBoard.cellIndex(1200, 950), hugeBoard.cellIndex(1024, 0)};
+        for (int seeker : seekers) {
+            hugeField.addSeeker(seeker);
+        }
+        for (int seeker : seekers) {
+            hugeField.update(target, seeker);
+            assertTrue(hugeField.nextStep(seeker, -1) != -1);
+        }
+        assertEquals(1, hugeField.getNumRecomputations());
+        assertEquals(1024, hugeField.getDistance(seekers[2]));
+        assertEquals(DistanceField.UNREACHABLE, hugeField.getDistance(hugeBoard.cellIndex(0, 1024)));
+    }
+}
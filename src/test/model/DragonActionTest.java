@@ -23,4 +23,13 @@ public class DragonActionTest {
         assertEquals(2.3, DragonAction.RANGED.atkRange);
         assertEquals(9.9, DragonAction.BLAST.atkRange);
     }
+
+    @Test
+    public void testConstructorAtkRangeSquared() {
+        assertEquals(0, DragonAction.DO_NOTHING.atkRangeSquared);
+        assertEquals(0, DragonAction.MOVE_TO_MAGE.atkRangeSquared);
+        assertEquals(2, DragonAction.MELEE.atkRangeSquared);
+        assertEquals(5, DragonAction.RANGED.atkRangeSquared);
+        assertEquals(98, DragonAction.BLAST.atkRangeSquared);
+    }
 }
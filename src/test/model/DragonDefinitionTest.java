@@ -0,0 +1,82 @@
+package model;
+
+import exceptions.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.DragonDefinition
+public class DragonDefinitionTest {
+
+    @Test
+    public void testOfCompilesDefaultTables() {
+        for (DragonType dt : DragonType.values()) {
+            DragonDefinition definition = DragonDefinition.of(dt);
+            assertSame(definition, DragonDefinition.of(dt));
+            assertEquals(dt, definition.getDragonType());
+            assertEquals(Dragon.DRAGON_INITIAL_HP, definition.getMaxHp());
+            assertEquals(Dragon.DRAGON_ATK, definition.getAtk());
+            for (int i = 0; i < definition.getSequenceLength(); i++) {
+                DragonAction action = definition.getActions()[i];
+                assertEquals(action.ordinal(), definition.getActionCodes()[i]);
+                assertEquals(action.damageModifier, definition.getDamageModifiers()[i]);
+                assertEquals(action.atkRange, definition.getRanges()[i]);
+                assertEquals(action.atkRangeSquared, definition.getRangesSquared()[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testBuiltInDefinitionsMatchDataFile() {
+        Map<DragonType, DragonDefinition> fromFile = DragonDefinition.load(DragonDefinition.DRAGON_DEFINITIONS_PATH);
+        Map<DragonType, DragonDefinition> builtIn = DragonDefinition.load("./no/such/dragons.json");
+        for (DragonType dt : DragonType.values()) {
+            DragonDefinition expected = fromFile.get(dt);
+            DragonDefinition actual = builtIn.get(dt);
+            assertEquals(expected.getMaxHp(), actual.getMaxHp());
+            assertEquals(expected.getAtk(), actual.getAtk());
+            assertArrayEquals(expected.getActions(), actual.getActions());
+            assertArrayEquals(expected.getDamageModifiers(), actual.getDamageModifiers());
+            assertArrayEquals(expected.getRanges(), actual.getRanges());
+        }
+    }
+
+    @Test
+    public void testOverridesAndDragonUsingThem() throws InvalidInputException {
+        Map<DragonAction, Integer> damageModifiers = new EnumMap<>(DragonAction.class);
+        Map<DragonAction, Double> ranges = new EnumMap<>(DragonAction.class);
+        damageModifiers.put(DragonAction.MELEE, 2);
+        ranges.put(DragonAction.MELEE, 2.0);
+        DragonDefinition definition = new DragonDefinition(DragonType.BLAZE, 300, 20,
+                new DragonAction[]{DragonAction.MELEE, DragonAction.RANGED}, damageModifiers, ranges);
+        assertArrayEquals(new int[]{2, DragonAction.RANGED.damageModifier}, definition.getDamageModifiers());
+        assertArrayEquals(new int[]{4, DragonAction.RANGED.atkRangeSquared}, definition.getRangesSquared());
+
+        Dragon dragon = new Dragon(definition);
+        assertEquals(300, dragon.getVarDragonHP());
+        assertEquals(300, dragon.getConstantDragonMaxHp());
+        assertEquals(20, dragon.getConstantDragonAtk());
+        assertEquals(40, dragon.attackFormula());
+        assertEquals(4, dragon.determineRangeSquared());
+        dragon.nextAttackSequencePos();
+        assertEquals(20 * DragonAction.RANGED.damageModifier, dragon.attackFormula());
+        dragon.nextAttackSequencePos();
+        assertEquals(DragonAction.MELEE, dragon.incomingDragonAttack());
+    }
+
+    @Test
+    public void testInvalidDefinitions() {
+        Map<DragonAction, Integer> damageModifiers = new EnumMap<>(DragonAction.class);
+        Map<DragonAction, Double> ranges = new EnumMap<>(DragonAction.class);
+        assertThrows(InvalidInputException.class, () -> new DragonDefinition(DragonType.BLAZE, 100, 10,
+                new DragonAction[0], damageModifiers, ranges));
+        assertThrows(InvalidInputException.class, () -> new DragonDefinition(DragonType.BLAZE, 0, 10,
+                new DragonAction[]{DragonAction.MELEE}, damageModifiers, ranges));
+        ranges.put(DragonAction.MELEE, -1.0);
+        assertThrows(InvalidInputException.class, () -> new DragonDefinition(DragonType.BLAZE, 100, 10,
+                new DragonAction[]{DragonAction.MELEE}, damageModifiers, ranges));
+    }
+}
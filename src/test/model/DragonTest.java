@@ -8,7 +8,7 @@ import ui.InGameEventsTrackerConsole;
 import java.awt.*;
 
 import static model.Dragon.initDragon;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 // This class tests the accessible methods in model.Dragon
 public class DragonTest {
@@ -40,18 +40,19 @@ public class DragonTest {
     @Test
     public void testAttackFormula() {
         DragonDownburst dragonD = new DragonDownburst();
-        int atkSequenceLength = dragonD.attackSequence.length;
+        int atkSequenceLength = dragonD.getAttackSequence().length;
         for (int i = 0; i < atkSequenceLength; i++) {
-            assertEquals(dragonD.atk * dragonD.attackSequence[i].damageModifier, dragonD.attackFormula());
+            assertEquals(dragonD.atk * dragonD.getAttackSequence()[i].damageModifier, dragonD.attackFormula());
+            dragonD.nextAttackSequencePos();
         }
     }
 
     @Test
     public void testCurrentDragonAttack() {
         DragonDownburst dragonD = new DragonDownburst();
-        int atkSequenceLength = dragonD.attackSequence.length;
+        int atkSequenceLength = dragonD.getAttackSequence().length;
         for (int i = 0; i < atkSequenceLength; i++) {
-            assertEquals(dragonD.attackSequence[i], dragonD.incomingDragonAttack());
+            assertEquals(dragonD.getAttackSequence()[i], dragonD.incomingDragonAttack());
             dragonD.nextAttackSequencePos();
         }
     }
@@ -59,9 +60,9 @@ public class DragonTest {
     @Test
     public void testDetermineDragonRange() {
         DragonDownburst dragonD = new DragonDownburst();
-        int atkSequenceLength = dragonD.attackSequence.length;
+        int atkSequenceLength = dragonD.getAttackSequence().length;
         for (int i = 0; i < atkSequenceLength; i++) {
-            assertEquals(dragonD.attackSequence[i].atkRange, dragonD.determineRange());
+            assertEquals(dragonD.getAttackSequence()[i].atkRangeSquared, dragonD.determineRangeSquared());
             dragonD.nextAttackSequencePos();
         }
     }
@@ -69,9 +70,9 @@ public class DragonTest {
     @Test
     public void testNextAttackSequencePos() {
         dragonB = new DragonBlaze();
-        int atkSequenceLength = dragonB.attackSequence.length;
+        int atkSequenceLength = dragonB.getAttackSequence().length;
         for (int i = 0; i < atkSequenceLength * 3; i++) {
-            assertEquals(dragonB.attackSequence[i % atkSequenceLength], dragonB.incomingDragonAttack());
+            assertEquals(dragonB.getAttackSequence()[i % atkSequenceLength], dragonB.incomingDragonAttack());
             dragonB.nextAttackSequencePos();
         }
     }
@@ -96,7 +97,7 @@ public class DragonTest {
         assertEquals(2, dragonB.attackSequencePointer);
         dragonB.attackOpponent();
         assertEquals(Mage.MAGE_MAX_HP
-                - Dragon.DRAGON_ATK * dragonB.attackSequence[2].damageModifier, mage.getHP());
+                - Dragon.DRAGON_ATK * dragonB.getAttackSequence()[2].damageModifier, mage.getHP());
         assertEquals(Dragon.DRAGON_INITIAL_HP, dragonB.getHP());
     }
 
@@ -111,7 +112,7 @@ public class DragonTest {
         assertEquals(2, dragonB.attackSequencePointer);
         dragonB.attackOpponent();
         assertEquals(Mage.MAGE_MAX_HP
-                - Dragon.DRAGON_ATK * dragonB.attackSequence[2].damageModifier, mage.getHP());
+                - Dragon.DRAGON_ATK * dragonB.getAttackSequence()[2].damageModifier, mage.getHP());
         assertEquals(Dragon.DRAGON_INITIAL_HP, dragonB.getHP());
     }
 
@@ -243,4 +244,41 @@ public class DragonTest {
         assertEquals(Mage.MAGE_MAX_HP, mage.getHP());
         assertEquals(Dragon.DRAGON_INITIAL_HP, dragonB.getHP());
     }
+
+    @Test
+    public void testChaseDirectionMatchesAngle() {
+        int maxOffset = 3 * GameDistrict.BOARD_EDGE_LENGTH;
+        for (int dx = -maxOffset; dx <= maxOffset; dx++) {
+            for (int dy = -maxOffset; dy <= maxOffset; dy++) {
+                assertEquals(Dragon.angleDirection(dx, dy), Dragon.chaseDirection(dx, dy));
+            }
+        }
+        int farOffset = GameDistrict.MAX_BOARD_EDGE_LENGTH - 1;
+        assertEquals(Dragon.angleDirection(farOffset, -farOffset + 1), Dragon.chaseDirection(farOffset, -farOffset + 1));
+        assertEquals(Direction.NORTH, Dragon.chaseDirection(0, farOffset));
+        assertEquals(Direction.SOUTHWEST, Dragon.chaseDirection(-farOffset, -farOffset));
+    }
+
+    @Test
+    public void testAttackOpponentDragonMovesAroundMinesItAvoids() {
+        mage.setGameDistrict(gameDistrictB);
+        dragonB.setOpponent(mage);
+        dragonB.nextAttackSequencePos();
+        BoardState boardState = gameDistrictB.getBoardState();
+        boardState.clearMines();
+        for (int y = 1; y < GameDistrict.BOARD_EDGE_LENGTH; y++) {
+            boardState.setMine(boardState.cellIndex(3, y));
+        }
+        gameDistrictB.getDistanceField().setAvoidMines(true);
+        dragonB.setLocation(new Point(2, 4));
+        mage.setLocation(new Point(5, 4));
+        for (int i = 0; i < 4; i++) {
+            dragonB.chaseOpponent();
+            assertFalse(boardState.isMine(dragonB.currentTile.getCell()));
+        }
+        assertEquals(new Point(3, 0), dragonB.currentTile);
+        dragonB.chaseOpponent();
+        assertEquals(new Point(4, 1), dragonB.currentTile);
+        assertEquals(1, gameDistrictB.getDistanceField().getNumRecomputations());
+    }
 }
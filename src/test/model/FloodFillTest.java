@@ -0,0 +1,105 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static model.GameDistrict.BOARD_EDGE_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.FloodFill
+public class FloodFillTest {
+    static final int NUM_BENCHMARK_REVEALS = 100000;
+
+    BoardState boardState;
+    FloodFill floodFill;
+
+    @BeforeEach
+    public void setup() {
+        boardState = new BoardState(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH);
+        floodFill = new FloodFill(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH);
+    }
+
+    @Test
+    public void testFillEmptyBoardRevealsEverything() {
+        assertEquals(BOARD_EDGE_LENGTH * BOARD_EDGE_LENGTH, floodFill.fill(boardState, 0));
+        assertEquals(-1L, boardState.getRevealed());
+        assertEquals(0, floodFill.fill(boardState, 0));
+        assertEquals(0, floodFill.getNumRevealed());
+    }
+
+    @Test
+    public void testFillMineRevealsOnlyItself() {
+        int mine = boardState.cellIndex(3, 3);
+        boardState.setMine(mine);
+        boardState.recountNearbyMines();
+        assertEquals(1, floodFill.fill(boardState, mine));
+        assertEquals(mine, floodFill.getRevealedCell(0));
+    }
+
+    @Test
+    public void testFillFlaggedTileRevealsNothing() {
+        boardState.setFlagged(0, true);
+        assertEquals(0, floodFill.fill(boardState, 0));
+        assertFalse(boardState.isRevealed(0));
+    }
+
+    @Test
+    public void testFillMatchesBitboardDilation() {
+        Random random = new Random(0);
+        for (int board = 0; board < 200; board++) {
+            BoardState dilated = new BoardState(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH);
+            boardState = new BoardState(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH);
+            for (int i = 0; i < random.nextInt(12); i++) {
+                int mine = random.nextInt(BOARD_EDGE_LENGTH * BOARD_EDGE_LENGTH);
+                dilated.setMine(mine);
+                boardState.setMine(mine);
+            }
+            dilated.recountNearbyMines();
+            boardState.recountNearbyMines();
+            int start = random.nextInt(BOARD_EDGE_LENGTH * BOARD_EDGE_LENGTH);
+            long expected = dilated.floodReveal(start);
+            int numRevealed = floodFill.fill(boardState, start);
+            long revealedByFill = 0;
+            for (int i = 0; i < numRevealed; i++) {
+                revealedByFill |= 1L << floodFill.getRevealedCell(i);
+            }
+            assertEquals(Long.bitCount(expected), numRevealed);
+            assertEquals(expected, revealedByFill);
+            assertEquals(expected, boardState.getRevealed());
+        }
+    }
+
+    @Test
+    public void testFillLargeBoardWithoutRecursion() {
+        int edgeLength = GameDistrict.MAX_BOARD_EDGE_LENGTH / 4;
+        boardState = new BoardState(edgeLength, edgeLength);
+        floodFill = new FloodFill(edgeLength, edgeLength);
+        for (int y = 0; y < edgeLength; y++) {
+            boardState.setMine(boardState.cellIndex(edgeLength / 2, y));
+        }
+        boardState.recountNearbyMines();
+        int numRevealed = floodFill.fill(boardState, 0);
+        assertEquals(edgeLength * edgeLength / 2, numRevealed);
+        assertTrue(boardState.isRevealed(boardState.cellIndex(edgeLength / 2 - 1, edgeLength - 1)));
+        assertFalse(boardState.isRevealed(boardState.cellIndex(edgeLength / 2 + 1, 0)));
+    }
+
+    // Benchmark: measures the bytes this thread allocates over many full-board reveals; the fill must not allocate.
+    @Test
+    public void testFillBenchmarkZeroAllocationPerReveal() {
+        boardState.setMine(boardState.cellIndex(6, 6));
+        boardState.recountNearbyMines();
+        assertEquals(0, AllocationMeter.bytesPerOperation(() -> revealRepeatedly(NUM_BENCHMARK_REVEALS),
+                NUM_BENCHMARK_REVEALS));
+    }
+
+    // EFFECTS: hides the board and reveals it again from the lower left hand corner the given number of times
+    private void revealRepeatedly(int times) {
+        for (int i = 0; i < times; i++) {
+            boardState.clearPlayState();
+            floodFill.fill(boardState, 0);
+        }
+    }
+}
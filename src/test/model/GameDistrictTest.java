@@ -2,16 +2,22 @@ package model;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import exceptions.InvalidInputException;
 import ui.GameWorld;
 import ui.InGameEventsTrackerConsole;
 
 import java.awt.*;
+import java.util.Arrays;
 
 import static model.GameDistrict.BOARD_EDGE_LENGTH;
 import static org.junit.jupiter.api.Assertions.*;
 
 // This class tests the accessible methods in model.GameDistrict
 public class GameDistrictTest {
+    static final int NUM_BENCHMARK_RESTARTS = 100000;
+    static final int NUM_BENCHMARK_FORKS = 100000;
+    static final int NUM_BENCHMARK_LOOKUPS = 100000;
+
     GameDistrict gameDistrict;
     GameWorld gameWorld;
 
@@ -98,29 +104,482 @@ public class GameDistrictTest {
         assertEquals(gameDistrict.getDifficultyLevel().numMines, gameDistrict.getMineCoords().length);
     }
 
-    // Note: this test operates on the basis that the chances of getting 64 unique points consecutively is very low;
-    //    it is on this basis that this test tests for randomness and repetition.
     @Test
-    public void testGenerateUniquePoint() {
+    public void testStartLocationsAreNotMines() {
+        for (int i = 0; i < 100; i++) {
+            gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.HARD, gameWorld);
+            Point mageStart = gameDistrict.getMageInitialLocation();
+            Point dragonStart = gameDistrict.getDragonInitialLocation();
+            assertNotEquals(mageStart, dragonStart);
+            Point[] mineCoords = gameDistrict.getMineCoords();
+            assertEquals(Difficulty.HARD.numMines, mineCoords.length);
+            for (int j = 0; j < mineCoords.length; j++) {
+                assertNotEquals(mageStart, mineCoords[j]);
+                assertNotEquals(dragonStart, mineCoords[j]);
+                for (int k = 0; k < j; k++) {
+                    assertNotEquals(mineCoords[k], mineCoords[j]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSameSeedSameLayout() {
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.HARD, 32, 16, 42L, gameWorld);
+        GameDistrict sameSeed = new GameDistrict(DragonType.BLAZE, Difficulty.HARD, 32, 16, 42L, gameWorld);
+        GameDistrict otherSeed = new GameDistrict(DragonType.BLAZE, Difficulty.HARD, 32, 16, 43L, gameWorld);
+        assertEquals(42L, gameDistrict.getSeed());
+        assertArrayEquals(gameDistrict.getMineCells(), sameSeed.getMineCells());
+        assertEquals(gameDistrict.getMageInitialLocation(), sameSeed.getMageInitialLocation());
+        assertEquals(gameDistrict.getDragonInitialLocation(), sameSeed.getDragonInitialLocation());
+        assertFalse(Arrays.equals(gameDistrict.getMineCells(), otherSeed.getMineCells()));
+
+        int[] mineCells = gameDistrict.getMineCells().clone();
+        gameDistrict.setMineCoordsAndLifeFormLocations();
+        assertArrayEquals(mineCells, gameDistrict.getMineCells());
+    }
+
+    @Test
+    public void testSavedSeededDistrict() {
+        try {
+            gameDistrict = new GameDistrict("District DN-3", 16, 16, 7L, 1250, gameWorld);
+            GameDistrict generated = new GameDistrict(DragonType.DOWNBURST, Difficulty.NORMAL, 16, 16, 7L, gameWorld);
+            assertTrue(gameDistrict.isSeeded());
+            assertEquals(1250, gameDistrict.getBestClearTimeInMS());
+            assertArrayEquals(generated.getMineCells(), gameDistrict.getMineCells());
+        } catch (InvalidInputException e) {
+            fail();
+        }
+        try {
+            new GameDistrict("District DN-3", 16, 4, 7L, 1250, gameWorld);
+            fail();
+        } catch (InvalidInputException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testIsSolvableWithoutGuessing() {
         gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.PRACTICE, gameWorld);
-        int boardSize = BOARD_EDGE_LENGTH * BOARD_EDGE_LENGTH;
+        assertTrue(gameDistrict.isSolvableWithoutGuessing());
+        int numSolvable = 0;
+        for (long seed = 0; seed < 200; seed++) {
+            gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.HARD, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH,
+                    seed, gameWorld);
+            gameDistrict.setSafeStart(true);
+            boolean solvable = gameDistrict.isSolvableWithoutGuessing();
+            BoardState boardState = gameDistrict.getBoardState();
+            assertEquals(0, boardState.getRevealed() & boardState.getMines());
+            assertEquals(solvable, Long.bitCount(boardState.getRevealed()) == 64 - Difficulty.HARD.numMines);
+            numSolvable += solvable ? 1 : 0;
+            gameDistrict.setupGame(null);
+            assertEquals(Difficulty.HARD.numMines, Long.bitCount(boardState.getMines()));
+            assertEquals(EndGameOutcome.STILL_PLAYING_GAME, gameDistrict.getGameOutcome());
+        }
+        assertTrue(numSolvable > 0 && numSolvable < 200);
+    }
+
+    @Test
+    public void testThreatenedTilesMatchDragonRanges() {
+        for (GameDistrict district : new GameDistrict[]{
+                new GameDistrict(DragonType.DOWNBURST, Difficulty.EASY, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, 3, 5L,
+                        gameWorld),
+                new GameDistrict(DragonType.DOWNBURST, Difficulty.EASY, 40, 30, 4, 5L, gameWorld)}) {
+            district.setupGame(null);
+            Dragon[] dragons = district.getDragons();
+            for (int step = 0; step < 8; step++) {
+                dragons[step % dragons.length].nextAttackSequencePos();
+                dragons[1].takeDamage(step == 5 ? Dragon.DRAGON_INITIAL_HP : 0);
+                long[] threatenedTiles = district.findThreatenedTiles();
+                for (int cell = 0; cell < district.getBoardState().getNumCells(); cell++) {
+                    GameTile tile = district.getGameTileAtPos(cell % district.getWidth(), cell / district.getWidth());
+                    boolean threatened = false;
+                    for (Dragon dragon : dragons) {
+                        threatened |= !dragon.isDefeated() && dragon.threatens(tile);
+                    }
+                    assertEquals(threatened, GameDistrict.isThreatened(threatenedTiles, cell));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSafeStartClearsMinesAroundMage() {
+        for (long seed = 0; seed < 200; seed++) {
+            gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.HARD, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH,
+                    seed, gameWorld);
+            gameDistrict.setSafeStart(true);
+            gameDistrict.setupGame(new InGameEventsTrackerConsole(gameDistrict, gameWorld.getMage(),
+                    gameDistrict.getDragon()));
+            BoardState boardState = gameDistrict.getBoardState();
+            Point mageStart = gameDistrict.getMageInitialLocation();
+            Point dragonStart = gameDistrict.getDragonInitialLocation();
+            assertEquals(0, boardState.countNearbyMines(boardState.cellIndex(mageStart.x, mageStart.y)));
+            assertFalse(boardState.isMine(boardState.cellIndex(mageStart.x, mageStart.y)));
+            assertFalse(boardState.isMine(boardState.cellIndex(dragonStart.x, dragonStart.y)));
+            assertEquals(Difficulty.HARD.numMines, Long.bitCount(boardState.getMines()));
+            assertEquals(EndGameOutcome.STILL_PLAYING_GAME, gameDistrict.getGameOutcome());
+            BoardState recounted = new BoardState(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH);
+            for (int cell = 0; cell < boardState.getNumCells(); cell++) {
+                if (boardState.isMine(cell)) {
+                    recounted.setMine(cell);
+                }
+            }
+            recounted.recountNearbyMines();
+            for (int cell = 0; cell < boardState.getNumCells(); cell++) {
+                assertEquals(recounted.countNearbyMines(cell), boardState.countNearbyMines(cell));
+            }
+        }
+    }
+
+    @Test
+    public void testMoveMineKeepsLayout() {
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.EASY, gameWorld);
+        gameDistrict.initializeGameBoard();
+        BoardState boardState = gameDistrict.getBoardState();
+        int mine = gameDistrict.getMineCells()[0];
+        int emptyCell = 0;
+        while (boardState.isMine(emptyCell)) {
+            emptyCell++;
+        }
+        gameDistrict.moveMine(mine, emptyCell);
+        assertTrue(boardState.isMine(emptyCell));
+        assertFalse(boardState.isMine(mine));
+        assertEquals(mine, gameDistrict.getMineCells()[0]);
+        gameDistrict.initializeGameBoard();
+        assertTrue(boardState.isMine(mine));
+    }
+
+    @Test
+    public void testRestartRestoresPristineBoard() {
+        gameDistrict = new GameDistrict(DragonType.TSUNAMI, Difficulty.HARD, gameWorld);
+        InGameEventsTrackerConsole tracker = new InGameEventsTrackerConsole(gameDistrict, gameWorld.getMage(),
+                gameDistrict.getDragon());
+        gameDistrict.setupGame(tracker);
+        BoardState boardState = gameDistrict.getBoardState();
+        long mines = boardState.getMines();
+        long revealedAtStart = boardState.getRevealed();
+        for (int cell = 0; cell < boardState.getNumCells(); cell++) {
+            boardState.setRevealed(cell, true);
+        }
+        boardState.setFlagged(0, true);
+        boardState.moveMine(gameDistrict.getMineCells()[0], boardState.cellIndex(
+                gameDistrict.getMageInitialLocation().x, gameDistrict.getMageInitialLocation().y));
+        gameWorld.getMage().move(Direction.NORTH);
+
+        gameDistrict.setupGame(tracker);
+        assertTrue(boardState.hasPristine());
+        assertEquals(mines, boardState.getMines());
+        assertEquals(revealedAtStart, boardState.getRevealed());
+        assertEquals(0, boardState.getFlagged());
+        assertEquals(gameDistrict.getMageInitialLocation(), gameWorld.getMage().getCurrentTile());
+
+        gameDistrict.setMineCoordsAndLifeFormLocations();
+        assertFalse(boardState.hasPristine());
+    }
+
+    // Benchmark: measures the bytes this thread allocates over many restarts of the same district, with a move played
+    //    in each game; neither restarting nor the move may allocate.
+    @Test
+    public void testRestartBenchmarkZeroAllocationPerRestart() {
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.HARD, gameWorld);
+        gameDistrict.setSafeStart(true);
+        InGameEventsTrackerConsole tracker = new InGameEventsTrackerConsole(gameDistrict, gameWorld.getMage(),
+                gameDistrict.getDragon());
+        assertEquals(0, AllocationMeter.bytesPerOperation(() -> restartRepeatedly(tracker, NUM_BENCHMARK_RESTARTS),
+                NUM_BENCHMARK_RESTARTS));
+    }
+
+    // EFFECTS: sets up a game in this test's district the given number of times, playing a move in each one: the
+    //    mage flags a tile and steps into its safe start area
+    private void restartRepeatedly(InGameEventsTrackerConsole tracker, int times) {
+        Direction[] directions = Direction.values();
+        for (int i = 0; i < times; i++) {
+            gameDistrict.setupGame(tracker);
+            gameDistrict.getBoardState().setFlagged(i % BOARD_EDGE_LENGTH, true);
+            gameWorld.getMage().move(directions[i % directions.length]);
+        }
+    }
+
+    @Test
+    public void testGetGameTileAtPosReusesGivenView() {
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.EASY, 16, 12, gameWorld);
+        GameTile view = gameDistrict.getGameTileAtPos(3, 2, null);
+        assertEquals(gameDistrict.getBoardState().cellIndex(3, 2), view.getCell());
+        assertSame(view, gameDistrict.getGameTileAtPos(15, 11, view));
+        assertEquals(new Point(15, 11), view);
+        assertEquals(gameDistrict.getBoardState().cellIndex(15, 11), view.getCell());
+        assertNull(gameDistrict.getGameTileAtPos(16, 0, view));
+        assertEquals(new Point(15, 11), view);
+        assertEquals(0, AllocationMeter.bytesPerOperation(() -> {
+            for (int i = 0; i < NUM_BENCHMARK_LOOKUPS; i++) {
+                gameDistrict.getGameTileAtPos(i % 16, i % 12, view);
+            }
+        }, NUM_BENCHMARK_LOOKUPS));
+    }
+
+    @Test
+    public void testGetMineCells() {
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.EASY, 16, 12, gameWorld);
+        int[] mineCells = gameDistrict.getMineCells();
+        Point[] mineCoords = gameDistrict.getMineCoords();
+        assertEquals(mineCells.length, mineCoords.length);
+        for (int i = 0; i < mineCells.length; i++) {
+            assertEquals(mineCells[i], mineCoords[i].y * 16 + mineCoords[i].x);
+        }
+    }
+
+    @Test
+    public void testCustomBoardSize() {
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.EASY, 16, 12, gameWorld);
+        assertEquals(16, gameDistrict.getWidth());
+        assertEquals(12, gameDistrict.getHeight());
+        assertEquals(12, gameDistrict.getNumMines());
+        InGameEventsTrackerConsole tracker = new InGameEventsTrackerConsole(gameDistrict, gameWorld.getMage(),
+                gameDistrict.getDragon());
+        gameDistrict.setupGame(tracker);
+        assertEquals(12, gameDistrict.getMineCoords().length);
+        assertEquals(12, gameWorld.getMage().getNumFlags());
+        assertNotNull(gameDistrict.getGameTileAtPos(15, 11));
+        assertNull(gameDistrict.getGameTileAtPos(16, 11));
+        assertNull(gameDistrict.getGameTileAtPos(15, 12));
+        assertTrue(gameWorld.getMage().getCurrentTile().getUserKnowsIdentity());
+    }
+
+    @Test
+    public void testIsValidBoardSize() {
+        assertTrue(GameDistrict.isValidBoardSize(BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH));
+        assertTrue(GameDistrict.isValidBoardSize(GameDistrict.MIN_BOARD_EDGE_LENGTH,
+                GameDistrict.MAX_BOARD_EDGE_LENGTH));
+        assertFalse(GameDistrict.isValidBoardSize(GameDistrict.MIN_BOARD_EDGE_LENGTH - 1, BOARD_EDGE_LENGTH));
+        assertFalse(GameDistrict.isValidBoardSize(BOARD_EDGE_LENGTH, GameDistrict.MAX_BOARD_EDGE_LENGTH + 1));
+    }
 
-        Point[] pointList = new Point[boardSize];
-        for (int i = 0; i < boardSize; i++) {
-            pointList[i] = gameDistrict.generateUniquePoint(pointList);
+    @Test
+    public void testSavedDistrictOffBoard() {
+        Point[] mineCoords = {new Point(1, 1), new Point(BOARD_EDGE_LENGTH, 2)};
+        try {
+            new GameDistrict("District BE-0", mineCoords, new Point(0, 0), new Point(3, 3), 0, gameWorld);
+            fail();
+        } catch (InvalidInputException e) {
+            // expected
         }
-        for (Point point : pointList) {
-            assertNotNull(point);
+        try {
+            gameDistrict = new GameDistrict("District BE-0", 12, 9, mineCoords, new Point(0, 0),
+                    new Point(11, 8), 0, gameWorld);
+            assertEquals(12, gameDistrict.getWidth());
+        } catch (InvalidInputException e) {
+            fail();
         }
+    }
+    @Test
+    public void testMultipleDragonsStartApart() {
+        gameDistrict = new GameDistrict(DragonType.TSUNAMI, Difficulty.HARD, 16, 16, 10, 42L, gameWorld);
+        InGameEventsTrackerConsole tracker = new InGameEventsTrackerConsole(gameDistrict, gameWorld.getMage(),
+                gameDistrict.getDragon());
+        gameDistrict.setupGame(tracker);
+        BoardState boardState = gameDistrict.getBoardState();
+        Mage mage = gameWorld.getMage();
+        assertEquals(10, gameDistrict.getNumDragons());
+        assertEquals(10, gameDistrict.getNumDragonsLeft());
+        assertEquals(GameDistrict.MAGE_ID, boardState.getOccupant(mage.getCurrentTile().getCell()));
+        for (int i = 0; i < gameDistrict.getNumDragons(); i++) {
+            Dragon dragon = gameDistrict.getDragons()[i];
+            assertEquals(gameDistrict.getDragonInitialLocations()[i], dragon.getCurrentTile());
+            assertEquals(i + 1, boardState.getOccupant(dragon.getCurrentTile().getCell()));
+            assertFalse(dragon.getCurrentTile().getIsMine());
+            assertEquals(DragonType.TSUNAMI, dragon.getDragonType());
+            assertEquals(mage, dragon.getOpponent());
+        }
+        assertEquals(10 * Dragon.DRAGON_INITIAL_HP, gameDistrict.getDragonsMaxHP());
+    }
+
+    @Test
+    public void testOneDragonLayoutMatchesMultipleDragonLayout() {
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.NORMAL, 24, 24, 7L, gameWorld);
+        GameDistrict manyDragons = new GameDistrict(DragonType.BLAZE, Difficulty.NORMAL, 24, 24, 5, 7L, gameWorld);
+        assertArrayEquals(gameDistrict.getMineCells(), manyDragons.getMineCells());
+        assertEquals(gameDistrict.getMageInitialLocation(), manyDragons.getMageInitialLocation());
+        assertEquals(gameDistrict.getDragonInitialLocation(), manyDragons.getDragonInitialLocation());
+        assertEquals(1, gameDistrict.getNumDragons());
+    }
 
-        Point blackoutPoint = new Point(0, 0);
-        Point[] pointList2 = new Point[boardSize - 1];
-        for (int i = 0; i < boardSize - 1; i++) {
-            pointList2[i] = gameDistrict.generateUniquePoint(pointList2, blackoutPoint);
+    @Test
+    public void testDefeatingEveryDragonWins() {
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.PRACTICE, 12, 12, 3, 11L, gameWorld);
+        InGameEventsTrackerConsole tracker = new InGameEventsTrackerConsole(gameDistrict, gameWorld.getMage(),
+                gameDistrict.getDragon());
+        gameDistrict.setupGame(tracker);
+        tracker.startTimer();
+        Dragon[] dragons = gameDistrict.getDragons();
+        dragons[0].takeDamage(Dragon.DRAGON_INITIAL_HP);
+        dragons[0].takeDamage(Dragon.DRAGON_INITIAL_HP);
+        dragons[2].takeDamage(Dragon.DRAGON_INITIAL_HP);
+        assertEquals(1, gameDistrict.getNumDragonsLeft());
+        assertTrue(dragons[0].isDefeated());
+        assertFalse(dragons[0].getCurrentTile().getOccupiedByLifeForm());
+        assertFalse(GameDistrict.isThreatened(gameDistrict.findThreatenedTiles(),
+                dragons[0].getCurrentTile().getCell()));
+        assertEquals(EndGameOutcome.STILL_PLAYING_GAME, gameDistrict.getGameOutcome());
+        dragons[1].takeDamage(Dragon.DRAGON_INITIAL_HP);
+        assertEquals(EndGameOutcome.NO_DRAGON_HP_WIN, gameDistrict.getGameOutcome());
+
+        gameDistrict.resetDistrictAndLifeForms();
+        assertEquals(3, gameDistrict.getNumDragonsLeft());
+        assertFalse(dragons[0].isDefeated());
+        assertTrue(dragons[0].getCurrentTile().getOccupiedByLifeForm());
+    }
+
+    @Test
+    public void testDozensOfDragonsOnLargeBoard() {
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.EASY, 512, 512, 48, 5L, gameWorld);
+        InGameEventsTrackerConsole tracker = new InGameEventsTrackerConsole(gameDistrict, gameWorld.getMage(),
+                gameDistrict.getDragon());
+        gameDistrict.setupGame(tracker);
+        tracker.startTimer();
+        BoardState boardState = gameDistrict.getBoardState();
+        for (int round = 0; round < 200 && gameDistrict.isInGame(); round++) {
+            gameDistrict.fireDragonAttacks();
+            for (Dragon dragon : gameDistrict.getDragons()) {
+                assertEquals(dragon.getLifeFormId(), boardState.getOccupant(dragon.getCurrentTile().getCell()));
+            }
         }
-        for (Point point : pointList2) {
-            assertNotEquals(point, blackoutPoint);
-            assertNotNull(point);
+        assertEquals(1, gameDistrict.getDistanceField().getNumRecomputations());
+    }
+
+    @Test
+    public void testEstimateBytesGrowsWithBoardAndHelpers() {
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.EASY, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, 0L,
+                gameWorld);
+        long bytes = gameDistrict.estimateBytes();
+        assertTrue(bytes > BOARD_EDGE_LENGTH * BOARD_EDGE_LENGTH);
+        assertTrue(new GameDistrict(DragonType.BLAZE, Difficulty.HARD, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, 0L,
+                gameWorld).estimateBytes() > bytes);
+        assertTrue(new GameDistrict(DragonType.BLAZE, Difficulty.EASY, 64, 64, 0L, gameWorld).estimateBytes()
+                > 4 * bytes);
+        gameDistrict.isSolvableWithoutGuessing();
+        assertTrue(gameDistrict.estimateBytes() > bytes);
+    }
+
+    @Test
+    public void testSafeStartWithoutRoomLeavesMines() {
+        assertTrue(GameDistrict.isValidNumDragons(50, Difficulty.HARD, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH));
+        assertFalse(GameDistrict.isValidNumDragons(50, Difficulty.HARD, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, true));
+        assertTrue(GameDistrict.isValidNumDragons(45, Difficulty.HARD, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, true));
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.HARD, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, 50,
+                22L, gameWorld);
+        gameDistrict.setSafeStart(true);
+        gameDistrict.setupGame(null);
+        assertEquals(gameDistrict.getNumMines(), Long.bitCount(gameDistrict.getBoardState().getMines()));
+        assertTrue(gameDistrict.isInGame());
+    }
+
+    @Test
+    public void testIsValidNumDragons() {
+        assertTrue(GameDistrict.isValidNumDragons(1, Difficulty.HARD, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH));
+        assertTrue(GameDistrict.isValidNumDragons(53, Difficulty.HARD, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH));
+        assertFalse(GameDistrict.isValidNumDragons(54, Difficulty.HARD, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH));
+        assertFalse(GameDistrict.isValidNumDragons(0, Difficulty.EASY, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH));
+        assertFalse(GameDistrict.isValidNumDragons(GameDistrict.MAX_DRAGONS + 1, Difficulty.EASY, 64, 64));
+        try {
+            new GameDistrict("District BH-0", BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, 54, 0L, -1, gameWorld);
+            fail();
+        } catch (InvalidInputException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testForkStartsInSameStateAndPlaysApart() {
+        InGameEventsTrackerConsole tracker = setupTrackedGame(
+                new GameDistrict(DragonType.BLAZE, Difficulty.EASY, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, 2, 4L,
+                        gameWorld));
+        tracker.setTimeLeftInGame(30000);
+        GameState before = gameDistrict.snapshot();
+        GameDistrict fork = gameDistrict.fork();
+        assertEquals(before, fork.snapshot());
+        assertNull(fork.getTracker());
+        assertNotSame(gameWorld.getMage(), fork.getMage());
+        assertEquals(fork.getDragon(), fork.getMage().getOpponent());
+        assertEquals(fork.getMage(), fork.getDragons()[1].getOpponent());
+
+        for (Direction d : Direction.values()) {
+            fork.getMage().move(d);
+            fork.getMage().flagTile(d);
+        }
+        fork.getMage().attackOpponent();
+        fork.fireDragonAttacks();
+        fork.setTimeLeftInGame(1000);
+        assertNotEquals(before, fork.snapshot());
+        assertEquals(before, gameDistrict.snapshot());
+        assertEquals(30000, tracker.getTimeLeftInGame());
+        assertTrue(gameWorld.getMage().getCurrentTile().isInDistrict(gameDistrict));
+    }
+
+    @Test
+    public void testForkEndsItsOwnGameWithoutTracker() {
+        setupTrackedGame(new GameDistrict(DragonType.TSUNAMI, Difficulty.NORMAL, 64, 48, 3, 2L, gameWorld));
+        GameDistrict lost = gameDistrict.fork();
+        lost.getMage().takeDamage(Mage.MAGE_MAX_HP);
+        assertFalse(lost.isInGame());
+        assertEquals(EndGameOutcome.NO_MAGE_HP_LOSE, lost.getGameOutcome());
+        assertNull(lost.getMage().getOpponent());
+
+        GameDistrict won = gameDistrict.fork();
+        for (Dragon dragon : won.getDragons()) {
+            dragon.takeDamage(Dragon.DRAGON_INITIAL_HP);
         }
+        assertEquals(EndGameOutcome.NO_DRAGON_HP_WIN, won.getGameOutcome());
+        assertTrue(gameDistrict.isInGame());
+        assertEquals(EndGameOutcome.STILL_PLAYING_GAME, gameDistrict.getGameOutcome());
+        assertEquals(3, gameDistrict.getNumDragonsLeft());
+        assertEquals(gameDistrict.getDragonsMaxHP(), gameDistrict.getDragonsHP());
+
+        won.resetDistrictAndLifeForms();
+        assertEquals(3, won.getNumDragonsLeft());
+        assertEquals(gameDistrict.getBoardState().getMines(), won.getBoardState().getMines());
+    }
+
+    // Benchmark: measures the bytes this thread allocates over many forks of a standard district, and checks that
+    //    bringing a fork back to the district's game with writeState and readState does not allocate.
+    @Test
+    public void testForkBenchmark() {
+        setupTrackedGame(new GameDistrict(DragonType.BLAZE, Difficulty.HARD, gameWorld));
+        assertTrue(AllocationMeter.bytesPerOperation(() -> forkRepeatedly(NUM_BENCHMARK_FORKS), NUM_BENCHMARK_FORKS)
+                < 1024);
+
+        GameDistrict fork = forkRepeatedly(1);
+        long[] words = new long[gameDistrict.getStateSize()];
+        assertEquals(0, AllocationMeter.bytesAllocatedBy(() -> {
+            for (int i = 0; i < NUM_BENCHMARK_FORKS; i++) {
+                fork.getBoardState().setFlagged(i % BOARD_EDGE_LENGTH, true);
+                gameDistrict.writeState(words, 0);
+                fork.readState(words, 0);
+            }
+        }) / NUM_BENCHMARK_FORKS);
+        assertEquals(gameDistrict.snapshot(), fork.snapshot());
+    }
+
+    // EFFECTS: forks this test's district the given number of times, playing a move in each fork, and returns the
+    //    last fork
+    private GameDistrict forkRepeatedly(int times) {
+        GameDistrict fork = null;
+        for (int i = 0; i < times; i++) {
+            fork = gameDistrict.fork();
+            fork.getMage().move(Direction.values()[i % Direction.values().length]);
+        }
+        return fork;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes the given district this test's district and starts a game in it with a console tracker, which
+    //    is returned
+    private InGameEventsTrackerConsole setupTrackedGame(GameDistrict gd) {
+        gameDistrict = gd;
+        InGameEventsTrackerConsole tracker = new InGameEventsTrackerConsole(gameDistrict, gameWorld.getMage(),
+                gameDistrict.getDragon());
+        gameDistrict.setupGame(tracker);
+        tracker.startTimer();
+        return tracker;
     }
 }
@@ -0,0 +1,157 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ui.GameWorld;
+import ui.InGameEventsTracker;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.GameSession
+public class GameSessionTest {
+    GameWorld gameWorld;
+    GameDistrict gameDistrict;
+    Mage mage;
+    InputLog inputLog;
+    GameSession session;
+
+    @BeforeEach
+    public void setup() {
+        gameWorld = new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME);
+        mage = gameWorld.getMage();
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.PRACTICE, GameDistrict.BOARD_EDGE_LENGTH,
+                GameDistrict.BOARD_EDGE_LENGTH, 8L, gameWorld);
+        gameDistrict.setupGame(null);
+        inputLog = new InputLog();
+        session = new GameSession(gameDistrict, new RewindBuffer(gameDistrict, GameSession.REWIND_CAPACITY),
+                inputLog);
+    }
+
+    @Test
+    public void testTicksRunClockSkillPointsAndDragons() {
+        GameState start = gameDistrict.snapshot();
+        for (int i = 0; i < GameSession.TICKS_PER_SECOND - 1; i++) {
+            assertFalse(session.tick());
+        }
+        assertEquals(Mage.MAGE_INITIAL_SKILL_POINTS, mage.getSkillPoints());
+        assertEquals(start.getDragonAttackSequencePointer(0), gameDistrict.getDragon().attackSequencePointer);
+        session.tick();
+        assertEquals(InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS - 1000, gameDistrict.getTimeLeftInGame());
+        assertEquals(Mage.MAGE_INITIAL_SKILL_POINTS + 1, mage.getSkillPoints());
+        assertNotEquals(start, gameDistrict.snapshot());
+        assertEquals(GameSession.TICKS_PER_SECOND, session.getTick());
+        assertEquals(GameSession.TICKS_PER_SECOND + 1, session.getNumTicksRecorded());
+    }
+
+    @Test
+    public void testSkillLastsAndCoolsDownInTicks() {
+        mage.setSkillPoints(Mage.MAX_SKILL_POINTS);
+        assertEquals(InputOutcome.USED_SKILL, session.input(GameSession.SKILL_KEY));
+        assertEquals(InputOutcome.NOTHING, session.input(GameSession.SKILL_KEY));
+        for (int i = 0; i < GameSession.SKILL_LENGTH_TICKS; i++) {
+            session.tick();
+            assertTrue(mage.getSkillInUse());
+        }
+        session.tick();
+        assertFalse(mage.getSkillInUse());
+        assertEquals(InputOutcome.USED_SKILL, session.input(GameSession.SKILL_KEY));
+        assertEquals(InputOutcome.NOTHING, session.input('?'));
+        assertFalse(mage.getSkillInUse());
+    }
+
+    @Test
+    public void testAttackCooldownMovesAndFlags() {
+        InputOutcome firstAttack = session.input(GameSession.ATTACK_KEY);
+        assertTrue(firstAttack == InputOutcome.ATTACKED || firstAttack == InputOutcome.HIT_DRAGON);
+        assertEquals(InputOutcome.NOTHING, session.input(GameSession.ATTACK_KEY));
+        for (int i = 0; i < GameSession.ATTACK_COOLDOWN_TICKS; i++) {
+            session.tick();
+        }
+        assertNotEquals(InputOutcome.NOTHING, session.input(GameSession.ATTACK_KEY));
+        assertEquals(InputOutcome.FLAGGED, session.input('W'));
+        assertEquals(InputOutcome.MOVED, session.input('x'));
+        assertEquals(5, inputLog.size());
+        assertEquals(0, inputLog.getTick(1));
+        assertEquals(GameSession.ATTACK_COOLDOWN_TICKS, inputLog.getTick(2));
+        assertEquals('x', inputLog.getKey(4));
+    }
+
+    @Test
+    public void testRewindQuitAndTimeOut() {
+        GameState start = gameDistrict.snapshot();
+        session.tick();
+        assertEquals(InputOutcome.REWOUND, session.input(GameSession.REWIND_KEY));
+        assertEquals(start, gameDistrict.snapshot());
+        assertEquals(InputOutcome.NOTHING, session.input(GameSession.REWIND_KEY));
+
+        GameDistrict fork = gameDistrict.fork();
+        assertEquals(InputOutcome.QUIT, new GameSession(fork, null, null).input(GameSession.QUIT_KEY));
+        assertEquals(EndGameOutcome.STILL_PLAYING_GAME, fork.getGameOutcome());
+        assertFalse(fork.isInGame());
+
+        gameDistrict.setTimeLeftInGame(GameSession.TICK_LENGTH_MS);
+        session.tick();
+        assertFalse(gameDistrict.isInGame());
+        assertEquals(EndGameOutcome.NO_TIME_LOSE, gameDistrict.getGameOutcome());
+        assertEquals(InputOutcome.NOTHING, session.input('w'));
+    }
+
+    @Test
+    public void testRewindPutsTickAndCooldownsBack() {
+        session.tick();
+        assertNotEquals(InputOutcome.NOTHING, session.input(GameSession.ATTACK_KEY));
+        session.tick();
+        assertEquals(InputOutcome.USED_SKILL, session.input(GameSession.SKILL_KEY));
+        session.tick();
+        assertEquals(InputOutcome.REWOUND, session.input(GameSession.REWIND_KEY));
+        assertEquals(2, session.getTick());
+        assertFalse(mage.getSkillInUse());
+        assertEquals(InputOutcome.USED_SKILL, session.input(GameSession.SKILL_KEY));
+        assertEquals(InputOutcome.NOTHING, session.input(GameSession.ATTACK_KEY));
+        session.tick();
+        assertNotEquals(InputOutcome.NOTHING, session.input(GameSession.ATTACK_KEY));
+        int[] loggedTicks = {1, 2, 3, 2, 2, 3};
+        assertEquals(loggedTicks.length, inputLog.size());
+        for (int i = 0; i < loggedTicks.length; i++) {
+            assertEquals(loggedTicks[i], inputLog.getTick(i));
+        }
+        assertEquals(GameSession.REWIND_KEY, inputLog.getKey(2));
+    }
+
+    @Test
+    public void testScrubPutsCountersBackAndIsLoggedForReplays() {
+        GameState start = gameDistrict.snapshot();
+        session.tick();
+        assertNotEquals(InputOutcome.NOTHING, session.input(GameSession.ATTACK_KEY));
+        for (int i = 0; i < 3; i++) {
+            session.tick();
+        }
+        GameState afterThreeTicks = session.getRecordedState(1);
+        assertTrue(session.scrubTo(4));
+        assertEquals(start, gameDistrict.snapshot());
+        assertEquals(0, session.getTick());
+        assertTrue(session.scrubTo(2));
+        assertEquals(2, session.getTick());
+        assertEquals(InputOutcome.NOTHING, session.input(GameSession.ATTACK_KEY));
+        assertTrue(session.scrubTo(1));
+        assertEquals(afterThreeTicks, gameDistrict.snapshot());
+        assertEquals(3, session.getTick());
+        assertEquals(1, session.getTicksBack());
+        assertFalse(session.scrubTo(5));
+        assertFalse(session.scrubTo(-1));
+        assertEquals(InputOutcome.MOVED, session.input('x'));
+        session.tick();
+        assertEquals(5, session.getNumTicksRecorded());
+
+        assertLogged(new int[]{1, 4, 3, 2, 1, 0, 1, 2, 2, 3}, "frrrrRRfRx");
+    }
+
+    // EFFECTS: asserts that the session's log holds exactly the given keys, typed at the given ticks
+    private void assertLogged(int[] ticks, String keys) {
+        assertEquals(ticks.length, inputLog.size());
+        for (int i = 0; i < ticks.length; i++) {
+            assertEquals(ticks[i], inputLog.getTick(i));
+            assertEquals(keys.charAt(i), inputLog.getKey(i));
+        }
+    }
+}
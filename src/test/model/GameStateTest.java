@@ -0,0 +1,182 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ui.GameWorld;
+import ui.InGameEventsTrackerConsole;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.GameState and the snapshot methods of model.GameDistrict
+public class GameStateTest {
+    static final int NUM_BENCHMARK_SNAPSHOTS = 100000;
+
+    GameWorld gameWorld;
+    GameDistrict gameDistrict;
+    InGameEventsTrackerConsole tracker;
+    Mage mage;
+
+    @BeforeEach
+    public void setup() {
+        gameWorld = new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME);
+        mage = gameWorld.getMage();
+        setupDistrict(new GameDistrict(DragonType.BLAZE, Difficulty.EASY, GameDistrict.BOARD_EDGE_LENGTH,
+                GameDistrict.BOARD_EDGE_LENGTH, 3L, gameWorld));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets up and starts a game in the given district, which becomes this test's district; its clock is
+    //    virtual, so it only ticks when a test advances it
+    private void setupDistrict(GameDistrict gd) {
+        gameDistrict = gd;
+        tracker = new InGameEventsTrackerConsole(gameDistrict, mage, gameDistrict.getDragon(),
+                new VirtualGameClock());
+        gameDistrict.setupGame(tracker);
+        tracker.startTimer();
+    }
+
+    @Test
+    public void testSnapshotFields() {
+        mage.setNumFlags(3);
+        mage.setSkillPoints(7);
+        tracker.setTimeLeftInGame(42000);
+        gameDistrict.getDragon().nextAttackSequencePos();
+        GameState state = gameDistrict.snapshot();
+        assertEquals(42000, state.getTimeLeftInGame());
+        assertTrue(state.isInGame());
+        assertEquals(EndGameOutcome.STILL_PLAYING_GAME, state.getGameOutcome());
+        assertEquals(1, state.getNumDragonsLeft());
+        assertEquals(mage.getCurrentTile().getCell(), state.getMageCell());
+        assertEquals(Mage.MAGE_MAX_HP, state.getMageHP());
+        assertEquals(3, state.getMageNumFlags());
+        assertEquals(7, state.getMageSkillPoints());
+        assertFalse(state.getMageSkillInUse());
+        assertEquals(0, state.getMageHitCombo());
+        assertEquals(1, state.getNumDragons());
+        assertEquals(gameDistrict.getDragon().getCurrentTile().getCell(), state.getDragonCell(0));
+        assertEquals(Dragon.DRAGON_INITIAL_HP, state.getDragonHP(0));
+        assertEquals(1, state.getDragonAttackSequencePointer(0));
+        assertEquals(gameDistrict.getStateSize(), state.getNumWords());
+    }
+
+    @Test
+    public void testRestoreUndoesPlay() {
+        GameState before = gameDistrict.snapshot();
+        playSomeMoves();
+        assertNotEquals(before, gameDistrict.snapshot());
+        gameDistrict.restore(before);
+        assertEquals(before, gameDistrict.snapshot());
+        assertEquals(before.hashCode(), gameDistrict.snapshot().hashCode());
+        BoardState boardState = gameDistrict.getBoardState();
+        assertEquals(1L << mage.getCurrentTile().getCell() | 1L << gameDistrict.getDragon().getCurrentTile().getCell(),
+                boardState.getOccupied());
+        assertEquals(GameDistrict.MAGE_ID, boardState.getOccupant(before.getMageCell()));
+        assertEquals(before.getMageCell(), mage.getCurrentTile().getCell());
+        assertEquals(0, gameDistrict.getLastRevealedMask());
+    }
+
+    @Test
+    public void testRestoreRecountsMovedMines() {
+        gameDistrict.setSafeStart(true);
+        gameDistrict.setupGame(tracker);
+        GameState safeStarted = gameDistrict.snapshot();
+        gameDistrict.resetDistrictAndLifeForms();
+        gameDistrict.restore(safeStarted);
+        BoardState boardState = gameDistrict.getBoardState();
+        BoardState recounted = new BoardState(boardState.getWidth(), boardState.getHeight());
+        for (int cell = 0; cell < boardState.getNumCells(); cell++) {
+            if (boardState.isMine(cell)) {
+                recounted.setMine(cell);
+            }
+        }
+        recounted.recountNearbyMines();
+        for (int cell = 0; cell < boardState.getNumCells(); cell++) {
+            assertEquals(recounted.countNearbyMines(cell), boardState.countNearbyMines(cell));
+        }
+        assertEquals(safeStarted, gameDistrict.snapshot());
+    }
+
+    @Test
+    public void testRestoreDefeatedDragonsAndEndedGame() {
+        setupDistrict(new GameDistrict(DragonType.TSUNAMI, Difficulty.NORMAL, 64, 48, 2, 9L, gameWorld));
+        GameState beforeDefeats = gameDistrict.snapshot();
+        Dragon[] dragons = gameDistrict.getDragons();
+        dragons[0].takeDamage(Dragon.DRAGON_INITIAL_HP);
+        GameState oneDefeated = gameDistrict.snapshot();
+        dragons[1].takeDamage(Dragon.DRAGON_INITIAL_HP);
+        GameState won = gameDistrict.snapshot();
+        assertFalse(won.isInGame());
+        assertEquals(EndGameOutcome.NO_DRAGON_HP_WIN, won.getGameOutcome());
+
+        gameDistrict.restore(oneDefeated);
+        assertTrue(gameDistrict.isInGame());
+        assertEquals(1, gameDistrict.getNumDragonsLeft());
+        assertTrue(dragons[0].isDefeated());
+        assertFalse(dragons[0].getCurrentTile().getOccupiedByLifeForm());
+        assertEquals(dragons[0], mage.getOpponent());
+        gameDistrict.restore(beforeDefeats);
+        assertFalse(dragons[0].isDefeated());
+        assertTrue(dragons[0].getCurrentTile().getOccupiedByLifeForm());
+        assertEquals(beforeDefeats, gameDistrict.snapshot());
+        gameDistrict.restore(won);
+        assertEquals(won, gameDistrict.snapshot());
+        assertNull(mage.getOpponent());
+    }
+
+    // Benchmark: measures the bytes this thread allocates over many snapshots and restores of a standard district;
+    //    a snapshot must only allocate the state itself and a restore must not allocate.
+    @Test
+    public void testSnapshotBenchmark() {
+        playSomeMoves();
+        GameState state = gameDistrict.snapshot();
+        long expectedWordBytes = (long) Long.BYTES * state.getNumWords();
+        assertTrue(AllocationMeter.bytesPerOperation(() -> snapshotAndRestoreRepeatedly(NUM_BENCHMARK_SNAPSHOTS),
+                NUM_BENCHMARK_SNAPSHOTS) <= expectedWordBytes + 64);
+
+        long[] words = new long[gameDistrict.getStateSize()];
+        assertEquals(0, AllocationMeter.bytesAllocatedBy(() -> {
+            for (int i = 0; i < NUM_BENCHMARK_SNAPSHOTS; i++) {
+                gameDistrict.writeState(words, 0);
+                gameDistrict.readState(words, 0);
+            }
+        }) / NUM_BENCHMARK_SNAPSHOTS);
+        assertEquals(state, gameDistrict.snapshot());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: plays a few moves of the current game: the mage moves, flags and attacks, and the dragon takes turns
+    private void playSomeMoves() {
+        mage.setNumFlags(2);
+        for (Direction d : Direction.values()) {
+            mage.move(d);
+            mage.flagTile(d);
+        }
+        mage.attackOpponent();
+        gameDistrict.fireDragonAttacks();
+        gameDistrict.fireDragonAttacks();
+        tracker.setTimeLeftInGame(tracker.getTimeLeftInGame() - 2000);
+    }
+
+    // EFFECTS: takes a snapshot of this test's district and restores it the given number of times, and returns the
+    //    last snapshot taken
+    private GameState snapshotAndRestoreRepeatedly(int times) {
+        GameState state = null;
+        for (int i = 0; i < times; i++) {
+            state = gameDistrict.snapshot();
+            gameDistrict.restore(state);
+        }
+        return state;
+    }
+
+    @Test
+    public void testRestoreKeepsTileViews() {
+        GameTile mageTile = mage.getCurrentTile();
+        GameState state = gameDistrict.snapshot();
+        mage.setLocation(new Point(0, 0));
+        gameDistrict.restore(state);
+        assertSame(mageTile, mage.getCurrentTile());
+        assertEquals(state.getMageCell(), mageTile.getCell());
+    }
+}
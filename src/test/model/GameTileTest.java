@@ -6,7 +6,9 @@ import ui.GameWorld;
 import ui.InGameEventsTrackerConsole;
 
 import java.awt.*;
+import java.util.Random;
 
+import static model.GameDistrict.BOARD_EDGE_LENGTH;
 import static org.junit.jupiter.api.Assertions.*;
 
 // This class tests the methods in model.GameTile
@@ -50,9 +52,10 @@ public class GameTileTest {
     public void testRevealNearbyTilesYesNearbyMines() {
         gameDistrictWithMines.resetDistrictAndLifeForms();
         GameTile initTile = null;
-        while (initTile == null || initTile.getNumNearbyMines() == 0) {
-            Point initiationPoint = gameDistrictWithMines.generateUniquePoint(mineCoords);
-            initTile = gameDistrictWithMines.getGameTileAtPos(initiationPoint.x, initiationPoint.y);
+        Random random = new Random();
+        while (initTile == null || initTile.getIsMine() || initTile.getNumNearbyMines() == 0) {
+            initTile = gameDistrictWithMines.getGameTileAtPos(random.nextInt(BOARD_EDGE_LENGTH),
+                    random.nextInt(BOARD_EDGE_LENGTH));
         }
         assertEquals('?', initTile.getUIIdentity());
         assertFalse(initTile.getUserKnowsIdentity());
@@ -0,0 +1,47 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.InputLog
+public class InputLogTest {
+    InputLog inputLog;
+
+    @BeforeEach
+    public void setup() {
+        inputLog = new InputLog();
+    }
+
+    @Test
+    public void testAddAndGet() {
+        assertEquals(0, inputLog.size());
+        inputLog.add(0, 'w');
+        inputLog.add(0, GameSession.QUIT_KEY);
+        inputLog.add(336, '\uFFFF');
+        assertEquals(3, inputLog.size());
+        assertEquals(0, inputLog.getTick(1));
+        assertEquals(GameSession.QUIT_KEY, inputLog.getKey(1));
+        assertEquals(336, inputLog.getTick(2));
+        assertEquals('\uFFFF', inputLog.getKey(2));
+        inputLog.clear();
+        assertEquals(0, inputLog.size());
+    }
+
+    @Test
+    public void testGrowsAndCopiesEntries() {
+        for (int i = 0; i < 1000; i++) {
+            inputLog.add(i * 1000, (char) ('a' + i % 26));
+        }
+        InputLog copy = new InputLog();
+        for (int i = 0; i < inputLog.size(); i++) {
+            copy.addEntry(inputLog.getEntry(i));
+        }
+        assertEquals(1000, copy.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 1000, copy.getTick(i));
+            assertEquals((char) ('a' + i % 26), copy.getKey(i));
+        }
+    }
+}
@@ -7,10 +7,12 @@ import ui.InGameEventsTrackerConsole;
 
 import java.awt.*;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 // This class tests the methods in model.LifeForm
 public class LifeFormTest {
+    static final int NUM_BENCHMARK_MOVES = 100000;
+
     GameWorld gameWorld;
     GameDistrict gameDistrictD;
     LifeForm mage;
@@ -128,4 +130,52 @@ public class LifeFormTest {
         mage.move(Direction.SOUTH);
         assertEquals(gameDistrictD.getGameTileAtPos(0, 1), mage.currentTile);
     }
+
+    // Benchmark: measures the bytes this thread allocates while a life form walks back and forth; moving must not
+    //    allocate, and must keep the life form's tile and the board's occupancy in step.
+    @Test
+    public void testMoveBenchmarkZeroAllocationPerMove() {
+        mage.setLocation(new Point(0, 0));
+        dragonD.setLocation(new Point(4, 4));
+        GameTile dragonTile = dragonD.getCurrentTile();
+        assertEquals(0, AllocationMeter.bytesPerOperation(() -> walkBackAndForth(dragonD, NUM_BENCHMARK_MOVES),
+                NUM_BENCHMARK_MOVES));
+        assertSame(dragonTile, dragonD.getCurrentTile());
+        assertEquals(new Point(4, 4), dragonD.currentTile);
+        BoardState boardState = gameDistrictD.getBoardState();
+        assertTrue(boardState.isOccupied(boardState.cellIndex(4, 4)));
+        assertFalse(boardState.isOccupied(boardState.cellIndex(5, 4)));
+        assertEquals(dragonD.getLifeFormId(), boardState.getOccupant(boardState.cellIndex(4, 4)));
+    }
+
+    @Test
+    public void testThreatensSingleWordBoard() {
+        mage.setLocation(new Point(3, 3));
+        assertTrue(mage.threatens(gameDistrictD.getGameTileAtPos(4, 5)));
+        assertTrue(mage.threatens(gameDistrictD.getGameTileAtPos(1, 4)));
+        assertFalse(mage.threatens(gameDistrictD.getGameTileAtPos(5, 5)));
+        assertFalse(mage.threatens(gameDistrictD.getGameTileAtPos(3, 6)));
+        long footprint = mage.getAttackFootprint();
+        assertEquals(21, Long.bitCount(footprint));
+        assertTrue((footprint >>> gameDistrictD.getGameTileAtPos(4, 5).getCell() & 1L) != 0);
+    }
+
+    @Test
+    public void testThreatensLargeBoard() {
+        GameDistrict largeDistrict = new GameDistrict(DragonType.DOWNBURST, Difficulty.PRACTICE, 100, 100, gameWorld);
+        mage.setGameDistrict(largeDistrict);
+        mage.setLocation(new Point(50, 50));
+        assertTrue(mage.threatens(largeDistrict.getGameTileAtPos(52, 51)));
+        assertFalse(mage.threatens(largeDistrict.getGameTileAtPos(52, 52)));
+        assertFalse(mage.threatens(largeDistrict.getGameTileAtPos(0, 0)));
+    }
+
+    // REQUIRES: times is even
+    // EFFECTS: moves the given life form east and back west again until it has moved the given number of times
+    private void walkBackAndForth(LifeForm lifeForm, int times) {
+        for (int i = 0; i < times; i += 2) {
+            lifeForm.move(Direction.EAST);
+            lifeForm.move(Direction.WEST);
+        }
+    }
 }
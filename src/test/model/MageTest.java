@@ -78,6 +78,33 @@ public class MageTest {
         assertEquals(Mage.MAGE_MAX_HP, mage.getHP());
     }
 
+    @Test
+    public void testAttackOpponentHitsEveryDragonInRange() {
+        assertAttackHitsEveryDragonInRange(new GameDistrict(DragonType.BLAZE, CLASS_DEFAULT_DIFFICULTY,
+                GameDistrict.BOARD_EDGE_LENGTH, GameDistrict.BOARD_EDGE_LENGTH, 3, 1L, gameWorld));
+        assertAttackHitsEveryDragonInRange(new GameDistrict(DragonType.BLAZE, CLASS_DEFAULT_DIFFICULTY, 64, 64, 3,
+                1L, gameWorld));
+    }
+
+    // EFFECTS: checks that the mage's attack in the given 3-dragon district hits the two dragons in its range once
+    //    each, and misses the one out of its range
+    private void assertAttackHitsEveryDragonInRange(GameDistrict gd) {
+        InGameEventsTrackerConsole tracker = new InGameEventsTrackerConsole(gd, mage, gd.getDragon());
+        gd.setupGame(tracker);
+        tracker.startTimer();
+        mage.setLocation(new Point(3, 3));
+        Dragon[] dragons = gd.getDragons();
+        dragons[0].setLocation(new Point(4, 5));
+        dragons[1].setLocation(new Point(2, 2));
+        dragons[2].setLocation(new Point(6, 3));
+        int hitCombo = mage.getHitCombo();
+        assertTrue(mage.attackOpponent());
+        assertEquals(hitCombo + 1, mage.getHitCombo());
+        assertEquals(Dragon.DRAGON_INITIAL_HP - mage.attackFormula(), dragons[0].getHP());
+        assertEquals(Dragon.DRAGON_INITIAL_HP - mage.attackFormula(), dragons[1].getHP());
+        assertEquals(Dragon.DRAGON_INITIAL_HP, dragons[2].getHP());
+    }
+
     @Test
     public void testFlagTileNoInitialFlagsValidDirectionIDUnknownToUser() {
         gameDistrictB.resetDistrictAndLifeForms();
@@ -0,0 +1,56 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static model.GameDistrict.BOARD_EDGE_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.MinePlacer
+public class MinePlacerTest {
+
+    @Test
+    public void testPickEveryCellIsAPermutation() {
+        int numCells = BOARD_EDGE_LENGTH * BOARD_EDGE_LENGTH;
+        MinePlacer minePlacer = new MinePlacer(numCells, numCells, new SplittableRandom(0));
+        boolean[] picked = new boolean[numCells];
+        for (int i = 0; i < numCells; i++) {
+            int cell = minePlacer.next();
+            assertFalse(picked[cell]);
+            picked[cell] = true;
+        }
+        assertEquals(numCells, minePlacer.getNumPicked());
+    }
+
+    @Test
+    public void testPickFewCellsOfALargeBoard() {
+        int numCells = GameDistrict.MAX_BOARD_EDGE_LENGTH * GameDistrict.MAX_BOARD_EDGE_LENGTH;
+        int numPicks = 100000;
+        MinePlacer minePlacer = new MinePlacer(numCells, numPicks, new SplittableRandom(0));
+        BoardState boardState = new BoardState(GameDistrict.MAX_BOARD_EDGE_LENGTH, GameDistrict.MAX_BOARD_EDGE_LENGTH);
+        for (int i = 0; i < numPicks; i++) {
+            int cell = minePlacer.next();
+            assertTrue(cell >= 0 && cell < numCells);
+            assertFalse(boardState.isMine(cell));
+            boardState.setMine(cell);
+        }
+    }
+
+    @Test
+    public void testPickIsUniform() {
+        int numCells = 10;
+        int numTrials = 100000;
+        int[] timesPickedLast = new int[numCells];
+        SplittableRandom random = new SplittableRandom(0);
+        for (int trial = 0; trial < numTrials; trial++) {
+            MinePlacer minePlacer = new MinePlacer(numCells, 3, random);
+            minePlacer.next();
+            minePlacer.next();
+            timesPickedLast[minePlacer.next()]++;
+        }
+        for (int times : timesPickedLast) {
+            assertEquals(numTrials / numCells, times, numTrials / numCells / 10);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import ui.GameWorld;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.MineProbabilityEngine (and model.ProbabilityComponent, which it uses)
+public class MineProbabilityEngineTest {
+    static final double DELTA = 1e-9;
+    static final int NUM_BENCHMARK_COMPUTES = 2000;
+
+    @Test
+    public void testMatchesBruteForceOnSmallBoards() {
+        int numChecked = 0;
+        for (long seed = 0; seed < 60; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int width = 4 + random.nextInt(3);
+            int height = 4 + random.nextInt(2);
+            BoardState boardState = makeRandomBoard(width, height, 3 + random.nextInt(4), random);
+            revealSafeCells(boardState, 1 + random.nextInt(4), random);
+            numChecked += checkAgainstBruteForce(boardState) ? 1 : 0;
+        }
+        assertTrue(numChecked > 40);
+    }
+
+    @Test
+    public void testNothingRevealedIsUniform() {
+        BoardState boardState = new BoardState(8, 8);
+        MineProbabilityEngine engine = new MineProbabilityEngine(8, 8);
+        assertTrue(engine.compute(boardState, 10));
+        assertEquals(0, engine.getNumComponents());
+        assertEquals(64, engine.getNumInteriorCells());
+        assertEquals(10 / 64.0, engine.getProbability(boardState, 17), DELTA);
+        assertEquals(10 / 64.0, engine.getInteriorProbability(), DELTA);
+    }
+
+    @Test
+    public void testCertainTilesAndInconsistentBoards() {
+        BoardState boardState = new BoardState(3, 2);
+        boardState.setMine(0);
+        boardState.setMine(2);
+        boardState.recountNearbyMines();
+        for (int cell = 3; cell < 6; cell++) {
+            boardState.setRevealed(cell, true);
+        }
+        MineProbabilityEngine engine = new MineProbabilityEngine(3, 2);
+        assertTrue(engine.compute(boardState, 2));
+        assertEquals(1, engine.getProbability(boardState, 0));
+        assertEquals(0, engine.getProbability(boardState, 1));
+        assertEquals(0, engine.getProbability(boardState, 4));
+        assertEquals(0, engine.getNumFrontierCells());
+        assertTrue(Double.isNaN(engine.getInteriorProbability()));
+        assertFalse(engine.compute(boardState, 3));
+        assertTrue(Double.isNaN(engine.getProbability(boardState, 1)) || engine.getSolver().isSafe(1));
+        assertFalse(engine.isSolved());
+    }
+
+    @Test
+    public void testComponentsCombinedWithInterior() {
+        // a 1 next to two hidden tiles in the corner, and a 1 next to two others far away: two components of two
+        //    tiles, each with one mine, and the third mine somewhere in the interior
+        BoardState boardState = new BoardState(8, 8);
+        boardState.setMine(boardState.cellIndex(0, 1));
+        boardState.setMine(boardState.cellIndex(7, 6));
+        boardState.setMine(boardState.cellIndex(4, 4));
+        boardState.recountNearbyMines();
+        boardState.setRevealed(boardState.cellIndex(0, 0), true);
+        boardState.setRevealed(boardState.cellIndex(7, 7), true);
+        MineProbabilityEngine engine = new MineProbabilityEngine(8, 8);
+        assertTrue(engine.compute(boardState, 3));
+        assertEquals(2, engine.getNumComponents());
+        assertEquals(6, engine.getNumFrontierCells());
+        assertTrue(checkAgainstBruteForce(boardState));
+    }
+
+    @Test
+    public void testLargeBoardAndDistrictEngine() {
+        SplittableRandom random = new SplittableRandom(9L);
+        BoardState boardState = makeRandomBoard(64, 64, 640, random);
+        revealSafeCells(boardState, 40, random);
+        MineProbabilityEngine engine = new MineProbabilityEngine(64, 64);
+        assertTrue(engine.compute(boardState, countMines(boardState)));
+        assertTrue(engine.getNumFrontierCells() > 0);
+        double expectedMines = 0;
+        for (int cell = 0; cell < boardState.getNumCells(); cell++) {
+            double probability = engine.getProbability(boardState, cell);
+            assertTrue(probability >= -DELTA && probability <= 1 + DELTA);
+            expectedMines += probability;
+        }
+        assertEquals(countMines(boardState), expectedMines, 1e-6);
+
+        GameDistrict gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.HARD, 8, 8, 3L,
+                new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME));
+        assertSame(gameDistrict.getMineProbabilityEngine(), gameDistrict.getMineProbabilityEngine());
+        assertEquals(8, gameDistrict.getMineProbabilityEngine().getWidth());
+        assertEquals(8, gameDistrict.getMineProbabilityEngine().getHeight());
+    }
+
+    // Benchmark: computes the probabilities of HARD boards partway through a game many times; a compute must take
+    //    under a tenth of a clock tick, so that showing the heatmap never holds up the game
+    @Test
+    public void testHardBoardBenchmark() {
+        BoardState[] boards = new BoardState[20];
+        SplittableRandom random = new SplittableRandom(4L);
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = makeRandomBoard(8, 8, Difficulty.HARD.numMines, random);
+            revealSafeCells(boards[i], 3, random);
+        }
+        MineProbabilityEngine engine = new MineProbabilityEngine(8, 8);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < NUM_BENCHMARK_COMPUTES; i++) {
+            BoardState boardState = boards[i % boards.length];
+            assertTrue(engine.compute(boardState, countMines(boardState)));
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+        assertTrue(elapsedTime / NUM_BENCHMARK_COMPUTES < GameSession.TICK_LENGTH_MS * 1_000_000L / 10);
+    }
+
+    // EFFECTS: checks the engine's chances for every tile of the given board against counting every arrangement of
+    //    its mines on its hidden tiles that fits the revealed counts; returns false if the engine could not compute
+    private boolean checkAgainstBruteForce(BoardState boardState) {
+        int numMines = countMines(boardState);
+        MineProbabilityEngine engine = new MineProbabilityEngine(boardState.getWidth(), boardState.getHeight());
+        if (!engine.compute(boardState, numMines)) {
+            return false;
+        }
+        int[] hidden = new int[boardState.getNumCells()];
+        int numHidden = 0;
+        for (int cell = 0; cell < boardState.getNumCells(); cell++) {
+            if (!boardState.isRevealed(cell)) {
+                hidden[numHidden++] = cell;
+            }
+        }
+        long[] mineCounts = new long[boardState.getNumCells()];
+        long numArrangements = countArrangements(boardState, hidden, numHidden, 0, numMines, new boolean[
+                boardState.getNumCells()], mineCounts);
+        for (int cell = 0; cell < boardState.getNumCells(); cell++) {
+            assertEquals((double) mineCounts[cell] / numArrangements, engine.getProbability(boardState, cell), DELTA);
+        }
+        return true;
+    }
+
+    // MODIFIES: isMine, mineCounts
+    // EFFECTS: counts the arrangements of the given amount of mines on the hidden tiles from index next onwards
+    //    that fit the revealed counts, adding each one's mines to mineCounts
+    private long countArrangements(BoardState boardState, int[] hidden, int numHidden, int next, int minesLeft,
+                                   boolean[] isMine, long[] mineCounts) {
+        if (minesLeft == 0) {
+            if (!fitsRevealedCounts(boardState, isMine)) {
+                return 0;
+            }
+            for (int cell = 0; cell < isMine.length; cell++) {
+                mineCounts[cell] += isMine[cell] ? 1 : 0;
+            }
+            return 1;
+        }
+        long count = 0;
+        for (int i = next; i <= numHidden - minesLeft; i++) {
+            isMine[hidden[i]] = true;
+            count += countArrangements(boardState, hidden, numHidden, i + 1, minesLeft - 1, isMine, mineCounts);
+            isMine[hidden[i]] = false;
+        }
+        return count;
+    }
+
+    // EFFECTS: returns true if every revealed tile has as many of the given mines around it as its count
+    private boolean fitsRevealedCounts(BoardState boardState, boolean[] isMine) {
+        int width = boardState.getWidth();
+        for (int cell = 0; cell < boardState.getNumCells(); cell++) {
+            if (boardState.isRevealed(cell)) {
+                int count = 0;
+                for (Direction d : Direction.values()) {
+                    int x = cell % width + d.shiftX;
+                    int y = cell / width + d.shiftY;
+                    count += boardState.isOnBoard(x, y) && isMine[boardState.cellIndex(x, y)] ? 1 : 0;
+                }
+                if (count != boardState.countNearbyMines(cell)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns how many mines the board has
+    private int countMines(BoardState boardState) {
+        int numMines = 0;
+        for (int cell = 0; cell < boardState.getNumCells(); cell++) {
+            numMines += boardState.isMine(cell) ? 1 : 0;
+        }
+        return numMines;
+    }
+
+    // EFFECTS: makes a board with the given amount of mines on random tiles (fewer if some land on the same tile)
+    private BoardState makeRandomBoard(int width, int height, int numMines, SplittableRandom random) {
+        BoardState boardState = new BoardState(width, height);
+        for (int i = 0; i < numMines; i++) {
+            boardState.setMine(random.nextInt(boardState.getNumCells()));
+        }
+        boardState.recountNearbyMines();
+        return boardState;
+    }
+
+    // MODIFIES: boardState
+    // EFFECTS: reveals the given amount of random safe tiles, opening up the areas around tiles with no nearby mines
+    private void revealSafeCells(BoardState boardState, int numReveals, SplittableRandom random) {
+        FloodFill floodFill = new FloodFill(boardState.getWidth(), boardState.getHeight());
+        for (int i = 0; i < numReveals; i++) {
+            int cell = random.nextInt(boardState.getNumCells());
+            if (!boardState.isMine(cell)) {
+                floodFill.fill(boardState, cell);
+            }
+        }
+    }
+}
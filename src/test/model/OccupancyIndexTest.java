@@ -0,0 +1,69 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.OccupancyIndex
+public class OccupancyIndexTest {
+    OccupancyIndex occupancyIndex;
+
+    @BeforeEach
+    public void setup() {
+        occupancyIndex = new OccupancyIndex();
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        assertEquals(OccupancyIndex.NONE, occupancyIndex.get(5));
+        occupancyIndex.put(5, 0);
+        occupancyIndex.put(9, 3);
+        assertEquals(0, occupancyIndex.get(5));
+        assertEquals(3, occupancyIndex.get(9));
+        occupancyIndex.put(9, 4);
+        assertEquals(4, occupancyIndex.get(9));
+        assertEquals(2, occupancyIndex.size());
+        occupancyIndex.remove(5);
+        occupancyIndex.remove(6);
+        assertEquals(OccupancyIndex.NONE, occupancyIndex.get(5));
+        assertEquals(4, occupancyIndex.get(9));
+        assertEquals(1, occupancyIndex.size());
+        occupancyIndex.clear();
+        assertEquals(OccupancyIndex.NONE, occupancyIndex.get(9));
+        assertEquals(0, occupancyIndex.size());
+    }
+
+    @Test
+    public void testMatchesHashMapUnderRandomMoves() {
+        Random random = new Random(0);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 100000; step++) {
+            int cell = randomCell(random);
+            if (random.nextBoolean()) {
+                int id = random.nextInt(65);
+                occupancyIndex.put(cell, id);
+                expected.put(cell, id);
+            } else {
+                occupancyIndex.remove(cell);
+                expected.remove(cell);
+            }
+            int probe = randomCell(random);
+            assertEquals((int) expected.getOrDefault(probe, OccupancyIndex.NONE), occupancyIndex.get(probe));
+        }
+        assertEquals(expected.size(), occupancyIndex.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), occupancyIndex.get(entry.getKey()));
+        }
+    }
+
+    // EFFECTS: returns a random cell of a few clusters of nearby tiles spread over a maximum size board, so that
+    //    the table both grows and has long probe runs to shift entries back into
+    private int randomCell(Random random) {
+        return random.nextInt(200) * GameDistrict.MAX_BOARD_EDGE_LENGTH + random.nextInt(20);
+    }
+}
@@ -0,0 +1,37 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.RandomBotPolicy
+public class RandomBotPolicyTest {
+
+    @Test
+    public void testSameSeedSameKeys() {
+        RandomBotPolicy bot = new RandomBotPolicy();
+        assertEquals(RandomBotPolicy.DEFAULT_KEY_CHANCE, bot.getKeyChance());
+        bot.startGame(42L);
+        StringBuilder keys = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            keys.append(bot.chooseKey(null));
+        }
+        bot.startGame(42L);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(keys.charAt(i), bot.chooseKey(null));
+        }
+        for (char key : keys.toString().toCharArray()) {
+            assertTrue(key == BotPolicy.NO_KEY || RandomBotPolicy.KEYS.indexOf(key) != -1);
+        }
+    }
+
+    @Test
+    public void testKeyChance() {
+        RandomBotPolicy never = new RandomBotPolicy(0);
+        RandomBotPolicy always = new RandomBotPolicy(1);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(BotPolicy.NO_KEY, never.chooseKey(null));
+            assertNotEquals(BotPolicy.NO_KEY, always.chooseKey(null));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ui.GameWorld;
+import ui.InGameEventsTracker;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.ReplayEngine
+public class ReplayEngineTest {
+    static final String KEYS = "wqazxcdeffbWQAZXCDE";
+    static final int NUM_BENCHMARK_REPLAYS = 200;
+
+    GameWorld gameWorld;
+
+    @BeforeEach
+    public void setup() {
+        gameWorld = new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME);
+    }
+
+    @Test
+    public void testReplayReproducesGame() {
+        for (long seed = 0; seed < 20; seed++) {
+            GameDistrict played = makeDistrict(seed);
+            InputLog inputLog = playRandomGame(played, new Random(seed), false);
+            GameState finalState = played.snapshot();
+
+            ReplayEngine replayEngine = new ReplayEngine(makeDistrict(seed), inputLog);
+            assertEquals(played.getGameOutcome(), replayEngine.replay());
+            assertEquals(finalState, replayEngine.getGameDistrict().snapshot());
+            assertEquals(played.getGameOutcome(), replayEngine.replay());
+            assertEquals(finalState, replayEngine.getGameDistrict().snapshot());
+        }
+    }
+
+    @Test
+    public void testReplayReproducesRewoundAndAbandonedGames() {
+        GameDistrict played = makeDistrict(3L);
+        InputLog inputLog = playRandomGame(played, new Random(3L), true);
+        GameState finalState = played.snapshot();
+        ReplayEngine replayEngine = new ReplayEngine(makeDistrict(3L), inputLog);
+        assertEquals(played.getGameOutcome(), replayEngine.replay());
+        assertEquals(finalState, replayEngine.getGameDistrict().snapshot());
+
+        played = makeDistrict(4L);
+        played.setupGame(null);
+        GameSession session = new GameSession(played, null, inputLog = new InputLog());
+        session.tick();
+        session.input('d');
+        session.input(GameSession.QUIT_KEY);
+        replayEngine = new ReplayEngine(makeDistrict(4L), inputLog);
+        assertEquals(EndGameOutcome.STILL_PLAYING_GAME, replayEngine.replay());
+        assertEquals(played.snapshot(), replayEngine.getGameDistrict().snapshot());
+    }
+
+    @Test
+    public void testLogEndingEarlyPlaysOnToTheEnd() {
+        ReplayEngine replayEngine = new ReplayEngine(makeDistrict(2L), new InputLog());
+        EndGameOutcome outcome = replayEngine.replay();
+        assertNotEquals(EndGameOutcome.STILL_PLAYING_GAME, outcome);
+        assertFalse(replayEngine.getGameDistrict().isInGame());
+    }
+
+    // Benchmark: replays a logged game many times; a replay must run far faster than the game did in real time.
+    @Test
+    public void testReplayBenchmark() {
+        GameDistrict played = makeDistrict(7L);
+        ReplayEngine replayEngine = new ReplayEngine(makeDistrict(7L),
+                playRandomGame(played, new Random(7L), true));
+        replayEngine.replay();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < NUM_BENCHMARK_REPLAYS; i++) {
+            assertEquals(played.getGameOutcome(), replayEngine.replay());
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+        assertTrue(elapsedTime / NUM_BENCHMARK_REPLAYS < InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS * 1000L);
+    }
+
+    // EFFECTS: returns a new district of this test's world made from the given seed, with a safe start
+    private GameDistrict makeDistrict(long seed) {
+        GameDistrict gd = new GameDistrict(DragonType.TSUNAMI, Difficulty.EASY, GameDistrict.BOARD_EDGE_LENGTH,
+                GameDistrict.BOARD_EDGE_LENGTH, 2, seed, gameWorld);
+        gd.setSafeStart(true);
+        return gd;
+    }
+
+    // MODIFIES: gd
+    // EFFECTS: sets up a game in the given district without a tracker and plays it until it ends, typing a few random
+    //    keys (including rewinds and short scrubs if withRewinds) between ticks; returns the log of the keys typed
+    private InputLog playRandomGame(GameDistrict gd, Random random, boolean withRewinds) {
+        gd.setupGame(null);
+        InputLog inputLog = new InputLog();
+        GameSession session = new GameSession(gd, new RewindBuffer(gd, GameSession.REWIND_CAPACITY), inputLog);
+        while (gd.isInGame()) {
+            for (int numKeys = random.nextInt(3); numKeys > 0; numKeys--) {
+                boolean rewind = withRewinds && random.nextInt(20) == 0;
+                if (rewind && random.nextBoolean()) {
+                    session.scrubTo(random.nextInt(Math.min(8, session.getNumTicksRecorded())));
+                } else {
+                    session.input(rewind ? GameSession.REWIND_KEY : KEYS.charAt(random.nextInt(KEYS.length())));
+                }
+            }
+            session.tick();
+        }
+        return inputLog;
+    }
+}
@@ -0,0 +1,134 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ui.GameWorld;
+import ui.InGameEventsTrackerConsole;
+
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.RewindBuffer
+public class RewindBufferTest {
+    static final int CAPACITY = 337;
+    static final int NUM_BENCHMARK_TICKS = 100000;
+
+    GameWorld gameWorld;
+    GameDistrict gameDistrict;
+    InGameEventsTrackerConsole tracker;
+    RewindBuffer rewindBuffer;
+
+    @BeforeEach
+    public void setup() {
+        gameWorld = new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME);
+        gameDistrict = new GameDistrict(DragonType.DOWNBURST, Difficulty.EASY, GameDistrict.BOARD_EDGE_LENGTH,
+                GameDistrict.BOARD_EDGE_LENGTH, 6L, gameWorld);
+        tracker = new InGameEventsTrackerConsole(gameDistrict, gameWorld.getMage(), gameDistrict.getDragon());
+        gameDistrict.setupGame(tracker);
+        tracker.startTimer();
+        rewindBuffer = new RewindBuffer(gameDistrict, CAPACITY);
+    }
+
+    @Test
+    public void testStepBackAndForward() {
+        GameState[] states = recordTicks(5);
+        assertEquals(5, rewindBuffer.getNumRecorded());
+        assertFalse(rewindBuffer.stepForward());
+        for (int i = 3; i >= 0; i--) {
+            assertTrue(rewindBuffer.stepBack());
+            assertEquals(states[i], gameDistrict.snapshot());
+        }
+        assertFalse(rewindBuffer.stepBack());
+        assertEquals(4, rewindBuffer.getTicksBack());
+        assertTrue(rewindBuffer.stepForward());
+        assertEquals(states[1], gameDistrict.snapshot());
+        assertTrue(rewindBuffer.scrubTo(0));
+        assertEquals(states[4], gameDistrict.snapshot());
+        assertFalse(rewindBuffer.scrubTo(5));
+        assertFalse(rewindBuffer.scrubTo(-1));
+        assertEquals(states[2], rewindBuffer.getState(2));
+    }
+
+    @Test
+    public void testSessionWordsComeBackWithTheirTicks() {
+        for (int i = 0; i < CAPACITY + 3; i++) {
+            rewindBuffer.record(i * 10L);
+        }
+        assertEquals((CAPACITY + 2) * 10L, rewindBuffer.getSessionWord());
+        rewindBuffer.scrubTo(CAPACITY - 1);
+        assertEquals(30L, rewindBuffer.getSessionWord());
+        rewindBuffer.stepForward();
+        assertEquals(40L, rewindBuffer.getSessionWord());
+        rewindBuffer.record();
+        assertEquals(0, rewindBuffer.getSessionWord());
+    }
+
+    @Test
+    public void testRecordingAfterRewindDiscardsLaterTicks() {
+        GameState[] states = recordTicks(6);
+        rewindBuffer.scrubTo(3);
+        gameDistrict.setTimeLeftInGame(1);
+        rewindBuffer.record();
+        assertEquals(4, rewindBuffer.getNumRecorded());
+        assertEquals(0, rewindBuffer.getTicksBack());
+        assertEquals(1, rewindBuffer.getState(0).getTimeLeftInGame());
+        assertEquals(states[2], rewindBuffer.getState(1));
+        rewindBuffer.clear();
+        assertEquals(0, rewindBuffer.getNumRecorded());
+        assertFalse(rewindBuffer.stepBack());
+    }
+
+    @Test
+    public void testFullBufferOverwritesOldestTicks() {
+        rewindBuffer = new RewindBuffer(gameDistrict, 4);
+        GameState[] states = recordTicks(10);
+        assertEquals(4, rewindBuffer.getNumRecorded());
+        assertTrue(rewindBuffer.scrubTo(3));
+        assertEquals(states[6], gameDistrict.snapshot());
+        assertFalse(rewindBuffer.stepBack());
+        assertEquals(states[9], rewindBuffer.getState(0));
+    }
+
+    @Test
+    public void testCapacityLimitedOnHugeBoards() {
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.EASY, 2048, 2048, 1L, gameWorld);
+        rewindBuffer = new RewindBuffer(gameDistrict, CAPACITY);
+        assertEquals(RewindBuffer.MAX_WORDS / gameDistrict.getStateSize(), rewindBuffer.getCapacity());
+        gameDistrict = new GameDistrict(DragonType.BLAZE, Difficulty.EASY, 4096, 4096, 1L, gameWorld);
+        assertEquals(1, new RewindBuffer(gameDistrict, CAPACITY).getCapacity());
+    }
+
+    // Benchmark: measures the bytes this thread allocates while recording and rewinding a whole game's worth of
+    //    ticks many times over; neither may allocate.
+    @Test
+    public void testRewindBenchmarkZeroAllocationPerTick() {
+        assertEquals(0, AllocationMeter.bytesPerOperation(() -> recordAndRewindRepeatedly(NUM_BENCHMARK_TICKS),
+                NUM_BENCHMARK_TICKS));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the given amount of ticks, each one with a different time left and dragon turn, and returns
+    //    snapshots of the recorded states, oldest first
+    private GameState[] recordTicks(int numTicks) {
+        GameState[] states = new GameState[numTicks];
+        for (int i = 0; i < numTicks; i++) {
+            gameDistrict.setTimeLeftInGame(tracker.getTimeLeftInGame() - 250);
+            gameDistrict.fireDragonAttacks();
+            rewindBuffer.record();
+            states[i] = gameDistrict.snapshot();
+        }
+        return states;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the given amount of ticks, stepping back after every fourth one
+    private void recordAndRewindRepeatedly(int numTicks) {
+        for (int i = 0; i < numTicks; i++) {
+            gameDistrict.getBoardState().setFlagged(i % GameDistrict.BOARD_EDGE_LENGTH, i % 2 == 0);
+            rewindBuffer.record();
+            if (i % 4 == 3) {
+                rewindBuffer.stepBack();
+            }
+        }
+    }
+}
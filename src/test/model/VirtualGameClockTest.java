@@ -0,0 +1,74 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ui.GameWorld;
+import ui.InGameEventsTracker;
+import ui.InGameEventsTrackerHeadless;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in model.VirtualGameClock
+public class VirtualGameClockTest {
+    VirtualGameClock clock;
+    int numTicks;
+
+    @BeforeEach
+    public void setup() {
+        clock = new VirtualGameClock();
+        numTicks = 0;
+    }
+
+    @Test
+    public void testAdvanceRunsTicksWhileRunning() {
+        assertEquals(GameSession.TICK_LENGTH_MS, clock.getTickLengthMs());
+        clock.advance(1000);
+        assertEquals(0, numTicks);
+        assertEquals(1000, clock.currentTimeMillis());
+        clock.start(() -> numTicks++);
+        assertTrue(clock.isRunning());
+        clock.advance(GameSession.TICK_LENGTH_MS - 1);
+        assertEquals(0, numTicks);
+        clock.advance(1);
+        assertEquals(1, numTicks);
+        clock.advanceTicks(10);
+        assertEquals(11, numTicks);
+        assertEquals(1000 + 11 * GameSession.TICK_LENGTH_MS, clock.currentTimeMillis());
+        clock.stop();
+        assertFalse(clock.isRunning());
+        clock.advanceTicks(10);
+        assertEquals(11, numTicks);
+    }
+
+    @Test
+    public void testCallbackCanStopClock() {
+        clock.start(() -> {
+            numTicks++;
+            if (numTicks == 3) {
+                clock.stop();
+            }
+        });
+        clock.advanceTicks(100);
+        assertEquals(3, numTicks);
+        assertEquals(100 * GameSession.TICK_LENGTH_MS, clock.currentTimeMillis());
+    }
+
+    @Test
+    public void testTrackerRunsOnVirtualClock() {
+        GameWorld gameWorld = new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME);
+        GameDistrict gd = new GameDistrict(DragonType.BLAZE, Difficulty.EASY, gameWorld);
+        InGameEventsTrackerHeadless tracker = new InGameEventsTrackerHeadless(gd, clock, (outcome, timeLeft) -> {
+        });
+        gd.setupGame(tracker);
+        tracker.playDistrict();
+        assertSame(clock, tracker.getClock());
+        clock.advanceTicks(3);
+        assertEquals(InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS - 3 * GameSession.TICK_LENGTH_MS,
+                tracker.getTimeLeftInGame());
+        tracker.endGame(EndGameOutcome.STILL_PLAYING_GAME);
+        assertFalse(clock.isRunning());
+        clock.advanceTicks(3);
+        assertEquals(InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS - 3 * GameSession.TICK_LENGTH_MS,
+                tracker.getTimeLeftInGame());
+    }
+}
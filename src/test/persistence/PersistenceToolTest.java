@@ -2,19 +2,26 @@ package persistence;
 
 import exceptions.InvalidInputException;
 import model.Difficulty;
+import model.DragonAction;
+import model.DragonDefinition;
 import model.DragonType;
 import model.GameDistrict;
+import model.GameSession;
+import model.InputLog;
+import model.ReplayEngine;
 import org.json.simple.parser.ParseException;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import ui.GameWorld;
 
+import java.awt.*;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,6 +91,70 @@ public class PersistenceToolTest {
             assertEquals(originalGD0.getBestClearTimeInMS(), readerGD0.getBestClearTimeInMS());
             assertTrue(Arrays.asList(readerGD0.getMineCoords())
                     .containsAll(Arrays.asList(originalGD0.getMineCoords())));
+            assertEquals(originalGD0.getSeed(), readerGD0.getSeed());
+            assertTrue(readerGD0.isSeeded());
+        } catch (ParseException | InvalidInputException | IOException e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testSaveWorldCustomSizeDistrict() {
+        originalWorld = new GameWorld("mageName", "worldName");
+        try {
+            originalWorld.addDistrict(originalWorld.makeDistrict(DragonType.TSUNAMI, Difficulty.NORMAL, 40, 24));
+            originalWorld.getDistricts().get(0).setSafeStart(true);
+            writer.saveWorld(SAVE_PATH_FOR_TESTS, originalWorld.getMage().getMageName(), originalWorld.getWorldName(),
+                    originalWorld.getNumDistrictsMade(), originalWorld.getDistricts());
+            GameDistrict readerGD0 = reader.readWorld(SAVE_PATH_FOR_TESTS).getDistricts().get(0);
+            GameDistrict originalGD0 = originalWorld.getDistricts().get(0);
+            assertEquals(40, readerGD0.getWidth());
+            assertEquals(24, readerGD0.getHeight());
+            assertTrue(readerGD0.isSafeStart());
+            assertArrayEquals(originalGD0.getMineCells(), readerGD0.getMineCells());
+            assertEquals(originalGD0.getMageInitialLocation(), readerGD0.getMageInitialLocation());
+            assertEquals(originalGD0.getDragonInitialLocation(), readerGD0.getDragonInitialLocation());
+        } catch (ParseException | InvalidInputException | IOException e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testSaveWorldMultipleDragonDistrict() {
+        originalWorld = new GameWorld("mageName", "worldName");
+        try {
+            originalWorld.addDistrict(originalWorld.makeDistrict(DragonType.BLAZE, Difficulty.EASY, 32, 32, 12));
+            writer.saveWorld(SAVE_PATH_FOR_TESTS, originalWorld.getMage().getMageName(), originalWorld.getWorldName(),
+                    originalWorld.getNumDistrictsMade(), originalWorld.getDistricts());
+            GameDistrict readerGD0 = reader.readWorld(SAVE_PATH_FOR_TESTS).getDistricts().get(0);
+            GameDistrict originalGD0 = originalWorld.getDistricts().get(0);
+            assertEquals(12, readerGD0.getNumDragons());
+            assertArrayEquals(originalGD0.getDragonInitialLocations(), readerGD0.getDragonInitialLocations());
+            assertArrayEquals(originalGD0.getMineCells(), readerGD0.getMineCells());
+        } catch (ParseException | InvalidInputException | IOException e) {
+            fail();
+        }
+        assertThrows(InvalidInputException.class, () -> originalWorld.makeDistrict(DragonType.BLAZE,
+                Difficulty.EASY, 32, 32, 0));
+    }
+
+    @Test
+    public void testReadWorldListedLayout() {
+        try {
+            GameWorld readerGeneratedWorld = reader.readWorld(TESTS_FOR_GAME_SAVE_FOLDER_PATH
+                    + "gameSaveFileTestsListedLayout.json");
+            GameDistrict readerGD0 = readerGeneratedWorld.getDistricts().get(0);
+            assertFalse(readerGD0.isSeeded());
+            assertEquals(4, readerGD0.getMineCoords().length);
+            assertEquals(new Point(1, 2), readerGD0.getMageInitialLocation());
+            assertEquals(GameDistrict.BOARD_EDGE_LENGTH, readerGD0.getWidth());
+
+            writer.saveWorld(SAVE_PATH_FOR_TESTS, readerGeneratedWorld.getMage().getMageName(),
+                    readerGeneratedWorld.getWorldName(), readerGeneratedWorld.getNumDistrictsMade(),
+                    readerGeneratedWorld.getDistricts());
+            GameDistrict rereadGD0 = reader.readWorld(SAVE_PATH_FOR_TESTS).getDistricts().get(0);
+            assertArrayEquals(readerGD0.getMineCells(), rereadGD0.getMineCells());
+            assertEquals(new Point(5, 2), rereadGD0.getDragonInitialLocation());
         } catch (ParseException | InvalidInputException | IOException e) {
             fail();
         }
@@ -106,6 +177,11 @@ public class PersistenceToolTest {
         assertTrue(invalidInputExpected(TESTS_FOR_GAME_SAVE_FOLDER_PATH + "gameSaveFileTestsGarbledDifficultyLevel.json"));
     }
 
+    @Test
+    public void testReadWorldSafeStartWithoutRoomForMines() {
+        assertTrue(invalidInputExpected(TESTS_FOR_GAME_SAVE_FOLDER_PATH + "gameSaveFileTestsCrowdedSafeStart.json"));
+    }
+
     @Test
     public void testReadWorldGarbledDragonType() {
         assertTrue(invalidInputExpected(TESTS_FOR_GAME_SAVE_FOLDER_PATH + "gameSaveFileTestsGarbledDragonType.json"));
@@ -136,6 +212,55 @@ public class PersistenceToolTest {
         assertTrue(invalidInputExpected(TESTS_FOR_GAME_SAVE_FOLDER_PATH + "gameSaveFileTestsGarbledPointXCoordOrderWrong.json"));
     }
 
+    @Test
+    public void testReadDragonDefinitionsWithOverrides() {
+        try {
+            List<DragonDefinition> definitions = new DragonDefinitionReader().readDefinitions(
+                    TESTS_FOR_GAME_SAVE_FOLDER_PATH + "dragonDefinitionsTests.json");
+            assertEquals(1, definitions.size());
+            DragonDefinition definition = definitions.get(0);
+            assertEquals(DragonType.TSUNAMI, definition.getDragonType());
+            assertEquals(1200, definition.getMaxHp());
+            assertEquals(40, definition.getAtk());
+            assertArrayEquals(new DragonAction[]{DragonAction.MOVE_TO_MAGE, DragonAction.RANGED, DragonAction.MELEE},
+                    definition.getActions());
+            assertArrayEquals(new int[]{0, 3, DragonAction.MELEE.damageModifier}, definition.getDamageModifiers());
+            assertArrayEquals(new int[]{0, 10, DragonAction.MELEE.atkRangeSquared}, definition.getRangesSquared());
+            assertEquals(3.2, definition.getRanges()[1]);
+        } catch (Exception e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testReadDragonDefinitionsGarbledAction() {
+        assertThrows(InvalidInputException.class, () -> new DragonDefinitionReader().readDefinitions(
+                TESTS_FOR_GAME_SAVE_FOLDER_PATH + "dragonDefinitionsTestsGarbledAction.json"));
+    }
+
+    @Test
+    public void testReadDragonDefinitionsMissingOrGarbledFields() {
+        assertThrows(InvalidInputException.class, () -> new DragonDefinitionReader().readDefinitions(
+                TESTS_FOR_GAME_SAVE_FOLDER_PATH + "dragonDefinitionsTestsMissingHp.json"));
+        assertThrows(InvalidInputException.class, () -> new DragonDefinitionReader().readDefinitions(
+                TESTS_FOR_GAME_SAVE_FOLDER_PATH + "dragonDefinitionsTestsGarbledFieldTypes.json"));
+        assertThrows(InvalidInputException.class, () -> new DragonDefinitionReader().readDefinitions(
+                TESTS_FOR_GAME_SAVE_FOLDER_PATH + "dragonDefinitionsTestsNonStringType.json"));
+        assertThrows(InvalidInputException.class, () -> new DragonDefinitionReader().readDefinitions(
+                TESTS_FOR_GAME_SAVE_FOLDER_PATH + "dragonDefinitionsTestsNonStringAction.json"));
+    }
+
+    @Test
+    public void testReadDragonDefinitionsDataFile() {
+        try {
+            List<DragonDefinition> definitions = new DragonDefinitionReader().readDefinitions(
+                    DragonDefinition.DRAGON_DEFINITIONS_PATH);
+            assertEquals(DragonType.values().length, definitions.size());
+        } catch (Exception e) {
+            fail();
+        }
+    }
+
     // EFFECTS: tests whether a given path throws InvalidInputException and returns true if it does; else return false
     private boolean invalidInputExpected(String path) {
         try {
@@ -148,6 +273,33 @@ public class PersistenceToolTest {
         }
     }
 
+    @Test
+    public void testSaveAndReadReplay() {
+        originalWorld = new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME);
+        GameDistrict played = new GameDistrict(DragonType.BLAZE, Difficulty.NORMAL, 12, 10, 2, 21L, originalWorld);
+        played.setSafeStart(true);
+        played.setupGame(null);
+        InputLog inputLog = new InputLog();
+        GameSession session = new GameSession(played, null, inputLog);
+        String keys = "dddfwwWfeeaXfr";
+        for (int i = 0; played.isInGame(); i++) {
+            session.input(keys.charAt(i % keys.length()));
+            session.tick();
+        }
+        try {
+            writer.saveReplay(SAVE_PATH_FOR_TESTS, played, inputLog);
+            ReplayEngine replayEngine = reader.readReplay(SAVE_PATH_FOR_TESTS, originalWorld);
+            assertEquals(inputLog.size(), replayEngine.getInputLog().size());
+            assertEquals(inputLog.getEntry(inputLog.size() - 1),
+                    replayEngine.getInputLog().getEntry(inputLog.size() - 1));
+            assertTrue(replayEngine.getGameDistrict().isSafeStart());
+            assertEquals(played.getGameOutcome(), replayEngine.replay());
+            assertEquals(played.snapshot(), replayEngine.getGameDistrict().snapshot());
+        } catch (ParseException | InvalidInputException | IOException e) {
+            fail();
+        }
+    }
+
     // EFFECTS: repopulates the file gameSaveFileTests.json so that intellij won't complain about pushing blank file
     @AfterAll
     static void repopulateGameSaveFileTests() {
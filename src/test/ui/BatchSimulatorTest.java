@@ -0,0 +1,98 @@
+package ui;
+
+import model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in ui.BatchSimulator
+public class BatchSimulatorTest {
+    static final int NUM_GAMES = 1500;
+    static final int NUM_BENCHMARK_GAMES = 5000;
+
+    GameWorld gameWorld;
+    List<GameDistrict> districts;
+
+    @BeforeEach
+    public void setup() {
+        gameWorld = new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME);
+        districts = List.of(
+                new GameDistrict(DragonType.DOWNBURST, Difficulty.EASY, GameDistrict.BOARD_EDGE_LENGTH,
+                        GameDistrict.BOARD_EDGE_LENGTH, 6L, gameWorld),
+                new GameDistrict(DragonType.BLAZE, Difficulty.HARD, GameDistrict.BOARD_EDGE_LENGTH,
+                        GameDistrict.BOARD_EDGE_LENGTH, 7L, gameWorld));
+    }
+
+    @Test
+    public void testBatchTalliesEveryGame() {
+        BatchSimulator simulator = new BatchSimulator(RandomBotPolicy::new);
+        BatchResult[] results = simulator.simulate(districts, NUM_GAMES);
+        assertEquals(2, results.length);
+        for (BatchResult result : results) {
+            assertEquals(NUM_GAMES, result.getNumGames());
+            assertEquals(0, result.getOutcomeCount(EndGameOutcome.STILL_PLAYING_GAME));
+        }
+        assertEquals(2 * NUM_GAMES, simulator.getLastNumGames());
+        assertTrue(simulator.getGamesPerSecond() > 0);
+        assertEquals(simulator.getGamesPerSecond() / simulator.getPool().getParallelism(),
+                simulator.getGamesPerSecondPerCore());
+    }
+
+    @Test
+    public void testBatchSameHoweverSplitAndMatchesSequentialPlay() {
+        ForkJoinPool singleThreadPool = new ForkJoinPool(1);
+        BatchResult[] parallel = new BatchSimulator(RandomBotPolicy::new).simulate(districts, NUM_GAMES);
+        BatchResult[] single = new BatchSimulator(singleThreadPool, RandomBotPolicy::new).simulate(districts,
+                NUM_GAMES);
+        singleThreadPool.shutdown();
+        BatchResult sequential = playSequentially(districts.get(1), NUM_GAMES, NUM_GAMES);
+        for (EndGameOutcome outcome : EndGameOutcome.values()) {
+            assertEquals(single[0].getOutcomeCount(outcome), parallel[0].getOutcomeCount(outcome));
+            assertEquals(single[1].getOutcomeCount(outcome), parallel[1].getOutcomeCount(outcome));
+            assertEquals(sequential.getOutcomeCount(outcome), parallel[1].getOutcomeCount(outcome));
+        }
+        for (int ticks = 0; ticks < BatchResult.NUM_CLEAR_TIMES; ticks++) {
+            assertEquals(sequential.getClearTimeCount(ticks), parallel[1].getClearTimeCount(ticks));
+        }
+    }
+
+    // Benchmark: games per second per core of a batch of random bots on all cores; each game must take a core less
+    //    than a thousandth of the time it would take in real time
+    @Test
+    public void testThroughputBenchmark() {
+        ForkJoinPool pool = new ForkJoinPool();
+        BatchSimulator simulator = new BatchSimulator(pool, RandomBotPolicy::new);
+        simulator.simulate(districts, NUM_BENCHMARK_GAMES);
+        pool.shutdown();
+        assertEquals(2 * NUM_BENCHMARK_GAMES, simulator.getLastNumGames());
+        assertEquals(simulator.getLastNumGames() / (simulator.getLastElapsedNanos() / 1e9) / pool.getParallelism(),
+                simulator.getGamesPerSecondPerCore(), 1e-6 * simulator.getGamesPerSecondPerCore());
+        assertTrue(simulator.getGamesPerSecondPerCore() > 1e6 / InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS);
+    }
+
+    // EFFECTS: plays the given batch's games in the given district one after another on this thread, numbering them
+    //    from firstGame, and returns their tally
+    private BatchResult playSequentially(GameDistrict district, long firstGame, int numGames) {
+        BatchResult result = new BatchResult();
+        GameDistrict fork = district.fork();
+        InGameEventsTrackerHeadless tracker = new InGameEventsTrackerHeadless(fork, result::addGame);
+        RandomBotPolicy bot = new RandomBotPolicy();
+        for (long game = firstGame; game < firstGame + numGames; game++) {
+            fork.setupGame(tracker);
+            tracker.playDistrict();
+            bot.startGame(game);
+            while (tracker.isInGame()) {
+                char key = bot.chooseKey(tracker.getSession());
+                if (key != BotPolicy.NO_KEY) {
+                    tracker.input(key);
+                }
+                tracker.advanceTicks(1);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,256 @@
+package ui;
+
+import model.Difficulty;
+import model.DragonType;
+import model.GameDistrict;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in ui.DistrictPool
+public class DistrictPoolTest {
+    static final int NUM_KINDS = DragonType.values().length * Difficulty.values().length;
+    static final long WAIT_LIMIT_MS = 10000;
+
+    GameWorld gameWorld;
+    AtomicInteger numMade;
+
+    @BeforeEach
+    public void setup() {
+        gameWorld = new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME);
+        numMade = new AtomicInteger();
+    }
+
+    @Test
+    public void testTopUpFillsEveryKindEvenly() {
+        DistrictPool pool = new DistrictPool(this::makeDistrict, 2, DistrictPool.DEFAULT_MAX_BYTES);
+        for (int i = 0; i < NUM_KINDS; i++) {
+            assertTrue(pool.topUpOnce());
+        }
+        for (DragonType dt : DragonType.values()) {
+            for (Difficulty d : Difficulty.values()) {
+                assertEquals(1, pool.getNumReady(dt, d));
+            }
+        }
+        for (int i = 0; i < NUM_KINDS; i++) {
+            assertTrue(pool.topUpOnce());
+        }
+        assertFalse(pool.topUpOnce());
+        assertEquals(2 * NUM_KINDS, numMade.get());
+        assertEquals(2 * allKindsBytes(), pool.getBytesUsed());
+    }
+
+    @Test
+    public void testTakeCountsHitsAndMisses() {
+        DistrictPool pool = new DistrictPool(this::makeDistrict, 1, DistrictPool.DEFAULT_MAX_BYTES);
+        assertEquals(0, pool.getHitRate());
+        GameDistrict missed = pool.take(DragonType.TSUNAMI, Difficulty.HARD);
+        assertEquals(DragonType.TSUNAMI, missed.getDragon().getDragonType());
+        assertEquals(Difficulty.HARD, missed.getDifficultyLevel());
+        assertEquals(1, pool.getNumMisses());
+        while (pool.topUpOnce()) {
+            // fill the pool
+        }
+        int numMadeBeforeHit = numMade.get();
+        GameDistrict hit = pool.take(DragonType.TSUNAMI, Difficulty.HARD);
+        assertEquals(Difficulty.HARD, hit.getDifficultyLevel());
+        assertEquals(numMadeBeforeHit, numMade.get());
+        assertEquals(0, pool.getNumReady(DragonType.TSUNAMI, Difficulty.HARD));
+        assertEquals(1, pool.getNumHits());
+        assertEquals(0.5, pool.getHitRate());
+        assertEquals(allKindsBytes() - bytesOf(DragonType.TSUNAMI, Difficulty.HARD), pool.getBytesUsed());
+        assertTrue(pool.topUpOnce());
+        assertEquals(1, pool.getNumReady(DragonType.TSUNAMI, Difficulty.HARD));
+    }
+
+    @Test
+    public void testMemoryCapIsCheckedBeforeBuilding() {
+        long cap = bytesOf(DragonType.BLAZE, Difficulty.PRACTICE) + bytesOf(DragonType.BLAZE, Difficulty.EASY)
+                + bytesOf(DragonType.BLAZE, Difficulty.NORMAL);
+        DistrictPool pool = new DistrictPool(this::makeDistrict, 4, cap);
+        while (pool.topUpOnce()) {
+            assertTrue(numMade.get() <= 3);
+        }
+        assertEquals(3, numMade.get());
+        assertEquals(cap, pool.getBytesUsed());
+        assertEquals(1, pool.getNumReady(DragonType.BLAZE, Difficulty.PRACTICE));
+        assertEquals(1, pool.getNumReady(DragonType.BLAZE, Difficulty.NORMAL));
+        assertEquals(0, pool.getNumReady(DragonType.BLAZE, Difficulty.HARD));
+        pool.take(DragonType.BLAZE, Difficulty.EASY);
+        assertTrue(pool.topUpOnce());
+        assertFalse(pool.topUpOnce());
+        assertEquals(4, numMade.get());
+        assertEquals(cap, pool.getBytesUsed());
+        assertEquals(4, pool.getCapacityPerKind());
+        assertEquals(cap, pool.getMaxBytes());
+    }
+
+    @Test
+    public void testMissIsMadeByBackgroundThread() {
+        CountDownLatch allowMaking = new CountDownLatch(1);
+        List<Thread> makers = new CopyOnWriteArrayList<>();
+        DistrictPool pool = new DistrictPool((dt, d) -> {
+            awaitQuietly(allowMaking);
+            makers.add(Thread.currentThread());
+            return makeDistrict(dt, d);
+        }, 0, DistrictPool.DEFAULT_MAX_BYTES);
+        pool.start();
+        CompletableFuture<GameDistrict> request = pool.request(DragonType.TSUNAMI, Difficulty.EASY);
+        assertFalse(request.isDone());
+        assertEquals(1, pool.getNumMisses());
+        allowMaking.countDown();
+        GameDistrict district = request.join();
+        assertEquals(DragonType.TSUNAMI, district.getDragon().getDragonType());
+        assertEquals(Difficulty.EASY, district.getDifficultyLevel());
+        assertEquals(1, makers.size());
+        assertNotSame(Thread.currentThread(), makers.get(0));
+        assertEquals(0, pool.getNumRequestsWaiting());
+        assertEquals(0, pool.getNumReady(DragonType.TSUNAMI, Difficulty.EASY));
+        pool.shutdown();
+
+        assertTrue(pool.request(DragonType.BLAZE, Difficulty.HARD).isDone());
+        assertSame(Thread.currentThread(), makers.get(1));
+        assertEquals(2, pool.getNumMisses());
+    }
+
+    @Test
+    public void testShutdownCancelsWaitingRequests() throws InterruptedException {
+        CountDownLatch allowMaking = new CountDownLatch(1);
+        DistrictPool pool = new DistrictPool((dt, d) -> {
+            awaitQuietly(allowMaking);
+            return makeDistrict(dt, d);
+        }, 0, DistrictPool.DEFAULT_MAX_BYTES);
+        pool.start();
+        CompletableFuture<GameDistrict> beingMade = pool.request(DragonType.BLAZE, Difficulty.EASY);
+        long deadline = System.currentTimeMillis() + WAIT_LIMIT_MS;
+        while (pool.getNumRequestsWaiting() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+        CompletableFuture<GameDistrict> waiting = pool.request(DragonType.DOWNBURST, Difficulty.HARD);
+        pool.shutdown();
+        allowMaking.countDown();
+        assertTrue(waiting.isCancelled());
+        assertEquals(0, pool.getNumRequestsWaiting());
+        assertEquals(Difficulty.EASY, beingMade.join().getDifficultyLevel());
+        pool.start();
+        assertEquals(Difficulty.HARD, pool.request(DragonType.BLAZE, Difficulty.HARD).join().getDifficultyLevel());
+    }
+
+    @Test
+    public void testFailedDistrictGivesItsRoomBack() {
+        DistrictPool pool = new DistrictPool(failingMaker(1), 1, DistrictPool.DEFAULT_MAX_BYTES);
+        assertThrows(IllegalStateException.class, pool::topUpOnce);
+        assertEquals(0, pool.getBytesUsed());
+        assertTrue(pool.topUpOnce());
+        assertEquals(1, pool.getNumReady(DragonType.values()[0], Difficulty.values()[0]));
+        assertEquals(bytesOf(DragonType.values()[0], Difficulty.values()[0]), pool.getBytesUsed());
+    }
+
+    @Test
+    public void testBackgroundThreadOutlivesFailedDistricts() throws InterruptedException {
+        DistrictPool pool = new DistrictPool(failingMaker(2), 0, DistrictPool.DEFAULT_MAX_BYTES);
+        pool.start();
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> pool.take(DragonType.BLAZE, Difficulty.EASY));
+        assertTrue(failure.getCause() instanceof IllegalStateException);
+        assertThrows(CompletionException.class, () -> pool.take(DragonType.BLAZE, Difficulty.EASY));
+        assertEquals(Difficulty.EASY, pool.take(DragonType.BLAZE, Difficulty.EASY).getDifficultyLevel());
+        pool.shutdown();
+
+        DistrictPool toppedUp = new DistrictPool(failingMaker(1), 1, DistrictPool.DEFAULT_MAX_BYTES);
+        toppedUp.start();
+        waitUntilReady(toppedUp, DragonType.values()[0], Difficulty.values()[0], 1);
+        toppedUp.shutdown();
+    }
+
+    @Test
+    public void testBackgroundThreadKeepsPoolToppedUp() throws InterruptedException {
+        DistrictPool pool = new DistrictPool(this::makeDistrict);
+        pool.start();
+        pool.start();
+        waitUntilReady(pool, DragonType.DOWNBURST, Difficulty.HARD, DistrictPool.DEFAULT_CAPACITY_PER_KIND);
+        pool.take(DragonType.DOWNBURST, Difficulty.HARD);
+        waitUntilReady(pool, DragonType.DOWNBURST, Difficulty.HARD, DistrictPool.DEFAULT_CAPACITY_PER_KIND);
+        assertEquals(1, pool.getNumHits());
+        pool.shutdown();
+        assertEquals(0, pool.getNumReady(DragonType.DOWNBURST, Difficulty.HARD));
+        assertEquals(0, pool.getBytesUsed());
+    }
+
+    @Test
+    public void testWorldNamesDistrictsMadeAhead() {
+        DistrictPool pool = new DistrictPool(this::makeDistrict, 1, DistrictPool.DEFAULT_MAX_BYTES);
+        while (pool.topUpOnce()) {
+            // fill the pool
+        }
+        GameDistrict first = gameWorld.makeDistrict(DragonType.BLAZE, Difficulty.EASY, pool);
+        GameDistrict second = gameWorld.makeDistrict(DragonType.TSUNAMI, Difficulty.NORMAL, pool);
+        assertEquals("District BE-1", first.getDistrictName());
+        assertEquals("District TN-2", second.getDistrictName());
+        assertEquals(2, gameWorld.getNumDistrictsMade());
+        assertEquals(2, pool.getNumHits());
+    }
+
+    // EFFECTS: makes a district of the given kind in this test's world, counting how many were made
+    private GameDistrict makeDistrict(DragonType dt, Difficulty d) {
+        numMade.incrementAndGet();
+        return new GameDistrict(dt, d, gameWorld);
+    }
+
+    // EFFECTS: returns a maker that throws for the first given amount of districts, then makes them as makeDistrict
+    private BiFunction<DragonType, Difficulty, GameDistrict> failingMaker(int numFailures) {
+        AtomicInteger numCalls = new AtomicInteger();
+        return (dt, d) -> {
+            if (numCalls.getAndIncrement() < numFailures) {
+                throw new IllegalStateException("could not make a district");
+            }
+            return makeDistrict(dt, d);
+        };
+    }
+
+    // EFFECTS: returns the estimated size of a freshly made district of the given kind
+    private long bytesOf(DragonType dt, Difficulty d) {
+        return new GameDistrict(dt, d, gameWorld).estimateBytes();
+    }
+
+    // EFFECTS: returns the estimated size of one freshly made district of every kind
+    private long allKindsBytes() {
+        long bytes = 0;
+        for (DragonType dt : DragonType.values()) {
+            for (Difficulty d : Difficulty.values()) {
+                bytes += bytesOf(dt, d);
+            }
+        }
+        return bytes;
+    }
+
+    // EFFECTS: waits until the given latch is opened, giving up if this thread is interrupted
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // EFFECTS: waits until the given pool has the given amount of districts of the given kind ready, failing if that
+    //    takes longer than WAIT_LIMIT_MS
+    private void waitUntilReady(DistrictPool pool, DragonType dt, Difficulty d, int numReady)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_LIMIT_MS;
+        while (pool.getNumReady(dt, d) < numReady) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+}
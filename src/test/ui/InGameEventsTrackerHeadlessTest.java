@@ -0,0 +1,129 @@
+package ui;
+
+import model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in ui.InGameEventsTrackerHeadless
+public class InGameEventsTrackerHeadlessTest {
+    static final String KEYS = "wqazxcdeffbWQAZXCDE";
+    static final int NUM_BENCHMARK_GAMES = 500;
+
+    GameWorld gameWorld;
+    GameDistrict gameDistrict;
+    InGameEventsTrackerHeadless tracker;
+    List<EndGameOutcome> outcomes;
+    List<Integer> timesLeft;
+
+    @BeforeEach
+    public void setup() {
+        gameWorld = new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME);
+        gameDistrict = new GameDistrict(DragonType.DOWNBURST, Difficulty.EASY, GameDistrict.BOARD_EDGE_LENGTH,
+                GameDistrict.BOARD_EDGE_LENGTH, 6L, gameWorld);
+        outcomes = new ArrayList<>();
+        timesLeft = new ArrayList<>();
+        tracker = new InGameEventsTrackerHeadless(gameDistrict, (outcome, timeLeftInGame) -> {
+            outcomes.add(outcome);
+            timesLeft.add(timeLeftInGame);
+        });
+    }
+
+    @Test
+    public void testTicksRunOnVirtualClock() {
+        startGame();
+        assertTrue(tracker.isInGame());
+        assertTrue(tracker.getClock().isRunning());
+        tracker.advanceTicks(8);
+        assertEquals(8, tracker.getSession().getTick());
+        assertEquals(InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS - 8 * GameSession.TICK_LENGTH_MS,
+                gameDistrict.getTimeLeftInGame());
+        assertEquals(8 * GameSession.TICK_LENGTH_MS, tracker.getClock().currentTimeMillis());
+        assertTrue(outcomes.isEmpty());
+        assertEquals(0, tracker.getSession().getNumTicksRecorded());
+        assertFalse(tracker.scrubTo(0));
+    }
+
+    @Test
+    public void testIdleGameRunsOutOfTimeOrIsLostToDragon() {
+        startGame();
+        EndGameOutcome outcome = tracker.playOut();
+        assertFalse(tracker.isInGame());
+        assertFalse(tracker.getClock().isRunning());
+        assertEquals(gameDistrict.getGameOutcome(), outcome);
+        assertEquals(List.of(outcome), outcomes);
+        assertEquals(gameDistrict.getTimeLeftInGame(), (int) timesLeft.get(0));
+        if (outcome == EndGameOutcome.NO_TIME_LOSE) {
+            assertEquals(0, (int) timesLeft.get(0));
+        } else {
+            assertEquals(EndGameOutcome.NO_MAGE_HP_LOSE, outcome);
+            assertTrue(tracker.getNumTimesMageHit() > 0);
+        }
+        tracker.advanceTicks(10);
+        assertEquals(1, outcomes.size());
+    }
+
+    @Test
+    public void testInputsAndQuit() {
+        startGame();
+        assertEquals(InputOutcome.USED_SKILL, tracker.input(GameSession.SKILL_KEY));
+        assertEquals(InputOutcome.NOTHING, tracker.input(GameSession.REWIND_KEY));
+        tracker.advanceTicks(1);
+        assertEquals(InputOutcome.QUIT, tracker.input(GameSession.QUIT_KEY));
+        assertEquals(List.of(EndGameOutcome.STILL_PLAYING_GAME), outcomes);
+        assertEquals(InputOutcome.NOTHING, tracker.input('d'));
+        assertEquals(EndGameOutcome.STILL_PLAYING_GAME, tracker.playOut());
+    }
+
+    @Test
+    public void testDistrictReplayedAndMatchesReplayEngine() {
+        for (long seed = 0; seed < 10; seed++) {
+            startGame();
+            InputLog inputLog = new InputLog();
+            Random random = new Random(seed);
+            while (tracker.isInGame()) {
+                char key = KEYS.charAt(random.nextInt(KEYS.length()));
+                inputLog.add(tracker.getSession().getTick(), key);
+                tracker.input(key);
+                tracker.advanceTicks(1 + random.nextInt(3));
+            }
+            GameState finalState = gameDistrict.snapshot();
+            GameDistrict replayed = new GameDistrict(DragonType.DOWNBURST, Difficulty.EASY,
+                    GameDistrict.BOARD_EDGE_LENGTH, GameDistrict.BOARD_EDGE_LENGTH, 6L, gameWorld);
+            ReplayEngine replayEngine = new ReplayEngine(replayed, inputLog);
+            assertEquals(outcomes.get((int) seed), replayEngine.replay());
+            assertEquals(finalState, replayed.snapshot());
+        }
+        assertEquals(10, outcomes.size());
+    }
+
+    // Benchmark: plays many whole games in the same district through the headless tracker, as a batch job would;
+    //    every game must end and be reported, and take less than a thousandth of the time it would take in real time
+    @Test
+    public void testHeadlessThroughputBenchmark() {
+        Random random = new Random(1L);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < NUM_BENCHMARK_GAMES; i++) {
+            startGame();
+            while (tracker.isInGame()) {
+                tracker.input(KEYS.charAt(random.nextInt(KEYS.length())));
+                tracker.advanceTicks(1);
+            }
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+        assertEquals(NUM_BENCHMARK_GAMES, outcomes.size());
+        assertTrue(elapsedTime / NUM_BENCHMARK_GAMES < InGameEventsTracker.TIME_LIMIT_IN_MILLISECONDS * 1000L);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets up a new game in the district with the tracker and starts it
+    private void startGame() {
+        gameDistrict.setupGame(tracker);
+        tracker.playDistrict();
+    }
+}
@@ -0,0 +1,140 @@
+package ui;
+
+import model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static model.GameDistrict.BOARD_EDGE_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+// This class tests the methods in ui.NoGuessGenerator
+public class NoGuessGeneratorTest {
+    static final int NUM_BENCHMARK_DISTRICTS = 50;
+
+    GameWorld gameWorld;
+
+    @BeforeEach
+    public void setup() {
+        gameWorld = new GameWorld(GameWorld.MAGE_DEFAULT_NAME, GameWorld.WORLD_DEFAULT_NAME);
+    }
+
+    @Test
+    public void testGenerateFindsFirstSolvableSeed() {
+        NoGuessGenerator generator = new NoGuessGenerator();
+        GameDistrict district = generator.generate(DragonType.TSUNAMI, Difficulty.HARD, BOARD_EDGE_LENGTH,
+                BOARD_EDGE_LENGTH, 1, true, 100L, gameWorld);
+        assertNotNull(district);
+        assertTrue(district.isSafeStart());
+        assertTrue(district.getSeed() >= 100L);
+        assertTrue(district.isSolvableWithoutGuessing());
+        for (long seed = 100L; seed < district.getSeed(); seed++) {
+            GameDistrict candidate = new GameDistrict(DragonType.TSUNAMI, Difficulty.HARD, BOARD_EDGE_LENGTH,
+                    BOARD_EDGE_LENGTH, seed, gameWorld);
+            candidate.setSafeStart(true);
+            assertFalse(candidate.isSolvableWithoutGuessing());
+        }
+        assertEquals(1, generator.getNumGenerated(Difficulty.HARD));
+        assertEquals(0, generator.getNumFailures(Difficulty.HARD));
+        assertEquals(district.getSeed() - 100L + 1, generator.getMeanAttempts(Difficulty.HARD));
+    }
+
+    @Test
+    public void testBackgroundGeneratorSearchesAtLowestPriority() {
+        NoGuessGenerator generator = NoGuessGenerator.makeBackgroundGenerator();
+        assertNotSame(ForkJoinPool.commonPool(), generator.getPool());
+        assertEquals(NoGuessGenerator.BACKGROUND_PARALLELISM, generator.getPool().getParallelism());
+        assertEquals(NoGuessGenerator.DEFAULT_MAX_ATTEMPTS, generator.getMaxAttempts());
+        Thread worker = generator.getPool().submit(Thread::currentThread).join();
+        assertEquals(Thread.MIN_PRIORITY, worker.getPriority());
+        assertTrue(worker.isDaemon());
+        assertNotNull(generator.generate(DragonType.BLAZE, Difficulty.EASY, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, 1,
+                true, 7L, gameWorld));
+        generator.getPool().shutdown();
+    }
+
+    @Test
+    public void testSameDistrictWhateverTheParallelism() {
+        ForkJoinPool onePool = new ForkJoinPool(1);
+        ForkJoinPool fourPool = new ForkJoinPool(4);
+        for (long baseSeed = 0; baseSeed < 20; baseSeed++) {
+            GameDistrict fromOne = new NoGuessGenerator(onePool, 1000).generate(DragonType.BLAZE, Difficulty.HARD,
+                    BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, 1, false, 1000 * baseSeed, gameWorld);
+            GameDistrict fromFour = new NoGuessGenerator(fourPool, 1000).generate(DragonType.BLAZE, Difficulty.HARD,
+                    BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, 1, false, 1000 * baseSeed, gameWorld);
+            assertEquals(fromOne == null, fromFour == null);
+            if (fromOne != null) {
+                assertEquals(fromOne.getSeed(), fromFour.getSeed());
+            }
+        }
+        onePool.shutdown();
+        fourPool.shutdown();
+    }
+
+    @Test
+    public void testGiveUpAndSummary() {
+        GameDistrict candidate = new GameDistrict(DragonType.BLAZE, Difficulty.HARD, BOARD_EDGE_LENGTH,
+                BOARD_EDGE_LENGTH, 0L, gameWorld);
+        long failingSeed = 0;
+        while (candidate.isSolvableWithoutGuessing()) {
+            failingSeed++;
+            candidate = new GameDistrict(DragonType.BLAZE, Difficulty.HARD, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH,
+                    failingSeed, gameWorld);
+        }
+        NoGuessGenerator generator = new NoGuessGenerator(ForkJoinPool.commonPool(), 1);
+        assertEquals(-1, generator.getLatencyPercentileMs(Difficulty.HARD, 0.5));
+        assertEquals(0, generator.getMeanAttempts(Difficulty.HARD));
+        assertNull(generator.generate(DragonType.BLAZE, Difficulty.HARD, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH, 1,
+                false, failingSeed, gameWorld));
+        assertNotNull(generator.generate(DragonType.BLAZE, Difficulty.PRACTICE, BOARD_EDGE_LENGTH,
+                BOARD_EDGE_LENGTH, 1, false, failingSeed, gameWorld));
+        assertEquals(1, generator.getNumFailures(Difficulty.HARD));
+        assertEquals(0, generator.getNumFailures(Difficulty.PRACTICE));
+        assertEquals(1, generator.getMeanAttempts(Difficulty.HARD));
+        assertTrue(generator.getLatencyPercentileMs(Difficulty.HARD, 0.5) > 0);
+        assertEquals(generator.getLatencyPercentileMs(Difficulty.HARD, 0),
+                generator.getLatencyPercentileMs(Difficulty.HARD, 1));
+        String summary = generator.getSummary();
+        assertTrue(summary.startsWith("PRACTICE"));
+        assertTrue(summary.contains("HARD     1 districts (1 not found)"));
+        assertFalse(summary.contains("EASY"));
+    }
+
+    @Test
+    public void testMakeNoGuessDistrict() {
+        GameDistrict district = gameWorld.makeNoGuessDistrict(DragonType.DOWNBURST, Difficulty.NORMAL,
+                new NoGuessGenerator());
+        assertEquals(1, gameWorld.getNumDistrictsMade());
+        assertEquals("District DN-1", district.getDistrictName());
+        assertTrue(district.isSafeStart());
+        assertTrue(district.isSolvableWithoutGuessing());
+
+        GameDistrict fallback = gameWorld.makeNoGuessDistrict(DragonType.BLAZE, Difficulty.HARD,
+                new NoGuessGenerator(ForkJoinPool.commonPool(), 1) {
+                    @Override
+                    public GameDistrict generate(DragonType dt, Difficulty difficulty, int width, int height,
+                                                 int numDragons, boolean safeStart, long baseSeed, GameWorld gw) {
+                        return null;
+                    }
+                });
+        assertEquals(2, gameWorld.getNumDistrictsMade());
+        assertTrue(fallback.isSafeStart());
+        assertEquals(Difficulty.HARD, fallback.getDifficultyLevel());
+    }
+
+    // Benchmark: generates districts at every difficulty level and checks that every latency is recorded
+    @Test
+    public void testGenerationBenchmark() {
+        NoGuessGenerator generator = new NoGuessGenerator();
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (int i = 0; i < NUM_BENCHMARK_DISTRICTS; i++) {
+                assertNotNull(generator.generate(DragonType.BLAZE, difficulty, BOARD_EDGE_LENGTH, BOARD_EDGE_LENGTH,
+                        1, true, (long) i * NoGuessGenerator.DEFAULT_MAX_ATTEMPTS, gameWorld));
+            }
+            assertEquals(NUM_BENCHMARK_DISTRICTS, generator.getNumGenerated(difficulty));
+            assertTrue(generator.getLatencyPercentileMs(difficulty, 0.99) > 0);
+        }
+        assertTrue(generator.getMeanAttempts(Difficulty.HARD) >= generator.getMeanAttempts(Difficulty.PRACTICE));
+    }
+}